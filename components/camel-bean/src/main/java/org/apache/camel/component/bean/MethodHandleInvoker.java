@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.apache.camel.support.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invokes a bean method using a {@link MethodHandle} which is created once when the bean is introspected, instead of
+ * reflection via {@link Method#invoke(Object, Object...)}.
+ * <p/>
+ * The method handle is only used when the arguments can be passed as-is to the method, and otherwise reflection is
+ * used, which then either applies widening conversions for primitive types, or fails the same way as it always has.
+ */
+final class MethodHandleInvoker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandleInvoker.class);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final Method method;
+    private final MethodHandle handle;
+    private final boolean isStatic;
+    private final Class<?>[] parameterTypes;
+    private final boolean[] primitives;
+
+    private MethodHandleInvoker(Method method, MethodHandle handle) {
+        this.method = method;
+        this.handle = handle;
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        Class<?>[] types = method.getParameterTypes();
+        this.parameterTypes = new Class<?>[types.length];
+        this.primitives = new boolean[types.length];
+        for (int i = 0; i < types.length; i++) {
+            primitives[i] = types[i].isPrimitive();
+            parameterTypes[i] = MethodType.methodType(types[i]).wrap().returnType();
+        }
+    }
+
+    /**
+     * Creates the invoker for the given method
+     *
+     * @return the invoker, or <tt>null</tt> if the method cannot be invoked using a method handle
+     */
+    static MethodHandleInvoker createInvoker(Method method) {
+        try {
+            // reflection would make the method accessible as well when its invoked
+            if (!method.trySetAccessible()) {
+                return null;
+            }
+            MethodHandle mh = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (Modifier.isStatic(method.getModifiers())) {
+                // ignore the bean instance for static methods
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+            }
+            mh = mh.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+            return new MethodHandleInvoker(method, mh);
+        } catch (Exception e) {
+            LOG.debug("Cannot create method handle for method: {} (reflection is used instead) due to: {}", method,
+                    e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Invokes the method
+     *
+     * @param  pojo                      the bean instance
+     * @param  arguments                 the arguments (can be <tt>null</tt> if the method has no parameters)
+     * @return                           the result of the method invocation
+     * @throws InvocationTargetException is thrown if the method threw an exception
+     * @throws IllegalAccessException    is thrown if the method is not accessible
+     */
+    Object invoke(Object pojo, Object[] arguments) throws InvocationTargetException, IllegalAccessException {
+        Object[] args = arguments != null ? arguments : NO_ARGUMENTS;
+        if (!isApplicable(pojo, args)) {
+            // let reflection deal with conversions and report invalid arguments
+            return ObjectHelper.invokeMethodSafe(method, pojo, arguments);
+        }
+        try {
+            return (Object) handle.invokeExact(pojo, args);
+        } catch (Throwable e) {
+            // the arguments have been checked, so this was thrown by the method
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private boolean isApplicable(Object pojo, Object[] args) {
+        if (args.length != parameterTypes.length) {
+            return false;
+        }
+        if (!isStatic && !method.getDeclaringClass().isInstance(pojo)) {
+            return false;
+        }
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null ? primitives[i] : !parameterTypes[i].isInstance(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodHandleInvoker[" + method + "]";
+    }
+}
@@ -40,6 +40,7 @@ import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Expression;
 import org.apache.camel.ExpressionEvaluationException;
 import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.Headers;
 import org.apache.camel.InOnly;
 import org.apache.camel.InOut;
 import org.apache.camel.Message;
@@ -78,11 +79,26 @@ public class MethodInfo {
     private final boolean hasCustomAnnotation;
     private final boolean hasHandlerAnnotation;
     private Expression parametersExpression;
+    private final MethodHandleInvoker invoker;
+    // computed up front from the return type to avoid type checks on every invocation
+    private final boolean returnsVoid;
+    private final boolean returnsCompletionStage;
+    private final boolean mayReturnCallable;
     private ExchangePattern pattern = ExchangePattern.InOut;
     private AsyncProcessor recipientList;
     private AsyncProcessor routingSlip;
     private AsyncProcessor dynamicRouter;
 
+    /**
+     * How a parameter is bound, where the common cases are bound directly instead of evaluating their expression.
+     */
+    private enum ParameterBinding {
+        BODY,
+        EXCHANGE,
+        HEADERS,
+        EXPRESSION
+    }
+
     /**
      * Adapter to invoke the method which has been annotated with the @DynamicRouter
      */
@@ -121,6 +137,13 @@ public class MethodInfo {
         this.hasCustomAnnotation = hasCustomAnnotation;
         this.hasHandlerAnnotation = hasHandlerAnnotation;
         this.parametersExpression = createParametersExpression();
+        this.invoker = MethodHandleInvoker.createInvoker(method);
+        Class<?> returnType = method.getReturnType();
+        this.returnsVoid = returnType.equals(Void.TYPE);
+        this.returnsCompletionStage = CompletionStage.class.isAssignableFrom(returnType);
+        // a final return type (such as String) can only be a callable if it implements callable
+        this.mayReturnCallable = !returnType.isPrimitive()
+                && (!Modifier.isFinal(returnType.getModifiers()) || Callable.class.isAssignableFrom(returnType));
 
         Map<Class<?>, Annotation> collectedMethodAnnotation = collectMethodAnnotations(type, method);
 
@@ -316,7 +339,7 @@ public class MethodInfo {
                 Object result = invoke(method, pojo, arguments, exchange);
 
                 // the method may be a closure or chained method returning a callable which should be called
-                if (result instanceof Callable) {
+                if (mayReturnCallable && result instanceof Callable) {
                     LOG.trace("Method returned Callback which will be called: {}", result);
                     Object callableResult = ((Callable) result).call();
                     if (callableResult != null) {
@@ -344,7 +367,7 @@ public class MethodInfo {
                 }
 
                 //If it's Java 8 async result
-                if (CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+                if (returnsCompletionStage) {
                     CompletionStage<?> completionStage = (CompletionStage<?>) result;
 
                     completionStage
@@ -360,7 +383,7 @@ public class MethodInfo {
                 }
 
                 // if the method returns something then set the value returned on the Exchange
-                if (result != Void.TYPE && !method.getReturnType().equals(Void.TYPE)) {
+                if (result != Void.TYPE && !returnsVoid) {
                     fillResult(exchange, result);
                 }
 
@@ -491,6 +514,10 @@ public class MethodInfo {
 
     protected Object invoke(Method mth, Object pojo, Object[] arguments, Exchange exchange) throws InvocationTargetException {
         try {
+            if (invoker != null && mth == method) {
+                // use the method handle created up front which is faster than reflection
+                return invoker.invoke(pojo, arguments);
+            }
             return ObjectHelper.invokeMethodSafe(mth, pojo, arguments);
         } catch (IllegalAccessException e) {
             throw new RuntimeExchangeException(
@@ -518,7 +545,31 @@ public class MethodInfo {
     }
 
     protected Expression createParametersExpression() {
-        return new ParameterExpression(createParameterExpressions());
+        return new ParameterExpression(createParameterExpressions(), createParameterBindings());
+    }
+
+    private ParameterBinding[] createParameterBindings() {
+        final int size = parameters.size();
+        final ParameterBinding[] bindings = new ParameterBinding[size];
+        final Expression exchangeExpression
+                = DefaultParameterMappingStrategy.INSTANCE.getDefaultParameterTypeExpression(Exchange.class);
+        for (int i = 0; i < size; i++) {
+            ParameterInfo parameter = parameters.get(i);
+            Annotation[] annotations = parameter.getAnnotations();
+            ParameterBinding binding = ParameterBinding.EXPRESSION;
+            if (bodyParameters.contains(parameter)) {
+                // the body parameter is either the body or the exchange (see BeanInfo)
+                binding = Exchange.class.isAssignableFrom(parameter.getType())
+                        ? ParameterBinding.EXCHANGE : ParameterBinding.BODY;
+            } else if (parameter.getExpression() == exchangeExpression) {
+                binding = ParameterBinding.EXCHANGE;
+            } else if (annotations != null && annotations.length == 1 && annotations[0] instanceof Headers) {
+                binding = ParameterBinding.HEADERS;
+            }
+            bindings[i] = binding;
+            LOG.trace("Parameter #{} is bound as: {}", i, binding);
+        }
+        return bindings;
     }
 
     protected ExchangePattern findExchangePatternAnnotation(Map<Class<?>, Annotation> collectedMethodAnnotation) {
@@ -546,9 +597,11 @@ public class MethodInfo {
      */
     private final class ParameterExpression implements Expression {
         private final Expression[] expressions;
+        private final ParameterBinding[] bindings;
 
-        ParameterExpression(Expression[] expressions) {
+        ParameterExpression(Expression[] expressions, ParameterBinding[] bindings) {
             this.expressions = expressions;
+            this.bindings = bindings;
         }
 
         @Override
@@ -598,11 +651,12 @@ public class MethodInfo {
          */
         private Object[] evaluateParameterExpressions(Exchange exchange, Object body, Iterator<?> it) {
             Object[] answer = new Object[expressions.length];
+            StreamCache cache = body instanceof StreamCache ? (StreamCache) body : null;
             for (int i = 0; i < expressions.length; i++) {
 
-                if (body instanceof StreamCache) {
+                if (cache != null && bindings[i] != ParameterBinding.EXCHANGE && bindings[i] != ParameterBinding.HEADERS) {
                     // need to reset stream cache for each expression as you may access the message body in multiple parameters
-                    ((StreamCache) body).reset();
+                    cache.reset();
                 }
 
                 // grab the parameter value for the given index
@@ -621,7 +675,7 @@ public class MethodInfo {
                 // use bean parameter binding, if still no value
                 Expression expression = expressions[i];
                 if (value == null && expression != null) {
-                    value = evaluateParameterBinding(exchange, expression, i, parameterType);
+                    value = evaluateParameterBinding(exchange, expression, bindings[i], i, parameterType);
                 }
                 // remember the value to use
                 if (value != Void.TYPE) {
@@ -728,6 +782,36 @@ public class MethodInfo {
             return answer;
         }
 
+        /**
+         * Evaluate using classic parameter binding using the pre compute expression, where the body, exchange and
+         * headers are bound directly when they are already of the parameter type.
+         */
+        private Object evaluateParameterBinding(
+                Exchange exchange, Expression expression, ParameterBinding binding, int index, Class<?> parameterType) {
+            switch (binding) {
+                case BODY:
+                    Object body = exchange.getIn().getBody();
+                    if (body == null || parameterType.isInstance(body)) {
+                        return body;
+                    }
+                    break;
+                case EXCHANGE:
+                    if (parameterType.isInstance(exchange)) {
+                        return exchange;
+                    }
+                    break;
+                case HEADERS:
+                    Map<String, Object> headers = exchange.getIn().getHeaders();
+                    if (parameterType.isInstance(headers)) {
+                        return headers;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return evaluateParameterBinding(exchange, expression, index, parameterType);
+        }
+
         /**
          * Evaluate using classic parameter binding using the pre compute expression
          */
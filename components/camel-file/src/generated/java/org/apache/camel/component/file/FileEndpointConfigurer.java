@@ -188,6 +188,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "tempPrefix": target.setTempPrefix(property(camelContext, java.lang.String.class, value)); return true;
         case "timeunit":
         case "timeUnit": target.setTimeUnit(property(camelContext, java.util.concurrent.TimeUnit.class, value)); return true;
+        case "usedirectorystream":
+        case "useDirectoryStream": target.setUseDirectoryStream(property(camelContext, boolean.class, value)); return true;
         case "usefixeddelay":
         case "useFixedDelay": target.setUseFixedDelay(property(camelContext, boolean.class, value)); return true;
         default: return false;
@@ -364,6 +366,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "tempPrefix": return java.lang.String.class;
         case "timeunit":
         case "timeUnit": return java.util.concurrent.TimeUnit.class;
+        case "usedirectorystream":
+        case "useDirectoryStream": return boolean.class;
         case "usefixeddelay":
         case "useFixedDelay": return boolean.class;
         default: return null;
@@ -541,6 +545,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "tempPrefix": return target.getTempPrefix();
         case "timeunit":
         case "timeUnit": return target.getTimeUnit();
+        case "usedirectorystream":
+        case "useDirectoryStream": return target.isUseDirectoryStream();
         case "usefixeddelay":
         case "useFixedDelay": return target.isUseFixedDelay();
         default: return null;
@@ -18,10 +18,15 @@ package org.apache.camel.component.file;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -105,13 +110,7 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
             GenericFile<File> gf
                     = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
 
-            if (resumeStrategy != null) {
-                ResumeAdapter adapter = resumeStrategy.getAdapter();
-                if (adapter instanceof FileOffsetResumeAdapter) {
-                    ((FileOffsetResumeAdapter) adapter).setResumePayload(gf);
-                    adapter.resume();
-                }
-            }
+            resume(gf);
 
             if (file.isDirectory()) {
                 if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
@@ -124,19 +123,7 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
                 // Windows can report false to a file on a share so regard it
                 // always as a file (if it is not a directory)
                 if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
-                    LOG.trace("Adding valid file: {}", file);
-                    // matched file so add
-                    if (extendedAttributes != null) {
-                        Path path = file.toPath();
-                        Map<String, Object> allAttributes = new HashMap<>();
-                        for (String attribute : extendedAttributes) {
-                            readAttributes(file, path, allAttributes, attribute);
-                        }
-
-                        gf.setExtendedAttributes(allAttributes);
-                    }
-
-                    fileList.add(gf);
+                    addFile(gf, fileList);
                 }
 
             }
@@ -145,6 +132,64 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         return true;
     }
 
+    private void addFile(GenericFile<File> gf, List<GenericFile<File>> fileList) {
+        File file = gf.getFile();
+        LOG.trace("Adding valid file: {}", file);
+        // matched file so add
+        if (extendedAttributes != null) {
+            Path path = file.toPath();
+            Map<String, Object> allAttributes = new HashMap<>();
+            for (String attribute : extendedAttributes) {
+                readAttributes(file, path, allAttributes, attribute);
+            }
+
+            gf.setExtendedAttributes(allAttributes);
+        }
+
+        fileList.add(gf);
+    }
+
+    /**
+     * Polls the directory by iterating the directory entries using a {@link java.nio.file.DirectoryStream}, where the
+     * basic attributes of the entries are read while iterating, and the iteration stops as soon as no more files can
+     * be polled. Unlike {@link #pollDirectory(File, List, int)} the entries of a directory are never held in memory all
+     * at once.
+     */
+    private boolean walkDirectory(File directory, List<GenericFile<File>> fileList, int depth) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Walking directory: {}, absolute path: {}", directory.getPath(), directory.getAbsolutePath());
+        }
+
+        // the directories at the max depth are visited as files, and are not walked into
+        int maxDepth = endpoint.isRecursive() ? Math.max(1, endpoint.getMaxDepth() - depth) : 1;
+        DirectoryWalker walker = new DirectoryWalker(fileList, depth);
+        try {
+            // follow links as File.isDirectory() does when listing the files
+            Files.walkFileTree(directory.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS), maxDepth, walker);
+        } catch (IOException e) {
+            throw new GenericFileOperationFailedException("Cannot walk directory: " + directory, e);
+        }
+        return !walker.limitHit;
+    }
+
+    private boolean isUseDirectoryStream() {
+        if (!getEndpoint().isUseDirectoryStream() || getEndpoint().isPreSort()) {
+            return false;
+        }
+        // resuming from the directory entries needs all the files of the directory
+        return resumeStrategy == null || !(resumeStrategy.getAdapter() instanceof DirectoryEntriesResumeAdapter);
+    }
+
+    private void resume(GenericFile<File> gf) {
+        if (resumeStrategy != null) {
+            ResumeAdapter adapter = resumeStrategy.getAdapter();
+            if (adapter instanceof FileOffsetResumeAdapter) {
+                ((FileOffsetResumeAdapter) adapter).setResumePayload(gf);
+                adapter.resume();
+            }
+        }
+    }
+
     @Override
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
         LOG.trace("pollDirectory from fileName: {}", fileName);
@@ -158,6 +203,9 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
             return true;
         }
 
+        if (isUseDirectoryStream()) {
+            return walkDirectory(directory, fileList, depth);
+        }
         return pollDirectory(directory, fileList, depth);
     }
 
@@ -223,6 +271,14 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, File[] files) {
         String onlyName = FileUtil.stripPath(doneFileName);
+        if (files == null) {
+            // the files of the directory are not listed when using directory stream
+            if (Files.exists(file.getFile().toPath().resolveSibling(onlyName))) {
+                return true;
+            }
+            LOG.trace("Done file: {} does not exist", doneFileName);
+            return false;
+        }
         // the done file name must be among the files
         for (File f : files) {
             if (f.getName().equals(onlyName)) {
@@ -242,6 +298,36 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
      * @return                  wrapped as a GenericFile
      */
     public static GenericFile<File> asGenericFile(String endpointPath, File file, String charset, boolean probeContentType) {
+        GenericFile<File> answer = createGenericFile(endpointPath, file, charset, probeContentType);
+        answer.setDirectory(file.isDirectory());
+
+        // file length and last modified are loaded lazily
+        answer.setFileLengthSupplier(file::length);
+        answer.setLastModifiedSupplier(file::lastModified);
+        return answer;
+    }
+
+    /**
+     * Creates a new GenericFile<File> based on the given file and its attributes, which avoids reading the attributes
+     * of the file again.
+     *
+     * @param  endpointPath     the starting directory the endpoint was configured with
+     * @param  file             the source file
+     * @param  attributes       the basic attributes of the file
+     * @param  probeContentType whether to probe the content type of the file or not
+     * @return                  wrapped as a GenericFile
+     */
+    public static GenericFile<File> asGenericFile(
+            String endpointPath, File file, BasicFileAttributes attributes, String charset, boolean probeContentType) {
+        GenericFile<File> answer = createGenericFile(endpointPath, file, charset, probeContentType);
+        answer.setDirectory(attributes.isDirectory());
+        answer.setFileLength(attributes.size());
+        answer.setLastModified(attributes.lastModifiedTime().toMillis());
+        return answer;
+    }
+
+    private static GenericFile<File> createGenericFile(
+            String endpointPath, File file, String charset, boolean probeContentType) {
         GenericFile<File> answer = new GenericFile<>(probeContentType);
         // use file specific binding
         answer.setBinding(new FileBinding());
@@ -250,7 +336,6 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         answer.setEndpointPath(endpointPath);
         answer.setFile(file);
         answer.setFileNameOnly(file.getName());
-        answer.setDirectory(file.isDirectory());
         // must use FileUtil.isAbsolute to have consistent check for whether the
         // file is
         // absolute or not. As windows do not consider \ paths as absolute where
@@ -263,10 +348,6 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         answer.setAbsolute(FileUtil.isAbsolute(file));
         answer.setAbsoluteFilePath(file.getAbsolutePath());
 
-        // file length and last modified are loaded lazily
-        answer.setFileLengthSupplier(file::length);
-        answer.setLastModifiedSupplier(file::lastModified);
-
         // compute the file path as relative to the starting directory
         File path;
         String endpointNormalizedSep = FileUtil.normalizePath(endpointPath) + File.separator;
@@ -344,4 +425,90 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
     public String adapterFactoryService() {
         return "file-adapter-factory";
     }
+
+    /**
+     * Visits the entries of the directories in the same order as {@link #pollDirectory(File, List, int)} lists them.
+     */
+    private final class DirectoryWalker implements FileVisitor<Path> {
+
+        private final List<GenericFile<File>> fileList;
+        private final int startDepth;
+        // the depth of the entries being visited
+        private int depth;
+        private boolean started;
+        private boolean limitHit;
+
+        private DirectoryWalker(List<GenericFile<File>> fileList, int depth) {
+            this.fileList = fileList;
+            this.startDepth = depth;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (!started) {
+                // the starting directory
+                started = true;
+                depth = startDepth + 1;
+                return FileVisitResult.CONTINUE;
+            }
+
+            GenericFile<File> gf = createGenericFile(dir, attrs);
+            if (gf == null) {
+                return FileVisitResult.TERMINATE;
+            }
+            if (!isValidFile(gf, true, null)) {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            depth++;
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+            GenericFile<File> gf = createGenericFile(path, attrs);
+            if (gf == null) {
+                return FileVisitResult.TERMINATE;
+            }
+            // directories beyond the max depth are not walked into
+            if (!attrs.isDirectory() && depth >= endpoint.minDepth && isValidFile(gf, false, null)) {
+                addFile(gf, fileList);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path path, IOException e) {
+            // the entry may have been deleted or moved since the directory was read
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Cannot read file: {} due to: {}. This file is skipped.", path, e.getMessage(), e);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+            depth--;
+            return FileVisitResult.CONTINUE;
+        }
+
+        private GenericFile<File> createGenericFile(Path path, BasicFileAttributes attrs) {
+            // check if we can continue polling in files
+            if (!canPollMoreFiles(fileList)) {
+                limitHit = true;
+                return null;
+            }
+
+            File file = path.toFile();
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Found file: {} [isDirectory: {}, isRegularFile: {}, isSymbolicLink: {}]", file,
+                        attrs.isDirectory(), attrs.isRegularFile(), attrs.isSymbolicLink());
+            }
+
+            // creates a generic file
+            GenericFile<File> gf = asGenericFile(endpointPath, file, attrs, getEndpoint().getCharset(),
+                    getEndpoint().isProbeContentType());
+            resume(gf);
+            return gf;
+        }
+    }
 }
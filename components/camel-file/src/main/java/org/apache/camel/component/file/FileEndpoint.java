@@ -75,6 +75,8 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean probeContentType;
     @UriParam(label = "consumer,advanced")
     private String extendedAttributes;
+    @UriParam(label = "consumer,advanced")
+    private boolean useDirectoryStream;
     @UriParam(label = "producer,advanced", defaultValue = "true")
     private boolean forceWrites = true;
     @UriParam(label = "producer,advanced")
@@ -360,6 +362,21 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.extendedAttributes = extendedAttributes;
     }
 
+    public boolean isUseDirectoryStream() {
+        return useDirectoryStream;
+    }
+
+    /**
+     * Whether the consumer should iterate the files of the directories using a directory stream, instead of listing all
+     * the files of a directory at once. The attributes of the files are read while iterating, and the iteration stops
+     * as soon as maxMessagesPerPoll files have been found, which is faster and uses less memory when polling
+     * directories with a very large number of files. This option is not in use when preSort is enabled, as sorting
+     * requires all the files of a directory.
+     */
+    public void setUseDirectoryStream(boolean useDirectoryStream) {
+        this.useDirectoryStream = useDirectoryStream;
+    }
+
     /**
      * Chmod value must be between 000 and 777; If there is a leading digit like in 0755 we will ignore it.
      */
@@ -19,7 +19,9 @@ package org.apache.camel.component.http;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.NTCredentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 
 public class BasicAuthenticationHttpClientConfigurer implements HttpClientConfigurer {
     private final String username;
@@ -39,14 +41,22 @@ public class BasicAuthenticationHttpClientConfigurer implements HttpClientConfig
 
     @Override
     public void configureHttpClient(HttpClientBuilder clientBuilder) {
+        clientBuilder.setDefaultCredentialsProvider(createCredentialsProvider());
+    }
+
+    @Override
+    public void configureHttpAsyncClient(HttpAsyncClientBuilder clientBuilder) {
+        clientBuilder.setDefaultCredentialsProvider(createCredentialsProvider());
+    }
+
+    private CredentialsProvider createCredentialsProvider() {
         Credentials defaultcreds;
         if (domain != null) {
             defaultcreds = new NTCredentials(username, password, host, domain);
         } else {
             defaultcreds = new UsernamePasswordCredentials(username, password);
         }
-        clientBuilder.setDefaultCredentialsProvider(credentialsHelper
-                .getCredentialsProvider(host, null, defaultcreds));
+        return credentialsHelper.getCredentialsProvider(host, null, defaultcreds);
     }
 
 }
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.spi.AsyncProcessorAwaitManager;
+import org.apache.camel.support.AsyncCallbackToCompletableFutureAdapter;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A producer which sends the requests with a non-blocking HttpAsyncClient, and completes the exchange from the I/O
+ * reactor thread which received the response.
+ */
+public class HttpAsyncProducer extends HttpProducer implements AsyncProducer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpAsyncProducer.class);
+
+    private CloseableHttpAsyncClient httpAsyncClient;
+
+    public HttpAsyncProducer(HttpEndpoint endpoint) {
+        super(endpoint);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        httpAsyncClient = getEndpoint().getHttpAsyncClient();
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        AsyncProcessorAwaitManager awaitManager
+                = exchange.getContext().adapt(ExtendedCamelContext.class).getAsyncProcessorAwaitManager();
+        awaitManager.process(this, exchange);
+    }
+
+    @Override
+    public CompletableFuture<Exchange> processAsync(Exchange exchange) {
+        AsyncCallbackToCompletableFutureAdapter<Exchange> callback = new AsyncCallbackToCompletableFutureAdapter<>(exchange);
+        process(exchange, callback);
+        return callback.getFuture();
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        final HttpRequestBase httpRequest;
+        final HttpHost httpHost;
+        try {
+            httpRequest = prepareRequest(exchange);
+            httpHost = createHost(httpRequest);
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Executing http {} method: {}", httpRequest.getMethod(), httpRequest.getURI());
+        }
+        try {
+            execute(exchange, callback, httpHost, httpRequest);
+        } catch (Exception e) {
+            // such as the client is not running
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        return false;
+    }
+
+    private void execute(Exchange exchange, AsyncCallback callback, HttpHost httpHost, HttpRequestBase httpRequest) {
+        httpAsyncClient.execute(httpHost, httpRequest, createLocalContext(), new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse httpResponse) {
+                try {
+                    handleResponse(exchange, httpRequest, httpResponse);
+                } catch (Exception e) {
+                    exchange.setException(e);
+                } finally {
+                    releaseResponse(exchange, httpResponse);
+                    callback.done(false);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                exchange.setException(e);
+                callback.done(false);
+            }
+
+            @Override
+            public void cancelled() {
+                exchange.setException(
+                        new CamelExchangeException("Http request cancelled: " + httpRequest.getURI(), exchange));
+                callback.done(false);
+            }
+        });
+    }
+}
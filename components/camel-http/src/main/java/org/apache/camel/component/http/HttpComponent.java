@@ -371,7 +371,10 @@ public class HttpComponent extends HttpCommonComponent implements RestProducerFa
         String endpointUriString = endpointUri.toString();
 
         LOG.debug("Creating endpoint uri {}", endpointUriString);
-        final HttpClientConnectionManager localConnectionManager = createConnectionManager(parameters, sslContextParameters);
+        // use a copy of the parameters so the connection settings are configured on the endpoint as well,
+        // as they are also used by the async client when the producer is in async mode
+        final HttpClientConnectionManager localConnectionManager
+                = createConnectionManager(new HashMap<>(parameters), sslContextParameters);
         HttpEndpoint endpoint = new HttpEndpoint(endpointUriString, this, clientBuilder, localConnectionManager, configurer);
         endpoint.setSocketTimeout(valSocketTimeout);
         endpoint.setConnectTimeout(valConnectTimeout);
@@ -392,6 +395,9 @@ public class HttpComponent extends HttpCommonComponent implements RestProducerFa
 
         // configure the endpoint
         setProperties(endpoint, parameters);
+        if (endpoint.getSslContextParameters() == null) {
+            endpoint.setSslContextParameters(sslContextParameters);
+        }
 
         // we can not change the port of an URI, we must create a new one with an explicit port value
         URI httpUri = URISupport.createRemainingURI(
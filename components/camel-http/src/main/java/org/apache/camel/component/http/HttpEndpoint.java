@@ -17,8 +17,10 @@
 package org.apache.camel.component.http;
 
 import java.io.Closeable;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.security.GeneralSecurityException;
 import java.util.Map;
 
 import javax.net.ssl.HostnameVerifier;
@@ -48,6 +50,8 @@ import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.LaxRedirectStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HttpContext;
@@ -158,6 +162,17 @@ public class HttpEndpoint extends HttpCommonEndpoint {
     private boolean skipResponseHeaders;
     @UriParam(label = "producer,advanced", description = "To set a custom HTTP User-Agent request header")
     private String userAgent;
+    @UriParam(label = "producer,advanced",
+              description = "Whether the producer should send the requests with a non-blocking HttpAsyncClient,"
+                            + " which completes the exchange from the I/O reactor threads instead of blocking"
+                            + " the calling thread while waiting for the response."
+                            + " The async client has its own pool of connections, which is bounded by the"
+                            + " maxTotalConnections and connectionsPerRoute options."
+                            + " Notice that a custom httpClient, clientConnectionManager or clientBuilder is not used"
+                            + " by the async client.")
+    private boolean asyncProducer;
+
+    private CloseableHttpAsyncClient httpAsyncClient;
 
     public HttpEndpoint() {
     }
@@ -188,6 +203,9 @@ public class HttpEndpoint extends HttpCommonEndpoint {
 
     @Override
     public Producer createProducer() throws Exception {
+        if (asyncProducer) {
+            return new HttpAsyncProducer(this);
+        }
         return new HttpProducer(this);
     }
 
@@ -236,19 +254,8 @@ public class HttpEndpoint extends HttpCommonEndpoint {
 
         if (!useSystemProperties) {
             // configure http proxy from camelContext
-            if (ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyHost"))
-                    && ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyPort"))) {
-                String host = getCamelContext().getGlobalOption("http.proxyHost");
-                int port = Integer.parseInt(getCamelContext().getGlobalOption("http.proxyPort"));
-                String scheme = getCamelContext().getGlobalOption("http.proxyScheme");
-                // fallback and use either http or https depending on secure
-                if (scheme == null) {
-                    scheme = HttpHelper.isSecureConnection(getEndpointUri()) ? "https" : "http";
-                }
-                LOG.debug(
-                        "CamelContext properties http.proxyHost, http.proxyPort, and http.proxyScheme detected. Using http proxy host: {} port: {} scheme: {}",
-                        host, port, scheme);
-                HttpHost proxy = new HttpHost(host, port, scheme);
+            HttpHost proxy = createGlobalProxy();
+            if (proxy != null) {
                 clientBuilder.setProxy(proxy);
             }
         } else {
@@ -282,6 +289,124 @@ public class HttpEndpoint extends HttpCommonEndpoint {
         return clientBuilder.build();
     }
 
+    public synchronized CloseableHttpAsyncClient getHttpAsyncClient() throws GeneralSecurityException, IOException {
+        if (httpAsyncClient == null) {
+            httpAsyncClient = createHttpAsyncClient();
+            httpAsyncClient.start();
+        }
+        return httpAsyncClient;
+    }
+
+    /**
+     * Factory method to create a new non-blocking {@link CloseableHttpAsyncClient} instance, which is used when the
+     * producer is in async mode.
+     * <p/>
+     * Producers should use the {@link #getHttpAsyncClient()} method instead.
+     */
+    protected CloseableHttpAsyncClient createHttpAsyncClient() throws GeneralSecurityException, IOException {
+        HttpAsyncClientBuilder clientBuilder = HttpAsyncClientBuilder.create();
+
+        // the async client has its own pool of connections, which uses the same limits as the blocking client
+        int maxTotal = maxTotalConnections;
+        int perRoute = connectionsPerRoute;
+        HostnameVerifier hostnameVerifier = x509HostnameVerifier;
+        HttpComponent component = getComponent();
+        if (component != null) {
+            if (maxTotal == 0) {
+                maxTotal = component.getMaxTotalConnections();
+            }
+            if (perRoute == 0) {
+                perRoute = component.getConnectionsPerRoute();
+            }
+            if (hostnameVerifier == null) {
+                hostnameVerifier = component.getX509HostnameVerifier();
+            }
+            if (component.isCookieManagementDisabled()) {
+                clientBuilder.disableCookieManagement();
+            }
+            if (component.isAuthCachingDisabled()) {
+                clientBuilder.disableAuthCaching();
+            }
+            if (component.isConnectionStateDisabled()) {
+                clientBuilder.disableConnectionState();
+            }
+        }
+        if (maxTotal > 0) {
+            clientBuilder.setMaxConnTotal(maxTotal);
+        }
+        if (perRoute > 0) {
+            clientBuilder.setMaxConnPerRoute(perRoute);
+        }
+        if (sslContextParameters != null) {
+            clientBuilder.setSSLContext(sslContextParameters.createSSLContext(getCamelContext()));
+        }
+        if (hostnameVerifier != null) {
+            clientBuilder.setSSLHostnameVerifier(hostnameVerifier);
+        }
+
+        RequestConfig.Builder requestConfigBuilder = RequestConfig.custom();
+        if (connectionRequestTimeout != -1) {
+            requestConfigBuilder.setConnectionRequestTimeout((int) connectionRequestTimeout);
+        }
+        if (connectTimeout != -1) {
+            requestConfigBuilder.setConnectTimeout((int) connectTimeout);
+        }
+        if (socketTimeout != -1) {
+            requestConfigBuilder.setSocketTimeout((int) socketTimeout);
+        }
+        clientBuilder.setDefaultRequestConfig(requestConfigBuilder.build());
+
+        clientBuilder.setDefaultCookieStore(isBridgeEndpoint() ? new NoopCookieStore() : cookieStore);
+
+        if (!useSystemProperties) {
+            // configure http proxy from camelContext
+            HttpHost proxy = createGlobalProxy();
+            if (proxy != null) {
+                clientBuilder.setProxy(proxy);
+            }
+        } else {
+            clientBuilder.useSystemProperties();
+        }
+
+        if (isAuthenticationPreemptive()) {
+            clientBuilder.addInterceptorFirst(new PreemptiveAuthInterceptor());
+        }
+        String userAgent = getUserAgent();
+        if (userAgent != null) {
+            clientBuilder.setUserAgent(userAgent);
+        }
+
+        HttpClientConfigurer configurer = getHttpClientConfigurer();
+        if (configurer != null) {
+            configurer.configureHttpAsyncClient(clientBuilder);
+        }
+
+        if (isFollowRedirects()) {
+            clientBuilder.setRedirectStrategy(new LaxRedirectStrategy());
+        }
+
+        LOG.debug("Setup the HttpAsyncClientBuilder {}", clientBuilder);
+        return clientBuilder.build();
+    }
+
+    private HttpHost createGlobalProxy() {
+        if (ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyHost"))
+                && ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyPort"))) {
+            String host = getCamelContext().getGlobalOption("http.proxyHost");
+            int port = Integer.parseInt(getCamelContext().getGlobalOption("http.proxyPort"));
+            String scheme = getCamelContext().getGlobalOption("http.proxyScheme");
+            // fallback and use either http or https depending on secure
+            if (scheme == null) {
+                scheme = HttpHelper.isSecureConnection(getEndpointUri()) ? "https" : "http";
+            }
+            LOG.debug(
+                    "CamelContext properties http.proxyHost, http.proxyPort, and http.proxyScheme detected. Using http proxy host: {} port: {} scheme: {}",
+                    host, port, scheme);
+            return new HttpHost(host, port, scheme);
+        }
+        return null;
+    }
+
     @Override
     public HttpComponent getComponent() {
         return (HttpComponent) super.getComponent();
@@ -296,6 +421,13 @@ public class HttpEndpoint extends HttpCommonEndpoint {
         if (httpClient instanceof Closeable) {
             IOHelper.close((Closeable) httpClient);
         }
+        synchronized (this) {
+            if (httpAsyncClient != null) {
+                // shutdown the I/O reactor and the connections of the async client
+                IOHelper.close(httpAsyncClient);
+                httpAsyncClient = null;
+            }
+        }
     }
 
     // Properties
@@ -610,6 +742,21 @@ public class HttpEndpoint extends HttpCommonEndpoint {
         this.userAgent = userAgent;
     }
 
+    public boolean isAsyncProducer() {
+        return asyncProducer;
+    }
+
+    /**
+     * Whether the producer should send the requests with a non-blocking HttpAsyncClient, which completes the exchange
+     * from the I/O reactor threads instead of blocking the calling thread while waiting for the response. The async
+     * client has its own pool of connections, which is bounded by the maxTotalConnections and connectionsPerRoute
+     * options. Notice that a custom httpClient, clientConnectionManager or clientBuilder is not used by the async
+     * client.
+     */
+    public void setAsyncProducer(boolean asyncProducer) {
+        this.asyncProducer = asyncProducer;
+    }
+
     @ManagedAttribute(description = "Maximum number of allowed persistent connections")
     public int getClientConnectionsPoolStatsMax() {
         ConnPoolControl<?> pool = null;
@@ -141,6 +141,30 @@ public class HttpProducer extends DefaultProducer {
 
     @Override
     public void process(Exchange exchange) throws Exception {
+        HttpRequestBase httpRequest = prepareRequest(exchange);
+        HttpHost httpHost = createHost(httpRequest);
+
+        // lets store the result in the output message.
+        HttpResponse httpResponse = null;
+        try {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Executing http {} method: {}", httpRequest.getMethod(), httpRequest.getURI());
+            }
+            httpResponse = executeMethod(httpHost, httpRequest);
+            handleResponse(exchange, httpRequest, httpResponse);
+        } finally {
+            releaseResponse(exchange, httpResponse);
+        }
+    }
+
+    /**
+     * Creates the http request to send for the exchange, with the Camel headers mapped as http request headers.
+     *
+     * @param  exchange  the exchange
+     * @return           the http request
+     * @throws Exception can be thrown
+     */
+    protected HttpRequestBase prepareRequest(Exchange exchange) throws Exception {
         boolean cookies = !getEndpoint().getComponent().isCookieManagementDisabled();
         if (cookies && getEndpoint().isClearExpiredCookies() && !getEndpoint().isBridgeEndpoint()) {
             // create the cookies before the invocation
@@ -160,7 +184,6 @@ public class HttpProducer extends DefaultProducer {
         }
 
         HttpRequestBase httpRequest = createMethod(exchange);
-        HttpHost httpHost = createHost(httpRequest);
 
         Message in = exchange.getIn();
         String httpProtocolVersion = in.getHeader(HttpConstants.HTTP_PROTOCOL_VERSION, String.class);
@@ -264,57 +287,72 @@ public class HttpProducer extends DefaultProducer {
             httpRequest.addHeader("Connection", HTTP.CONN_CLOSE);
         }
 
-        // lets store the result in the output message.
-        HttpResponse httpResponse = null;
-        try {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Executing http {} method: {}", httpRequest.getMethod(), httpRequest.getURI());
-            }
-            httpResponse = executeMethod(httpHost, httpRequest);
-            int responseCode = httpResponse.getStatusLine().getStatusCode();
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Http responseCode: {}", responseCode);
-            }
+        return httpRequest;
+    }
+
+    /**
+     * Populates the exchange with the http response, or throws a {@link HttpOperationFailedException} if the response
+     * code is not accepted and the endpoint is configured to throw exceptions on failure.
+     *
+     * @param  exchange     the exchange
+     * @param  httpRequest  the http request which has been sent
+     * @param  httpResponse the http response
+     * @throws Exception    can be thrown
+     */
+    protected void handleResponse(Exchange exchange, HttpRequestBase httpRequest, HttpResponse httpResponse)
+            throws Exception {
+        HeaderFilterStrategy strategy = getEndpoint().getHeaderFilterStrategy();
+        int responseCode = httpResponse.getStatusLine().getStatusCode();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Http responseCode: {}", responseCode);
+        }
 
-            if (!throwException) {
-                // if we do not use failed exception then populate response for all response codes
+        if (!throwException) {
+            // if we do not use failed exception then populate response for all response codes
+            populateResponse(exchange, httpRequest, httpResponse, strategy, responseCode);
+        } else {
+            boolean ok;
+            if (minOkRange > 0) {
+                ok = responseCode >= minOkRange && responseCode <= maxOkRange;
+            } else {
+                ok = HttpHelper.isStatusCodeOk(responseCode, getEndpoint().getOkStatusCodeRange());
+            }
+            if (ok) {
+                // only populate response for OK response
                 populateResponse(exchange, httpRequest, httpResponse, strategy, responseCode);
             } else {
-                boolean ok;
-                if (minOkRange > 0) {
-                    ok = responseCode >= minOkRange && responseCode <= maxOkRange;
-                } else {
-                    ok = HttpHelper.isStatusCodeOk(responseCode, getEndpoint().getOkStatusCodeRange());
-                }
-                if (ok) {
-                    // only populate response for OK response
-                    populateResponse(exchange, httpRequest, httpResponse, strategy, responseCode);
-                } else {
-                    // operation failed so populate exception to throw
-                    throw populateHttpOperationFailedException(exchange, httpRequest, httpResponse, responseCode);
-                }
+                // operation failed so populate exception to throw
+                throw populateHttpOperationFailedException(exchange, httpRequest, httpResponse, responseCode);
             }
-        } finally {
-            final HttpResponse response = httpResponse;
-            if (httpResponse != null && getEndpoint().isDisableStreamCache()) {
-                // close the stream at the end of the exchange to ensure it gets eventually closed later
-                exchange.adapt(ExtendedExchange.class).addOnCompletion(new SynchronizationAdapter() {
-                    @Override
-                    public void onDone(Exchange exchange) {
-                        try {
-                            EntityUtils.consume(response.getEntity());
-                        } catch (Exception e) {
-                            // ignore
-                        }
+        }
+    }
+
+    /**
+     * Consumes the entity of the http response, so the connection can be reused.
+     *
+     * @param exchange     the exchange
+     * @param httpResponse the http response, may be <tt>null</tt> if the request failed
+     */
+    protected void releaseResponse(Exchange exchange, HttpResponse httpResponse) {
+        final HttpResponse response = httpResponse;
+        if (httpResponse != null && getEndpoint().isDisableStreamCache()) {
+            // close the stream at the end of the exchange to ensure it gets eventually closed later
+            exchange.adapt(ExtendedExchange.class).addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onDone(Exchange exchange) {
+                    try {
+                        EntityUtils.consume(response.getEntity());
+                    } catch (Exception e) {
+                        // ignore
                     }
-                });
-            } else if (httpResponse != null) {
-                // close the stream now
-                try {
-                    EntityUtils.consume(response.getEntity());
-                } catch (Exception e) {
-                    // ignore
                 }
+            });
+        } else if (httpResponse != null) {
+            // close the stream now
+            try {
+                EntityUtils.consume(response.getEntity());
+            } catch (Exception e) {
+                // ignore
             }
         }
     }
@@ -434,6 +472,13 @@ public class HttpProducer extends DefaultProducer {
      * @throws IOException can be thrown
      */
     protected HttpResponse executeMethod(HttpHost httpHost, HttpUriRequest httpRequest) throws IOException {
+        return httpClient.execute(httpHost, httpRequest, createLocalContext());
+    }
+
+    /**
+     * Creates the context to use for executing a single http request.
+     */
+    protected HttpContext createLocalContext() {
         HttpContext localContext = new BasicHttpContext();
         if (getEndpoint().isAuthenticationPreemptive()) {
             BasicScheme basicAuth = new BasicScheme();
@@ -442,7 +487,7 @@ public class HttpProducer extends DefaultProducer {
         if (httpContext != null) {
             localContext = new BasicHttpContext(httpContext);
         }
-        return httpClient.execute(httpHost, httpRequest, localContext);
+        return localContext;
     }
 
     /**
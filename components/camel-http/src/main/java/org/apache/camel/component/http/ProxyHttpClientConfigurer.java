@@ -20,7 +20,9 @@ import org.apache.http.HttpHost;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.NTCredentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 
 /**
  * Strategy for configuring the HttpClient with a proxy
@@ -57,15 +59,27 @@ public class ProxyHttpClientConfigurer implements HttpClientConfigurer {
         clientBuilder.setProxy(new HttpHost(host, port, scheme));
 
         if (username != null && password != null) {
-            Credentials defaultcreds;
-            if (domain != null) {
-                defaultcreds = new NTCredentials(username, password, ntHost, domain);
-            } else {
-                defaultcreds = new UsernamePasswordCredentials(username, password);
-            }
-            clientBuilder.setDefaultCredentialsProvider(credentialsHelper
-                    .getCredentialsProvider(host, port, defaultcreds));
+            clientBuilder.setDefaultCredentialsProvider(createCredentialsProvider());
         }
     }
 
+    @Override
+    public void configureHttpAsyncClient(HttpAsyncClientBuilder clientBuilder) {
+        clientBuilder.setProxy(new HttpHost(host, port, scheme));
+
+        if (username != null && password != null) {
+            clientBuilder.setDefaultCredentialsProvider(createCredentialsProvider());
+        }
+    }
+
+    private CredentialsProvider createCredentialsProvider() {
+        Credentials defaultcreds;
+        if (domain != null) {
+            defaultcreds = new NTCredentials(username, password, ntHost, domain);
+        } else {
+            defaultcreds = new UsernamePasswordCredentials(username, password);
+        }
+        return credentialsHelper.getCredentialsProvider(host, port, defaultcreds);
+    }
+
 }
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Producer;
+import org.apache.camel.component.http.handler.DelayValidationHandler;
+import org.apache.camel.util.StopWatch;
+import org.apache.http.impl.bootstrap.HttpServer;
+import org.apache.http.impl.bootstrap.ServerBootstrap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.camel.component.http.HttpMethods.GET;
+
+/**
+ * Compares the throughput of the blocking and the async producer against a local server which is slow to respond.
+ * <p/>
+ * The server responds after 50 ms, so the blocking producer with 20 threads is bound to 400 requests/sec, while the
+ * async producer is bound by the 200 connections instead. The test logs the measured throughput, and is run with:
+ *
+ * <pre>
+ * mvn verify -Denable.http.load.itests=true -Dit.test=HttpAsyncProducerLoadManualIT
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "enable.http.load.itests", matches = "true",
+                         disabledReason = "Manual load test which takes a while to run")
+public class HttpAsyncProducerLoadManualIT extends BaseHttpTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpAsyncProducerLoadManualIT.class);
+
+    private static final int REQUESTS = 10000;
+    private static final int BLOCKING_THREADS = 20;
+    private static final int CONNECTIONS = 200;
+
+    private HttpServer localServer;
+
+    private String url;
+
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        localServer = ServerBootstrap.bootstrap().setHttpProcessor(getBasicHttpProcessor())
+                .setConnectionReuseStrategy(getConnectionReuseStrategy()).setResponseFactory(getHttpResponseFactory())
+                .setExpectationVerifier(getHttpExpectationVerifier()).setSslContext(getSSLContext())
+                .registerHandler("/slow", new DelayValidationHandler(GET.name(), null, null, getExpectedContent(), 50))
+                .create();
+        localServer.start();
+
+        url = "http://localhost:" + localServer.getLocalPort() + "/slow?throwExceptionOnFailure=false"
+              + "&maxTotalConnections=" + CONNECTIONS + "&connectionsPerRoute=" + CONNECTIONS;
+
+        super.setUp();
+    }
+
+    @AfterEach
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+
+        if (localServer != null) {
+            localServer.stop();
+        }
+    }
+
+    @Test
+    public void testBlockingProducerLoad() throws Exception {
+        Endpoint to = context.getEndpoint(url);
+        Producer producer = to.createProducer();
+        producer.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(BLOCKING_THREADS);
+        CountDownLatch latch = new CountDownLatch(REQUESTS);
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < REQUESTS; i++) {
+            executor.submit(() -> {
+                try {
+                    producer.process(to.createExchange());
+                } catch (Exception e) {
+                    LOG.warn("Error sending request", e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(10, TimeUnit.MINUTES);
+        long taken = watch.taken();
+
+        LOG.info("Blocking producer with {} threads took {} ms ({} requests/sec)", BLOCKING_THREADS, taken,
+                REQUESTS * 1000L / taken);
+
+        executor.shutdownNow();
+        producer.stop();
+    }
+
+    @Test
+    public void testAsyncProducerLoad() throws Exception {
+        Endpoint to = context.getEndpoint(url + "&asyncProducer=true");
+        AsyncProducer producer = to.createAsyncProducer();
+        producer.start();
+
+        CountDownLatch latch = new CountDownLatch(REQUESTS);
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < REQUESTS; i++) {
+            Exchange exchange = to.createExchange();
+            producer.process(exchange, doneSync -> latch.countDown());
+        }
+        latch.await(10, TimeUnit.MINUTES);
+        long taken = watch.taken();
+
+        LOG.info("Async producer from a single thread took {} ms ({} requests/sec)", taken, REQUESTS * 1000L / taken);
+
+        producer.stop();
+    }
+
+}
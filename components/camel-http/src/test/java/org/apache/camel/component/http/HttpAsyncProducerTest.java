@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.http.handler.BasicValidationHandler;
+import org.apache.camel.component.http.handler.DelayValidationHandler;
+import org.apache.camel.http.base.HttpOperationFailedException;
+import org.apache.http.impl.bootstrap.HttpServer;
+import org.apache.http.impl.bootstrap.ServerBootstrap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.camel.component.http.HttpMethods.GET;
+import static org.apache.camel.component.http.HttpMethods.POST;
+import static org.apache.camel.test.junit5.TestSupport.assertIsInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpAsyncProducerTest extends BaseHttpTest {
+
+    private HttpServer localServer;
+
+    private String baseUrl;
+
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        localServer = ServerBootstrap.bootstrap().setHttpProcessor(getBasicHttpProcessor())
+                .setConnectionReuseStrategy(getConnectionReuseStrategy()).setResponseFactory(getHttpResponseFactory())
+                .setExpectationVerifier(getHttpExpectationVerifier()).setSslContext(getSSLContext())
+                .registerHandler("/", new BasicValidationHandler(GET.name(), null, null, getExpectedContent()))
+                .registerHandler("/post", new BasicValidationHandler(POST.name(), null, "rocks camel?", getExpectedContent()))
+                .registerHandler("/delay", new DelayValidationHandler(GET.name(), null, null, getExpectedContent(), 1000))
+                .create();
+        localServer.start();
+
+        baseUrl = "http://" + localServer.getInetAddress().getHostName() + ":" + localServer.getLocalPort();
+
+        super.setUp();
+    }
+
+    @AfterEach
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+
+        if (localServer != null) {
+            localServer.stop();
+        }
+    }
+
+    @Test
+    public void asyncProducerIsCreated() throws Exception {
+        Endpoint endpoint = context.getEndpoint(baseUrl + "/?asyncProducer=true");
+        assertIsInstanceOf(HttpAsyncProducer.class, endpoint.createProducer());
+    }
+
+    @Test
+    public void httpGet() throws Exception {
+        Exchange exchange = template.request(baseUrl + "/?asyncProducer=true", exchange1 -> {
+        });
+
+        assertExchange(exchange);
+    }
+
+    @Test
+    public void httpPost() throws Exception {
+        Exchange exchange = template.request(baseUrl + "/post?asyncProducer=true",
+                exchange1 -> exchange1.getIn().setBody("rocks camel?"));
+
+        assertExchange(exchange);
+    }
+
+    @Test
+    public void httpGetWhichReturnsHttp501ShouldThrowAnException() throws Exception {
+        Exchange reply = template.request(baseUrl + "/XXX?asyncProducer=true&throwExceptionOnFailure=true", exchange -> {
+        });
+
+        Exception e = reply.getException();
+        assertNotNull(e, "Should have thrown an exception");
+        HttpOperationFailedException cause = assertIsInstanceOf(HttpOperationFailedException.class, e);
+        assertEquals(501, cause.getStatusCode());
+    }
+
+    @Test
+    public void requestsDoNotBlockTheCallingThread() throws Exception {
+        Endpoint endpoint = context.getEndpoint(baseUrl + "/delay?asyncProducer=true");
+        AsyncProducer producer = endpoint.createAsyncProducer();
+        producer.start();
+
+        int count = 10;
+        CountDownLatch latch = new CountDownLatch(count);
+        List<Exchange> exchanges = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Exchange exchange = endpoint.createExchange();
+            exchanges.add(exchange);
+            // the request is in flight when the producer returns
+            assertFalse(producer.process(exchange, doneSync -> latch.countDown()));
+        }
+
+        // the requests are sent concurrently, so they complete in about the delay of a single request
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Should complete all the requests");
+        for (Exchange exchange : exchanges) {
+            assertNull(exchange.getException());
+            assertExchange(exchange);
+        }
+
+        producer.stop();
+    }
+
+}
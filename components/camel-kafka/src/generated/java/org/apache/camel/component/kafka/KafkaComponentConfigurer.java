@@ -40,6 +40,9 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "autoOffsetReset": getOrCreateConfiguration(target).setAutoOffsetReset(property(camelContext, java.lang.String.class, value)); return true;
         case "autowiredenabled":
         case "autowiredEnabled": target.setAutowiredEnabled(property(camelContext, boolean.class, value)); return true;
+        case "batching": getOrCreateConfiguration(target).setBatching(property(camelContext, boolean.class, value)); return true;
+        case "batchingintervalms":
+        case "batchingIntervalMs": getOrCreateConfiguration(target).setBatchingIntervalMs(property(camelContext, java.lang.Long.class, value)); return true;
         case "breakonfirsterror":
         case "breakOnFirstError": getOrCreateConfiguration(target).setBreakOnFirstError(property(camelContext, boolean.class, value)); return true;
         case "bridgeerrorhandler":
@@ -137,6 +140,12 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "noOfMetricsSample": getOrCreateConfiguration(target).setNoOfMetricsSample(property(camelContext, java.lang.Integer.class, value)); return true;
         case "offsetrepository":
         case "offsetRepository": getOrCreateConfiguration(target).setOffsetRepository(property(camelContext, org.apache.camel.spi.StateRepository.class, value)); return true;
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": getOrCreateConfiguration(target).setParallelMaxPendingRecords(property(camelContext, int.class, value)); return true;
+        case "parallelordering":
+        case "parallelOrdering": getOrCreateConfiguration(target).setParallelOrdering(property(camelContext, java.lang.String.class, value)); return true;
+        case "parallelworkers":
+        case "parallelWorkers": getOrCreateConfiguration(target).setParallelWorkers(property(camelContext, int.class, value)); return true;
         case "partitionassignor":
         case "partitionAssignor": getOrCreateConfiguration(target).setPartitionAssignor(property(camelContext, java.lang.String.class, value)); return true;
         case "partitionkey":
@@ -260,6 +269,9 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "autoOffsetReset": return java.lang.String.class;
         case "autowiredenabled":
         case "autowiredEnabled": return boolean.class;
+        case "batching": return boolean.class;
+        case "batchingintervalms":
+        case "batchingIntervalMs": return java.lang.Long.class;
         case "breakonfirsterror":
         case "breakOnFirstError": return boolean.class;
         case "bridgeerrorhandler":
@@ -357,6 +369,12 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "noOfMetricsSample": return java.lang.Integer.class;
         case "offsetrepository":
         case "offsetRepository": return org.apache.camel.spi.StateRepository.class;
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": return int.class;
+        case "parallelordering":
+        case "parallelOrdering": return java.lang.String.class;
+        case "parallelworkers":
+        case "parallelWorkers": return int.class;
         case "partitionassignor":
         case "partitionAssignor": return java.lang.String.class;
         case "partitionkey":
@@ -476,6 +494,9 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "autoOffsetReset": return getOrCreateConfiguration(target).getAutoOffsetReset();
         case "autowiredenabled":
         case "autowiredEnabled": return target.isAutowiredEnabled();
+        case "batching": return getOrCreateConfiguration(target).isBatching();
+        case "batchingintervalms":
+        case "batchingIntervalMs": return getOrCreateConfiguration(target).getBatchingIntervalMs();
         case "breakonfirsterror":
         case "breakOnFirstError": return getOrCreateConfiguration(target).isBreakOnFirstError();
         case "bridgeerrorhandler":
@@ -573,6 +594,12 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "noOfMetricsSample": return getOrCreateConfiguration(target).getNoOfMetricsSample();
         case "offsetrepository":
         case "offsetRepository": return getOrCreateConfiguration(target).getOffsetRepository();
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": return getOrCreateConfiguration(target).getParallelMaxPendingRecords();
+        case "parallelordering":
+        case "parallelOrdering": return getOrCreateConfiguration(target).getParallelOrdering();
+        case "parallelworkers":
+        case "parallelWorkers": return getOrCreateConfiguration(target).getParallelWorkers();
         case "partitionassignor":
         case "partitionAssignor": return getOrCreateConfiguration(target).getPartitionAssignor();
         case "partitionkey":
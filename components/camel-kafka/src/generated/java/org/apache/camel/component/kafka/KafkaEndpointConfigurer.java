@@ -31,6 +31,9 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "autoCommitIntervalMs": target.getConfiguration().setAutoCommitIntervalMs(property(camelContext, java.lang.Integer.class, value)); return true;
         case "autooffsetreset":
         case "autoOffsetReset": target.getConfiguration().setAutoOffsetReset(property(camelContext, java.lang.String.class, value)); return true;
+        case "batching": target.getConfiguration().setBatching(property(camelContext, boolean.class, value)); return true;
+        case "batchingintervalms":
+        case "batchingIntervalMs": target.getConfiguration().setBatchingIntervalMs(property(camelContext, java.lang.Long.class, value)); return true;
         case "breakonfirsterror":
         case "breakOnFirstError": target.getConfiguration().setBreakOnFirstError(property(camelContext, boolean.class, value)); return true;
         case "bridgeerrorhandler":
@@ -127,6 +130,12 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "noOfMetricsSample": target.getConfiguration().setNoOfMetricsSample(property(camelContext, java.lang.Integer.class, value)); return true;
         case "offsetrepository":
         case "offsetRepository": target.getConfiguration().setOffsetRepository(property(camelContext, org.apache.camel.spi.StateRepository.class, value)); return true;
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": target.getConfiguration().setParallelMaxPendingRecords(property(camelContext, int.class, value)); return true;
+        case "parallelordering":
+        case "parallelOrdering": target.getConfiguration().setParallelOrdering(property(camelContext, java.lang.String.class, value)); return true;
+        case "parallelworkers":
+        case "parallelWorkers": target.getConfiguration().setParallelWorkers(property(camelContext, int.class, value)); return true;
         case "partitionassignor":
         case "partitionAssignor": target.getConfiguration().setPartitionAssignor(property(camelContext, java.lang.String.class, value)); return true;
         case "partitionkey":
@@ -235,6 +244,9 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "autoCommitIntervalMs": return java.lang.Integer.class;
         case "autooffsetreset":
         case "autoOffsetReset": return java.lang.String.class;
+        case "batching": return boolean.class;
+        case "batchingintervalms":
+        case "batchingIntervalMs": return java.lang.Long.class;
         case "breakonfirsterror":
         case "breakOnFirstError": return boolean.class;
         case "bridgeerrorhandler":
@@ -331,6 +343,12 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "noOfMetricsSample": return java.lang.Integer.class;
         case "offsetrepository":
         case "offsetRepository": return org.apache.camel.spi.StateRepository.class;
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": return int.class;
+        case "parallelordering":
+        case "parallelOrdering": return java.lang.String.class;
+        case "parallelworkers":
+        case "parallelWorkers": return int.class;
         case "partitionassignor":
         case "partitionAssignor": return java.lang.String.class;
         case "partitionkey":
@@ -440,6 +458,9 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "autoCommitIntervalMs": return target.getConfiguration().getAutoCommitIntervalMs();
         case "autooffsetreset":
         case "autoOffsetReset": return target.getConfiguration().getAutoOffsetReset();
+        case "batching": return target.getConfiguration().isBatching();
+        case "batchingintervalms":
+        case "batchingIntervalMs": return target.getConfiguration().getBatchingIntervalMs();
         case "breakonfirsterror":
         case "breakOnFirstError": return target.getConfiguration().isBreakOnFirstError();
         case "bridgeerrorhandler":
@@ -536,6 +557,12 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "noOfMetricsSample": return target.getConfiguration().getNoOfMetricsSample();
         case "offsetrepository":
         case "offsetRepository": return target.getConfiguration().getOffsetRepository();
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": return target.getConfiguration().getParallelMaxPendingRecords();
+        case "parallelordering":
+        case "parallelOrdering": return target.getConfiguration().getParallelOrdering();
+        case "parallelworkers":
+        case "parallelWorkers": return target.getConfiguration().getParallelWorkers();
         case "partitionassignor":
         case "partitionAssignor": return target.getConfiguration().getPartitionAssignor();
         case "partitionkey":
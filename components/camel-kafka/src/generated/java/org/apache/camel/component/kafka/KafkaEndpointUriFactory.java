@@ -21,12 +21,14 @@ public class KafkaEndpointUriFactory extends org.apache.camel.support.component.
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(102);
+        Set<String> props = new HashSet<>(107);
         props.add("additionalProperties");
         props.add("allowManualCommit");
         props.add("autoCommitEnable");
         props.add("autoCommitIntervalMs");
         props.add("autoOffsetReset");
+        props.add("batching");
+        props.add("batchingIntervalMs");
         props.add("breakOnFirstError");
         props.add("bridgeErrorHandler");
         props.add("brokers");
@@ -76,6 +78,9 @@ public class KafkaEndpointUriFactory extends org.apache.camel.support.component.
         props.add("metricsSampleWindowMs");
         props.add("noOfMetricsSample");
         props.add("offsetRepository");
+        props.add("parallelMaxPendingRecords");
+        props.add("parallelOrdering");
+        props.add("parallelWorkers");
         props.add("partitionAssignor");
         props.add("partitionKey");
         props.add("partitioner");
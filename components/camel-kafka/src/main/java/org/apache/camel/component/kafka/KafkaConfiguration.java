@@ -77,6 +77,16 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
 
     @UriParam(label = "consumer", defaultValue = "1")
     private int consumersCount = 1;
+    @UriParam(label = "consumer")
+    private int parallelWorkers;
+    @UriParam(label = "consumer,advanced", defaultValue = "partition", enums = "partition,key")
+    private String parallelOrdering = "partition";
+    @UriParam(label = "consumer,advanced", defaultValue = "1000")
+    private int parallelMaxPendingRecords = 1000;
+    @UriParam(label = "consumer")
+    private boolean batching;
+    @UriParam(label = "consumer", javaType = "java.time.Duration")
+    private Long batchingIntervalMs;
     @UriParam(label = "consumer", description = "To use a custom KafkaHeaderDeserializer to deserialize kafka headers values")
     private KafkaHeaderDeserializer headerDeserializer = new DefaultKafkaHeaderDeserializer();
 
@@ -456,7 +466,9 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         addPropertyIfNotEmpty(props, ConsumerConfig.INTERCEPTOR_CLASSES_CONFIG, getInterceptorClasses());
         addPropertyIfNotEmpty(props, ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, getAutoOffsetReset());
         addPropertyIfNotEmpty(props, ConsumerConfig.CONNECTIONS_MAX_IDLE_MS_CONFIG, getConnectionMaxIdleMs());
-        addPropertyIfNotEmpty(props, ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, getAutoCommitEnable());
+        // the offsets of the records processed by the parallel workers or in batches are committed by the consumer
+        addPropertyIfNotEmpty(props, ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG,
+                parallelWorkers > 0 || batching ? Boolean.FALSE : getAutoCommitEnable());
         addPropertyIfNotEmpty(props, ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, getPartitionAssignor());
         addPropertyIfNotEmpty(props, ConsumerConfig.RECEIVE_BUFFER_CONFIG, getReceiveBufferBytes());
         addPropertyIfNotEmpty(props, ConsumerConfig.REQUEST_TIMEOUT_MS_CONFIG, getConsumerRequestTimeoutMs());
@@ -683,6 +695,73 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         this.consumersCount = consumersCount;
     }
 
+    public int getParallelWorkers() {
+        return parallelWorkers;
+    }
+
+    /**
+     * The number of workers of each consumer, which process the polled records concurrently, while the consumer keeps
+     * polling. The records of a partition are processed in order, one at a time, and the offset of a partition is only
+     * committed up to the records which all have been processed. The auto commit of the Kafka consumer is disabled when
+     * using workers, and the offsets are committed by Camel (or stored in the offset repository). This cannot be used
+     * together with breakOnFirstError or allowManualCommit. A value of 0 (the default) processes the records on the
+     * consumer thread.
+     */
+    public void setParallelWorkers(int parallelWorkers) {
+        this.parallelWorkers = parallelWorkers;
+    }
+
+    public String getParallelOrdering() {
+        return parallelOrdering;
+    }
+
+    /**
+     * When using parallel workers, whether the records are processed in order per partition, or per key within a
+     * partition, which allows the records with different keys of the same partition to be processed concurrently.
+     */
+    public void setParallelOrdering(String parallelOrdering) {
+        this.parallelOrdering = parallelOrdering;
+    }
+
+    public int getParallelMaxPendingRecords() {
+        return parallelMaxPendingRecords;
+    }
+
+    /**
+     * When using parallel workers, the maximum number of records of a partition which are polled and not yet processed.
+     * When exceeded the partition is paused, until the workers have caught up.
+     */
+    public void setParallelMaxPendingRecords(int parallelMaxPendingRecords) {
+        this.parallelMaxPendingRecords = parallelMaxPendingRecords;
+    }
+
+    public boolean isBatching() {
+        return batching;
+    }
+
+    /**
+     * Whether the polled records are delivered together as a single exchange, which body is the list of the record
+     * values, instead of an exchange per record. The records themselves are available in the kafka.BATCH_RECORDS
+     * header. The auto commit of the Kafka consumer is disabled when using batching, and the offsets of the records are
+     * committed by Camel once the exchange has completed. This cannot be used together with parallelWorkers.
+     */
+    public void setBatching(boolean batching) {
+        this.batching = batching;
+    }
+
+    public Long getBatchingIntervalMs() {
+        return batchingIntervalMs;
+    }
+
+    /**
+     * When using batching, the records of several polls are accumulated into a batch until maxPollRecords records are
+     * polled, or this interval has elapsed since the first record of the batch was polled. The interval is checked
+     * after each poll, so it should be larger than pollTimeoutMs. If not set, each poll is delivered as one batch.
+     */
+    public void setBatchingIntervalMs(Long batchingIntervalMs) {
+        this.batchingIntervalMs = batchingIntervalMs;
+    }
+
     public String getClientId() {
         return clientId;
     }
@@ -696,7 +775,7 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     }
 
     public boolean isAutoCommitEnable() {
-        return offsetRepository == null ? autoCommitEnable : false;
+        return offsetRepository == null && parallelWorkers == 0 && !batching ? autoCommitEnable : false;
     }
 
     public boolean getAutoCommitEnable() {
@@ -70,6 +70,10 @@ public final class KafkaConstants {
     @Metadata(label = "consumer", description = "Can be used for forcing manual offset commit when using Kafka consumer.",
               javaType = "org.apache.camel.component.kafka.consumer.KafkaManualCommit")
     public static final String MANUAL_COMMIT = "CamelKafkaManualCommit";
+    @Metadata(label = "consumer",
+              description = "The records of the batch (only available if `batching` endpoint parameter is `true`)",
+              javaType = "List<org.apache.kafka.clients.consumer.ConsumerRecord>")
+    public static final String BATCH_RECORDS = "kafka.BATCH_RECORDS";
 
     private KafkaConstants() {
         // Utility class
@@ -122,6 +122,18 @@ public class KafkaConsumer extends DefaultConsumer
                 endpoint.getConfiguration().isBreakOnFirstError());
         super.doStart();
 
+        KafkaConfiguration configuration = endpoint.getConfiguration();
+        if (configuration.getParallelWorkers() > 0
+                && (configuration.isBreakOnFirstError() || configuration.isAllowManualCommit() || consumerListener != null)) {
+            // the records are processed on the workers, which cannot use the Kafka consumer as it is not thread safe
+            throw new IllegalArgumentException(
+                    "The parallelWorkers option cannot be used together with breakOnFirstError, allowManualCommit"
+                                               + " or the pausable EIP");
+        }
+        if (configuration.getParallelWorkers() > 0 && configuration.isBatching()) {
+            throw new IllegalArgumentException("The parallelWorkers option cannot be used together with batching");
+        }
+
         // health-check is optional so discover and resolve
         healthCheckRepository = HealthCheckHelper.getHealthCheckRepository(endpoint.getCamelContext(), "camel-kafka",
                 KafkaHealthCheckRepository.class);
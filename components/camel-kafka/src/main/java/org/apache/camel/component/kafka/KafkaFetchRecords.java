@@ -28,6 +28,8 @@ import org.apache.camel.component.kafka.consumer.CommitManagers;
 import org.apache.camel.component.kafka.consumer.errorhandler.KafkaConsumerListener;
 import org.apache.camel.component.kafka.consumer.errorhandler.KafkaErrorStrategies;
 import org.apache.camel.component.kafka.consumer.support.KafkaConsumerResumeAdapter;
+import org.apache.camel.component.kafka.consumer.support.KafkaRecordBatchingProcessorFacade;
+import org.apache.camel.component.kafka.consumer.support.KafkaRecordParallelProcessorFacade;
 import org.apache.camel.component.kafka.consumer.support.KafkaRecordProcessorFacade;
 import org.apache.camel.component.kafka.consumer.support.PartitionAssignmentListener;
 import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
@@ -77,6 +79,8 @@ public class KafkaFetchRecords implements Runnable {
     private final BridgeExceptionHandlerToErrorHandler bridge;
     private final ReentrantLock lock = new ReentrantLock();
     private CommitManager commitManager;
+    private KafkaRecordParallelProcessorFacade parallelProcessorFacade;
+    private KafkaRecordBatchingProcessorFacade batchingProcessorFacade;
     private volatile Exception lastError;
     private final KafkaConsumerListener consumerListener;
 
@@ -158,6 +162,10 @@ public class KafkaFetchRecords implements Runnable {
             startPolling();
         } while ((pollExceptionStrategy.canContinue() || isReconnect()) && isKafkaConsumerRunnable());
 
+        if (parallelProcessorFacade != null) {
+            parallelProcessorFacade.close();
+        }
+
         if (LOG.isInfoEnabled()) {
             LOG.info("Terminating KafkaConsumer thread {} receiving from {}", threadId, getPrintableTopic());
         }
@@ -202,6 +210,18 @@ public class KafkaFetchRecords implements Runnable {
             commitManager
                     = CommitManagers.createCommitManager(consumer, kafkaConsumer, threadId, getPrintableTopic());
 
+            if (kafkaConsumer.getEndpoint().getConfiguration().getParallelWorkers() > 0) {
+                if (parallelProcessorFacade != null) {
+                    parallelProcessorFacade.close();
+                }
+                parallelProcessorFacade = new KafkaRecordParallelProcessorFacade(
+                        kafkaConsumer, consumer, threadId, commitManager);
+            }
+            if (kafkaConsumer.getEndpoint().getConfiguration().isBatching()) {
+                batchingProcessorFacade = new KafkaRecordBatchingProcessorFacade(
+                        kafkaConsumer, threadId, commitManager, consumerListener);
+            }
+
             if (consumerListener != null) {
                 consumerListener.setConsumer(consumer);
 
@@ -274,7 +294,8 @@ public class KafkaFetchRecords implements Runnable {
         resumeStrategy.setConsumer(consumer);
 
         PartitionAssignmentListener listener = new PartitionAssignmentListener(
-                threadId, kafkaConsumer.getEndpoint().getConfiguration(), commitManager, resumeStrategy);
+                threadId, kafkaConsumer.getEndpoint().getConfiguration(), commitManager, resumeStrategy,
+                parallelProcessorFacade, batchingProcessorFacade);
 
         if (LOG.isInfoEnabled()) {
             LOG.info("Subscribing {} to {}", threadId, getPrintableTopic());
@@ -315,7 +336,16 @@ public class KafkaFetchRecords implements Runnable {
                     }
                 }
 
-                ProcessingResult result = recordProcessorFacade.processPolledRecords(allRecords);
+                ProcessingResult result;
+                if (parallelProcessorFacade != null) {
+                    result = parallelProcessorFacade.processPolledRecords(allRecords);
+                    // the consumer may have been paused on request, so the partitions should be kept paused
+                    parallelProcessorFacade.commitCompleted(state == State.RUNNING);
+                } else if (batchingProcessorFacade != null) {
+                    result = batchingProcessorFacade.processPolledRecords(allRecords);
+                } else {
+                    result = recordProcessorFacade.processPolledRecords(allRecords);
+                }
 
                 if (result.isBreakOnErrorHit()) {
                     LOG.debug("We hit an error ... setting flags to force reconnect");
@@ -327,6 +357,15 @@ public class KafkaFetchRecords implements Runnable {
                 updateTaskState();
             }
 
+            if (parallelProcessorFacade != null) {
+                // wait for the records being processed by the workers so their offsets are committed
+                parallelProcessorFacade.drain(kafkaConsumer.getEndpoint().getConfiguration().getShutdownTimeout());
+            }
+            if (batchingProcessorFacade != null && isConnected()) {
+                // deliver the records which are accumulated, as their offsets may be committed when unsubscribing
+                batchingProcessorFacade.flush();
+            }
+
             if (!isConnected()) {
                 LOG.debug("Not reconnecting, check whether to auto-commit or not ...");
                 commitManager.commit();
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer;
+
+import java.util.List;
+
+/**
+ * The manual commit of a batch of records, which commits the last record of each partition of the batch.
+ */
+public class DefaultKafkaManualBatchCommit implements KafkaManualCommit {
+    private final List<KafkaManualCommit> commits;
+
+    public DefaultKafkaManualBatchCommit(List<KafkaManualCommit> commits) {
+        this.commits = commits;
+    }
+
+    /**
+     * Gets the manual commits of the partitions of the batch
+     */
+    public List<KafkaManualCommit> getCommits() {
+        return commits;
+    }
+
+    @Override
+    public void commit() {
+        for (KafkaManualCommit commit : commits) {
+            commit.commit();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.component.kafka.KafkaConfiguration;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.component.kafka.KafkaConsumer;
+import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.camel.component.kafka.consumer.DefaultKafkaManualBatchCommit;
+import org.apache.camel.component.kafka.consumer.KafkaManualCommit;
+import org.apache.camel.component.kafka.consumer.errorhandler.KafkaConsumerListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes the polled records as batches, where each batch is delivered as a single exchange, which body is the list
+ * of the record values. The offsets of the records are committed once the exchange has completed.
+ */
+public class KafkaRecordBatchingProcessorFacade {
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaRecordBatchingProcessorFacade.class);
+
+    private static final int DEFAULT_MAX_POLL_RECORDS = 500;
+
+    private final KafkaConsumer camelKafkaConsumer;
+    private final String threadId;
+    private final CommitManager commitManager;
+    private final KafkaConsumerListener consumerListener;
+    private final KafkaConfiguration configuration;
+    private final int maxRecords;
+    private final long intervalMs;
+    private final List<ConsumerRecord<Object, Object>> pending = new ArrayList<>();
+    private long pendingSince;
+
+    public KafkaRecordBatchingProcessorFacade(KafkaConsumer camelKafkaConsumer, String threadId,
+                                              CommitManager commitManager, KafkaConsumerListener consumerListener) {
+        this.camelKafkaConsumer = camelKafkaConsumer;
+        this.threadId = threadId;
+        this.commitManager = commitManager;
+        this.consumerListener = consumerListener;
+        this.configuration = camelKafkaConsumer.getEndpoint().getConfiguration();
+
+        Integer maxPollRecords = configuration.getMaxPollRecords();
+        this.maxRecords = maxPollRecords != null && maxPollRecords > 0 ? maxPollRecords : DEFAULT_MAX_POLL_RECORDS;
+        Long batchingIntervalMs = configuration.getBatchingIntervalMs();
+        this.intervalMs = batchingIntervalMs != null ? batchingIntervalMs : 0;
+    }
+
+    private boolean isStopping() {
+        return camelKafkaConsumer.isStopping();
+    }
+
+    public ProcessingResult processPolledRecords(ConsumerRecords<Object, Object> allRecords) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Last poll on thread {} resulted on {} records to batch", threadId, allRecords.count());
+        }
+
+        if (pending.isEmpty()) {
+            pendingSince = System.currentTimeMillis();
+        }
+        for (ConsumerRecord<Object, Object> record : allRecords) {
+            pending.add(record);
+        }
+
+        if (intervalMs <= 0) {
+            // each poll is a batch of its own
+            return isStopping() ? ProcessingResult.newUnprocessed() : flush();
+        }
+
+        ProcessingResult lastResult = ProcessingResult.newUnprocessed();
+        while (pending.size() >= maxRecords && !isStopping()) {
+            lastResult = processBatch(takePending(maxRecords));
+            if (lastResult.isBreakOnErrorHit() || pending.isEmpty()) {
+                return lastResult;
+            }
+            pendingSince = System.currentTimeMillis();
+        }
+
+        if (!pending.isEmpty() && !isStopping() && System.currentTimeMillis() - pendingSince >= intervalMs) {
+            lastResult = flush();
+        }
+        return lastResult;
+    }
+
+    /**
+     * Processes the records which are accumulated and not yet delivered, such as when the consumer stops polling.
+     */
+    public ProcessingResult flush() {
+        if (pending.isEmpty()) {
+            return ProcessingResult.newUnprocessed();
+        }
+        return processBatch(takePending(pending.size()));
+    }
+
+    /**
+     * Processes the accumulated records of the partitions which are revoked from this consumer, while it still owns
+     * them, so their offsets can be committed before the partitions are assigned to another consumer.
+     */
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        List<ConsumerRecord<Object, Object>> records = new ArrayList<>();
+        for (Iterator<ConsumerRecord<Object, Object>> it = pending.iterator(); it.hasNext();) {
+            ConsumerRecord<Object, Object> record = it.next();
+            if (partitions.contains(new TopicPartition(record.topic(), record.partition()))) {
+                records.add(record);
+                it.remove();
+            }
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+
+        if (isStopping()) {
+            // the offsets of these records are not committed, so they are polled again by the new owner
+            LOG.debug("Dropping {} accumulated records of the revoked partitions {} as the consumer is stopping",
+                    records.size(), partitions);
+            return;
+        }
+        LOG.debug("Processing {} accumulated records of the revoked partitions {}", records.size(), partitions);
+        processBatch(records);
+    }
+
+    private List<ConsumerRecord<Object, Object>> takePending(int size) {
+        List<ConsumerRecord<Object, Object>> records = new ArrayList<>(pending.subList(0, size));
+        pending.subList(0, size).clear();
+        return records;
+    }
+
+    private ProcessingResult processBatch(List<ConsumerRecord<Object, Object>> records) {
+        int size = records.size();
+
+        // the first and the last record of each partition, in the order the records are polled
+        Map<TopicPartition, ConsumerRecord<Object, Object>> firstRecords = new LinkedHashMap<>();
+        Map<TopicPartition, ConsumerRecord<Object, Object>> lastRecords = new LinkedHashMap<>();
+        List<Object> body = new ArrayList<>(size);
+        for (ConsumerRecord<Object, Object> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            firstRecords.putIfAbsent(partition, record);
+            lastRecords.put(partition, record);
+            body.add(record.value());
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Processing batch of {} records from partitions {}", size, lastRecords.keySet());
+        }
+
+        Exchange exchange = camelKafkaConsumer.createExchange(false);
+        Message message = exchange.getMessage();
+        message.setHeader(KafkaConstants.BATCH_RECORDS, records);
+        message.setBody(body);
+
+        if (configuration.isAllowManualCommit()) {
+            // a manual commit commits the last record of each partition of the batch
+            List<KafkaManualCommit> commits = new ArrayList<>(lastRecords.size());
+            for (Map.Entry<TopicPartition, ConsumerRecord<Object, Object>> entry : lastRecords.entrySet()) {
+                commits.add(commitManager.getManualCommit(exchange, entry.getKey(), entry.getValue()));
+            }
+            message.setHeader(KafkaConstants.MANUAL_COMMIT, new DefaultKafkaManualBatchCommit(commits));
+        }
+
+        try {
+            camelKafkaConsumer.getProcessor().process(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+        }
+
+        long lastOffset = records.get(size - 1).offset();
+        ProcessingResult result;
+        if (exchange.getException() != null) {
+            result = processException(exchange, firstRecords, lastOffset);
+        } else {
+            result = new ProcessingResult(false, lastOffset, false);
+        }
+
+        camelKafkaConsumer.releaseExchange(exchange, false);
+
+        if (consumerListener != null && !consumerListener.afterProcess(result)) {
+            // the consumer is paused and seeks back, so the accumulated records are polled again
+            pending.clear();
+            commit(lastRecords);
+            return result;
+        }
+
+        if (!result.isBreakOnErrorHit()) {
+            for (Map.Entry<TopicPartition, ConsumerRecord<Object, Object>> entry : lastRecords.entrySet()) {
+                commitManager.recordOffset(entry.getKey(), entry.getValue().offset());
+            }
+            LOG.debug("Committing offsets on successful execution");
+            commit(lastRecords);
+        }
+
+        return result;
+    }
+
+    private void commit(Map<TopicPartition, ConsumerRecord<Object, Object>> lastRecords) {
+        for (TopicPartition partition : lastRecords.keySet()) {
+            commitManager.commit(partition);
+        }
+    }
+
+    private ProcessingResult processException(
+            Exchange exchange, Map<TopicPartition, ConsumerRecord<Object, Object>> firstRecords, long lastOffset) {
+
+        // processing failed due to an unhandled exception, what should we do
+        if (configuration.isBreakOnFirstError()) {
+            // we are failing and we should break out
+            LOG.warn("Error during processing {} from partitions {}", exchange, firstRecords.keySet(),
+                    exchange.getException());
+
+            // force commit up to the batch, so we resume on next poll where the batch started
+            for (Map.Entry<TopicPartition, ConsumerRecord<Object, Object>> entry : firstRecords.entrySet()) {
+                LOG.warn("Will seek consumer of partition {} to offset {} and start polling again.", entry.getKey(),
+                        entry.getValue().offset());
+                commitManager.forceCommit(entry.getKey(), entry.getValue().offset() - 1);
+            }
+
+            // the accumulated records are polled again after reconnecting
+            pending.clear();
+            return new ProcessingResult(true, firstRecords.values().iterator().next().offset() - 1, true);
+        }
+
+        // will handle/log the exception and then continue to next
+        camelKafkaConsumer.getExceptionHandler().handleException("Error during processing", exchange,
+                exchange.getException());
+        return new ProcessingResult(false, lastOffset, true);
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.component.kafka.KafkaConfiguration;
+import org.apache.camel.component.kafka.KafkaConsumer;
+import org.apache.camel.component.kafka.consumer.AbstractCommitManager;
+import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes the polled records concurrently on a pool of workers, while the records of a partition (or of the same key
+ * in a partition) are processed one at a time in the order of their offsets, in a lane.
+ * <p/>
+ * The polled records are only dispatched to the lanes, so the polling thread keeps polling while the records are
+ * processed. The offset of a partition is committed up to the highest offset of the records which all have completed,
+ * and a partition is paused when too many of its records are pending, until the workers have caught up.
+ * <p/>
+ * All the methods must be called from the polling thread, as the Kafka consumer is not thread safe.
+ */
+public class KafkaRecordParallelProcessorFacade {
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaRecordParallelProcessorFacade.class);
+
+    private final KafkaConsumer camelKafkaConsumer;
+    private final Consumer<?, ?> consumer;
+    private final String threadId;
+    private final KafkaRecordProcessor kafkaRecordProcessor;
+    private final CommitManager commitManager;
+    private final KafkaConfiguration configuration;
+    private final ExecutorService workerPool;
+    private final int lanesPerPartition;
+    private final int maxPendingRecords;
+    private final OrderedOffsetTracker offsetTracker = new OrderedOffsetTracker();
+    private final AtomicInteger activeLanes = new AtomicInteger();
+    private final Object idle = new Object();
+
+    private final Map<TopicPartition, Lane[]> lanes = new HashMap<>();
+    private final Map<TopicPartition, Long> committedOffsets = new HashMap<>();
+    private final Set<TopicPartition> pausedPartitions = new HashSet<>();
+
+    public KafkaRecordParallelProcessorFacade(KafkaConsumer camelKafkaConsumer, Consumer<?, ?> consumer, String threadId,
+                                              CommitManager commitManager) {
+        this.camelKafkaConsumer = camelKafkaConsumer;
+        this.consumer = consumer;
+        this.threadId = threadId;
+        this.commitManager = commitManager;
+        this.configuration = camelKafkaConsumer.getEndpoint().getConfiguration();
+
+        int workers = configuration.getParallelWorkers();
+        this.lanesPerPartition = "key".equals(configuration.getParallelOrdering()) ? workers : 1;
+        this.maxPendingRecords = configuration.getParallelMaxPendingRecords();
+        this.kafkaRecordProcessor = new KafkaRecordProcessor(configuration, camelKafkaConsumer.getProcessor(), commitManager);
+        this.workerPool = camelKafkaConsumer.getEndpoint().getCamelContext().getExecutorServiceManager()
+                .newFixedThreadPool(this, "KafkaConsumerWorker[" + configuration.getTopic() + "]", workers);
+    }
+
+    private boolean isStopping() {
+        return camelKafkaConsumer.isStoppingOrStopped();
+    }
+
+    /**
+     * Dispatches the polled records to the lanes, and pauses the partitions which have too many pending records
+     */
+    public ProcessingResult processPolledRecords(ConsumerRecords<Object, Object> allRecords) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Last poll on thread {} resulted on {} records to dispatch", threadId, allRecords.count());
+        }
+
+        Iterator<TopicPartition> partitionIterator = allRecords.partitions().iterator();
+        while (partitionIterator.hasNext() && !isStopping()) {
+            TopicPartition partition = partitionIterator.next();
+            boolean partitionHasNext = partitionIterator.hasNext();
+            Lane[] partitionLanes = lanes.computeIfAbsent(partition, this::createLanes);
+
+            List<ConsumerRecord<Object, Object>> partitionRecords = allRecords.records(partition);
+            Iterator<ConsumerRecord<Object, Object>> recordIterator = partitionRecords.iterator();
+            while (recordIterator.hasNext()) {
+                ConsumerRecord<Object, Object> record = recordIterator.next();
+                offsetTracker.dispatched(partition, record.offset());
+
+                Lane lane = laneOf(partitionLanes, record);
+                lane.dispatch(new LaneRecord(record, partitionHasNext, recordIterator.hasNext()));
+            }
+
+            if (offsetTracker.getPending(partition) >= maxPendingRecords) {
+                if (pausedPartitions.add(partition) && LOG.isDebugEnabled()) {
+                    LOG.debug("Pausing partition {} on thread {} as {} records are pending", partition, threadId,
+                            offsetTracker.getPending(partition));
+                }
+                consumer.pause(Collections.singleton(partition));
+            }
+        }
+
+        return ProcessingResult.newUnprocessed();
+    }
+
+    /**
+     * Commits the offsets of the records which have completed, and resumes the paused partitions whose workers have
+     * caught up
+     *
+     * @param resume whether to resume the paused partitions (they are kept paused while the consumer is paused)
+     */
+    public void commitCompleted(boolean resume) {
+        for (TopicPartition partition : offsetTracker.partitions()) {
+            commitCompleted(partition, false);
+        }
+
+        if (resume && !pausedPartitions.isEmpty()) {
+            Iterator<TopicPartition> it = pausedPartitions.iterator();
+            while (it.hasNext()) {
+                TopicPartition partition = it.next();
+                if (offsetTracker.getPending(partition) < maxPendingRecords) {
+                    LOG.debug("Resuming partition {} on thread {}", partition, threadId);
+                    consumer.resume(Collections.singleton(partition));
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for the records being processed to complete, and commits their offsets. The records which have not started
+     * processing yet are not processed, as the consumer is stopping.
+     */
+    public void drain(long timeoutMillis) {
+        LOG.debug("Waiting up to {} millis for the workers of thread {} to complete", timeoutMillis, threadId);
+        try {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            synchronized (idle) {
+                long remaining = timeoutMillis;
+                while (activeLanes.get() > 0 && remaining > 0) {
+                    idle.wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (activeLanes.get() > 0) {
+            LOG.warn("The workers of thread {} did not complete within {} millis", threadId, timeoutMillis);
+        }
+        for (TopicPartition partition : offsetTracker.partitions()) {
+            commitCompleted(partition, true);
+        }
+    }
+
+    /**
+     * Waits for the dispatched records of the revoked partitions to complete, and commits their offsets, so the
+     * consumer which gets the partitions assigned continues where this one stopped.
+     */
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        long timeout = configuration.getCommitTimeoutMs();
+        for (TopicPartition partition : partitions) {
+            try {
+                if (!offsetTracker.awaitCompleted(partition, timeout)) {
+                    LOG.warn("The records of the revoked partition {} did not complete within {} millis", partition, timeout);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            commitCompleted(partition, true);
+
+            Lane[] partitionLanes = lanes.remove(partition);
+            if (partitionLanes != null) {
+                for (Lane lane : partitionLanes) {
+                    lane.revoked = true;
+                }
+            }
+            offsetTracker.remove(partition);
+            committedOffsets.remove(partition);
+            pausedPartitions.remove(partition);
+        }
+    }
+
+    public void close() {
+        camelKafkaConsumer.getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(workerPool);
+    }
+
+    private void commitCompleted(TopicPartition partition, boolean sync) {
+        long offset = offsetTracker.getCompletedOffset(partition);
+        if (offset == AbstractCommitManager.START_OFFSET) {
+            return;
+        }
+
+        Long committed = committedOffsets.get(partition);
+        if (committed == null || offset > committed) {
+            commitManager.recordOffset(partition, offset);
+            if (sync) {
+                commitManager.forceCommit(partition, offset);
+            } else {
+                commitManager.commit(partition);
+            }
+            committedOffsets.put(partition, offset);
+        }
+    }
+
+    private Lane[] createLanes(TopicPartition partition) {
+        Lane[] answer = new Lane[lanesPerPartition];
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = new Lane(partition);
+        }
+        return answer;
+    }
+
+    private static Lane laneOf(Lane[] partitionLanes, ConsumerRecord<Object, Object> record) {
+        if (partitionLanes.length == 1) {
+            return partitionLanes[0];
+        }
+        // the records with the same key go to the same lane (and the records without a key share a lane)
+        return partitionLanes[Math.floorMod(Objects.hashCode(record.key()), partitionLanes.length)];
+    }
+
+    private void processRecord(TopicPartition partition, LaneRecord laneRecord) {
+        ConsumerRecord<Object, Object> record = laneRecord.record;
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Partition = {}, offset = {}, key = {}, value = {}", record.partition(),
+                    record.offset(), record.key(), record.value());
+        }
+
+        Exchange exchange = camelKafkaConsumer.createExchange(false);
+        try {
+            kafkaRecordProcessor.processExchange(exchange, partition, laneRecord.partitionHasNext,
+                    laneRecord.recordHasNext, record, ProcessingResult.newUnprocessed(),
+                    camelKafkaConsumer.getExceptionHandler());
+        } catch (Exception e) {
+            camelKafkaConsumer.getExceptionHandler().handleException("Error during processing", exchange, e);
+        } finally {
+            camelKafkaConsumer.releaseExchange(exchange, false);
+            // the record has been processed (or its failure handled) so its offset can be committed
+            offsetTracker.completed(partition, record.offset());
+        }
+    }
+
+    private static final class LaneRecord {
+        private final ConsumerRecord<Object, Object> record;
+        private final boolean partitionHasNext;
+        private final boolean recordHasNext;
+
+        private LaneRecord(ConsumerRecord<Object, Object> record, boolean partitionHasNext, boolean recordHasNext) {
+            this.record = record;
+            this.partitionHasNext = partitionHasNext;
+            this.recordHasNext = recordHasNext;
+        }
+    }
+
+    /**
+     * Processes its records one at a time, in the order they are dispatched, on any of the workers.
+     */
+    private final class Lane implements Runnable {
+        private final TopicPartition partition;
+        private final Queue<LaneRecord> records = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean revoked;
+
+        private Lane(TopicPartition partition) {
+            this.partition = partition;
+        }
+
+        void dispatch(LaneRecord record) {
+            records.add(record);
+            schedule();
+        }
+
+        private void schedule() {
+            // only one worker at a time runs the lane, which keeps the records in order
+            if (scheduled.compareAndSet(false, true)) {
+                activeLanes.incrementAndGet();
+                workerPool.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                LaneRecord record;
+                while ((record = records.poll()) != null) {
+                    if (revoked || isStopping()) {
+                        // the records are not processed, and not committed, so they are consumed again later
+                        records.clear();
+                        break;
+                    }
+                    processRecord(partition, record);
+                }
+            } finally {
+                scheduled.set(false);
+                if (activeLanes.decrementAndGet() == 0) {
+                    synchronized (idle) {
+                        idle.notifyAll();
+                    }
+                }
+            }
+
+            // a record may have been dispatched after the queue was found empty
+            if (!records.isEmpty() && !revoked && !isStopping() && !workerPool.isShutdown()) {
+                schedule();
+            }
+        }
+    }
+}
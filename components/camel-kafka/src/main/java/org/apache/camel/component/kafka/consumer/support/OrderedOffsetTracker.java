@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.component.kafka.consumer.AbstractCommitManager;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Keeps track of the offsets of the records which are dispatched to be processed, and which may complete out of order,
+ * so that only the highest offset up to which all the records have completed is committed.
+ * <p/>
+ * The offsets of a partition must be dispatched in increasing order, from a single thread, while they can complete
+ * from any thread.
+ */
+final class OrderedOffsetTracker {
+    private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+    void dispatched(TopicPartition partition, long offset) {
+        partitions.computeIfAbsent(partition, p -> new PartitionOffsets()).add(offset);
+    }
+
+    void completed(TopicPartition partition, long offset) {
+        PartitionOffsets offsets = partitions.get(partition);
+        if (offsets != null) {
+            offsets.complete(offset);
+        }
+    }
+
+    /**
+     * The highest offset of the partition up to which all the dispatched records have completed, or
+     * {@link AbstractCommitManager#START_OFFSET} if none has completed yet
+     */
+    long getCompletedOffset(TopicPartition partition) {
+        PartitionOffsets offsets = partitions.get(partition);
+        return offsets != null ? offsets.getCompletedOffset() : AbstractCommitManager.START_OFFSET;
+    }
+
+    /**
+     * The number of records of the partition which are dispatched and not completed
+     */
+    int getPending(TopicPartition partition) {
+        PartitionOffsets offsets = partitions.get(partition);
+        return offsets != null ? offsets.getPending() : 0;
+    }
+
+    /**
+     * Waits until all the dispatched records of the partition have completed
+     *
+     * @return true if all completed, false if the timeout elapsed
+     */
+    boolean awaitCompleted(TopicPartition partition, long timeoutMillis) throws InterruptedException {
+        PartitionOffsets offsets = partitions.get(partition);
+        return offsets == null || offsets.awaitCompleted(timeoutMillis);
+    }
+
+    Set<TopicPartition> partitions() {
+        return partitions.keySet();
+    }
+
+    void remove(TopicPartition partition) {
+        partitions.remove(partition);
+    }
+
+    /**
+     * The dispatched offsets of a partition, which are not completed yet or follow one which is not completed, kept in
+     * increasing order in a ring buffer.
+     */
+    private static final class PartitionOffsets {
+        private long[] offsets = new long[64];
+        private boolean[] completed = new boolean[64];
+        private int head;
+        private int size;
+        private long completedOffset = AbstractCommitManager.START_OFFSET;
+
+        synchronized void add(long offset) {
+            if (size == offsets.length) {
+                grow();
+            }
+            int index = (head + size) & (offsets.length - 1);
+            offsets[index] = offset;
+            completed[index] = false;
+            size++;
+        }
+
+        synchronized void complete(long offset) {
+            int index = indexOf(offset);
+            if (index < 0) {
+                return;
+            }
+            completed[index] = true;
+
+            // move forward past all the records that are completed in a row
+            int mask = offsets.length - 1;
+            while (size > 0 && completed[head]) {
+                completedOffset = offsets[head];
+                head = (head + 1) & mask;
+                size--;
+            }
+            if (size == 0) {
+                notifyAll();
+            }
+        }
+
+        synchronized long getCompletedOffset() {
+            return completedOffset;
+        }
+
+        synchronized int getPending() {
+            return size;
+        }
+
+        synchronized boolean awaitCompleted(long timeoutMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            long remaining = timeoutMillis;
+            while (size > 0 && remaining > 0) {
+                wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+            return size == 0;
+        }
+
+        private int indexOf(long offset) {
+            // the offsets are increasing so we can use a binary search
+            int mask = offsets.length - 1;
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int index = (head + mid) & mask;
+                long value = offsets[index];
+                if (value < offset) {
+                    low = mid + 1;
+                } else if (value > offset) {
+                    high = mid - 1;
+                } else {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        private void grow() {
+            int length = offsets.length;
+            long[] newOffsets = new long[length * 2];
+            boolean[] newCompleted = new boolean[length * 2];
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) & (length - 1);
+                newOffsets[i] = offsets[index];
+                newCompleted[i] = completed[index];
+            }
+            offsets = newOffsets;
+            completed = newCompleted;
+            head = 0;
+        }
+    }
+}
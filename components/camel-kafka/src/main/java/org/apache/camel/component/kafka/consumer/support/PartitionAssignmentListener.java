@@ -35,18 +35,46 @@ public class PartitionAssignmentListener implements ConsumerRebalanceListener {
     private final KafkaConfiguration configuration;
     private final KafkaConsumerResumeAdapter resumeStrategy;
     private final CommitManager commitManager;
+    private final KafkaRecordParallelProcessorFacade parallelProcessorFacade;
+    private final KafkaRecordBatchingProcessorFacade batchingProcessorFacade;
 
     public PartitionAssignmentListener(String threadId, KafkaConfiguration configuration,
                                        CommitManager commitManager,
                                        KafkaConsumerResumeAdapter resumeStrategy) {
+        this(threadId, configuration, commitManager, resumeStrategy, null);
+    }
+
+    public PartitionAssignmentListener(String threadId, KafkaConfiguration configuration,
+                                       CommitManager commitManager,
+                                       KafkaConsumerResumeAdapter resumeStrategy,
+                                       KafkaRecordParallelProcessorFacade parallelProcessorFacade) {
+        this(threadId, configuration, commitManager, resumeStrategy, parallelProcessorFacade, null);
+    }
+
+    public PartitionAssignmentListener(String threadId, KafkaConfiguration configuration,
+                                       CommitManager commitManager,
+                                       KafkaConsumerResumeAdapter resumeStrategy,
+                                       KafkaRecordParallelProcessorFacade parallelProcessorFacade,
+                                       KafkaRecordBatchingProcessorFacade batchingProcessorFacade) {
         this.threadId = threadId;
         this.configuration = configuration;
         this.commitManager = commitManager;
         this.resumeStrategy = resumeStrategy;
+        this.parallelProcessorFacade = parallelProcessorFacade;
+        this.batchingProcessorFacade = batchingProcessorFacade;
     }
 
     @Override
     public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        if (parallelProcessorFacade != null) {
+            // let the workers complete the records of the revoked partitions, and commit their offsets
+            parallelProcessorFacade.onPartitionsRevoked(partitions);
+        }
+        if (batchingProcessorFacade != null) {
+            // deliver the accumulated records of the revoked partitions, and commit their offsets
+            batchingProcessorFacade.onPartitionsRevoked(partitions);
+        }
+
         for (TopicPartition partition : partitions) {
             LOG.debug("onPartitionsRevoked: {} from {}", threadId, partition.topic());
 
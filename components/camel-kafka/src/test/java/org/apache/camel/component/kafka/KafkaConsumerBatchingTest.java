@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.camel.BindToRegistry;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.kafka.consumer.KafkaManualCommit;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class KafkaConsumerBatchingTest extends CamelTestSupport {
+
+    private static final String TOPIC = "batching";
+
+    private final TopicPartition partition0 = new TopicPartition(TOPIC, 0);
+    private final TopicPartition partition1 = new TopicPartition(TOPIC, 1);
+    private final MockConsumer<Object, Object> consumer = createConsumer();
+    private final MockConsumer<Object, Object> intervalConsumer = createConsumer();
+    private final ListenerAwareMockConsumer revokeConsumer = new ListenerAwareMockConsumer();
+
+    @BindToRegistry
+    KafkaClientFactory clientFactory = new MockKafkaClientFactory(consumer, intervalConsumer, revokeConsumer);
+
+    private MockConsumer<Object, Object> createConsumer() {
+        return initConsumer(new MockConsumer<>(OffsetResetStrategy.EARLIEST));
+    }
+
+    private <T extends MockConsumer<Object, Object>> T initConsumer(T answer) {
+        Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+        beginningOffsets.put(partition0, 0L);
+        beginningOffsets.put(partition1, 0L);
+        answer.updateBeginningOffsets(beginningOffsets);
+        answer.schedulePollTask(() -> answer.rebalance(Arrays.asList(partition0, partition1)));
+        return answer;
+    }
+
+    @Test
+    public void testPollIsDeliveredAsOneExchange() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.expectedBodiesReceived(Arrays.asList("p0-0", "p0-1", "p0-2", "p1-0", "p1-1"));
+
+        consumer.schedulePollTask(() -> {
+            for (int i = 0; i < 3; i++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "key", "p0-" + i));
+            }
+            for (int i = 0; i < 2; i++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 1, i, "key", "p1-" + i));
+            }
+        });
+
+        mock.assertIsSatisfied();
+
+        List<?> records = mock.getExchanges().get(0).getMessage().getHeader(KafkaConstants.BATCH_RECORDS, List.class);
+        assertEquals(5, records.size());
+        assertEquals(2L, ((ConsumerRecord<?, ?>) records.get(2)).offset());
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertEquals(3, committedOffset(consumer, partition0));
+            assertEquals(2, committedOffset(consumer, partition1));
+        });
+    }
+
+    @Test
+    public void testRecordsOfSeveralPollsAreAccumulated() throws Exception {
+        context.getRouteController().startRoute("batching-interval");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(2);
+        mock.expectedBodiesReceived(Arrays.asList("0", "1", "2", "3"), Arrays.asList("4", "5"));
+
+        // the first batch is delivered once maxPollRecords are polled, and the remaining records once the interval elapsed
+        for (int poll = 0; poll < 2; poll++) {
+            int first = poll * 3;
+            intervalConsumer.schedulePollTask(() -> {
+                for (int i = first; i < first + 3; i++) {
+                    intervalConsumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "key", String.valueOf(i)));
+                }
+            });
+        }
+
+        mock.assertIsSatisfied();
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertEquals(6, committedOffset(intervalConsumer, partition0)));
+    }
+
+    @Test
+    public void testRecordsOfRevokedPartitionsAreDelivered() throws Exception {
+        context.getRouteController().startRoute("batching-revoke");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.expectedBodiesReceived(Arrays.asList("p1-0", "p1-1"));
+
+        revokeConsumer.schedulePollTask(() -> {
+            revokeConsumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 0, "key", "p0-0"));
+            for (int i = 0; i < 2; i++) {
+                revokeConsumer.addRecord(new ConsumerRecord<>(TOPIC, 1, i, "key", "p1-" + i));
+            }
+        });
+        // the records are accumulated for a long interval, so only the records of the revoked partition are delivered
+        revokeConsumer.schedulePollTask(() -> revokeConsumer.revoke(Collections.singleton(partition1)));
+
+        mock.assertIsSatisfied();
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertEquals(2, committedOffset(revokeConsumer, partition1)));
+        assertEquals(-1, committedOffset(revokeConsumer, partition0));
+    }
+
+    private static long committedOffset(MockConsumer<Object, Object> consumer, TopicPartition partition) {
+        OffsetAndMetadata offset = consumer.committed(Collections.singleton(partition)).get(partition);
+        return offset != null ? offset.offset() : -1;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("kafka:" + TOPIC + "?brokers=localhost:9092&groupId=group&batching=true"
+                     + "&autoCommitEnable=false&allowManualCommit=true").routeId("batching")
+                        .to("mock:result");
+
+                from("kafka:" + TOPIC + "?brokers=localhost:9092&groupId=group&clientId=interval&batching=true"
+                     + "&maxPollRecords=4&batchingIntervalMs=500&pollTimeoutMs=100"
+                     + "&autoCommitEnable=false&allowManualCommit=true")
+                        .routeId("batching-interval").autoStartup(false)
+                        .process(this::commit)
+                        .to("mock:result");
+
+                from("kafka:" + TOPIC + "?brokers=localhost:9092&groupId=group&clientId=revoke&batching=true"
+                     + "&batchingIntervalMs=60000&pollTimeoutMs=100")
+                        .routeId("batching-revoke").autoStartup(false)
+                        .to("mock:result");
+            }
+
+            private void commit(Exchange exchange) {
+                exchange.getMessage().getHeader(KafkaConstants.MANUAL_COMMIT, KafkaManualCommit.class).commit();
+            }
+        };
+    }
+
+    private final class ListenerAwareMockConsumer extends MockConsumer<Object, Object> {
+        private ConsumerRebalanceListener listener;
+
+        private ListenerAwareMockConsumer() {
+            super(OffsetResetStrategy.EARLIEST);
+            initConsumer(this);
+        }
+
+        @Override
+        public synchronized void subscribe(Collection<String> topics, ConsumerRebalanceListener listener) {
+            this.listener = listener;
+            super.subscribe(topics, listener);
+        }
+
+        private void revoke(Collection<TopicPartition> partitions) {
+            listener.onPartitionsRevoked(partitions);
+        }
+    }
+
+    private static final class MockKafkaClientFactory extends DefaultKafkaClientFactory {
+        private final Consumer<Object, Object> consumer;
+        private final Consumer<Object, Object> intervalConsumer;
+        private final Consumer<Object, Object> revokeConsumer;
+
+        private MockKafkaClientFactory(Consumer<Object, Object> consumer, Consumer<Object, Object> intervalConsumer,
+                                       Consumer<Object, Object> revokeConsumer) {
+            this.consumer = consumer;
+            this.intervalConsumer = intervalConsumer;
+            this.revokeConsumer = revokeConsumer;
+        }
+
+        @Override
+        public Consumer getConsumer(Properties kafkaProps) {
+            String clientId = kafkaProps.getProperty(ConsumerConfig.CLIENT_ID_CONFIG);
+            if ("interval".equals(clientId)) {
+                return intervalConsumer;
+            }
+            return "revoke".equals(clientId) ? revokeConsumer : consumer;
+        }
+    }
+}
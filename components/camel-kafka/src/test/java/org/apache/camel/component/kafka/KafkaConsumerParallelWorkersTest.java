@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.BindToRegistry;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class KafkaConsumerParallelWorkersTest extends CamelTestSupport {
+
+    private static final String TOPIC = "parallel";
+
+    private final TopicPartition partition0 = new TopicPartition(TOPIC, 0);
+    private final TopicPartition partition1 = new TopicPartition(TOPIC, 1);
+    private final MockConsumer<Object, Object> consumer = createConsumer();
+    private final MockConsumer<Object, Object> keyConsumer = createConsumer();
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private final Map<Integer, List<Long>> processed = new HashMap<>();
+    private volatile String blockedKey;
+
+    @BindToRegistry
+    KafkaClientFactory clientFactory = new MockKafkaClientFactory(consumer, keyConsumer);
+
+    private MockConsumer<Object, Object> createConsumer() {
+        MockConsumer<Object, Object> answer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+        beginningOffsets.put(partition0, 0L);
+        beginningOffsets.put(partition1, 0L);
+        answer.updateBeginningOffsets(beginningOffsets);
+        answer.schedulePollTask(() -> answer.rebalance(Arrays.asList(partition0, partition1)));
+        return answer;
+    }
+
+    @Test
+    public void testSlowRecordDoesNotStallOtherPartitions() throws Exception {
+        blockedKey = "slow";
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(12);
+
+        consumer.schedulePollTask(() -> {
+            for (int i = 0; i < 10; i++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, i == 2 ? "slow" : "key", "p0-" + i));
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 1, i, "key", "p1-" + i));
+            }
+        });
+
+        // the records of partition 0 after the slow record are waiting in its lane
+        mock.assertIsSatisfied();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertEquals(2, committedOffset(consumer, partition0));
+            assertEquals(10, committedOffset(consumer, partition1));
+        });
+
+        latch.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertEquals(20, mock.getReceivedCounter());
+            assertEquals(10, committedOffset(consumer, partition0));
+        });
+        assertInOrder(0);
+        assertInOrder(1);
+    }
+
+    @Test
+    public void testOrderingByKey() throws Exception {
+        context.getRouteController().startRoute("parallel-key");
+        blockedKey = "a";
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(5);
+        mock.expectedBodiesReceived("b-1", "b-3", "b-5", "b-7", "b-9");
+
+        // the records with key a are blocked by the first one, while the records with key b are processed
+        keyConsumer.schedulePollTask(() -> {
+            for (int i = 0; i < 10; i++) {
+                String key = i % 2 == 0 ? "a" : "b";
+                keyConsumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, key, key + "-" + i));
+            }
+        });
+
+        mock.assertIsSatisfied();
+        // nothing is committed as the first record has not completed
+        assertNull(keyConsumer.committed(Collections.singleton(partition0)).get(partition0));
+
+        latch.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertEquals(10, mock.getReceivedCounter());
+            assertEquals(10, committedOffset(keyConsumer, partition0));
+        });
+    }
+
+    private static long committedOffset(MockConsumer<Object, Object> consumer, TopicPartition partition) {
+        OffsetAndMetadata offset = consumer.committed(Collections.singleton(partition)).get(partition);
+        return offset != null ? offset.offset() : -1;
+    }
+
+    private void assertInOrder(int partition) {
+        List<Long> offsets;
+        synchronized (processed) {
+            offsets = new ArrayList<>(processed.get(partition));
+        }
+        List<Long> sorted = new ArrayList<>(offsets);
+        sorted.sort(null);
+        assertEquals(sorted, offsets);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("kafka:" + TOPIC + "?brokers=localhost:9092&groupId=group&parallelWorkers=2").routeId("parallel")
+                        .process(this::process)
+                        .to("mock:result");
+
+                from("kafka:" + TOPIC + "?brokers=localhost:9092&groupId=group&clientId=key&parallelWorkers=2"
+                     + "&parallelOrdering=key")
+                        .routeId("parallel-key").autoStartup(false)
+                        .process(this::process)
+                        .to("mock:result");
+            }
+
+            private void process(Exchange exchange) throws Exception {
+                if (blockedKey.equals(exchange.getMessage().getHeader(KafkaConstants.KEY))) {
+                    latch.await(10, TimeUnit.SECONDS);
+                }
+                int partition = exchange.getMessage().getHeader(KafkaConstants.PARTITION, Integer.class);
+                long offset = exchange.getMessage().getHeader(KafkaConstants.OFFSET, Long.class);
+                synchronized (processed) {
+                    processed.computeIfAbsent(partition, p -> new ArrayList<>()).add(offset);
+                }
+            }
+        };
+    }
+
+    private static final class MockKafkaClientFactory extends DefaultKafkaClientFactory {
+        private final Consumer<Object, Object> consumer;
+        private final Consumer<Object, Object> keyConsumer;
+
+        private MockKafkaClientFactory(Consumer<Object, Object> consumer, Consumer<Object, Object> keyConsumer) {
+            this.consumer = consumer;
+            this.keyConsumer = keyConsumer;
+        }
+
+        @Override
+        public Consumer getConsumer(Properties kafkaProps) {
+            return "key".equals(kafkaProps.getProperty(ConsumerConfig.CLIENT_ID_CONFIG)) ? keyConsumer : consumer;
+        }
+    }
+}
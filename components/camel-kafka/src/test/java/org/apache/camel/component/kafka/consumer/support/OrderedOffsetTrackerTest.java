@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderedOffsetTrackerTest {
+    private final OrderedOffsetTracker tracker = new OrderedOffsetTracker();
+    private final TopicPartition topic1 = new TopicPartition("topic1", 1);
+    private final TopicPartition topic2 = new TopicPartition("topic1", 2);
+
+    @Test
+    @DisplayName("Tests whether only the offsets completed in a row are committable")
+    void completedOutOfOrder() {
+        for (long offset = 10; offset < 15; offset++) {
+            tracker.dispatched(topic1, offset);
+        }
+        assertEquals(-1, tracker.getCompletedOffset(topic1));
+
+        tracker.completed(topic1, 12);
+        tracker.completed(topic1, 13);
+        assertEquals(-1, tracker.getCompletedOffset(topic1));
+        assertEquals(5, tracker.getPending(topic1));
+
+        tracker.completed(topic1, 10);
+        assertEquals(10, tracker.getCompletedOffset(topic1));
+
+        tracker.completed(topic1, 11);
+        assertEquals(13, tracker.getCompletedOffset(topic1));
+        assertEquals(1, tracker.getPending(topic1));
+
+        tracker.completed(topic1, 14);
+        assertEquals(14, tracker.getCompletedOffset(topic1));
+        assertEquals(0, tracker.getPending(topic1));
+    }
+
+    @Test
+    @DisplayName("Tests whether the offsets with gaps (such as from compacted topics) are tracked")
+    void offsetsWithGaps() {
+        tracker.dispatched(topic1, 3);
+        tracker.dispatched(topic1, 7);
+        tracker.dispatched(topic1, 20);
+
+        tracker.completed(topic1, 7);
+        tracker.completed(topic1, 3);
+        assertEquals(7, tracker.getCompletedOffset(topic1));
+
+        // an unknown offset is ignored
+        tracker.completed(topic1, 8);
+        assertEquals(7, tracker.getCompletedOffset(topic1));
+        assertEquals(1, tracker.getPending(topic1));
+    }
+
+    @Test
+    @DisplayName("Tests whether the partitions are tracked separately")
+    void multiplePartitions() {
+        tracker.dispatched(topic1, 0);
+        tracker.dispatched(topic2, 0);
+        tracker.dispatched(topic2, 1);
+
+        tracker.completed(topic2, 0);
+        tracker.completed(topic2, 1);
+        assertEquals(-1, tracker.getCompletedOffset(topic1));
+        assertEquals(1, tracker.getCompletedOffset(topic2));
+
+        tracker.remove(topic2);
+        assertEquals(-1, tracker.getCompletedOffset(topic2));
+        assertEquals(1, tracker.partitions().size());
+    }
+
+    @Test
+    @DisplayName("Tests whether the tracker keeps the offsets beyond its initial capacity")
+    void manyPendingOffsets() {
+        for (long offset = 0; offset < 1000; offset++) {
+            tracker.dispatched(topic1, offset);
+            if (offset % 3 == 0 && offset > 0) {
+                tracker.completed(topic1, offset - 1);
+            }
+        }
+        assertEquals(-1, tracker.getCompletedOffset(topic1));
+
+        tracker.completed(topic1, 0);
+        assertEquals(0, tracker.getCompletedOffset(topic1));
+        tracker.completed(topic1, 1);
+        assertEquals(2, tracker.getCompletedOffset(topic1));
+
+        for (long offset = 0; offset < 1000; offset++) {
+            tracker.completed(topic1, offset);
+        }
+        assertEquals(999, tracker.getCompletedOffset(topic1));
+        assertEquals(0, tracker.getPending(topic1));
+    }
+
+    @Test
+    @DisplayName("Tests whether waiting for the pending offsets to complete times out")
+    void awaitCompleted() throws Exception {
+        tracker.dispatched(topic1, 0);
+        assertFalse(tracker.awaitCompleted(topic1, 10));
+
+        Thread thread = new Thread(() -> tracker.completed(topic1, 0));
+        thread.start();
+        assertTrue(tracker.awaitCompleted(topic1, 5000));
+        assertTrue(tracker.awaitCompleted(topic2, 0));
+    }
+}
@@ -115,6 +115,8 @@ public class NettyHttpConfigurationConfigurer extends org.apache.camel.support.c
         case "Options": target.setOptions(property(camelContext, java.util.Map.class, value)); return true;
         case "passphrase":
         case "Passphrase": target.setPassphrase(property(camelContext, java.lang.String.class, value)); return true;
+        case "passthroughbytebuf":
+        case "PassThroughByteBuf": target.setPassThroughByteBuf(property(camelContext, boolean.class, value)); return true;
         case "path":
         case "Path": target.setPath(property(camelContext, java.lang.String.class, value)); return true;
         case "port":
@@ -302,6 +304,8 @@ public class NettyHttpConfigurationConfigurer extends org.apache.camel.support.c
         case "Options": return java.util.Map.class;
         case "passphrase":
         case "Passphrase": return java.lang.String.class;
+        case "passthroughbytebuf":
+        case "PassThroughByteBuf": return boolean.class;
         case "path":
         case "Path": return java.lang.String.class;
         case "port":
@@ -490,6 +494,8 @@ public class NettyHttpConfigurationConfigurer extends org.apache.camel.support.c
         case "Options": return target.getOptions();
         case "passphrase":
         case "Passphrase": return target.getPassphrase();
+        case "passthroughbytebuf":
+        case "PassThroughByteBuf": return target.isPassThroughByteBuf();
         case "path":
         case "Path": return target.getPath();
         case "port":
@@ -95,6 +95,8 @@ public class NettyConfigurationConfigurer extends org.apache.camel.support.compo
         case "Options": target.setOptions(property(camelContext, java.util.Map.class, value)); return true;
         case "passphrase":
         case "Passphrase": target.setPassphrase(property(camelContext, java.lang.String.class, value)); return true;
+        case "passthroughbytebuf":
+        case "PassThroughByteBuf": target.setPassThroughByteBuf(property(camelContext, boolean.class, value)); return true;
         case "port":
         case "Port": target.setPort(property(camelContext, int.class, value)); return true;
         case "producerpoolenabled":
@@ -248,6 +250,8 @@ public class NettyConfigurationConfigurer extends org.apache.camel.support.compo
         case "Options": return java.util.Map.class;
         case "passphrase":
         case "Passphrase": return java.lang.String.class;
+        case "passthroughbytebuf":
+        case "PassThroughByteBuf": return boolean.class;
         case "port":
         case "Port": return int.class;
         case "producerpoolenabled":
@@ -402,6 +406,8 @@ public class NettyConfigurationConfigurer extends org.apache.camel.support.compo
         case "Options": return target.getOptions();
         case "passphrase":
         case "Passphrase": return target.getPassphrase();
+        case "passthroughbytebuf":
+        case "PassThroughByteBuf": return target.isPassThroughByteBuf();
         case "port":
         case "Port": return target.getPort();
         case "producerpoolenabled":
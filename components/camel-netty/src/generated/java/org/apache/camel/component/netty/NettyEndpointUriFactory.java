@@ -21,7 +21,7 @@ public class NettyEndpointUriFactory extends org.apache.camel.support.component.
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(74);
+        Set<String> props = new HashSet<>(75);
         props.add("allowDefaultCodec");
         props.add("allowSerializedHeaders");
         props.add("autoAppendDelimiter");
@@ -60,6 +60,7 @@ public class NettyEndpointUriFactory extends org.apache.camel.support.component.
         props.add("noReplyLogLevel");
         props.add("options");
         props.add("passphrase");
+        props.add("passThroughByteBuf");
         props.add("port");
         props.add("producerPoolEnabled");
         props.add("producerPoolMaxIdle");
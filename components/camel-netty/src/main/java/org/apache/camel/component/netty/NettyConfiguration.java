@@ -112,6 +112,8 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
     @UriParam(label = "producer,advanced")
     private boolean useByteBuf;
     @UriParam(label = "advanced")
+    private boolean passThroughByteBuf;
+    @UriParam(label = "advanced")
     private boolean udpByteArrayCodec;
     @UriParam(label = "common")
     private boolean reuseChannel;
@@ -242,7 +244,9 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
 
         // add default encoders and decoders
         if (encodersList.isEmpty() && decodersList.isEmpty()) {
-            if (isAllowDefaultCodec()) {
+            if (isPassThroughByteBuf()) {
+                LOG.debug("No encoders and decoders will be used as the buffers are passed through");
+            } else if (isAllowDefaultCodec()) {
                 if ("udp".equalsIgnoreCase(protocol)) {
                     encodersList.add(ChannelHandlerFactories.newDatagramPacketEncoder());
                 }
@@ -715,6 +719,20 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
         this.useByteBuf = useByteBuf;
     }
 
+    public boolean isPassThroughByteBuf() {
+        return passThroughByteBuf;
+    }
+
+    /**
+     * If enabled, the {@link ByteBuf} received by the consumer (or received as reply by the producer) is kept as the
+     * message body without copying it, and a {@link ByteBuf} message body is written to the channel without copying it.
+     * The buffer is reference counted, and released when the exchange is done, so it must not be used after the
+     * exchange has completed. No default codec is used when enabled.
+     */
+    public void setPassThroughByteBuf(boolean passThroughByteBuf) {
+        this.passThroughByteBuf = passThroughByteBuf;
+    }
+
     public boolean isUdpByteArrayCodec() {
         return udpByteArrayCodec;
     }
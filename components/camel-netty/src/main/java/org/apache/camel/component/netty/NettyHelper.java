@@ -20,15 +20,21 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.concurrent.ThreadFactory;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.DefaultAddressedEnvelope;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
 import io.netty.util.concurrent.DefaultEventExecutorGroup;
 import io.netty.util.concurrent.EventExecutorGroup;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.Message;
 import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -113,6 +119,41 @@ public final class NettyHelper {
         }
     }
 
+    /**
+     * Retains the given message received from Netty, so it can be used as the message body after the channel handler
+     * has returned, and releases it when the exchange is done.
+     *
+     * @param exchange the exchange
+     * @param message  the message received from Netty
+     */
+    public static void retainUntilDone(Exchange exchange, Object message) {
+        if (message instanceof ReferenceCounted) {
+            ReferenceCountUtil.retain(message);
+            exchange.adapt(ExtendedExchange.class).addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onDone(Exchange exchange) {
+                    ReferenceCountUtil.release(message);
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the body to write to Netty when the {@link ByteBuf} is passed through. If the body is the buffer of the
+     * message, then a retained duplicate is written, which shares the content of the buffer without copying it, as
+     * Netty releases the written buffer while the message still owns it.
+     *
+     * @param  body    the body to write
+     * @param  message the message the body is taken from
+     * @return         the body to write
+     */
+    public static Object getPassThroughBody(Object body, Message message) {
+        if (body instanceof ByteBuf && body == message.getBody()) {
+            return ((ByteBuf) body).retainedDuplicate();
+        }
+        return body;
+    }
+
     /**
      * Closes the given channel asynchronously
      *
@@ -431,6 +431,10 @@ public class NettyProducer extends DefaultAsyncProducer {
                     getConfiguration().isAutoAppendDelimiter());
         }
 
+        if (getConfiguration().isPassThroughByteBuf()) {
+            body = NettyHelper.getPassThroughBody(body, exchange.getIn());
+        }
+
         return body;
     }
 
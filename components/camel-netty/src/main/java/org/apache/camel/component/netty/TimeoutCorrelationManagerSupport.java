@@ -30,7 +30,7 @@ import org.apache.camel.LoggingLevel;
 import org.apache.camel.TimeoutMap;
 import org.apache.camel.TimeoutMap.Listener.Type;
 import org.apache.camel.spi.CamelLogger;
-import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.TimerWheelTimeoutMap;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.ObjectHelper;
@@ -184,7 +184,7 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport
             workerPool = camelContext.getExecutorServiceManager().newDefaultThreadPool(this, "NettyTimeoutWorkerPool");
         }
 
-        map = new DefaultTimeoutMap<>(scheduledExecutorService, timeoutChecker);
+        map = new TimerWheelTimeoutMap<>(scheduledExecutorService, timeoutChecker);
         map.addListener(this::onEviction);
 
         ServiceHelper.startService(map);
@@ -179,6 +179,11 @@ public class ClientChannelHandler extends SimpleChannelInboundHandler<Object> {
             return;
         }
 
+        if (producer.getConfiguration().isPassThroughByteBuf()) {
+            // keep the received buffer as the body until the exchange is done
+            NettyHelper.retainUntilDone(exchange, msg);
+        }
+
         Boolean continueWaitForAnswer = exchange.getProperty(NettyConstants.NETTY_CLIENT_CONTINUE, Boolean.class);
         if (continueWaitForAnswer != null && continueWaitForAnswer) {
             exchange.removeProperty(NettyConstants.NETTY_CLIENT_CONTINUE);
@@ -103,6 +103,11 @@ public class ServerChannelHandler extends SimpleChannelInboundHandler<Object> {
         // we want to handle the UoW
         consumer.createUoW(exchange);
 
+        if (consumer.getConfiguration().isPassThroughByteBuf()) {
+            // keep the received buffer as the body until the exchange is done
+            NettyHelper.retainUntilDone(exchange, msg);
+        }
+
         beforeProcess(exchange, ctx, msg);
 
         // process accordingly to endpoint configuration
@@ -182,6 +187,10 @@ public class ServerChannelHandler extends SimpleChannelInboundHandler<Object> {
                         consumer.getConfiguration().isAutoAppendDelimiter());
             }
 
+            if (consumer.getConfiguration().isPassThroughByteBuf()) {
+                body = NettyHelper.getPassThroughBody(body, exchange.getMessage());
+            }
+
             // we got a body to write
             ChannelFutureListener listener = createResponseFutureListener(consumer, exchange, ctx.channel().remoteAddress());
             if (consumer.getConfiguration().isTcp()) {
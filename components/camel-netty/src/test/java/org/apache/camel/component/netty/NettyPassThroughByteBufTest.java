@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.test.AvailablePortFinder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.apache.camel.test.junit5.TestSupport.assertIsInstanceOf;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NettyPassThroughByteBufTest extends BaseNettyTest {
+
+    @RegisterExtension
+    protected AvailablePortFinder.Port port2 = AvailablePortFinder.find();
+
+    private final List<ByteBuf> buffers = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testProxyPassesBuffersThrough() throws Exception {
+        Object body = template.requestBody("netty:tcp://localhost:" + port.getPort() + "?sync=true&textline=true", "Camel\n");
+        assertEquals("Camel", body);
+
+        // the request received by the proxy, the request received by the server and the reply received by the proxy
+        assertEquals(3, buffers.size());
+
+        // the buffers are released once the exchanges are done
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            for (ByteBuf buffer : buffers) {
+                assertEquals(0, buffer.refCnt());
+            }
+        });
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                fromF("netty:tcp://localhost:%s?sync=true&passThroughByteBuf=true", port.getPort())
+                        .process(this::capture)
+                        .toF("netty:tcp://localhost:%s?sync=true&passThroughByteBuf=true", port2.getPort())
+                        .process(this::capture);
+
+                // echo the request as is
+                fromF("netty:tcp://localhost:%s?sync=true&passThroughByteBuf=true", port2.getPort())
+                        .process(this::capture);
+            }
+
+            private void capture(Exchange exchange) {
+                // the body is the buffer received from netty, which is still readable
+                ByteBuf buffer = assertIsInstanceOf(ByteBuf.class, exchange.getMessage().getBody());
+                assertEquals("Camel\n", buffer.toString(StandardCharsets.UTF_8));
+                buffers.add(buffer);
+            }
+        };
+    }
+}
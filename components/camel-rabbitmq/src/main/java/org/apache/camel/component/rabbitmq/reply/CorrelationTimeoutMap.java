@@ -18,7 +18,7 @@ package org.apache.camel.component.rabbitmq.reply;
 
 import java.util.concurrent.ScheduledExecutorService;
 
-import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.TimerWheelTimeoutMap;
 
 import static org.apache.camel.TimeoutMap.Listener.Type.*;
 
@@ -26,7 +26,7 @@ import static org.apache.camel.TimeoutMap.Listener.Type.*;
  * A {@link org.apache.camel.TimeoutMap} which is used to track reply messages which has been timed out, and thus should
  * trigger the waiting {@link org.apache.camel.Exchange} to timeout as well.
  */
-class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandler> {
+class CorrelationTimeoutMap extends TimerWheelTimeoutMap<String, ReplyHandler> {
 
     CorrelationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
         super(executor, requestMapPollTimeMillis);
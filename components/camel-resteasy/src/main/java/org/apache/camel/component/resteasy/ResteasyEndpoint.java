@@ -39,7 +39,7 @@ import org.slf4j.LoggerFactory;
 @Metadata(excludeProperties = "clientConnectionManager,connectionsPerRoute,connectionTimeToLive,"
                               + "httpBinding,httpClientConfigurer,httpConfiguration,httpContext,httpRegistry,maxTotalConnections,connectionRequestTimeout,"
                               + "connectTimeout,socketTimeout,cookieStore,x509HostnameVerifier,sslContextParameters,"
-                              + "clientBuilder,httpClient,httpClientOptions,"
+                              + "clientBuilder,httpClient,httpClientOptions,asyncProducer,"
                               + "proxyHost,proxyMethod,proxyPort,authDomain,authenticationPreemptive,authHost,authMethod,authMethodPriority,authPassword,authUsername,basicAuth,"
                               + "proxyAuthScheme,proxyAuthMethod,proxyAuthUsername,proxyAuthPassword,proxyAuthHost,proxyAuthPort,proxyAuthDomain,proxyAuthNtHost")
 public class ResteasyEndpoint extends HttpEndpoint {
@@ -16,14 +16,18 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
+import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExtendedExchange;
 import org.apache.camel.Processor;
@@ -34,6 +38,7 @@ import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.DefaultConsumer;
 import org.apache.camel.support.EmptyAsyncCallback;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.support.UnitOfWorkHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
@@ -50,15 +55,20 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
     private static final Logger LOG = LoggerFactory.getLogger(SedaConsumer.class);
 
     private final AtomicInteger taskCount = new AtomicInteger();
+    private final AtomicInteger pendingBatchSize = new AtomicInteger();
     private volatile CountDownLatch latch;
     private volatile boolean shutdownPending;
     private volatile boolean forceShutdown;
     private ExecutorService executor;
     private final int pollTimeout;
+    private final int batchSize;
+    private final boolean groupExchanges;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.batchSize = Math.max(1, endpoint.getBatchSize());
+        this.groupExchanges = endpoint.isGroupExchanges();
     }
 
     @Override
@@ -80,7 +90,8 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         if (getEndpoint().isPurgeWhenStopping()) {
             getEndpoint().purgeQueue();
         }
-        return getEndpoint().getQueue().size();
+        // include the exchanges which has been taken from the queue in a batch and are not yet processed
+        return getEndpoint().getQueue().size() + pendingBatchSize.get();
     }
 
     @Override
@@ -171,6 +182,13 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
                 }
             }
 
+            if (batchSize > 1) {
+                if (!pollBatch(queue)) {
+                    break;
+                }
+                continue;
+            }
+
             Exchange exchange = null;
             try {
                 // use the end user configured poll timeout
@@ -180,21 +198,7 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
                             exchange);
                 }
                 if (exchange != null) {
-                    try {
-                        // prepare the exchange before sending to consumer
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy result back
-                        ExchangeHelper.copyResults(exchange, newExchange);
-                        // log exception if an exception occurred and was not handled
-                        if (exchange.getException() != null) {
-                            getExceptionHandler().handleException("Error processing exchange", exchange,
-                                    exchange.getException());
-                        }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
-                    }
+                    processExchange(exchange);
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
                     // we want to shutdown so break out if there queue is empty
@@ -213,6 +217,143 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         }
     }
 
+    /**
+     * Polls the queue and takes up to the batch size of exchanges from the queue in one go, which are then processed.
+     *
+     * @return <tt>false</tt> if this consumer thread should break out as shutdown is pending and the queue is empty
+     */
+    protected boolean pollBatch(BlockingQueue<Exchange> queue) {
+        List<Exchange> batch = new ArrayList<>(batchSize);
+        try {
+            // use the end user configured poll timeout to wait for the first exchange
+            Exchange exchange = queue.poll(pollTimeout, TimeUnit.MILLISECONDS);
+            if (exchange == null) {
+                if (shutdownPending && queue.isEmpty()) {
+                    LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
+                    // we want to shutdown so break out if there queue is empty
+                    return false;
+                }
+                return true;
+            }
+            batch.add(exchange);
+            // and then take the exchanges that are ready without waiting
+            queue.drainTo(batch, batchSize - 1);
+        } catch (InterruptedException e) {
+            LOG.debug("Sleep interrupted, are we stopping? {}", isStopping() || isStopped());
+            return true;
+        }
+
+        int size = batch.size();
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Polled queue {} with timeout {} ms. -> {} exchanges", ObjectHelper.getIdentityHashCode(queue),
+                    pollTimeout, size);
+        }
+        pendingBatchSize.addAndGet(size);
+        try {
+            if (groupExchanges) {
+                processGroupedExchange(batch);
+            } else {
+                for (int i = 0; i < size; i++) {
+                    processExchange(batch.get(i));
+                    pendingBatchSize.decrementAndGet();
+                }
+                size = 0;
+            }
+        } finally {
+            pendingBatchSize.addAndGet(-size);
+        }
+        return true;
+    }
+
+    /**
+     * Processes the exchange taken from the queue
+     *
+     * @param exchange the exchange
+     */
+    protected void processExchange(Exchange exchange) {
+        try {
+            // prepare the exchange before sending to consumer
+            Exchange newExchange = prepareExchange(exchange);
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy result back
+            ExchangeHelper.copyResults(exchange, newExchange);
+            // log exception if an exception occurred and was not handled
+            if (exchange.getException() != null) {
+                getExceptionHandler().handleException("Error processing exchange", exchange,
+                        exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
+    /**
+     * Processes the batch of exchanges taken from the queue as a single grouped exchange, which has the exchanges as a
+     * {@link List} in the message body.
+     *
+     * @param batch the exchanges
+     */
+    protected void processGroupedExchange(List<Exchange> batch) {
+        // handover completions, as we need to done the exchanges when the grouped exchange is done
+        List<Exchange> exchanges = new ArrayList<>(batch.size());
+        List<List<Synchronization>> completions = new ArrayList<>(batch.size());
+        for (Exchange exchange : batch) {
+            prepareExchange(exchange);
+            List<Synchronization> list = exchange.adapt(ExtendedExchange.class).handoverCompletions();
+            if (ExchangeHelper.isOutCapable(exchange)) {
+                // there is no reply for each of the grouped exchanges, so an exchange expecting a reply is failed
+                exchange.setException(
+                        new CamelExchangeException("Cannot group an exchange which expects a reply (InOut)", exchange));
+                UnitOfWorkHelper.doneSynchronizations(exchange, list, LOG);
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            } else {
+                exchanges.add(exchange);
+                completions.add(list);
+            }
+        }
+        if (exchanges.isEmpty()) {
+            return;
+        }
+
+        // the grouped exchange is created by this consumer, so it must be released when done
+        Exchange grouped = createExchange(false);
+        grouped.getIn().setBody(exchanges);
+        // the exchanges are done when the grouped exchange is done, which must only happen once
+        AtomicBoolean done = new AtomicBoolean();
+        grouped.adapt(ExtendedExchange.class).addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange exchange) {
+                if (done.compareAndSet(false, true)) {
+                    doneGroupedExchange(exchange, exchanges, completions);
+                }
+            }
+        });
+        try {
+            sendToConsumers(grouped, doneSync -> releaseExchange(grouped, false));
+        } catch (Exception e) {
+            grouped.setException(e);
+            if (done.compareAndSet(false, true)) {
+                doneGroupedExchange(grouped, exchanges, completions);
+            }
+            releaseExchange(grouped, false);
+        }
+    }
+
+    private void doneGroupedExchange(Exchange grouped, List<Exchange> batch, List<List<Synchronization>> completions) {
+        for (int i = 0; i < batch.size(); i++) {
+            Exchange exchange = batch.get(i);
+            if (grouped.getException() != null) {
+                exchange.setException(grouped.getException());
+            }
+            UnitOfWorkHelper.doneSynchronizations(exchange, completions.get(i), LOG);
+        }
+        // log exception if an exception occurred and was not handled
+        if (grouped.getException() != null) {
+            getExceptionHandler().handleException("Error processing exchange", grouped, grouped.getException());
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
@@ -239,6 +380,10 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
      * @throws Exception can be thrown if processing of the exchange failed
      */
     protected void sendToConsumers(final Exchange exchange) throws Exception {
+        sendToConsumers(exchange, EmptyAsyncCallback.get());
+    }
+
+    private void sendToConsumers(final Exchange exchange, final AsyncCallback callback) throws Exception {
         // validate multiple consumers has been enabled
         int size = getEndpoint().getConsumers().size();
         if (size > 1 && !getEndpoint().isMultipleConsumersSupported()) {
@@ -263,10 +408,11 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
             mp.process(exchange, doneSync -> {
                 // done the uow on the completions
                 UnitOfWorkHelper.doneSynchronizations(exchange, completions, LOG);
+                callback.done(doneSync);
             });
         } else {
             // use the regular processor and use the asynchronous routing engine to support it
-            getAsyncProcessor().process(exchange, EmptyAsyncCallback.get());
+            getAsyncProcessor().process(exchange, callback);
         }
     }
 
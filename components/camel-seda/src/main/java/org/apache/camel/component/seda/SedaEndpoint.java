@@ -84,6 +84,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer,advanced", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer,advanced", defaultValue = "1")
+    private int batchSize = 1;
+    @UriParam(label = "consumer,advanced")
+    private boolean groupExchanges;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -440,6 +444,38 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * The maximum number of exchanges the consumer takes from the queue at once. The exchanges are taken from the queue
+     * in one go, and then processed one after the other by the consumer thread, which reduces the overhead of taking
+     * the exchanges from the queue when the queue is busy. The default is 1 which takes one exchange at a time.
+     * <p/>
+     * Notice that when using concurrent consumers, then a batch is processed by a single consumer thread.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @ManagedAttribute
+    public boolean isGroupExchanges() {
+        return groupExchanges;
+    }
+
+    /**
+     * Whether the exchanges taken from the queue in a batch (see batchSize) is grouped into a single exchange which is
+     * routed instead. The grouped exchange has the batch of exchanges as a java.util.List in the message body. The
+     * batch of exchanges is completed when the grouped exchange is completed, and if the grouped exchange failed then
+     * each exchange in the batch is failed with the same exception. The exchanges which expect a reply (InOut) cannot be
+     * grouped, and are failed without being routed.
+     */
+    public void setGroupExchanges(boolean groupExchanges) {
+        this.groupExchanges = groupExchanges;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
@@ -22,25 +22,35 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.sql.DataSource;
 
 import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.spi.OptimisticLockingAggregationRepository;
 import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Constants;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.support.AbstractLobCreatingPreparedStatementCallback;
@@ -61,7 +71,7 @@ import org.springframework.transaction.support.TransactionTemplate;
  * persists the Message body and the Message headers. The Exchange properties are not persisted.
  */
 public class JdbcAggregationRepository extends ServiceSupport
-        implements RecoverableAggregationRepository, OptimisticLockingAggregationRepository {
+        implements RecoverableAggregationRepository, OptimisticLockingAggregationRepository, CamelContextAware {
 
     protected static final String EXCHANGE = "exchange";
     protected static final String ID = "id";
@@ -82,6 +92,7 @@ public class JdbcAggregationRepository extends ServiceSupport
 
     private JdbcOptimisticLockingExceptionMapper jdbcOptimisticLockingExceptionMapper
             = new DefaultJdbcOptimisticLockingExceptionMapper();
+    private CamelContext camelContext;
     private PlatformTransactionManager transactionManager;
     private DataSource dataSource;
     private int propagationBehavior = TransactionDefinition.PROPAGATION_REQUIRED;
@@ -94,6 +105,17 @@ public class JdbcAggregationRepository extends ServiceSupport
     private String deadLetterUri;
     private List<String> headersToStoreAsText;
     private boolean storeBodyAsText;
+    private boolean writeBehind;
+    private int writeBehindBatchSize = 100;
+    private long writeBehindInterval = 1000;
+
+    // write behind: the aggregated exchanges in progress, and the keys of the ones not yet written to the database
+    private final Map<String, WriteBehindEntry> writeBehindEntries = new ConcurrentHashMap<>();
+    private final Set<String> writeBehindKeys = ConcurrentHashMap.newKeySet();
+    // write behind: the keys in the database on startup which have not been loaded yet
+    private final Set<String> writeBehindRecovered = ConcurrentHashMap.newKeySet();
+    private final Lock writeBehindLock = new ReentrantLock();
+    private ScheduledExecutorService writeBehindExecutorService;
 
     /**
      * Creates an aggregation repository
@@ -150,6 +172,9 @@ public class JdbcAggregationRepository extends ServiceSupport
 
     @Override
     public Exchange add(final CamelContext camelContext, final String correlationId, final Exchange exchange) {
+        if (writeBehind) {
+            return addWriteBehind(camelContext, correlationId, exchange);
+        }
         return transactionTemplate.execute(new TransactionCallback<Exchange>() {
 
             public Exchange doInTransaction(TransactionStatus status) {
@@ -203,6 +228,11 @@ public class JdbcAggregationRepository extends ServiceSupport
     protected void update(
             final CamelContext camelContext, final String key, final Exchange exchange, String repositoryName, Long version)
             throws Exception {
+        String sql = createUpdateSql(repositoryName);
+        updateHelper(camelContext, key, exchange, sql, version);
+    }
+
+    private String createUpdateSql(String repositoryName) {
         StringBuilder queryBuilder = new StringBuilder()
                 .append("UPDATE ").append(repositoryName)
                 .append(" SET ")
@@ -224,8 +254,7 @@ public class JdbcAggregationRepository extends ServiceSupport
                 .append(" AND ")
                 .append(VERSION).append(" = ?");
 
-        String sql = queryBuilder.toString();
-        updateHelper(camelContext, key, exchange, sql, version);
+        return queryBuilder.toString();
     }
 
     /**
@@ -241,6 +270,11 @@ public class JdbcAggregationRepository extends ServiceSupport
             final CamelContext camelContext, final String correlationId, final Exchange exchange, String repositoryName,
             Long version)
             throws Exception {
+        String sql = createInsertSql(repositoryName);
+        insertHelper(camelContext, correlationId, exchange, sql, version);
+    }
+
+    private String createInsertSql(String repositoryName) {
         // The default totalParameterIndex is 3 for ID, Exchange and version. Depending on logic this will be increased.
         int totalParameterIndex = 3;
         StringBuilder queryBuilder = new StringBuilder()
@@ -268,9 +302,7 @@ public class JdbcAggregationRepository extends ServiceSupport
         }
         queryBuilder.append("?)");
 
-        String sql = queryBuilder.toString();
-
-        insertHelper(camelContext, correlationId, exchange, sql, version);
+        return queryBuilder.toString();
     }
 
     protected int insertHelper(
@@ -334,7 +366,8 @@ public class JdbcAggregationRepository extends ServiceSupport
     @Override
     public Exchange get(final CamelContext camelContext, final String correlationId) {
         final String key = correlationId;
-        Exchange result = get(key, getRepositoryName(), camelContext);
+        Exchange result = writeBehind
+                ? getWriteBehind(key, camelContext) : get(key, getRepositoryName(), camelContext);
         LOG.debug("Getting key {} -> {}", key, result);
         return result;
     }
@@ -376,6 +409,10 @@ public class JdbcAggregationRepository extends ServiceSupport
 
     @Override
     public void remove(final CamelContext camelContext, final String correlationId, final Exchange exchange) {
+        if (writeBehind) {
+            removeWriteBehind(camelContext, correlationId, exchange);
+            return;
+        }
         transactionTemplate.execute(new TransactionCallbackWithoutResult() {
             protected void doInTransactionWithoutResult(TransactionStatus status) {
                 final String key = correlationId;
@@ -422,6 +459,10 @@ public class JdbcAggregationRepository extends ServiceSupport
 
     @Override
     public Set<String> getKeys() {
+        if (writeBehind) {
+            // the keys are listed from the database so any pending writes must be done first
+            flush();
+        }
         return getKeys(getRepositoryName());
     }
 
@@ -452,6 +493,291 @@ public class JdbcAggregationRepository extends ServiceSupport
         });
     }
 
+    private Exchange addWriteBehind(final CamelContext camelContext, final String key, final Exchange exchange) {
+        LOG.debug("Adding exchange with key {} (write behind)", key);
+
+        final WriteBehindEntry current = getWriteBehindEntry(key);
+        Exchange result = null;
+        long version = 1L;
+        if (current != null) {
+            // Recover existing exchange with that ID
+            if (isReturnOldExchange()) {
+                result = unmarshallWriteBehindEntry(camelContext, current);
+            }
+            Long versionLong = exchange.getProperty(VERSION_PROPERTY, Long.class);
+            if (versionLong == null || versionLong != current.version) {
+                LOG.debug("Race while adding record with key {}", key);
+                throw new OptimisticLockingException();
+            }
+            version = current.version + 1;
+        }
+
+        final WriteBehindEntry entry;
+        try {
+            entry = createWriteBehindEntry(key, exchange, version);
+        } catch (IOException e) {
+            throw new RuntimeException("Error adding to repository " + repositoryName + " with key " + key, e);
+        }
+        writeBehindEntries.compute(key, (k, existing) -> {
+            if (existing != current) {
+                LOG.debug("Race while adding record with key {}", key);
+                throw new OptimisticLockingException();
+            }
+            if (existing != null) {
+                entry.persistedVersion = existing.persistedVersion;
+            }
+            return entry;
+        });
+        writeBehindKeys.add(key);
+
+        if (writeBehindKeys.size() >= writeBehindBatchSize) {
+            tryFlush();
+        }
+        return result;
+    }
+
+    /**
+     * Writes the pending aggregated exchanges, unless another thread is writing already, as that thread may write them
+     * as well
+     */
+    private void tryFlush() {
+        if (writeBehindLock.tryLock()) {
+            try {
+                doFlush();
+            } catch (Exception e) {
+                // the exchanges are kept and written by the next flush
+                LOG.warn("Error writing aggregated exchanges to repository {} due to {}. Will try again on next flush.",
+                        repositoryName, e.getMessage(), e);
+            } finally {
+                writeBehindLock.unlock();
+            }
+        }
+    }
+
+    private Exchange getWriteBehind(final String key, final CamelContext camelContext) {
+        WriteBehindEntry entry = getWriteBehindEntry(key);
+        return entry != null ? unmarshallWriteBehindEntry(camelContext, entry) : null;
+    }
+
+    private void removeWriteBehind(final CamelContext camelContext, final String key, final Exchange exchange) {
+        final String confirmKey = exchange.getExchangeId();
+        final long version = exchange.getProperty(VERSION_PROPERTY, Long.class);
+
+        // must not remove while flushing as the flush could otherwise write the removed exchange again
+        writeBehindLock.lock();
+        try {
+            final WriteBehindEntry entry = writeBehindEntries.remove(key);
+            final boolean pending = writeBehindKeys.remove(key);
+            final Long persistedVersion;
+            if (entry != null) {
+                persistedVersion = entry.persistedVersion;
+            } else {
+                persistedVersion = writeBehindRecovered.remove(key) ? version : null;
+            }
+            try {
+                transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+                    protected void doInTransactionWithoutResult(TransactionStatus status) {
+                        try {
+                            LOG.debug("Removing key {} (write behind)", key);
+
+                            if (persistedVersion != null) {
+                                jdbcTemplate.update(
+                                        "DELETE FROM " + getRepositoryName() + " WHERE " + ID + " = ? AND " + VERSION + " = ?",
+                                        key, persistedVersion);
+                            }
+
+                            insert(camelContext, confirmKey, exchange, getRepositoryNameCompleted(), version);
+                            LOG.debug("Removed key {}", key);
+
+                        } catch (Exception e) {
+                            throw new RuntimeException(
+                                    "Error removing key " + key + " from repository " + repositoryName, e);
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                // keep the exchange as the remove did not happen
+                if (entry != null) {
+                    writeBehindEntries.putIfAbsent(key, entry);
+                    if (pending) {
+                        writeBehindKeys.add(key);
+                    }
+                }
+                throw e;
+            }
+        } finally {
+            writeBehindLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the aggregated exchanges which have been added since the last write to the database. This is only in use
+     * when write behind is enabled, and is done automatically, but can be called to ensure the database is up to date,
+     * such as before a planned shutdown of the database.
+     */
+    public void flush() {
+        writeBehindLock.lock();
+        try {
+            doFlush();
+        } finally {
+            writeBehindLock.unlock();
+        }
+    }
+
+    private void doFlush() {
+        if (writeBehindKeys.isEmpty()) {
+            return;
+        }
+
+        final List<String> keys = new ArrayList<>();
+        final List<WriteBehindEntry> inserts = new ArrayList<>();
+        final List<WriteBehindEntry> updates = new ArrayList<>();
+        for (Iterator<String> it = writeBehindKeys.iterator(); it.hasNext();) {
+            String key = it.next();
+            it.remove();
+            keys.add(key);
+            WriteBehindEntry entry = writeBehindEntries.get(key);
+            if (entry == null) {
+                continue;
+            }
+            if (entry.persistedVersion == null) {
+                inserts.add(entry);
+            } else {
+                updates.add(entry);
+            }
+        }
+
+        LOG.debug("Writing {} new and {} updated aggregated exchanges to repository {}", inserts.size(), updates.size(),
+                repositoryName);
+        try {
+            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    batchWrite(createInsertSql(getRepositoryName()), inserts, false);
+                    batchWrite(createUpdateSql(getRepositoryName()), updates, true);
+                }
+            });
+        } catch (RuntimeException e) {
+            // the exchanges must be written again by the next flush
+            writeBehindKeys.addAll(keys);
+            throw e;
+        }
+
+        for (List<WriteBehindEntry> written : List.of(inserts, updates)) {
+            for (WriteBehindEntry entry : written) {
+                // a newer exchange may have been added meanwhile, which must update the version that was written
+                writeBehindEntries.computeIfPresent(entry.key, (k, existing) -> {
+                    existing.persistedVersion = entry.version;
+                    return existing;
+                });
+            }
+        }
+    }
+
+    private void batchWrite(String sql, final List<WriteBehindEntry> entries, final boolean update) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        final LobCreator lobCreator = getLobHandler().getLobCreator();
+        try {
+            int[] updateCounts = jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    WriteBehindEntry entry = entries.get(i);
+                    int totalParameterIndex = 0;
+                    lobCreator.setBlobAsBytes(ps, ++totalParameterIndex, entry.data);
+                    if (!update) {
+                        ps.setString(++totalParameterIndex, entry.key);
+                    }
+                    ps.setLong(++totalParameterIndex, entry.version);
+                    if (storeBodyAsText) {
+                        ps.setString(++totalParameterIndex, entry.body);
+                    }
+                    if (hasHeadersToStoreAsText()) {
+                        for (String headerValue : entry.headers) {
+                            ps.setString(++totalParameterIndex, headerValue);
+                        }
+                    }
+                    if (update) {
+                        ps.setString(++totalParameterIndex, entry.key);
+                        ps.setLong(++totalParameterIndex, entry.persistedVersion);
+                    }
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return entries.size();
+                }
+            });
+            if (update) {
+                for (int updateCount : updateCounts) {
+                    if (updateCount == 0) {
+                        // Found stale version while updating record
+                        throw new OptimisticLockingException();
+                    }
+                }
+            }
+        } finally {
+            lobCreator.close();
+        }
+    }
+
+    private WriteBehindEntry getWriteBehindEntry(final String key) {
+        WriteBehindEntry entry = writeBehindEntries.get(key);
+        if (entry == null && writeBehindRecovered.contains(key)) {
+            // the exchange was in the database on startup so load it once
+            entry = transactionTemplateReadOnly.execute(new TransactionCallback<WriteBehindEntry>() {
+                public WriteBehindEntry doInTransaction(TransactionStatus status) {
+                    try {
+                        Map<String, Object> columns = jdbcTemplate.queryForMap(
+                                String.format("SELECT %1$s, %2$s FROM %3$s WHERE %4$s=?", EXCHANGE, VERSION,
+                                        getRepositoryName(), ID),
+                                new Object[] { key }, new int[] { Types.VARCHAR });
+                        long version = ((Number) columns.get(VERSION)).longValue();
+                        WriteBehindEntry answer
+                                = new WriteBehindEntry(key, (byte[]) columns.get(EXCHANGE), version, null, null);
+                        answer.persistedVersion = version;
+                        return answer;
+                    } catch (EmptyResultDataAccessException ex) {
+                        return null;
+                    }
+                }
+            });
+            if (entry != null) {
+                WriteBehindEntry existing = writeBehindEntries.putIfAbsent(key, entry);
+                if (existing != null) {
+                    entry = existing;
+                }
+            }
+            writeBehindRecovered.remove(key);
+        }
+        return entry;
+    }
+
+    private WriteBehindEntry createWriteBehindEntry(String key, Exchange exchange, long version) throws IOException {
+        byte[] data = codec.marshallExchange(exchange, allowSerializedHeaders);
+        // the text values are taken now, as the exchange can be changed before it is written
+        String body = storeBodyAsText ? exchange.getIn().getBody(String.class) : null;
+        List<String> headers = null;
+        if (hasHeadersToStoreAsText()) {
+            headers = new ArrayList<>(headersToStoreAsText.size());
+            for (String headerName : headersToStoreAsText) {
+                headers.add(exchange.getIn().getHeader(headerName, String.class));
+            }
+        }
+        return new WriteBehindEntry(key, data, version, body, headers);
+    }
+
+    private Exchange unmarshallWriteBehindEntry(CamelContext camelContext, WriteBehindEntry entry) {
+        try {
+            Exchange result = codec.unmarshallExchange(camelContext, entry.data);
+            result.setProperty(VERSION_PROPERTY, entry.version);
+            return result;
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new RuntimeException("Error getting key " + entry.key + " from repository " + repositoryName, ex);
+        }
+    }
+
     @Override
     public Exchange recover(CamelContext camelContext, String exchangeId) {
         final String key = exchangeId;
@@ -618,10 +944,62 @@ public class JdbcAggregationRepository extends ServiceSupport
         this.jdbcOptimisticLockingExceptionMapper = jdbcOptimisticLockingExceptionMapper;
     }
 
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Whether to keep the aggregated exchanges in memory, and write them to the database in JDBC batches, instead of
+     * writing each aggregated exchange to the database when it is added. The aggregated exchanges of the same
+     * correlation key added between two writes are written only once, which reduces the load on the database when
+     * aggregating many messages per correlation key. Completed exchanges are still written to the database when they
+     * are removed, so they can be recovered. However the aggregated exchanges added since the last write are lost if the
+     * JVM crashes. This option should not be used when the database table is shared by more than one repository, such
+     * as in a clustered environment. By default this option is false.
+     */
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    /**
+     * The number of pending aggregated exchanges which triggers a write to the database when write behind is enabled.
+     * By default this is 100.
+     */
+    public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+        this.writeBehindBatchSize = writeBehindBatchSize;
+    }
+
+    public long getWriteBehindInterval() {
+        return writeBehindInterval;
+    }
+
+    /**
+     * The interval in millis at which the pending aggregated exchanges are written to the database in the background
+     * when write behind is enabled. Use 0 to only write when the batch size is reached, and when the repository is
+     * stopped. By default this is 1000 millis.
+     */
+    public void setWriteBehindInterval(long writeBehindInterval) {
+        this.writeBehindInterval = writeBehindInterval;
+    }
+
     public String getRepositoryName() {
         return repositoryName;
     }
 
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
     public String getRepositoryNameCompleted() {
         return getRepositoryName() + "_completed";
     }
@@ -668,11 +1046,64 @@ public class JdbcAggregationRepository extends ServiceSupport
             LOG.info("On startup there are no completed exchanges to be recovered in repository: {}",
                     getRepositoryNameCompleted());
         }
+
+        if (writeBehind) {
+            // the existing exchanges are loaded when in use
+            writeBehindRecovered.addAll(getKeys(getRepositoryName()));
+
+            if (writeBehindInterval > 0) {
+                if (camelContext != null) {
+                    writeBehindExecutorService = camelContext.getExecutorServiceManager()
+                            .newSingleThreadScheduledExecutor(this, "JdbcAggregationRepositoryWriteBehind");
+                } else {
+                    // the repository is not always given the CamelContext, such as when used by the aggregator
+                    writeBehindExecutorService = Executors.newSingleThreadScheduledExecutor(
+                            new CamelThreadFactory("Camel Thread ##counter# - #name#", "JdbcAggregationRepositoryWriteBehind",
+                                    true));
+                }
+                writeBehindExecutorService.scheduleWithFixedDelay(this::tryFlush, writeBehindInterval, writeBehindInterval,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
-        // noop
+        if (writeBehindExecutorService != null) {
+            if (camelContext != null) {
+                camelContext.getExecutorServiceManager().shutdown(writeBehindExecutorService);
+            } else {
+                writeBehindExecutorService.shutdown();
+            }
+            writeBehindExecutorService = null;
+        }
+        if (writeBehind) {
+            flush();
+            writeBehindEntries.clear();
+            writeBehindRecovered.clear();
+        }
+    }
+
+    /**
+     * An aggregated exchange in progress when using write behind
+     */
+    private static final class WriteBehindEntry {
+
+        private final String key;
+        private final byte[] data;
+        private final long version;
+        private final String body;
+        private final List<String> headers;
+        // the version in the database, or null if not written yet
+        private volatile Long persistedVersion;
+
+        private WriteBehindEntry(String key, byte[] data, long version, String body, List<String> headers) {
+            this.key = key;
+            this.data = data;
+            this.version = version;
+            this.body = body;
+            this.headers = headers;
+        }
     }
 
 }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate.jdbc;
+
+import java.time.Duration;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JdbcAggregationRepositoryWriteBehindIntervalTest extends AbstractJdbcAggregationTestSupport {
+
+    @Override
+    void configureJdbcAggregationRepository() {
+        repo.setWriteBehind(true);
+        // only write in the background
+        repo.setWriteBehindBatchSize(Integer.MAX_VALUE);
+        repo.setWriteBehindInterval(100);
+    }
+
+    @Test
+    public void testWrittenWithoutMoreMessages() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("counter:1");
+        repo.add(context, "foo", exchange);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(
+                () -> assertEquals(1, (int) repo.jdbcTemplate.queryForObject(
+                        "SELECT COUNT(1) FROM " + repo.getRepositoryName(), Integer.class)));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate.jdbc;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.spi.OptimisticLockingAggregationRepository.OptimisticLockingException;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JdbcAggregationRepositoryWriteBehindTest extends AbstractJdbcAggregationTestSupport {
+
+    @Override
+    void configureJdbcAggregationRepository() {
+        repo.setWriteBehind(true);
+        // only write when flushed by the tests
+        repo.setWriteBehindBatchSize(Integer.MAX_VALUE);
+        repo.setWriteBehindInterval(Long.MAX_VALUE);
+        repo.setReturnOldExchange(true);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .aggregate(header("id"), new MyAggregationStrategy())
+                        .completionSize(5).aggregationRepository(repo)
+                        .to("mock:aggregated");
+            }
+        };
+    }
+
+    @Test
+    public void testOperations() {
+        assertNull(repo.get(context, "missing"));
+
+        Exchange exchange1 = new DefaultExchange(context);
+        exchange1.getIn().setBody("counter:1");
+        assertNull(repo.add(context, "foo", exchange1));
+
+        Exchange exchange2 = repo.get(context, "foo");
+        assertEquals("counter:1", exchange2.getIn().getBody());
+
+        exchange2.getIn().setBody("counter:2");
+        Exchange old = repo.add(context, "foo", exchange2);
+        assertEquals("counter:1", old.getIn().getBody());
+
+        // the old version cannot be added again
+        assertThrows(OptimisticLockingException.class, () -> repo.add(context, "foo", exchange2));
+
+        Exchange actual = repo.get(context, "foo");
+        assertEquals("counter:2", actual.getIn().getBody());
+
+        repo.remove(context, "foo", actual);
+        assertNull(repo.get(context, "foo"));
+        assertEquals(0, rowCount(repo.getRepositoryName()));
+        assertEquals(1, rowCount(repo.getRepositoryNameCompleted()));
+    }
+
+    @Test
+    public void testWriteOncePerFlush() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("A");
+        exchange = repoAddAndGet("foo", exchange);
+        for (int i = 0; i < 100; i++) {
+            exchange.getIn().setBody(exchange.getIn().getBody(String.class) + "A");
+            exchange = repoAddAndGet("foo", exchange);
+        }
+        repo.add(context, "bar", new DefaultExchange(context));
+
+        // nothing is written until flushed
+        assertEquals(0, rowCount(repo.getRepositoryName()));
+
+        repo.flush();
+        assertEquals(2, rowCount(repo.getRepositoryName()));
+        assertEquals(101L, version("foo"));
+
+        // and only the latest version is written on the next flush
+        for (int i = 0; i < 2; i++) {
+            exchange.getIn().setBody(exchange.getIn().getBody(String.class) + "A");
+            exchange = repoAddAndGet("foo", exchange);
+        }
+        repo.flush();
+        assertEquals(103L, version("foo"));
+        assertEquals(103, exchange.getIn().getBody(String.class).length());
+    }
+
+    @Test
+    public void testRecoverOnRestart() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("counter:1");
+        exchange = repoAddAndGet("foo", exchange);
+        exchange.getIn().setBody("counter:2");
+        repo.add(context, "foo", exchange);
+
+        // the pending exchanges are written on stop
+        repo.stop();
+        assertEquals(1, rowCount(repo.getRepositoryName()));
+        repo.start();
+
+        assertEquals(1, repo.getKeys().size());
+        exchange = repo.get(context, "foo");
+        assertEquals("counter:2", exchange.getIn().getBody());
+
+        exchange.getIn().setBody("counter:3");
+        repo.add(context, "foo", exchange);
+        repo.flush();
+        assertEquals(3L, version("foo"));
+    }
+
+    @Test
+    public void testAggregate() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:aggregated");
+        mock.expectedBodiesReceived("ABCDE");
+
+        template.sendBodyAndHeader("direct:start", "A", "id", 123);
+        template.sendBodyAndHeader("direct:start", "B", "id", 123);
+        template.sendBodyAndHeader("direct:start", "C", "id", 123);
+        template.sendBodyAndHeader("direct:start", "D", "id", 123);
+        template.sendBodyAndHeader("direct:start", "E", "id", 123);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private int rowCount(String repositoryName) {
+        return repo.jdbcTemplate.queryForObject("SELECT COUNT(1) FROM " + repositoryName, Integer.class);
+    }
+
+    private long version(String key) {
+        return repo.jdbcTemplate.queryForObject(
+                "SELECT version FROM " + repo.getRepositoryName() + " WHERE id = ?", Long.class, key);
+    }
+}
@@ -116,6 +116,8 @@ public class XJEndpoint extends XsltSaxonEndpoint {
             xsltBuilder.setResultHandlerFactory(new JsonStreamResultHandlerFactory(jsonFactory));
         } else if ("file".equals(output)) {
             xsltBuilder.setResultHandlerFactory(new JsonFileResultHandlerFactory(jsonFactory));
+        } else if ("streamCache".equals(output)) {
+            xsltBuilder.setResultHandlerFactory(new JsonStreamCacheResultHandlerFactory(jsonFactory));
         } else {
             xsltBuilder.setResultHandlerFactory(new JsonStringResultHandlerFactory(jsonFactory));
         }
@@ -0,0 +1,796 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.xpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.xpath.XPathConstants;
+
+/**
+ * Evaluates a subset of XPath 1.0 in a single pass over a {@link XMLStreamReader}, without building a DOM of the
+ * document, and stops reading the document as soon as the result is known.
+ * <p/>
+ * The subset is location paths using the child, descendant and attribute axes (including the abbreviated {@code //}
+ * and {@code @}) with name tests or {@code text()}, where the element steps can have predicates on the position of the
+ * element or on its attributes. The location path can be compared to a string or number literal, be counted using
+ * {@code count}, and be negated using {@code not}. For example {@code /order[@priority='high']},
+ * {@code //item/@id = 'A1'} or {@code count(/orders/order) > 10}.
+ * <p/>
+ * Only the {@link XPathConstants#BOOLEAN}, {@link XPathConstants#STRING} and {@link XPathConstants#NUMBER} result types
+ * are supported, as the nodes of the document are not kept.
+ */
+final class StreamingXPathExpression {
+
+    private enum Kind {
+        ELEMENT,
+        ATTRIBUTE,
+        TEXT
+    }
+
+    private enum Mode {
+        // whether the location path selects any node
+        EXISTS,
+        // the string value of the first node in document order
+        FIRST,
+        // whether the string value of any node compares to the literal
+        ANY,
+        // the number of nodes
+        COUNT
+    }
+
+    private enum Operator {
+        EQ("="),
+        NE("!="),
+        LT("<"),
+        LE("<="),
+        GT(">"),
+        GE(">=");
+
+        private final String token;
+
+        Operator(String token) {
+            this.token = token;
+        }
+
+        boolean compare(String value, Object literal) {
+            if (literal instanceof String && (this == EQ || this == NE)) {
+                return (this == EQ) == value.equals(literal);
+            }
+            return compare(toNumber(value), literal);
+        }
+
+        boolean compare(double value, Object literal) {
+            double other = literal instanceof Double ? (Double) literal : toNumber((String) literal);
+            switch (this) {
+                case EQ:
+                    return value == other;
+                case NE:
+                    return value != other;
+                case LT:
+                    return value < other;
+                case LE:
+                    return value <= other;
+                case GT:
+                    return value > other;
+                default:
+                    return value >= other;
+            }
+        }
+    }
+
+    /**
+     * A predicate of an element step, which is either the position of the element among its siblings that match the
+     * step so far, or the existence or value of an attribute.
+     */
+    private static final class Condition {
+        private final int position;
+        // index of the position counter of the parent element
+        private final int slot;
+        private final String namespaceURI;
+        private final String localName;
+        private final Operator operator;
+        private final Object literal;
+
+        Condition(int position, int slot) {
+            this(position, slot, null, null, null, null);
+        }
+
+        Condition(String namespaceURI, String localName, Operator operator, Object literal) {
+            this(0, -1, namespaceURI, localName, operator, literal);
+        }
+
+        private Condition(int position, int slot, String namespaceURI, String localName, Operator operator,
+                          Object literal) {
+            this.position = position;
+            this.slot = slot;
+            this.namespaceURI = namespaceURI;
+            this.localName = localName;
+            this.operator = operator;
+            this.literal = literal;
+        }
+
+        boolean matches(XMLStreamReader reader) {
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                if (matchesName(namespaceURI, localName, reader.getAttributeNamespace(i), reader.getAttributeLocalName(i))
+                        && (operator == null || operator.compare(reader.getAttributeValue(i), literal))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Step {
+        private final Kind kind;
+        // whether the step selects the descendants, instead of the children, of the context node
+        private final boolean descendant;
+        // null matches any namespace and name
+        private final String namespaceURI;
+        private final String localName;
+        private final List<Condition> conditions;
+
+        Step(Kind kind, boolean descendant, String namespaceURI, String localName, List<Condition> conditions) {
+            this.kind = kind;
+            this.descendant = descendant;
+            this.namespaceURI = namespaceURI;
+            this.localName = localName;
+            this.conditions = conditions;
+        }
+    }
+
+    /**
+     * Thrown by the parser when the expression is not in the supported subset.
+     */
+    private static final class UnsupportedExpressionException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedExpressionException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final String text;
+    private final Step[] steps;
+    private final int slots;
+    private final boolean count;
+    private final Operator operator;
+    private final Object literal;
+    private final boolean negate;
+
+    private StreamingXPathExpression(String text, Step[] steps, int slots, boolean count, Operator operator,
+                                     Object literal, boolean negate) {
+        this.text = text;
+        this.steps = steps;
+        this.slots = slots;
+        this.count = count;
+        this.operator = operator;
+        this.literal = literal;
+        this.negate = negate;
+    }
+
+    /**
+     * Compiles the expression if it is in the subset which can be evaluated in a single pass.
+     *
+     * @param  text             the xpath expression
+     * @param  namespaceContext the namespace context to resolve the prefixes of the name tests
+     * @return                  the compiled expression, or <tt>null</tt> if the expression is not in the subset
+     */
+    static StreamingXPathExpression compile(String text, NamespaceContext namespaceContext) {
+        try {
+            return new Parser(text, namespaceContext).parse();
+        } catch (UnsupportedExpressionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether the expression can be evaluated as the given result type.
+     */
+    static boolean isSupportedResultType(QName resultQName) {
+        return XPathConstants.BOOLEAN.equals(resultQName) || XPathConstants.STRING.equals(resultQName)
+                || XPathConstants.NUMBER.equals(resultQName);
+    }
+
+    /**
+     * Evaluates the expression on the document read from the reader, which is read until the result is known.
+     *
+     * @param  reader      the reader positioned at the start of the document
+     * @param  resultQName the result type, which must be supported
+     * @return             the result as a {@link Boolean}, {@link String} or {@link Double}, or <tt>null</tt> if the
+     *                     document has a DTD, which is not supported by the reader, and must be evaluated using DOM
+     */
+    Object evaluate(XMLStreamReader reader, QName resultQName) throws XMLStreamException {
+        Mode mode;
+        if (count) {
+            mode = Mode.COUNT;
+        } else if (operator != null) {
+            mode = Mode.ANY;
+        } else if (negate || XPathConstants.BOOLEAN.equals(resultQName)) {
+            mode = Mode.EXISTS;
+        } else {
+            mode = Mode.FIRST;
+        }
+
+        Pass pass = new Pass(mode);
+        if (!pass.run(reader)) {
+            return null;
+        }
+
+        Object answer;
+        if (mode == Mode.COUNT) {
+            answer = operator != null ? (Object) operator.compare(pass.count, literal) : (Object) (double) pass.count;
+        } else if (mode == Mode.FIRST) {
+            answer = pass.first != null ? pass.first : "";
+        } else {
+            answer = pass.done;
+        }
+        if (negate) {
+            answer = !toBoolean(answer);
+        }
+
+        if (XPathConstants.BOOLEAN.equals(resultQName)) {
+            return toBoolean(answer);
+        } else if (XPathConstants.NUMBER.equals(resultQName)) {
+            if (answer instanceof Boolean) {
+                return (Boolean) answer ? 1d : 0d;
+            }
+            return answer instanceof Double ? answer : toNumber((String) answer);
+        } else if (answer instanceof Double) {
+            return toString((Double) answer);
+        }
+        return answer.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingXPath: " + text;
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Double) {
+            double number = (Double) value;
+            return number != 0 && !Double.isNaN(number);
+        }
+        return (Boolean) value;
+    }
+
+    /**
+     * Converts the string to a number as the XPath number function
+     */
+    static double toNumber(String value) {
+        String s = value.trim();
+        int dots = 0;
+        int digits = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                digits++;
+            } else if (ch == '.') {
+                dots++;
+            } else if (ch != '-' || i > 0) {
+                return Double.NaN;
+            }
+        }
+        if (digits == 0 || dots > 1) {
+            return Double.NaN;
+        }
+        return Double.parseDouble(s);
+    }
+
+    /**
+     * Converts the number to a string as the XPath string function
+     */
+    static String toString(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static boolean matchesName(String namespaceURI, String localName, String nodeNamespaceURI, String nodeName) {
+        if (localName != null && !localName.equals(nodeName)) {
+            return false;
+        }
+        return namespaceURI == null || namespaceURI.equals(nodeNamespaceURI != null ? nodeNamespaceURI : "");
+    }
+
+    /**
+     * The state of evaluating the expression on a document.
+     * <p/>
+     * For every open element the pass keeps the set of steps (as bits of their index) that should be tested against
+     * the child nodes and attributes of the element, which are the steps following a step that matched the element,
+     * and the descendant steps which are inherited from the ancestors.
+     */
+    private final class Pass {
+        private final Mode mode;
+        private final boolean values;
+        private final long textSteps;
+        // the steps to test against the nodes of the element at each depth
+        private long[] here = new long[16];
+        // the descendant steps to test against the nodes of the element, and its descendants
+        private long[] inherited = new long[16];
+        private int[][] positions = new int[16][];
+        private int depth;
+        // the string values of the selected elements which are being read
+        private final List<StringBuilder> collectors = new ArrayList<>();
+        private final List<Integer> collectorDepths = new ArrayList<>();
+        private boolean inText;
+        private StringBuilder textNode;
+        private boolean done;
+        private String first;
+        private int count;
+
+        Pass(Mode mode) {
+            this.mode = mode;
+            this.values = mode == Mode.FIRST || mode == Mode.ANY;
+            long bits = 0;
+            for (int i = 0; i < steps.length; i++) {
+                if (steps[i].kind == Kind.TEXT) {
+                    bits |= 1L << i;
+                }
+            }
+            this.textSteps = bits;
+            here[0] = 1L;
+            inherited[0] = steps[0].descendant ? 1L : 0L;
+            if (slots > 0) {
+                positions[0] = new int[slots];
+            }
+        }
+
+        boolean run(XMLStreamReader reader) throws XMLStreamException {
+            while (!done && reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        endText();
+                        startElement(reader);
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        endText();
+                        endElement();
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        characters(reader);
+                        break;
+                    case XMLStreamConstants.COMMENT:
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                        endText();
+                        break;
+                    case XMLStreamConstants.DTD:
+                    case XMLStreamConstants.ENTITY_REFERENCE:
+                        // the entities declared by the DTD are not supported by the reader
+                        return false;
+                    default:
+                        break;
+                }
+            }
+            return true;
+        }
+
+        private void startElement(XMLStreamReader reader) {
+            final int parent = depth;
+            final long candidates = here[parent] | inherited[parent];
+            push();
+
+            long next = 0;
+            long nextInherited = inherited[parent];
+            for (int i = 0; i < steps.length; i++) {
+                Step step = steps[i];
+                if ((candidates & 1L << i) == 0 || step.kind != Kind.ELEMENT || !matches(step, reader, parent)) {
+                    continue;
+                }
+                if (i == steps.length - 1) {
+                    selected();
+                    if (done) {
+                        return;
+                    }
+                } else {
+                    next |= 1L << i + 1;
+                    if (steps[i + 1].descendant) {
+                        nextInherited |= 1L << i + 1;
+                    }
+                }
+            }
+            here[depth] = next;
+            inherited[depth] = nextInherited;
+
+            // only the last step can be an attribute step
+            Step last = steps[steps.length - 1];
+            if (last.kind == Kind.ATTRIBUTE && ((next | nextInherited) & 1L << steps.length - 1) != 0) {
+                for (int i = 0; i < reader.getAttributeCount() && !done; i++) {
+                    if (matchesName(last.namespaceURI, last.localName, reader.getAttributeNamespace(i),
+                            reader.getAttributeLocalName(i))) {
+                        select(values ? reader.getAttributeValue(i) : null);
+                    }
+                }
+            }
+        }
+
+        private boolean matches(Step step, XMLStreamReader reader, int parent) {
+            if (!matchesName(step.namespaceURI, step.localName, reader.getNamespaceURI(), reader.getLocalName())) {
+                return false;
+            }
+            for (Condition condition : step.conditions) {
+                if (condition.position > 0) {
+                    if (++positions[parent][condition.slot] != condition.position) {
+                        return false;
+                    }
+                } else if (!condition.matches(reader)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void push() {
+            depth++;
+            if (depth == here.length) {
+                here = Arrays.copyOf(here, depth * 2);
+                inherited = Arrays.copyOf(inherited, depth * 2);
+                positions = Arrays.copyOf(positions, depth * 2);
+            }
+            if (slots > 0) {
+                if (positions[depth] == null) {
+                    positions[depth] = new int[slots];
+                } else {
+                    Arrays.fill(positions[depth], 0);
+                }
+            }
+        }
+
+        private void endElement() {
+            int last = collectorDepths.size() - 1;
+            if (last >= 0 && collectorDepths.get(last) == depth) {
+                collectorDepths.remove(last);
+                select(collectors.remove(last).toString());
+            }
+            depth--;
+        }
+
+        private void characters(XMLStreamReader reader) {
+            if (depth == 0) {
+                return;
+            }
+            if (!inText) {
+                inText = true;
+                if (((here[depth] | inherited[depth]) & textSteps) != 0) {
+                    if (values) {
+                        textNode = new StringBuilder();
+                    } else {
+                        select(null);
+                    }
+                }
+            }
+            char[] chars = reader.getTextCharacters();
+            int start = reader.getTextStart();
+            int length = reader.getTextLength();
+            if (textNode != null) {
+                textNode.append(chars, start, length);
+            }
+            for (StringBuilder collector : collectors) {
+                collector.append(chars, start, length);
+            }
+        }
+
+        private void endText() {
+            inText = false;
+            if (textNode != null) {
+                String value = textNode.toString();
+                textNode = null;
+                select(value);
+            }
+        }
+
+        /**
+         * The element at the current depth is selected by the location path
+         */
+        private void selected() {
+            if (!values) {
+                select(null);
+            } else if (mode == Mode.ANY || collectors.isEmpty()) {
+                // only the first element is needed, which is the outermost element when the selected elements are nested
+                collectors.add(new StringBuilder());
+                collectorDepths.add(depth);
+            }
+        }
+
+        private void select(String value) {
+            switch (mode) {
+                case EXISTS:
+                    done = true;
+                    break;
+                case FIRST:
+                    first = value;
+                    done = true;
+                    break;
+                case ANY:
+                    done = operator.compare(value, literal);
+                    break;
+                default:
+                    count++;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Parses the supported subset of XPath, and fails with {@link UnsupportedExpressionException} on anything else.
+     */
+    private static final class Parser {
+        private final String text;
+        private final NamespaceContext namespaceContext;
+        private final List<Step> steps = new ArrayList<>();
+        private int slots;
+        private int pos;
+
+        Parser(String text, NamespaceContext namespaceContext) {
+            this.text = text;
+            this.namespaceContext = namespaceContext;
+        }
+
+        StreamingXPathExpression parse() {
+            boolean negate = false;
+            int mark = pos;
+            if ("not".equals(name()) && consume("(")) {
+                negate = true;
+            } else {
+                pos = mark;
+            }
+            boolean count = false;
+            mark = pos;
+            if ("count".equals(name()) && consume("(")) {
+                count = true;
+                path();
+                expect(")");
+            } else {
+                pos = mark;
+                path();
+            }
+            Operator operator = operator();
+            Object literal = operator != null ? literal() : null;
+            if (negate) {
+                expect(")");
+            }
+            skipWhitespace();
+            if (pos < text.length()) {
+                throw new UnsupportedExpressionException();
+            }
+            return new StreamingXPathExpression(
+                    text, steps.toArray(new Step[0]), slots, count, operator, literal, negate);
+        }
+
+        private void path() {
+            boolean descendant = consume("//");
+            if (!descendant) {
+                consume("/");
+            }
+            step(descendant);
+            while (true) {
+                if (consume("//")) {
+                    step(true);
+                } else if (consume("/")) {
+                    step(false);
+                } else {
+                    break;
+                }
+            }
+            // only the last step can select attributes or text nodes, and the steps are kept as bits of a long
+            for (int i = 0; i < steps.size() - 1; i++) {
+                if (steps.get(i).kind != Kind.ELEMENT) {
+                    throw new UnsupportedExpressionException();
+                }
+            }
+            if (steps.size() >= Long.SIZE) {
+                throw new UnsupportedExpressionException();
+            }
+        }
+
+        private void step(boolean descendant) {
+            Kind kind = Kind.ELEMENT;
+            boolean positional = true;
+            if (consume("@")) {
+                kind = Kind.ATTRIBUTE;
+            } else {
+                int mark = pos;
+                String axis = name();
+                if (axis != null && consume("::")) {
+                    if ("attribute".equals(axis)) {
+                        kind = Kind.ATTRIBUTE;
+                    } else if ("descendant".equals(axis)) {
+                        // the position would be among the descendants instead of the siblings
+                        descendant = true;
+                        positional = false;
+                    } else if (!"child".equals(axis)) {
+                        throw new UnsupportedExpressionException();
+                    }
+                } else {
+                    pos = mark;
+                }
+            }
+
+            if (kind == Kind.ELEMENT) {
+                int mark = pos;
+                if ("text".equals(name()) && consume("(")) {
+                    expect(")");
+                    steps.add(new Step(Kind.TEXT, descendant, null, null, List.of()));
+                    return;
+                }
+                pos = mark;
+            }
+
+            String[] name = nameTest(kind == Kind.ATTRIBUTE);
+            List<Condition> conditions = new ArrayList<>();
+            while (kind == Kind.ELEMENT && consume("[")) {
+                conditions.add(condition(positional));
+                expect("]");
+            }
+            steps.add(new Step(kind, descendant, name[0], name[1], conditions));
+        }
+
+        private Condition condition(boolean positional) {
+            skipWhitespace();
+            if (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                Object number = literal();
+                double position = (Double) number;
+                if (!positional || position < 1 || position != Math.rint(position)) {
+                    throw new UnsupportedExpressionException();
+                }
+                return new Condition((int) position, slots++);
+            }
+            if (!consume("@")) {
+                int mark = pos;
+                if (!"attribute".equals(name()) || !consume("::")) {
+                    pos = mark;
+                    throw new UnsupportedExpressionException();
+                }
+            }
+            String[] name = nameTest(true);
+            Operator operator = operator();
+            Object literal = operator != null ? literal() : null;
+            return new Condition(name[0], name[1], operator, literal);
+        }
+
+        /**
+         * Parses a name test, and returns the namespace and local name, where <tt>null</tt> matches anything.
+         */
+        private String[] nameTest(boolean attribute) {
+            if (consume("*")) {
+                return new String[] { null, null };
+            }
+            String prefix = name();
+            if (prefix == null) {
+                throw new UnsupportedExpressionException();
+            }
+            String localName = prefix;
+            String namespaceURI = "";
+            if (pos < text.length() && text.charAt(pos) == ':' && !text.startsWith("::", pos)) {
+                pos++;
+                if (pos < text.length() && text.charAt(pos) == '*') {
+                    pos++;
+                    localName = null;
+                } else {
+                    localName = name();
+                    if (localName == null) {
+                        throw new UnsupportedExpressionException();
+                    }
+                }
+                namespaceURI = namespaceContext != null ? namespaceContext.getNamespaceURI(prefix) : null;
+                if (namespaceURI == null || namespaceURI.isEmpty()) {
+                    // let the xpath engine report the unknown prefix
+                    throw new UnsupportedExpressionException();
+                }
+            }
+            return new String[] { namespaceURI, localName };
+        }
+
+        private Operator operator() {
+            // the two character operators must be tried first
+            for (Operator operator : new Operator[] { Operator.NE, Operator.LE, Operator.GE }) {
+                if (consume(operator.token)) {
+                    return operator;
+                }
+            }
+            for (Operator operator : new Operator[] { Operator.EQ, Operator.LT, Operator.GT }) {
+                if (consume(operator.token)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+
+        private Object literal() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw new UnsupportedExpressionException();
+            }
+            char quote = text.charAt(pos);
+            if (quote == '\'' || quote == '"') {
+                int end = text.indexOf(quote, pos + 1);
+                if (end < 0) {
+                    throw new UnsupportedExpressionException();
+                }
+                String answer = text.substring(pos + 1, end);
+                pos = end + 1;
+                return answer;
+            }
+            int start = pos;
+            if (text.charAt(pos) == '-') {
+                pos++;
+            }
+            while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                pos++;
+            }
+            double answer = toNumber(text.substring(start, pos));
+            if (Double.isNaN(answer)) {
+                throw new UnsupportedExpressionException();
+            }
+            return answer;
+        }
+
+        /**
+         * Parses a NCName, or returns <tt>null</tt> if there is no name at the current position.
+         */
+        private String name() {
+            skipWhitespace();
+            int start = pos;
+            if (pos < text.length() && (Character.isLetter(text.charAt(pos)) || text.charAt(pos) == '_')) {
+                pos++;
+                while (pos < text.length() && isNameChar(text.charAt(pos))) {
+                    pos++;
+                }
+            }
+            return pos > start ? text.substring(start, pos) : null;
+        }
+
+        private static boolean isNameChar(char ch) {
+            return Character.isLetterOrDigit(ch) || ch == '_' || ch == '-' || ch == '.';
+        }
+
+        private boolean consume(String token) {
+            skipWhitespace();
+            if (text.startsWith(token, pos)) {
+                // a single slash must not be the start of a double slash
+                if (token.equals("/") && text.startsWith("//", pos)) {
+                    return false;
+                }
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!consume(token)) {
+                throw new UnsupportedExpressionException();
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -16,7 +16,9 @@
  */
 package org.apache.camel.language.xpath;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -29,6 +31,8 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.namespace.QName;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.xpath.XPath;
@@ -55,7 +59,9 @@ import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.Predicate;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.RuntimeExpressionException;
+import org.apache.camel.StreamCache;
 import org.apache.camel.WrappedFile;
+import org.apache.camel.converter.jaxp.StaxConverter;
 import org.apache.camel.spi.ExpressionResultTypeAware;
 import org.apache.camel.spi.Language;
 import org.apache.camel.spi.NamespaceAware;
@@ -107,6 +113,9 @@ public class XPathBuilder extends ServiceSupport
     private final Map<String, String> namespaces = new ConcurrentHashMap<>();
     private boolean preCompile = true;
     private boolean threadSafety;
+    private boolean streaming;
+    private volatile StreamingXPathExpression streamingExpression;
+    private final StaxConverter staxConverter = new StaxConverter();
     private volatile XPathFactory xpathFactory;
     private volatile Class<?> documentType = Document.class;
     // For some reason the default expression of "a/b" on a document such as
@@ -517,6 +526,30 @@ public class XPathBuilder extends ServiceSupport
         return this;
     }
 
+    /**
+     * Whether to evaluate the xpath expression while streaming the message body (or header), instead of building a
+     * DOM document of the message.
+     * <p/>
+     * This applies to the BOOLEAN, STRING and NUMBER result types (such as when the xpath expression is used as a
+     * predicate), and to message bodies which are streams, strings, byte arrays or files. The document is read in a
+     * single pass, which stops as soon as the result is known, such as when the first matching element has been read.
+     * <p/>
+     * Only a subset of XPath can be evaluated while streaming, which is location paths using the child, descendant and
+     * attribute axes with predicates on the position or attributes of the elements, which can be compared to a
+     * literal, counted or negated. Other xpath expressions, and documents with a DTD, are evaluated using DOM.
+     * <p/>
+     * As the document may have to be read again using DOM, a stream which is not stream cached is converted to a
+     * stream cache first.
+     * <p/>
+     * Streaming is disabled by default
+     *
+     * @return the current builder.
+     */
+    public XPathBuilder streaming(boolean streaming) {
+        setStreaming(streaming);
+        return this;
+    }
+
     // Properties
     // -------------------------------------------------------------------------
 
@@ -580,6 +613,14 @@ public class XPathBuilder extends ServiceSupport
         this.preCompile = preCompile;
     }
 
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     /**
      * Gets the namespace context, can be <tt>null</tt> if no custom context has been assigned.
      * <p/>
@@ -1008,7 +1049,7 @@ public class XPathBuilder extends ServiceSupport
         // files or other resources
         InputStream is = null;
         try {
-            Object document;
+            Object payload;
 
             // Check if we need to apply the XPath expression to a header
             if (ObjectHelper.isNotEmpty(getHeaderName())) {
@@ -1016,23 +1057,41 @@ public class XPathBuilder extends ServiceSupport
                 // only convert to input stream if really needed
                 if (isInputStreamNeeded(exchange, headerName)) {
                     is = exchange.getIn().getHeader(headerName, InputStream.class);
-                    document = getDocument(exchange, is);
+                    payload = is;
                 } else {
-                    Object headerObject = exchange.getIn().getHeader(getHeaderName());
-                    document = getDocument(exchange, headerObject);
+                    payload = exchange.getIn().getHeader(getHeaderName());
                 }
             } else {
                 // only convert to input stream if really needed
                 if (isInputStreamNeeded(exchange)) {
                     is = exchange.getIn().getBody(InputStream.class);
-                    document = getDocument(exchange, is);
+                    payload = is;
                 } else {
-                    Object body = exchange.getIn().getBody();
-                    document = getDocument(exchange, body);
+                    payload = exchange.getIn().getBody();
                 }
             }
 
-            if (resultQName != null) {
+            answer = null;
+            if (streamingExpression != null && StreamingXPathExpression.isSupportedResultType(resultQName)
+                    && isStreamable(payload)) {
+                if (payload instanceof InputStream && !(payload instanceof StreamCache)) {
+                    // cache the stream so it can be read again if the document must be evaluated using DOM
+                    StreamCache cache = exchange.getContext().getTypeConverter().mandatoryConvertTo(StreamCache.class,
+                            exchange, payload);
+                    IOHelper.close(is);
+                    payload = cache;
+                    is = (InputStream) cache;
+                }
+                answer = doInEvaluateStreaming(exchange, payload, resultQName);
+                if (answer == null) {
+                    LOG.debug("Cannot evaluate xpath while streaming the document, will evaluate using DOM: {}", text);
+                    rewind(payload);
+                }
+            }
+            if (answer != null) {
+                LOG.trace("Evaluated xpath while streaming the document");
+            } else if (resultQName != null) {
+                Object document = getDocument(exchange, payload);
                 if (document == null) {
                     document = new XMLConverterHelper().createDocument();
                 }
@@ -1046,6 +1105,7 @@ public class XPathBuilder extends ServiceSupport
                     answer = xpathExpression.evaluate(document, resultQName);
                 }
             } else {
+                Object document = getDocument(exchange, payload);
                 if (document instanceof InputSource) {
                     InputSource inputSource = (InputSource) document;
                     answer = xpathExpression.evaluate(inputSource);
@@ -1068,6 +1128,8 @@ public class XPathBuilder extends ServiceSupport
                 message = message + " with headerName " + getHeaderName();
             }
             throw new InvalidXPathException(message, e);
+        } catch (XMLStreamException | IOException | NoTypeConversionAvailableException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
         } finally {
             // IOHelper can handle if is is null
             IOHelper.close(is);
@@ -1098,6 +1160,45 @@ public class XPathBuilder extends ServiceSupport
         return answer;
     }
 
+    /**
+     * Evaluates the expression in a single pass over the document, without building a DOM document.
+     *
+     * @return the result, or <tt>null</tt> if the document must be evaluated using DOM
+     */
+    protected Object doInEvaluateStreaming(Exchange exchange, Object source, QName resultQName)
+            throws XMLStreamException {
+        XMLStreamReader reader;
+        if (source instanceof String) {
+            reader = staxConverter.createXMLStreamReader((String) source);
+        } else if (source instanceof byte[]) {
+            reader = staxConverter.createXMLStreamReader(new ByteArrayInputStream((byte[]) source), exchange);
+        } else {
+            reader = staxConverter.createXMLStreamReader((InputStream) source, exchange);
+        }
+        try {
+            return streamingExpression.evaluate(reader, resultQName);
+        } finally {
+            reader.close();
+            // call the reset if the in message body is StreamCache
+            MessageHelper.resetStreamCache(exchange.getIn());
+        }
+    }
+
+    /**
+     * Whether the document can be read while streaming, and read again using DOM if needed
+     */
+    private static boolean isStreamable(Object source) {
+        return source instanceof String || source instanceof byte[] || source instanceof InputStream;
+    }
+
+    private static void rewind(Object source) throws IOException {
+        if (source instanceof StreamCache) {
+            ((StreamCache) source).reset();
+        } else if (source instanceof InputStream) {
+            ((InputStream) source).reset();
+        }
+    }
+
     /**
      * Creates a new xpath expression as there we no available in the pool.
      * <p/>
@@ -1323,6 +1424,12 @@ public class XPathBuilder extends ServiceSupport
         for (Map.Entry<String, String> entry : namespaces.entrySet()) {
             namespaceContext.add(entry.getKey(), entry.getValue());
         }
+        if (streaming && streamingExpression == null) {
+            streamingExpression = StreamingXPathExpression.compile(text, namespaceContext);
+            if (streamingExpression == null) {
+                LOG.debug("XPath expression cannot be evaluated while streaming, will evaluate using DOM: {}", text);
+            }
+        }
 
         // create default functions if no custom assigned
         if (bodyFunction == null) {
@@ -42,6 +42,7 @@ public class XPathLanguage extends LanguageSupport implements PropertyConfigurer
     private Boolean logNamespaces;
     private String headerName;
     private Boolean preCompile;
+    private Boolean streaming;
 
     @Override
     public Predicate createPredicate(String expression) {
@@ -155,6 +156,14 @@ public class XPathLanguage extends LanguageSupport implements PropertyConfigurer
         this.preCompile = preCompile;
     }
 
+    public Boolean getStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(Boolean streaming) {
+        this.streaming = streaming;
+    }
+
     protected void configureBuilder(XPathBuilder builder, Object[] properties) {
         Class<?> clazz = property(Class.class, properties, 0, documentType);
         if (clazz != null) {
@@ -202,6 +211,10 @@ public class XPathLanguage extends LanguageSupport implements PropertyConfigurer
         if (str != null) {
             builder.setHeaderName(str);
         }
+        bool = property(Boolean.class, properties, 10, streaming);
+        if (bool != null) {
+            builder.setStreaming(bool);
+        }
     }
 
     @Override
@@ -250,6 +263,9 @@ public class XPathLanguage extends LanguageSupport implements PropertyConfigurer
             case "precompile":
                 setPreCompile(PropertyConfigurerSupport.property(camelContext, Boolean.class, value));
                 return true;
+            case "streaming":
+                setStreaming(PropertyConfigurerSupport.property(camelContext, Boolean.class, value));
+                return true;
             default:
                 return false;
         }
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.xslt;
+
+import java.io.IOException;
+
+import javax.xml.transform.Result;
+import javax.xml.transform.stream.StreamResult;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.converter.stream.CachedOutputStream;
+
+/**
+ * Use a {@link org.apache.camel.StreamCache} to handle the result of XSLT transformation.
+ * <p/>
+ * The output is streamed to a {@link CachedOutputStream} which is kept in memory for small outputs, and spooled to a
+ * temporary file when the output exceeds the stream caching threshold, so big outputs do not consume too much memory.
+ */
+public class StreamCacheResultHandler implements ResultHandler {
+
+    private final CachedOutputStream cos;
+    private final StreamResult result;
+
+    public StreamCacheResultHandler(Exchange exchange) {
+        this.cos = new CachedOutputStream(exchange);
+        this.result = new StreamResult(cos);
+    }
+
+    @Override
+    public Result getResult() {
+        return result;
+    }
+
+    @Override
+    public void setBody(Message in) {
+        try {
+            in.setBody(cos.newStreamCache());
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error creating stream cache of the XSLT output", e);
+        }
+    }
+
+}
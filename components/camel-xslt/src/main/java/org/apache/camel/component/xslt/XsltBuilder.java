@@ -65,8 +65,9 @@ public class XsltBuilder implements Processor {
     protected static final Logger LOG = LoggerFactory.getLogger(XsltBuilder.class);
     private Map<String, Object> parameters = new HashMap<>();
     private XMLConverterHelper converter = new XMLConverterHelper();
-    private Templates template;
+    private volatile Templates template;
     private volatile BlockingQueue<Transformer> transformers;
+    private int transformerCacheSize;
     private volatile SourceHandlerFactory sourceHandlerFactory;
     private ResultHandlerFactory resultHandlerFactory = new StringResultHandlerFactory();
     private boolean failOnNullBody = true;
@@ -99,7 +100,9 @@ public class XsltBuilder implements Processor {
             exchange.adapt(ExtendedExchange.class).addOnCompletion(new XsltBuilderOnCompletion(fileName));
         }
 
-        Transformer transformer = getTransformer();
+        // the pool is captured so a transformer is never returned to the pool of another template
+        BlockingQueue<Transformer> pool = transformers;
+        Transformer transformer = getTransformer(pool);
         configureTransformer(transformer, exchange);
 
         ResultHandler resultHandler = resultHandlerFactory.createResult(exchange);
@@ -110,6 +113,7 @@ public class XsltBuilder implements Processor {
 
         // the underlying input stream, which we need to close to avoid locking files or other resources
         InputStream is = null;
+        boolean transformed = false;
         try {
             Source source = getSourceHandlerFactory().getSource(exchange);
 
@@ -122,9 +126,13 @@ public class XsltBuilder implements Processor {
             LOG.trace("Using {} as source", source);
             transformer.transform(source, result);
             LOG.trace("Transform complete with result {}", result);
+            transformed = true;
             resultHandler.setBody(out);
         } finally {
-            releaseTransformer(transformer);
+            // a transformer that failed may be left in an undefined state, so only reuse it when it succeeded
+            if (transformed) {
+                releaseTransformer(pool, transformer);
+            }
             // IOHelper can handle if is is null
             IOHelper.close(is);
         }
@@ -205,6 +213,15 @@ public class XsltBuilder implements Processor {
         return this;
     }
 
+    /**
+     * Sets the output as being a {@link org.apache.camel.StreamCache} which is spooled to disk when the output is
+     * larger than the stream caching threshold.
+     */
+    public XsltBuilder outputStreamCache() {
+        setResultHandlerFactory(new StreamCacheResultHandlerFactory());
+        return this;
+    }
+
     /**
      * Sets the output as being a File where the filename must be provided in the {@link Exchange#XSLT_FILE_NAME}
      * header.
@@ -240,16 +257,15 @@ public class XsltBuilder implements Processor {
     /**
      * Used for caching {@link Transformer}s.
      * <p/>
-     * By default no caching is in use.
+     * By default no caching is in use. The cache is a bounded pool which is safe to use by concurrent exchanges, where
+     * each exchange takes a transformer from the pool, or creates a new one if the pool is empty. The transformer is
+     * reset and returned to the pool after a successful transformation, or discarded if the pool is full.
      *
      * @param numberToCache the maximum number of transformers to cache
      */
     public XsltBuilder transformerCacheSize(int numberToCache) {
-        if (numberToCache > 0) {
-            transformers = new ArrayBlockingQueue<>(numberToCache);
-        } else {
-            transformers = null;
-        }
+        this.transformerCacheSize = numberToCache;
+        this.transformers = createTransformerPool();
         return this;
     }
 
@@ -274,9 +290,8 @@ public class XsltBuilder implements Processor {
 
     public void setTemplate(Templates template) {
         this.template = template;
-        if (transformers != null) {
-            transformers.clear();
-        }
+        // use a new pool as transformers created from the old template may still be in use
+        this.transformers = createTransformerPool();
     }
 
     public Templates getTemplate() {
@@ -410,20 +425,24 @@ public class XsltBuilder implements Processor {
         this.converter.setTransformerFactory(transformerFactory);
     }
 
-    private void releaseTransformer(Transformer transformer) {
-        if (transformers != null) {
+    private BlockingQueue<Transformer> createTransformerPool() {
+        return transformerCacheSize > 0 ? new ArrayBlockingQueue<>(transformerCacheSize) : null;
+    }
+
+    private void releaseTransformer(BlockingQueue<Transformer> pool, Transformer transformer) {
+        if (pool != null) {
             transformer.reset();
-            boolean result = transformers.offer(transformer);
-            if (!result) {
-                LOG.error("failed to offer() a transform");
+            if (!pool.offer(transformer)) {
+                // the pool is full as more exchanges than its size are transforming at the same time
+                LOG.debug("Transformer cache is full, discarding transformer: {}", transformer);
             }
         }
     }
 
-    private Transformer getTransformer() throws Exception {
+    private Transformer getTransformer(BlockingQueue<Transformer> pool) throws Exception {
         Transformer t = null;
-        if (transformers != null) {
-            t = transformers.poll();
+        if (pool != null) {
+            t = pool.poll();
         }
         if (t == null) {
             t = createTransformer();
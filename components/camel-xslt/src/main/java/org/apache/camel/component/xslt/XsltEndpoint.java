@@ -204,10 +204,12 @@ public class XsltEndpoint extends ProcessorEndpoint {
     }
 
     /**
-     * Option to specify which output type to use. Possible values are: string, bytes, DOM, file. The first three
-     * options are all in memory based, where as file is streamed directly to a java.io.File. For file you must specify
-     * the filename in the IN header with the key XsltConstants.XSLT_FILE_NAME which is also CamelXsltFileName. Also any
-     * paths leading to the filename must be created beforehand, otherwise an exception is thrown at runtime.
+     * Option to specify which output type to use. Possible values are: string, bytes, DOM, file, streamCache. The
+     * first three options are all in memory based, where as file is streamed directly to a java.io.File. For file you
+     * must specify the filename in the IN header with the key XsltConstants.XSLT_FILE_NAME which is also
+     * CamelXsltFileName. Also any paths leading to the filename must be created beforehand, otherwise an exception is
+     * thrown at runtime. The streamCache option streams the output to a StreamCache, which is kept in memory for small
+     * outputs and spooled to disk for large outputs, according to the stream caching settings of the CamelContext.
      */
     public void setOutput(XsltOutput output) {
         this.output = output;
@@ -219,7 +221,8 @@ public class XsltEndpoint extends ProcessorEndpoint {
 
     /**
      * The number of javax.xml.transform.Transformer object that are cached for reuse to avoid calls to
-     * Template.newTransformer().
+     * Template.newTransformer(). The cached transformers are shared by concurrent exchanges and are reset before being
+     * reused.
      */
     public void setTransformerCacheSize(int transformerCacheSize) {
         this.transformerCacheSize = transformerCacheSize;
@@ -424,6 +427,8 @@ public class XsltEndpoint extends ProcessorEndpoint {
             xslt.outputDOM();
         } else if ("file".equalsIgnoreCase(output)) {
             xslt.outputFile();
+        } else if ("streamCache".equalsIgnoreCase(output)) {
+            xslt.outputStreamCache();
         } else {
             throw new IllegalArgumentException("Unknown output type: " + output);
         }
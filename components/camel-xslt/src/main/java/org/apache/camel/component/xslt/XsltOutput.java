@@ -21,6 +21,7 @@ public enum XsltOutput {
     string,
     bytes,
     DOM,
-    file
+    file,
+    streamCache
 
 }
@@ -1275,6 +1275,34 @@ public interface CamelContext extends CamelContextLifecycle, RuntimeConfiguratio
      */
     void setTypeConverterStatisticsEnabled(Boolean typeConverterStatisticsEnabled);
 
+    /**
+     * Whether advice profiling is enabled.
+     * <p/>
+     * When enabled then Camel profiles the time spent and the bytes allocated by each of the internal advices (such as
+     * route policies, message history, tracing and JMX statistics) executed around the routes and EIP nodes.
+     *
+     * @return <tt>true</tt> if enabled, <tt>false</tt> if disabled (default).
+     */
+    default Boolean isAdviceProfiling() {
+        return false;
+    }
+
+    /**
+     * Sets whether advice profiling is enabled.
+     * <p/>
+     * When enabled then Camel profiles the time spent and the bytes allocated by each of the internal advices (such as
+     * route policies, message history, tracing and JMX statistics) executed around the routes and EIP nodes. The
+     * results are available from JMX and the developer console.
+     * <p/>
+     * By default advice profiling is disabled. <b>Notice:</b> If enabled then there is a performance impact, so this
+     * should only be enabled while investigating performance problems.
+     *
+     * @param adviceProfiling <tt>true</tt> to enable, <tt>false</tt> to disable
+     */
+    default void setAdviceProfiling(Boolean adviceProfiling) {
+        // not supported by default
+    }
+
     /**
      * Whether or not <a href="http://www.slf4j.org/api/org/slf4j/MDC.html">MDC</a> logging is being enabled.
      *
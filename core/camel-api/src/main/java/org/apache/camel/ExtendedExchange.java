@@ -239,4 +239,24 @@ public interface ExtendedExchange extends Exchange {
      * @see SafeCopyProperty
      */
     <T> T getSafeCopyProperty(String key, Class<T> type);
+
+    /**
+     * Gets the slot of this exchange in the {@link org.apache.camel.spi.InflightRepository}, or <tt>0</tt> if not in
+     * use, or <tt>-1</tt> if this exchange does not support slots.
+     * <p/>
+     * This is only used by inflight repositories that track the exchanges by slots to avoid a lookup by exchange id.
+     */
+    default int getInflightSlot() {
+        return -1;
+    }
+
+    /**
+     * Sets the slot of this exchange in the {@link org.apache.camel.spi.InflightRepository}, where <tt>0</tt> means
+     * not in use.
+     * <p/>
+     * This is only used by inflight repositories that track the exchanges by slots to avoid a lookup by exchange id.
+     */
+    default void setInflightSlot(int inflightSlot) {
+        // not supported by default
+    }
 }
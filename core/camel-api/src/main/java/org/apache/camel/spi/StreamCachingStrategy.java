@@ -62,6 +62,25 @@ public interface StreamCachingStrategy extends StaticService {
          */
         long getCacheSpoolAverageSize();
 
+        /**
+         * Gets the number of bytes currently used by the spool files in the spool directory.
+         *
+         * @return the number of bytes, or 0 if not supported
+         */
+        default long getCacheSpoolUsedSpace() {
+            return 0;
+        }
+
+        /**
+         * Gets the number of bytes available for spooling, which is the usable space of the file system of the spool
+         * directory.
+         *
+         * @return the number of bytes, or 0 if not supported
+         */
+        default long getCacheSpoolFreeSpace() {
+            return 0;
+        }
+
         /**
          * Reset the counters
          */
@@ -186,6 +205,22 @@ public interface StreamCachingStrategy extends StaticService {
 
     String getSpoolCipher();
 
+    /**
+     * Whether to read spooled data using memory-mapped files.
+     * <p/>
+     * When enabled, the spool file is mapped into (off-heap) memory when the stream cache is read, and re-reading the
+     * stream cache (such as after reset or when copied for multicast) reads from the mapped memory instead of opening
+     * and reading the file again. This is not in use when a spool cipher has been configured, or on Windows.
+     * <p/>
+     * The mapped memory is released by the JVM when the stream caches are garbage collected, and until then the disk
+     * space of the deleted spool files may not be reclaimed by the operating system.
+     * <p/>
+     * Default is disabled.
+     */
+    void setSpoolMemoryMapped(boolean spoolMemoryMapped);
+
+    boolean isSpoolMemoryMapped();
+
     /**
      * Whether to remove the temporary directory when stopping.
      * <p/>
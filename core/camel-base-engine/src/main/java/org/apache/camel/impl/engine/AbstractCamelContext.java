@@ -275,6 +275,7 @@ public abstract class AbstractCamelContext extends BaseService
     private Boolean devConsole = Boolean.FALSE;
     private Boolean sourceLocationEnabled = Boolean.FALSE;
     private Boolean typeConverterStatisticsEnabled = Boolean.FALSE;
+    private Boolean adviceProfiling = Boolean.FALSE;
     private Boolean dumpRoutes = Boolean.FALSE;
     private Boolean useMDCLogging = Boolean.FALSE;
     private String mdcLoggingKeysPattern;
@@ -4421,6 +4422,16 @@ public abstract class AbstractCamelContext extends BaseService
         this.typeConverterStatisticsEnabled = typeConverterStatisticsEnabled;
     }
 
+    @Override
+    public Boolean isAdviceProfiling() {
+        return adviceProfiling != null && adviceProfiling;
+    }
+
+    @Override
+    public void setAdviceProfiling(Boolean adviceProfiling) {
+        this.adviceProfiling = adviceProfiling;
+    }
+
     @Override
     public String getBasePackageScan() {
         return basePackageScan;
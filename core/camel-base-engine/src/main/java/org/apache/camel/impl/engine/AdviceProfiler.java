@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.StaticService;
+import org.apache.camel.spi.CamelInternalProcessorAdvice;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Profiles the {@link CamelInternalProcessorAdvice} advices which the {@link CamelInternalProcessor} executes for every
+ * route and EIP node, by capturing the time spent and the bytes allocated by each advice (the before and after
+ * callbacks combined) per exchange.
+ * <p/>
+ * The values are recorded in low overhead log-linear histograms (in the style of HdrHistogram) so the percentiles can
+ * be computed with a precision of 12.5% without keeping the individual values. The allocated bytes are measured with
+ * the thread allocation counters of the JVM, and are only captured when the JVM supports this and the measurement is
+ * enabled (which is the default on HotSpot).
+ * <p/>
+ * The profiler is enabled with {@link CamelContext#setAdviceProfiling(Boolean)}, and comes with a small overhead per
+ * advice, so it should only be used while investigating the performance of the routes.
+ */
+public final class AdviceProfiler extends ServiceSupport implements StaticService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdviceProfiler.class);
+    // used to only create one profiler per context, without locking the context itself
+    private static final Lock LOCK = new ReentrantLock();
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private volatile boolean enabled = true;
+
+    private AdviceProfiler() {
+        this.threadMXBean = resolveThreadMXBean();
+    }
+
+    /**
+     * Gets the advice profiler from the given context, creating the profiler if none exists.
+     *
+     * @param  context Camel context
+     * @return         the advice profiler
+     */
+    public static AdviceProfiler getOrCreateProfiler(CamelContext context) {
+        ExtendedCamelContext ecc = context.adapt(ExtendedCamelContext.class);
+        AdviceProfiler profiler = ecc.getExtension(AdviceProfiler.class);
+        if (profiler != null) {
+            return profiler;
+        }
+        LOCK.lock();
+        try {
+            profiler = ecc.getExtension(AdviceProfiler.class);
+            if (profiler == null) {
+                profiler = new AdviceProfiler();
+                ecc.setExtension(AdviceProfiler.class, profiler);
+            }
+            return profiler;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean resolveThreadMXBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean answer = (com.sun.management.ThreadMXBean) bean;
+                if (answer.isThreadAllocatedMemorySupported()) {
+                    // do not turn on the measurement as this is a JVM wide setting
+                    if (answer.isThreadAllocatedMemoryEnabled()) {
+                        return answer;
+                    }
+                    LOG.info("Measuring thread allocated memory is disabled in the JVM, so only the time spent is profiled");
+                    return null;
+                }
+            }
+        } catch (Throwable e) {
+            LOG.debug("Cannot measure thread allocated memory due to: {}. This exception is ignored.", e.getMessage(), e);
+        }
+        LOG.info("The JVM does not support measuring thread allocated memory, so only the time spent is profiled");
+        return null;
+    }
+
+    /**
+     * Whether the profiler is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the profiler is enabled. This allows to pause and resume profiling at runtime.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether the allocated bytes are measured, which requires the JVM to support and have enabled measuring thread
+     * allocated memory.
+     */
+    public boolean isAllocationProfiling() {
+        return threadMXBean != null;
+    }
+
+    /**
+     * The total number of bytes allocated by the current thread, or 0 if not supported.
+     */
+    long currentThreadAllocatedBytes() {
+        return threadMXBean != null ? threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    /**
+     * Gets (or creates) the recorder for the given advice at the route and node.
+     *
+     * @param  routeId the route id
+     * @param  nodeId  the node id (is the route id for the advices of the route itself)
+     * @param  advice  the advice
+     * @return         the recorder
+     */
+    public Recorder getOrCreateRecorder(String routeId, String nodeId, CamelInternalProcessorAdvice<?> advice) {
+        Object target = CamelInternalProcessor.unwrap(advice);
+        String name = target.getClass().getSimpleName();
+        if (name.isEmpty()) {
+            // anonymous class
+            name = target.getClass().getName();
+        }
+        String key = routeId + "/" + nodeId + "/" + name;
+        String adviceName = name;
+        return recorders.computeIfAbsent(key, k -> new Recorder(routeId, nodeId, adviceName));
+    }
+
+    /**
+     * Gets the recorders sorted by the total time spent, with the most expensive advices first.
+     */
+    public List<Recorder> getRecorders() {
+        List<Recorder> answer = new ArrayList<>(recorders.values());
+        answer.sort(Comparator.comparingLong((Recorder r) -> r.getTime().getTotal()).reversed());
+        return answer;
+    }
+
+    /**
+     * Resets the recorded values.
+     */
+    public void reset() {
+        recorders.values().forEach(Recorder::reset);
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        recorders.clear();
+    }
+
+    /**
+     * Records the time and allocated bytes of an advice at a given route and node.
+     */
+    public static final class Recorder {
+
+        private final String routeId;
+        private final String nodeId;
+        private final String advice;
+        private final Histogram time = new Histogram();
+        private final Histogram allocated = new Histogram();
+
+        Recorder(String routeId, String nodeId, String advice) {
+            this.routeId = routeId;
+            this.nodeId = nodeId;
+            this.advice = advice;
+        }
+
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        /**
+         * The name of the advice.
+         */
+        public String getAdvice() {
+            return advice;
+        }
+
+        /**
+         * The time spent in nanos per exchange.
+         */
+        public Histogram getTime() {
+            return time;
+        }
+
+        /**
+         * The allocated bytes per exchange.
+         */
+        public Histogram getAllocated() {
+            return allocated;
+        }
+
+        void record(long nanos, long bytes) {
+            time.record(nanos);
+            allocated.record(bytes);
+        }
+
+        void reset() {
+            time.reset();
+            allocated.reset();
+        }
+
+        @Override
+        public String toString() {
+            return "Recorder[" + routeId + "/" + nodeId + "/" + advice + "]";
+        }
+    }
+
+    /**
+     * A concurrent log-linear histogram of positive values.
+     * <p/>
+     * Values below 8 are counted exactly, and larger values are counted in 8 linear buckets per power of two, which
+     * gives a precision of 12.5% using a fixed number of counters. Values of 2^41 and above (eg more than half an hour
+     * in nanos) are counted in the last bucket.
+     */
+    public static final class Histogram {
+
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int MAX_EXPONENT = 40;
+        private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        public void record(long value) {
+            if (value < 0) {
+                // clock or counter went backwards
+                value = 0;
+            }
+            counts.incrementAndGet(bucketIndex(value));
+            count.increment();
+            total.add(value);
+            max.accumulate(value);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotal() {
+            return total.sum();
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+
+        public long getMean() {
+            long n = count.sum();
+            return n > 0 ? total.sum() / n : 0;
+        }
+
+        /**
+         * Gets the value at the given percentile, which is the highest value of the bucket the percentile falls into.
+         *
+         * @param  percentile the percentile such as 50, 99 or 99.9
+         * @return            the value, or 0 if no values has been recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            long n = 0;
+            long[] snapshot = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts.get(i);
+                n += snapshot[i];
+            }
+            if (n == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100d) / 100d * n));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), getMax());
+                }
+            }
+            return getMax();
+        }
+
+        public void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            count.reset();
+            total.reset();
+            max.reset();
+        }
+
+        static int bucketIndex(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (exponent > MAX_EXPONENT) {
+                return BUCKETS - 1;
+            }
+            int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + mantissa;
+        }
+
+        static long highestValue(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+            int mantissa = (index - SUB_BUCKETS) % SUB_BUCKETS;
+            long lowest = (long) (SUB_BUCKETS + mantissa) << shift;
+            return lowest + (1L << shift) - 1;
+        }
+    }
+
+}
@@ -110,6 +110,11 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
     private byte statefulAdvices;
     private Object[] emptyStatefulStates;
     private PooledObjectFactory<CamelInternalTask> taskFactory;
+    // the route and node id used when profiling the advices
+    private String routeId;
+    private String nodeId;
+    private AdviceProfiler profiler;
+    private volatile AdviceProfiler.Recorder[] recorders;
 
     public CamelInternalProcessor(CamelContext camelContext) {
         this.camelContext = camelContext;
@@ -148,9 +153,31 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
             emptyStatefulStates = new Object[statefulAdvices];
         }
 
+        // only profile the advices of routes and EIP nodes
+        if (routeId != null && camelContext.isAdviceProfiling()) {
+            profiler = AdviceProfiler.getOrCreateProfiler(camelContext);
+            recorders = createRecorders();
+        }
+
         ServiceHelper.buildService(taskFactory, processor);
     }
 
+    /**
+     * Sets the route and node id to use when profiling the advices.
+     */
+    void setProfilingIds(String routeId, String nodeId) {
+        this.routeId = routeId;
+        this.nodeId = nodeId;
+    }
+
+    private AdviceProfiler.Recorder[] createRecorders() {
+        AdviceProfiler.Recorder[] answer = new AdviceProfiler.Recorder[advices.size()];
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = profiler.getOrCreateRecorder(routeId, nodeId, advices.get(i));
+        }
+        return answer;
+    }
+
     @Override
     protected void doShutdown() throws Exception {
         super.doShutdown();
@@ -166,6 +193,10 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         if (advice.hasState()) {
             statefulAdvices++;
         }
+        if (profiler != null) {
+            // advice added after being built so the recorders must follow the new order
+            recorders = createRecorders();
+        }
     }
 
     @Override
@@ -201,6 +232,10 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
 
     @Override
     public void setRouteOnAdvices(Route route) {
+        if (routeId == null) {
+            // the route itself uses its route id as node id
+            setProfilingIds(route.getRouteId(), route.getRouteId());
+        }
         RoutePolicyAdvice task = getAdvice(RoutePolicyAdvice.class);
         if (task != null) {
             task.setRoute(route);
@@ -217,6 +252,8 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
     private final class AsyncAfterTask implements CamelInternalTask {
 
         private final Object[] states;
+        private long[] profile;
+        private boolean profiling;
         private Exchange exchange;
         private AsyncCallback originalCallback;
 
@@ -235,10 +272,21 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
             return states;
         }
 
+        @Override
+        public long[] getProfile() {
+            int size = advices.size() * 2;
+            if (profile == null || profile.length != size) {
+                profile = new long[size];
+            }
+            profiling = true;
+            return profile;
+        }
+
         @Override
         public void reset() {
             // reset array by copying over from empty which is a very fast JVM optimized operation
             System.arraycopy(emptyStatefulStates, 0, states, 0, statefulAdvices);
+            this.profiling = false;
             this.exchange = null;
             this.originalCallback = null;
         }
@@ -246,6 +294,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         @Override
         @SuppressWarnings("unchecked")
         public void done(boolean doneSync) {
+            AdviceProfiler.Recorder[] recorders = profiling ? CamelInternalProcessor.this.recorders : null;
             try {
                 for (int i = advices.size() - 1, j = states.length - 1; i >= 0; i--) {
                     CamelInternalProcessorAdvice task = advices.get(i);
@@ -254,7 +303,20 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
                         state = states[j--];
                     }
                     try {
-                        task.after(exchange, state);
+                        if (recorders != null && i < recorders.length && i * 2 + 1 < profile.length) {
+                            // profile the after callback and record together with the before callback
+                            long start = System.nanoTime();
+                            long bytes = profiler.currentThreadAllocatedBytes();
+                            try {
+                                task.after(exchange, state);
+                            } finally {
+                                bytes = profiler.currentThreadAllocatedBytes() - bytes;
+                                long elapsed = System.nanoTime() - start;
+                                recorders[i].record(profile[i * 2] + elapsed, profile[i * 2 + 1] + bytes);
+                            }
+                        } else {
+                            task.after(exchange, state);
+                        }
                     } catch (Throwable e) {
                         exchange.setException(e);
                         // allow all advices to complete even if there was an exception
@@ -327,12 +389,24 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         }
         afterTask.prepare(exchange, originalCallback);
 
+        // profile the advices (only if enabled)
+        long[] profile = recorders != null && profiler.isEnabled() ? afterTask.getProfile() : null;
+
         // optimise to use object array for states, and only for the number of advices that keep state
         // optimise for loop using index access to avoid creating iterator object
         for (int i = 0, j = 0; i < advices.size(); i++) {
             CamelInternalProcessorAdvice<?> task = advices.get(i);
             try {
-                Object state = task.before(exchange);
+                Object state;
+                if (profile != null) {
+                    long start = System.nanoTime();
+                    long bytes = profiler.currentThreadAllocatedBytes();
+                    state = task.before(exchange);
+                    profile[i * 2 + 1] = profiler.currentThreadAllocatedBytes() - bytes;
+                    profile[i * 2] = System.nanoTime() - start;
+                } else {
+                    state = task.before(exchange);
+                }
                 if (task.hasState()) {
                     states[j++] = state;
                 }
@@ -37,6 +37,12 @@ interface CamelInternalTask extends AsyncCallback {
      */
     Object[] getStates();
 
+    /**
+     * Gets the time and allocated bytes spent by the before callback of each advice, to be used when profiling the
+     * advices.
+     */
+    long[] getProfile();
+
     /**
      * Resets the task after its done and can be reused for another exchange.
      */
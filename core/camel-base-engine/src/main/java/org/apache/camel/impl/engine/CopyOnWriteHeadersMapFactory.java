@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.camel.spi.HeadersMapFactory;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Copy-on-write {@link HeadersMapFactory} where a copy of the headers shares the map of the existing headers, until
+ * either the copy or the existing headers are changed, which then copies the map before the change.
+ * <p/>
+ * This reduces the overhead of copying exchanges, such as done by the splitter, multicast, recipient list and wire tap
+ * EIPs for every sub exchange, as the headers are only copied for the sub exchanges that change their headers.
+ * <p/>
+ * The headers are stored in maps created by a delegate {@link HeadersMapFactory}, which is by default the
+ * {@link DefaultHeadersMapFactory}, so the headers are case insensitive by default.
+ * <p/>
+ * Important: As with the other headers maps, a copy-on-write headers map is not thread-safe. A shared map is never
+ * changed, so a copy can be used by another thread than the existing headers.
+ */
+public class CopyOnWriteHeadersMapFactory implements HeadersMapFactory {
+
+    private final HeadersMapFactory delegate;
+
+    public CopyOnWriteHeadersMapFactory() {
+        this(new DefaultHeadersMapFactory());
+    }
+
+    public CopyOnWriteHeadersMapFactory(HeadersMapFactory delegate) {
+        ObjectHelper.notNull(delegate, "delegate");
+        this.delegate = delegate;
+    }
+
+    public HeadersMapFactory getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Map<String, Object> newMap() {
+        // share an empty map until the first header is added
+        return new CopyOnWriteHeadersMap(delegate, Collections.emptyMap(), true);
+    }
+
+    @Override
+    public Map<String, Object> newMap(Map<String, Object> map) {
+        if (map instanceof CopyOnWriteHeadersMap) {
+            CopyOnWriteHeadersMap other = (CopyOnWriteHeadersMap) map;
+            if (other.delegate == delegate) {
+                return new CopyOnWriteHeadersMap(delegate, other.share(), true);
+            }
+        }
+        return new CopyOnWriteHeadersMap(delegate, delegate.newMap(map), false);
+    }
+
+    @Override
+    public boolean isInstanceOf(Map<String, Object> map) {
+        return map instanceof CopyOnWriteHeadersMap;
+    }
+
+    @Override
+    public boolean isCaseInsensitive() {
+        return delegate.isCaseInsensitive();
+    }
+
+    @Override
+    public String toString() {
+        return "CopyOnWriteHeadersMapFactory[" + delegate + "]";
+    }
+
+    /**
+     * A headers map which copies its map (using the delegate factory) on the first change when the map is shared.
+     */
+    static final class CopyOnWriteHeadersMap extends AbstractMap<String, Object> {
+
+        private final HeadersMapFactory delegate;
+        private Map<String, Object> map;
+        // whether the map is shared with other headers maps, and therefore must not be changed
+        private boolean shared;
+        private Set<Map.Entry<String, Object>> entrySet;
+
+        CopyOnWriteHeadersMap(HeadersMapFactory delegate, Map<String, Object> map, boolean shared) {
+            this.delegate = delegate;
+            this.map = map;
+            this.shared = shared;
+        }
+
+        /**
+         * Shares the map with a new headers map, which means this headers map must copy the map before changing it.
+         */
+        Map<String, Object> share() {
+            shared = true;
+            return map;
+        }
+
+        boolean isShared() {
+            return shared;
+        }
+
+        /**
+         * Gets the map for changing, which copies the map if its shared.
+         */
+        private Map<String, Object> mutable() {
+            if (shared) {
+                map = map.isEmpty() ? delegate.newMap() : delegate.newMap(map);
+                shared = false;
+            }
+            return map;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            return map.containsValue(value);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return mutable().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            if (shared && !map.containsKey(key)) {
+                // avoid copying when there is nothing to remove
+                return null;
+            }
+            return mutable().remove(key);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ?> m) {
+            if (m instanceof CopyOnWriteHeadersMap && map.isEmpty()) {
+                CopyOnWriteHeadersMap other = (CopyOnWriteHeadersMap) m;
+                if (other.delegate == delegate) {
+                    // copying into empty headers (such as when copying a message) can share the map as well
+                    map = other.share();
+                    shared = true;
+                    return;
+                }
+            }
+            if (!m.isEmpty()) {
+                mutable().putAll(m);
+            }
+        }
+
+        @Override
+        public void clear() {
+            if (shared) {
+                map = Collections.emptyMap();
+            } else {
+                map.clear();
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new EntrySet();
+            }
+            return entrySet;
+        }
+
+        private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public void clear() {
+                CopyOnWriteHeadersMap.this.clear();
+            }
+        }
+
+        /**
+         * Iterates the map at the time the iterator was created, where changes are written through the headers map, so
+         * the map is copied if its shared.
+         */
+        private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+            private final Map<String, Object> iterated = map;
+            private final Iterator<Map.Entry<String, Object>> it = iterated.entrySet().iterator();
+            private Map.Entry<String, Object> last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Map.Entry<String, Object> next() {
+                last = it.next();
+                if (isPrivate()) {
+                    return last;
+                }
+                return new WriteThroughEntry(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                if (isPrivate()) {
+                    it.remove();
+                } else {
+                    CopyOnWriteHeadersMap.this.remove(last.getKey());
+                }
+                last = null;
+            }
+
+            private boolean isPrivate() {
+                return !shared && map == iterated;
+            }
+        }
+
+        private final class WriteThroughEntry extends SimpleEntry<String, Object> {
+
+            private static final long serialVersionUID = 1L;
+
+            WriteThroughEntry(Map.Entry<String, Object> entry) {
+                super(entry);
+            }
+
+            @Override
+            public Object setValue(Object value) {
+                put(getKey(), value);
+                return super.setValue(value);
+            }
+        }
+    }
+}
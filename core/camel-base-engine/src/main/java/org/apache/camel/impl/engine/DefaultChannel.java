@@ -162,6 +162,9 @@ public class DefaultChannel extends CamelInternalProcessor implements Channel {
         NamedNode targetOutputDef = childDefinition != null ? childDefinition : definition;
         LOG.trace("Initialize channel for target: {}", targetOutputDef);
 
+        // the advices of this channel are profiled per node
+        setProfilingIds(route.getRouteId(), targetOutputDef.getId());
+
         // setup instrumentation processor for management (jmx)
         // this is later used in postInitChannel as we need to setup the error handler later as well
         ManagementInterceptStrategy managed = route.getManagementInterceptStrategy();
@@ -208,15 +208,15 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         routeCount.clear();
     }
 
-    private static long getExchangeDuration(Exchange exchange) {
+    static long getExchangeDuration(Exchange exchange) {
         return System.currentTimeMillis() - exchange.getCreated();
     }
 
-    private static final class InflightExchangeEntry implements InflightExchange {
+    static final class InflightExchangeEntry implements InflightExchange {
 
         private final Exchange exchange;
 
-        private InflightExchangeEntry(Exchange exchange) {
+        InflightExchangeEntry(Exchange exchange) {
             this.exchange = exchange;
         }
 
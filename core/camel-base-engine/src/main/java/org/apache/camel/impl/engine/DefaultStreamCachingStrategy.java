@@ -27,6 +27,7 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.FileInputStreamCache;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.FilePathResolver;
@@ -51,6 +52,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private int spoolUsedHeapMemoryThreshold;
     private SpoolUsedHeapMemoryLimit spoolUsedHeapMemoryLimit;
     private String spoolCipher;
+    private boolean spoolMemoryMapped;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
@@ -142,6 +144,16 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.spoolCipher = spoolCipher;
     }
 
+    @Override
+    public boolean isSpoolMemoryMapped() {
+        return spoolMemoryMapped;
+    }
+
+    @Override
+    public void setSpoolMemoryMapped(boolean spoolMemoryMapped) {
+        this.spoolMemoryMapped = spoolMemoryMapped;
+    }
+
     @Override
     public int getBufferSize() {
         return bufferSize;
@@ -331,6 +343,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                 }
                 spoolRules.add(new UsedHeapMemorySpoolRule(spoolUsedHeapMemoryLimit));
             }
+            if (spoolMemoryMapped && spoolCipher != null) {
+                LOG.warn("Spool memory mapped cannot be used together with spool cipher: {}. Spooled data is read from file.",
+                        spoolCipher);
+            }
         }
 
         LOG.debug("StreamCaching configuration {}", this);
@@ -369,6 +385,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                + "spoolDirectoryEnabled=" + spoolEnabled
                + ", spoolDirectory=" + spoolDirectory
                + ", spoolCipher=" + spoolCipher
+               + ", spoolMemoryMapped=" + spoolMemoryMapped
                + ", spoolThreshold=" + spoolThreshold
                + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
                + ", bufferSize=" + bufferSize
@@ -441,7 +458,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     /**
      * Represents utilization statistics.
      */
-    private static final class UtilizationStatistics implements Statistics {
+    private final class UtilizationStatistics implements Statistics {
 
         private boolean statisticsEnabled;
         private volatile long memoryCounter;
@@ -493,6 +510,17 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             return spoolAverageSize;
         }
 
+        @Override
+        public long getCacheSpoolUsedSpace() {
+            return FileInputStreamCache.getSpoolUsedSpace(spoolDirectory);
+        }
+
+        @Override
+        public long getCacheSpoolFreeSpace() {
+            File dir = spoolDirectory;
+            return dir != null ? dir.getUsableSpace() : 0;
+        }
+
         @Override
         public synchronized void reset() {
             memoryCounter = 0;
@@ -516,8 +544,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         @Override
         public String toString() {
             return String.format(
-                    "[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s]",
-                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize);
+                    "[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s, spoolUsedSpace=%s]",
+                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize,
+                    getCacheSpoolUsedSpace());
         }
     }
 
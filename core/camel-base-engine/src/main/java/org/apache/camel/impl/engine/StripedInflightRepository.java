@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.impl.engine.DefaultInflightRepository.InflightExchangeEntry;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link org.apache.camel.spi.InflightRepository} for high throughput, where the counters are {@link LongAdder}s,
+ * and the inflight exchanges (when browsing is enabled) are stored in stripes of slots, where the slot is stored on the
+ * exchange itself, instead of a map keyed by exchange id. The stripe is chosen by the current thread, so threads
+ * adding exchanges concurrently seldom contend.
+ * <p/>
+ * Browsing the inflight exchanges takes a snapshot of the stripes when browsing. The exchanges which do not support
+ * slots (see {@link ExtendedExchange#getInflightSlot()}) are stored in a map keyed by exchange id instead.
+ */
+public class StripedInflightRepository extends ServiceSupport implements InflightRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StripedInflightRepository.class);
+
+    private final LongAdder size = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> routeCount = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Exchange> inflight = new ConcurrentHashMap<>();
+    private final Stripe[] stripes;
+    private final int stripeBits;
+    private boolean inflightExchangeEnabled;
+
+    public StripedInflightRepository() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Creates the repository with the given number of stripes, which is rounded up to a power of two.
+     */
+    public StripedInflightRepository(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be positive, was: " + stripes);
+        }
+        this.stripeBits = 32 - Integer.numberOfLeadingZeros(stripes - 1);
+        this.stripes = new Stripe[1 << stripeBits];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void add(Exchange exchange) {
+        size.increment();
+
+        if (inflightExchangeEnabled) {
+            ExtendedExchange ee = exchange.adapt(ExtendedExchange.class);
+            int slot = ee.getInflightSlot();
+            // the same exchange may be added more than once
+            if (slot == 0) {
+                int stripe = (int) Thread.currentThread().getId() & (stripes.length - 1);
+                int index = stripes[stripe].add(exchange);
+                // the slot is offset by one as zero means not in use
+                ee.setInflightSlot(((index << stripeBits) | stripe) + 1);
+            } else if (slot < 0) {
+                inflight.put(exchange.getExchangeId(), exchange);
+            }
+        }
+    }
+
+    @Override
+    public void remove(Exchange exchange) {
+        size.decrement();
+
+        ExtendedExchange ee = exchange.adapt(ExtendedExchange.class);
+        int slot = ee.getInflightSlot();
+        if (slot < 0) {
+            inflight.remove(exchange.getExchangeId());
+        } else if (slot != 0) {
+            slot--;
+            stripes[slot & (stripes.length - 1)].remove(slot >>> stripeBits, exchange);
+            ee.setInflightSlot(0);
+        }
+    }
+
+    @Override
+    public void add(Exchange exchange, String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        if (existing != null) {
+            existing.increment();
+        }
+    }
+
+    @Override
+    public void remove(Exchange exchange, String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        if (existing != null) {
+            existing.decrement();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public void addRoute(String routeId) {
+        routeCount.putIfAbsent(routeId, new LongAdder());
+    }
+
+    @Override
+    public void removeRoute(String routeId) {
+        routeCount.remove(routeId);
+    }
+
+    @Override
+    public int size(String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        return existing != null ? existing.intValue() : 0;
+    }
+
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return inflightExchangeEnabled;
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        this.inflightExchangeEnabled = inflightBrowseEnabled;
+    }
+
+    @Override
+    public Collection<InflightExchange> browse() {
+        return browse(null, -1, false);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(String fromRouteId) {
+        return browse(fromRouteId, -1, false);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(int limit, boolean sortByLongestDuration) {
+        return browse(null, limit, sortByLongestDuration);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(String fromRouteId, int limit, boolean sortByLongestDuration) {
+        if (!inflightExchangeEnabled) {
+            return Collections.emptyList();
+        }
+
+        Stream<Exchange> values = inflightExchanges(fromRouteId);
+        if (sortByLongestDuration) {
+            // the oldest exchange has the longest duration
+            values = values.sorted(Comparator.comparingLong(Exchange::getCreated));
+        } else {
+            values = values.sorted(Comparator.comparing(Exchange::getExchangeId));
+        }
+        if (limit > 0) {
+            values = values.limit(limit);
+        }
+
+        List<InflightExchange> answer = values.map(InflightExchangeEntry::new).collect(Collectors.toList());
+        return Collections.unmodifiableCollection(answer);
+    }
+
+    @Override
+    public InflightExchange oldest(String fromRouteId) {
+        if (!inflightExchangeEnabled) {
+            return null;
+        }
+
+        return inflightExchanges(fromRouteId).min(Comparator.comparingLong(Exchange::getCreated))
+                .map(InflightExchangeEntry::new).orElse(null);
+    }
+
+    /**
+     * Takes a snapshot of the inflight exchanges, optionally only from the given route.
+     */
+    private Stream<Exchange> inflightExchanges(String fromRouteId) {
+        List<Exchange> answer = new ArrayList<>(inflight.values());
+        for (Stripe stripe : stripes) {
+            stripe.collect(answer);
+        }
+        Stream<Exchange> values = answer.stream();
+        if (fromRouteId != null) {
+            values = values.filter(e -> fromRouteId.equals(e.getFromRouteId()));
+        }
+        return values;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        int count = size();
+        if (count > 0) {
+            LOG.warn("Shutting down while there are still {} inflight exchanges.", count);
+        } else {
+            LOG.debug("Shutting down with no inflight exchanges.");
+        }
+        routeCount.clear();
+    }
+
+    /**
+     * The slots of a stripe, where the free slots are reused.
+     */
+    private static final class Stripe {
+
+        private final Lock lock = new ReentrantLock();
+        private Exchange[] exchanges = new Exchange[16];
+        private int[] free = new int[16];
+        private int freeCount;
+        private int used;
+
+        int add(Exchange exchange) {
+            lock.lock();
+            try {
+                int index;
+                if (freeCount > 0) {
+                    index = free[--freeCount];
+                } else {
+                    if (used == exchanges.length) {
+                        exchanges = Arrays.copyOf(exchanges, used * 2);
+                    }
+                    index = used++;
+                }
+                exchanges[index] = exchange;
+                return index;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(int index, Exchange exchange) {
+            lock.lock();
+            try {
+                // the slot may have been reused if the exchange was removed already
+                if (index < used && exchanges[index] == exchange) {
+                    exchanges[index] = null;
+                    if (freeCount == free.length) {
+                        free = Arrays.copyOf(free, freeCount * 2);
+                    }
+                    free[freeCount++] = index;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void collect(List<Exchange> answer) {
+            lock.lock();
+            try {
+                for (int i = 0; i < used; i++) {
+                    Exchange exchange = exchanges[i];
+                    if (exchange != null) {
+                        answer.add(exchange);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+}
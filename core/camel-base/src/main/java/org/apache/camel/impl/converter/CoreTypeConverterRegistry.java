@@ -18,6 +18,9 @@ package org.apache.camel.impl.converter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -65,6 +68,9 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<>();
     // special enum converter for optional performance
     protected final TypeConverter enumTypeConverter = new EnumTypeConverter();
+    // the lookups (from type -> to types) that found no type converter, so lookups that need to scan the type mappings
+    // are only done once (found type converters are added to the type mappings), the cache is replaced on changes
+    private volatile ConcurrentMap<Class<?>, Set<Class<?>>> unresolvedLookups = new ConcurrentHashMap<>();
 
     protected final Statistics statistics = new UtilizationStatistics();
     protected final LongAdder noopCounter = new LongAdder();
@@ -575,6 +581,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
                 this.bulkTypeConverters.add(bulkTypeConverters);
             }
             sumBulkTypeConverters += bulkTypeConverters.size();
+            invalidateUnresolvedLookups();
         }
     }
 
@@ -585,6 +592,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         if (converter == MISS_CONVERTER) {
             // we have previously attempted to convert but missed so add this converter
             typeMappings.put(toType, fromType, typeConverter);
+            invalidateUnresolvedLookups();
             return;
         }
 
@@ -612,13 +620,18 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
 
             if (add) {
                 typeMappings.put(toType, fromType, typeConverter);
+                invalidateUnresolvedLookups();
             }
         }
     }
 
     public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
         LOG.trace("Removing type converter from: {} to: {}", fromType, toType);
-        return typeMappings.remove(toType, fromType);
+        boolean answer = typeMappings.remove(toType, fromType);
+        if (answer) {
+            invalidateUnresolvedLookups();
+        }
+        return answer;
     }
 
     @Override
@@ -641,15 +654,35 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
     protected TypeConverter getOrFindTypeConverter(Class<?> toType, Class<?> fromType) {
         TypeConverter converter = typeMappings.get(toType, fromType);
         if (converter == null) {
+            // read the cache only once as it may be replaced concurrently
+            ConcurrentMap<Class<?>, Set<Class<?>>> unresolved = unresolvedLookups;
+            Set<Class<?>> toTypes = unresolved.get(fromType);
+            if (toTypes != null && toTypes.contains(toType)) {
+                // we have previously looked up and there was no converter
+                return null;
+            }
             // converter not found, try to lookup then
             converter = lookup(toType, fromType);
             if (converter != null) {
                 typeMappings.put(toType, fromType, converter);
+            } else {
+                if (toTypes == null) {
+                    toTypes = unresolved.computeIfAbsent(fromType, k -> ConcurrentHashMap.newKeySet());
+                }
+                toTypes.add(toType);
             }
         }
         return converter;
     }
 
+    /**
+     * Discards the remembered lookups that found no type converter, which must be done when the type mappings are
+     * changed (after the change).
+     */
+    protected void invalidateUnresolvedLookups() {
+        unresolvedLookups = new ConcurrentHashMap<>();
+    }
+
     protected TypeConverter doLookup(Class<?> toType, Class<?> fromType, boolean isSuper) {
 
         if (fromType != null) {
@@ -771,6 +804,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         }
 
         typeMappings.clear();
+        invalidateUnresolvedLookups();
         statistics.reset();
     }
 
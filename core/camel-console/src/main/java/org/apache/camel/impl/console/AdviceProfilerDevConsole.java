@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.console;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.camel.impl.engine.AdviceProfiler;
+import org.apache.camel.spi.annotations.DevConsole;
+import org.apache.camel.support.PatternHelper;
+import org.apache.camel.util.json.JsonObject;
+
+@DevConsole("advice-profiler")
+public class AdviceProfilerDevConsole extends AbstractDevConsole {
+
+    /**
+     * Filters the advices matching by route id, node id, and advice name
+     */
+    public static final String FILTER = "filter";
+
+    /**
+     * Limits the number of entries displayed
+     */
+    public static final String LIMIT = "limit";
+
+    public AdviceProfilerDevConsole() {
+        super("camel", "advice-profiler", "Advice Profiler",
+              "Display the time spent and bytes allocated by the internal advices per route and node");
+    }
+
+    @Override
+    protected String doCallText(Map<String, Object> options) {
+        StringBuilder sb = new StringBuilder();
+
+        AdviceProfiler profiler = getCamelContext().getExtension(AdviceProfiler.class);
+        sb.append(String.format("\n    Enabled: %s", profiler != null && profiler.isEnabled()));
+        if (profiler != null) {
+            sb.append(String.format("\n    AllocationProfiling: %s", profiler.isAllocationProfiling()));
+            for (AdviceProfiler.Recorder r : recorders(profiler, options)) {
+                AdviceProfiler.Histogram time = r.getTime();
+                AdviceProfiler.Histogram bytes = r.getAllocated();
+                sb.append(String.format("\n    %s/%s %s (count: %s total: %sns mean: %sns p99: %sns max: %sns"
+                                        + " mean-bytes: %s p99-bytes: %s max-bytes: %s)",
+                        r.getRouteId(), r.getNodeId(), r.getAdvice(), time.getCount(), time.getTotal(), time.getMean(),
+                        time.getValueAtPercentile(99), time.getMax(), bytes.getMean(), bytes.getValueAtPercentile(99),
+                        bytes.getMax()));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    protected JsonObject doCallJson(Map<String, Object> options) {
+        JsonObject root = new JsonObject();
+
+        AdviceProfiler profiler = getCamelContext().getExtension(AdviceProfiler.class);
+        root.put("enabled", profiler != null && profiler.isEnabled());
+        if (profiler != null) {
+            root.put("allocationProfiling", profiler.isAllocationProfiling());
+            final List<JsonObject> list = new ArrayList<>();
+            for (AdviceProfiler.Recorder r : recorders(profiler, options)) {
+                JsonObject props = new JsonObject();
+                props.put("routeId", r.getRouteId());
+                props.put("nodeId", r.getNodeId());
+                props.put("advice", r.getAdvice());
+                props.put("count", r.getTime().getCount());
+                props.put("time", toJson(r.getTime()));
+                props.put("allocated", toJson(r.getAllocated()));
+                list.add(props);
+            }
+            root.put("advices", list);
+        }
+
+        return root;
+    }
+
+    private static List<AdviceProfiler.Recorder> recorders(AdviceProfiler profiler, Map<String, Object> options) {
+        String filter = (String) options.get(FILTER);
+        String limit = (String) options.get(LIMIT);
+        final int max = limit == null ? Integer.MAX_VALUE : Integer.parseInt(limit);
+
+        // already sorted with the most expensive advices first
+        return profiler.getRecorders().stream()
+                .filter(r -> accept(r, filter))
+                .limit(max)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean accept(AdviceProfiler.Recorder recorder, String filter) {
+        if (filter == null || filter.isBlank()) {
+            return true;
+        }
+
+        return PatternHelper.matchPattern(recorder.getRouteId(), filter)
+                || PatternHelper.matchPattern(recorder.getNodeId(), filter)
+                || PatternHelper.matchPattern(recorder.getAdvice(), filter);
+    }
+
+    private static JsonObject toJson(AdviceProfiler.Histogram histogram) {
+        JsonObject jo = new JsonObject();
+        jo.put("total", histogram.getTotal());
+        jo.put("mean", histogram.getMean());
+        jo.put("p50", histogram.getValueAtPercentile(50));
+        jo.put("p90", histogram.getValueAtPercentile(90));
+        jo.put("p99", histogram.getValueAtPercentile(99));
+        jo.put("p999", histogram.getValueAtPercentile(99.9));
+        jo.put("max", histogram.getMax());
+        return jo;
+    }
+}
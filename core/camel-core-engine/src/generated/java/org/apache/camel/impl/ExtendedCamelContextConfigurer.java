@@ -21,6 +21,8 @@ public class ExtendedCamelContextConfigurer extends org.apache.camel.support.com
     public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
         org.apache.camel.ExtendedCamelContext target = (org.apache.camel.ExtendedCamelContext) obj;
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "adviceprofiling":
+        case "AdviceProfiling": target.setAdviceProfiling(property(camelContext, java.lang.Boolean.class, value)); return true;
         case "allowuseoriginalmessage":
         case "AllowUseOriginalMessage": target.setAllowUseOriginalMessage(property(camelContext, java.lang.Boolean.class, value)); return true;
         case "annotationbasedprocessorfactory":
@@ -228,6 +230,8 @@ public class ExtendedCamelContextConfigurer extends org.apache.camel.support.com
     @Override
     public Class<?> getOptionType(String name, boolean ignoreCase) {
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "adviceprofiling":
+        case "AdviceProfiling": return java.lang.Boolean.class;
         case "allowuseoriginalmessage":
         case "AllowUseOriginalMessage": return java.lang.Boolean.class;
         case "annotationbasedprocessorfactory":
@@ -436,6 +440,8 @@ public class ExtendedCamelContextConfigurer extends org.apache.camel.support.com
     public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
         org.apache.camel.ExtendedCamelContext target = (org.apache.camel.ExtendedCamelContext) obj;
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "adviceprofiling":
+        case "AdviceProfiling": return target.isAdviceProfiling();
         case "allowuseoriginalmessage":
         case "AllowUseOriginalMessage": return target.isAllowUseOriginalMessage();
         case "annotationbasedprocessorfactory":
@@ -919,6 +919,16 @@ public class LightweightCamelContext implements ExtendedCamelContext, CatalogCam
         delegate.setTypeConverterStatisticsEnabled(typeConverterStatisticsEnabled);
     }
 
+    @Override
+    public Boolean isAdviceProfiling() {
+        return delegate.isAdviceProfiling();
+    }
+
+    @Override
+    public void setAdviceProfiling(Boolean adviceProfiling) {
+        delegate.setAdviceProfiling(adviceProfiling);
+    }
+
     @Override
     public Boolean isLoadHealthChecks() {
         return delegate.isLoadHealthChecks();
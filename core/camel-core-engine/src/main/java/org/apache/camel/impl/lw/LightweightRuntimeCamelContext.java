@@ -1297,6 +1297,16 @@ public class LightweightRuntimeCamelContext implements ExtendedCamelContext, Cat
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Boolean isAdviceProfiling() {
+        return false;
+    }
+
+    @Override
+    public void setAdviceProfiling(Boolean adviceProfiling) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public String getBasePackageScan() {
         return basePackageScan;
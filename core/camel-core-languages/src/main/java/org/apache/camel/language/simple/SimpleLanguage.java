@@ -47,8 +47,11 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
     // a special prefix to avoid cache clash
     private static final String CACHE_KEY_PREFIX = "@SIMPLE@";
+    // a special prefix to not mix compiled and interpreted predicates in the cache
+    private static final String COMPILED_CACHE_KEY_PREFIX = "@SIMPLE-COMPILED@";
 
     boolean allowEscape = true;
+    private boolean compiled;
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
@@ -60,6 +63,22 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     public SimpleLanguage() {
     }
 
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Whether to compile the predicates the first time they are evaluated, instead of evaluating the predicates by
+     * interpreting the parsed expressions on every evaluation. The compiled predicates returns the same results as
+     * the interpreted predicates, but avoids re-evaluating header names and constants, and creating intermediate
+     * predicates on every evaluation.
+     * <p/>
+     * Only predicates are compiled, the expressions are always interpreted.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
     @Override
     public void init() {
         // setup cache which requires CamelContext to be set first
@@ -104,9 +123,14 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
     @Override
     public Predicate createPredicate(String expression) {
+        return createPredicate(expression, compiled);
+    }
+
+    private Predicate createPredicate(String expression, boolean compiled) {
         ObjectHelper.notNull(expression, "expression");
 
-        String key = CACHE_KEY_PREFIX + expression;
+        String prefix = compiled ? COMPILED_CACHE_KEY_PREFIX : CACHE_KEY_PREFIX;
+        String key = prefix + expression;
         Predicate answer = cachePredicate != null ? cachePredicate.get(key) : null;
         if (answer == null) {
 
@@ -119,7 +143,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
                     @Override
                     public boolean matches(Exchange exchange) {
                         String r = ScriptHelper.resolveOptionalExternalScript(getCamelContext(), exchange, text);
-                        Predicate pred = SimpleLanguage.this.createPredicate(r);
+                        Predicate pred = SimpleLanguage.this.createPredicate(r, compiled);
                         pred.init(getCamelContext());
                         return pred.matches(exchange);
                     }
@@ -133,13 +157,13 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
             if (isStaticResource(expression)) {
                 expression = loadResource(expression);
-                key = CACHE_KEY_PREFIX + expression;
+                key = prefix + expression;
             }
 
             // using the expression cache here with the predicate parser is okay
             SimplePredicateParser parser
                     = new SimplePredicateParser(getCamelContext(), expression, allowEscape, cacheExpression);
-            answer = parser.parsePredicate();
+            answer = compiled ? parser.parseCompiledPredicate() : parser.parsePredicate();
 
             if (cachePredicate != null && answer != null) {
                 cachePredicate.put(key, answer);
@@ -158,7 +182,8 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
         if (expression == null) {
             expression = "${null}";
         }
-        return createPredicate(expression);
+        boolean compiled = property(boolean.class, properties, 2, this.compiled);
+        return createPredicate(expression, compiled);
     }
 
     @Override
@@ -171,7 +196,8 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
         if (expression == null) {
             expression = "${null}";
         }
-        return createExpression(expression, resultType);
+        boolean compiled = property(boolean.class, properties, 2, this.compiled);
+        return createExpression(expression, resultType, compiled);
     }
 
     @Override
@@ -242,9 +268,13 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     }
 
     public Expression createExpression(String expression, Class<?> resultType) {
+        return createExpression(expression, resultType, compiled);
+    }
+
+    private Expression createExpression(String expression, Class<?> resultType, boolean compiled) {
         if (resultType == Boolean.class || resultType == boolean.class) {
             // if its a boolean as result then its a predicate
-            Predicate predicate = createPredicate(expression);
+            Predicate predicate = createPredicate(expression, compiled);
             return PredicateToExpressionAdapter.toExpression(predicate);
         } else {
             Expression exp = createExpression(expression);
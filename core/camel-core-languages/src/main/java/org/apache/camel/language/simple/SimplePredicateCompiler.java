@@ -0,0 +1,650 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.language.simple.ast.BinaryExpression;
+import org.apache.camel.language.simple.ast.BooleanExpression;
+import org.apache.camel.language.simple.ast.CompositeNodes;
+import org.apache.camel.language.simple.ast.DoubleQuoteStart;
+import org.apache.camel.language.simple.ast.LiteralExpression;
+import org.apache.camel.language.simple.ast.LogicalExpression;
+import org.apache.camel.language.simple.ast.NullExpression;
+import org.apache.camel.language.simple.ast.NumericExpression;
+import org.apache.camel.language.simple.ast.SimpleFunctionStart;
+import org.apache.camel.language.simple.ast.SimpleNode;
+import org.apache.camel.language.simple.ast.SingleQuoteStart;
+import org.apache.camel.language.simple.types.BinaryOperatorType;
+import org.apache.camel.language.simple.types.LogicalOperatorType;
+import org.apache.camel.support.ExpressionToPredicateAdapter;
+import org.apache.camel.support.ObjectHelper;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * Compiles the AST of a simple predicate into a tree of {@link MethodHandle}s.
+ * <p/>
+ * The names of headers and exchange properties are resolved, and the constants, regular expressions, class names and
+ * list of values are parsed, when the predicate is compiled instead of on every evaluation. The operators evaluate the
+ * operands directly instead of creating predicates and converting the results to boolean on every evaluation.
+ * <p/>
+ * Any node in the AST which is not supported by the compiler is evaluated with its interpreted expression, and the
+ * supported operators use the same type coercion as the interpreted operators, so the compiled predicate returns the
+ * same result as the interpreted predicate.
+ */
+public final class SimplePredicateCompiler {
+
+    private static final MethodType PREDICATE_TYPE = MethodType.methodType(boolean.class, Exchange.class);
+    private static final Pattern NAME_PATTERN = Pattern.compile("[\\w\\-]+");
+    // this is special for the range operator where you define the range as from..to (where from and to are numbers)
+    private static final Pattern RANGE_PATTERN = Pattern.compile("^(\\d+)(\\.\\.)(\\d+)$");
+    private static final Object NOT_CONSTANT = new Object();
+
+    private static final MethodHandle BODY;
+    private static final MethodHandle HEADER;
+    private static final MethodHandle EXCHANGE_PROPERTY;
+    private static final MethodHandle CONVERT_TO;
+    private static final MethodHandle EVALUATE;
+    private static final MethodHandle MATCHES;
+    private static final MethodHandle VALUE_PREDICATE;
+    private static final MethodHandle NOT;
+    private static final MethodHandle REGEX;
+    private static final MethodHandle IS;
+    private static final MethodHandle IN;
+    private static final MethodHandle TRUE;
+    private static final MethodHandle FALSE;
+    private static final Map<BinaryOperatorType, MethodHandle> OPERATORS = new EnumMap<>(BinaryOperatorType.class);
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType operand = MethodType.methodType(Object.class, Exchange.class);
+        MethodType binary = MethodType.methodType(boolean.class, Exchange.class, Object.class, Object.class);
+        try {
+            BODY = lookup.findStatic(SimplePredicateCompiler.class, "body", operand);
+            HEADER = lookup.findStatic(SimplePredicateCompiler.class, "header", operand.insertParameterTypes(0, String.class));
+            EXCHANGE_PROPERTY = lookup.findStatic(SimplePredicateCompiler.class, "exchangeProperty",
+                    operand.insertParameterTypes(0, String.class));
+            CONVERT_TO = lookup.findStatic(SimplePredicateCompiler.class, "convertTo",
+                    MethodType.methodType(Object.class, Class.class, Exchange.class, Object.class));
+            EVALUATE = lookup.findStatic(SimplePredicateCompiler.class, "evaluate",
+                    operand.insertParameterTypes(0, Expression.class, Class.class));
+            MATCHES = lookup.findStatic(SimplePredicateCompiler.class, "matches",
+                    PREDICATE_TYPE.insertParameterTypes(0, Predicate.class));
+            VALUE_PREDICATE = lookup.findStatic(SimplePredicateCompiler.class, "valuePredicate",
+                    MethodType.methodType(boolean.class, Object.class));
+            NOT = lookup.findStatic(SimplePredicateCompiler.class, "not",
+                    MethodType.methodType(boolean.class, boolean.class));
+            REGEX = lookup.findStatic(SimplePredicateCompiler.class, "regex",
+                    MethodType.methodType(boolean.class, Pattern.class, Exchange.class, Object.class));
+            IS = lookup.findStatic(SimplePredicateCompiler.class, "is",
+                    MethodType.methodType(boolean.class, Class.class, Exchange.class, Object.class));
+            IN = lookup.findStatic(SimplePredicateCompiler.class, "in",
+                    MethodType.methodType(boolean.class, List.class, Exchange.class, Object.class));
+
+            MethodHandle eq = lookup.findStatic(SimplePredicateCompiler.class, "isEqualTo", binary);
+            MethodHandle eqIgnore = lookup.findStatic(SimplePredicateCompiler.class, "isEqualToIgnoreCase", binary);
+            MethodHandle contains = lookup.findStatic(SimplePredicateCompiler.class, "contains", binary);
+            MethodHandle containsIgnore = lookup.findStatic(SimplePredicateCompiler.class, "containsIgnoreCase", binary);
+            OPERATORS.put(BinaryOperatorType.EQ, eq);
+            OPERATORS.put(BinaryOperatorType.EQ_IGNORE, eqIgnore);
+            OPERATORS.put(BinaryOperatorType.NOT_EQ, lookup.findStatic(SimplePredicateCompiler.class, "isNotEqualTo", binary));
+            OPERATORS.put(BinaryOperatorType.NOT_EQ_IGNORE, MethodHandles.filterReturnValue(eqIgnore, NOT));
+            OPERATORS.put(BinaryOperatorType.GT, lookup.findStatic(SimplePredicateCompiler.class, "isGreaterThan", binary));
+            OPERATORS.put(BinaryOperatorType.GTE,
+                    lookup.findStatic(SimplePredicateCompiler.class, "isGreaterThanOrEqualTo", binary));
+            OPERATORS.put(BinaryOperatorType.LT, lookup.findStatic(SimplePredicateCompiler.class, "isLessThan", binary));
+            OPERATORS.put(BinaryOperatorType.LTE,
+                    lookup.findStatic(SimplePredicateCompiler.class, "isLessThanOrEqualTo", binary));
+            OPERATORS.put(BinaryOperatorType.CONTAINS, contains);
+            OPERATORS.put(BinaryOperatorType.NOT_CONTAINS, MethodHandles.filterReturnValue(contains, NOT));
+            OPERATORS.put(BinaryOperatorType.CONTAINS_IGNORECASE, containsIgnore);
+            OPERATORS.put(BinaryOperatorType.NOT_CONTAINS_IGNORECASE, MethodHandles.filterReturnValue(containsIgnore, NOT));
+            OPERATORS.put(BinaryOperatorType.STARTS_WITH, lookup.findStatic(SimplePredicateCompiler.class, "startsWith", binary));
+            OPERATORS.put(BinaryOperatorType.ENDS_WITH, lookup.findStatic(SimplePredicateCompiler.class, "endsWith", binary));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        TRUE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, Exchange.class);
+        FALSE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, Exchange.class);
+    }
+
+    private final CamelContext camelContext;
+    private final String expression;
+
+    private SimplePredicateCompiler(CamelContext camelContext, String expression) {
+        this.camelContext = camelContext;
+        this.expression = expression;
+    }
+
+    /**
+     * Creates a predicate which compiles the given AST the first time the predicate is evaluated.
+     *
+     * @param  camelContext the camel context
+     * @param  expression   the simple predicate
+     * @param  nodes        the parsed AST of the simple predicate
+     * @param  interpreted  the interpreted predicate of the same AST
+     * @return              the compiled predicate
+     */
+    public static Predicate compilePredicate(
+            CamelContext camelContext, String expression, List<SimpleNode> nodes, Predicate interpreted) {
+        return new CompiledPredicate(camelContext, expression, new ArrayList<>(nodes), interpreted);
+    }
+
+    MethodHandle compile(List<SimpleNode> nodes) {
+        // multiple nodes are and'ed together like the interpreted predicate
+        MethodHandle answer = null;
+        for (SimpleNode node : nodes) {
+            MethodHandle predicate = predicate(node);
+            if (predicate != null) {
+                answer = answer == null ? predicate : MethodHandles.guardWithTest(answer, predicate, FALSE);
+            }
+        }
+        return answer != null ? answer : FALSE;
+    }
+
+    private MethodHandle predicate(SimpleNode node) {
+        MethodHandle answer = null;
+        if (node instanceof LogicalExpression) {
+            answer = logical((LogicalExpression) node);
+        } else if (node instanceof BinaryExpression) {
+            answer = binary((BinaryExpression) node);
+        } else if (constant(node) != NOT_CONSTANT || function(node) != null) {
+            answer = MethodHandles.filterReturnValue(operand(node, Object.class), VALUE_PREDICATE);
+        }
+        if (answer == null) {
+            // not supported so use the interpreted predicate
+            Expression exp = interpreted(node);
+            if (exp != null) {
+                answer = MethodHandles.insertArguments(MATCHES, 0, ExpressionToPredicateAdapter.toPredicate(exp));
+            }
+        }
+        return answer;
+    }
+
+    private MethodHandle logical(LogicalExpression node) {
+        MethodHandle left = predicate(node.getLeft());
+        MethodHandle right = predicate(node.getRight());
+        if (left == null || right == null) {
+            return null;
+        }
+        if (node.getOperator() == LogicalOperatorType.AND) {
+            return MethodHandles.guardWithTest(left, right, FALSE);
+        } else if (node.getOperator() == LogicalOperatorType.OR) {
+            return MethodHandles.guardWithTest(left, TRUE, right);
+        }
+        return null;
+    }
+
+    private MethodHandle binary(BinaryExpression node) {
+        BinaryOperatorType operator = node.getOperator();
+        MethodHandle op = OPERATORS.get(operator);
+        if (op != null) {
+            return apply(op, operand(node.getLeft(), Object.class), operand(node.getRight(), Object.class));
+        }
+
+        // the other operators are only compiled if the right hand side is a constant
+        Object right = constant(node.getRight());
+        if (right == NOT_CONSTANT) {
+            return null;
+        }
+        MethodHandle answer = null;
+        if (operator == BinaryOperatorType.REGEX || operator == BinaryOperatorType.NOT_REGEX) {
+            answer = regex(node, right);
+        } else if (operator == BinaryOperatorType.IS || operator == BinaryOperatorType.NOT_IS) {
+            answer = is(node, right);
+        } else if (operator == BinaryOperatorType.IN || operator == BinaryOperatorType.NOT_IN) {
+            answer = in(node, right);
+        } else if (operator == BinaryOperatorType.RANGE || operator == BinaryOperatorType.NOT_RANGE) {
+            answer = range(node, right);
+        }
+        if (answer != null && (operator == BinaryOperatorType.NOT_REGEX || operator == BinaryOperatorType.NOT_IS
+                || operator == BinaryOperatorType.NOT_IN || operator == BinaryOperatorType.NOT_RANGE)) {
+            answer = MethodHandles.filterReturnValue(answer, NOT);
+        }
+        return answer;
+    }
+
+    private MethodHandle regex(BinaryExpression node, Object right) {
+        if (!(right instanceof String)) {
+            return null;
+        }
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile((String) right);
+        } catch (PatternSyntaxException e) {
+            // let the interpreted predicate fail when it is evaluated
+            return null;
+        }
+        // the regular expression is matched with the left hand side as a String
+        return apply(MethodHandles.insertArguments(REGEX, 0, pattern), operand(node.getLeft(), String.class));
+    }
+
+    private MethodHandle is(BinaryExpression node, Object right) {
+        if (!(right instanceof String) || "null".equals(right) || camelContext == null) {
+            return null;
+        }
+        Class<?> type = camelContext.getClassResolver().resolveClass((String) right);
+        if (type == null) {
+            // let the interpreted predicate fail when it is evaluated
+            return null;
+        }
+        return apply(MethodHandles.insertArguments(IS, 0, type), operand(node.getLeft(), Object.class));
+    }
+
+    private MethodHandle in(BinaryExpression node, Object right) {
+        // the left hand side is evaluated once per value by the interpreted predicate
+        // so it must be side effect free for evaluating it only once
+        if (constant(node.getLeft()) == NOT_CONSTANT && function(node.getLeft()) == null) {
+            return null;
+        }
+        List<Object> values = new ArrayList<>();
+        Iterator<?> it = ObjectHelper.createIterator(right);
+        while (it.hasNext()) {
+            values.add(it.next());
+        }
+        return apply(MethodHandles.insertArguments(IN, 0, Collections.unmodifiableList(values)),
+                operand(node.getLeft(), Object.class));
+    }
+
+    private MethodHandle range(BinaryExpression node, Object right) {
+        if (!(right instanceof String)) {
+            return null;
+        }
+        Matcher matcher = RANGE_PATTERN.matcher((String) right);
+        if (!matcher.matches()) {
+            // let the interpreted predicate fail when it is evaluated
+            return null;
+        }
+        // the left hand side is evaluated twice by the interpreted predicate
+        // so it must be side effect free for evaluating it only once
+        if (constant(node.getLeft()) == NOT_CONSTANT && function(node.getLeft()) == null) {
+            return null;
+        }
+        MethodHandle from = MethodHandles.insertArguments(OPERATORS.get(BinaryOperatorType.GTE), 2, matcher.group(1));
+        MethodHandle to = MethodHandles.insertArguments(OPERATORS.get(BinaryOperatorType.LTE), 2, matcher.group(3));
+        MethodHandle left = operand(node.getLeft(), Object.class);
+        return MethodHandles.guardWithTest(apply(from, left), apply(to, left), FALSE);
+    }
+
+    /**
+     * Creates the handle which evaluates the node as the given type.
+     */
+    private MethodHandle operand(SimpleNode node, Class<?> type) {
+        if (type == Object.class) {
+            Object value = constant(node);
+            if (value != NOT_CONSTANT) {
+                return MethodHandles.dropArguments(MethodHandles.constant(Object.class, value), 0, Exchange.class);
+            }
+        }
+        MethodHandle answer = function(node);
+        if (answer != null) {
+            if (type != Object.class) {
+                answer = apply(MethodHandles.insertArguments(CONVERT_TO, 0, type), answer);
+            }
+            return answer;
+        }
+        // not supported so use the interpreted expression
+        return MethodHandles.insertArguments(EVALUATE, 0, interpreted(node), type);
+    }
+
+    /**
+     * The value of the node if its a literal, number, boolean or null, otherwise {@link #NOT_CONSTANT}.
+     */
+    private Object constant(SimpleNode node) {
+        boolean constant;
+        if (node instanceof SingleQuoteStart) {
+            constant = isLiteral(((SingleQuoteStart) node).getBlock());
+        } else if (node instanceof DoubleQuoteStart) {
+            constant = isLiteral(((DoubleQuoteStart) node).getBlock());
+        } else {
+            constant = node.getClass() == LiteralExpression.class || node instanceof NumericExpression
+                    || node instanceof BooleanExpression || node instanceof NullExpression;
+        }
+        if (!constant) {
+            return NOT_CONSTANT;
+        }
+        // constants do not need an exchange to be evaluated
+        return node.createExpression(camelContext, expression).evaluate(null, Object.class);
+    }
+
+    private static boolean isLiteral(CompositeNodes block) {
+        List<SimpleNode> children = block.getChildren();
+        return children.isEmpty() || children.size() == 1 && children.get(0).getClass() == LiteralExpression.class;
+    }
+
+    /**
+     * The handle for the node if its a body, header or exchange property function, otherwise <tt>null</tt>.
+     */
+    private static MethodHandle function(SimpleNode node) {
+        if (!(node instanceof SimpleFunctionStart)) {
+            return null;
+        }
+        List<SimpleNode> children = ((SimpleFunctionStart) node).getBlock().getChildren();
+        if (children.size() != 1 || children.get(0).getClass() != LiteralExpression.class) {
+            return null;
+        }
+        String function = ((LiteralExpression) children.get(0)).getText();
+        if ("body".equals(function) || "in.body".equals(function)) {
+            return BODY;
+        }
+        String name = headerName(function);
+        if (name != null) {
+            return MethodHandles.insertArguments(HEADER, 0, name);
+        }
+        name = exchangePropertyName(function);
+        if (name != null) {
+            return MethodHandles.insertArguments(EXCHANGE_PROPERTY, 0, name);
+        }
+        return null;
+    }
+
+    private static String headerName(String function) {
+        String remainder = null;
+        for (String prefix : new String[] { "in.headers", "in.header", "headers", "header" }) {
+            if (function.startsWith(prefix)) {
+                remainder = function.substring(prefix.length());
+                break;
+            }
+        }
+        if (remainder == null) {
+            return null;
+        }
+        // only plain names such as header.foo, header:foo or header[foo] so we resolve the name the same way as the
+        // interpreted function, and OGNL and nested functions are left to the interpreted function
+        if (remainder.startsWith(".") || remainder.startsWith(":")) {
+            remainder = remainder.substring(1);
+        } else if (remainder.startsWith("[") && remainder.endsWith("]")) {
+            remainder = remainder.substring(1, remainder.length() - 1);
+        } else {
+            return null;
+        }
+        String name = StringHelper.removeLeadingAndEndingQuotes(remainder);
+        return NAME_PATTERN.matcher(name).matches() ? name : null;
+    }
+
+    private static String exchangePropertyName(String function) {
+        if (!function.startsWith("exchangeProperty")) {
+            return null;
+        }
+        String remainder = function.substring("exchangeProperty".length());
+        if (remainder.startsWith(".")) {
+            remainder = remainder.substring(1);
+        } else if (remainder.startsWith("[") && remainder.endsWith("]")) {
+            remainder = remainder.substring(1, remainder.length() - 1);
+        } else {
+            return null;
+        }
+        return NAME_PATTERN.matcher(remainder).matches() ? remainder : null;
+    }
+
+    private Expression interpreted(SimpleNode node) {
+        Expression answer = node.createExpression(camelContext, expression);
+        if (answer != null && camelContext != null) {
+            answer.init(camelContext);
+        }
+        return answer;
+    }
+
+    /**
+     * Turns the handle of type (Exchange, Object...) into a handle of type (Exchange) which evaluates the operands in
+     * order from the exchange.
+     */
+    private static MethodHandle apply(MethodHandle target, MethodHandle... operands) {
+        MethodHandle answer = MethodHandles.filterArguments(target, 1, operands);
+        MethodType type = MethodType.methodType(target.type().returnType(), Exchange.class);
+        return MethodHandles.permuteArguments(answer, type, new int[operands.length + 1]);
+    }
+
+    // the operands
+    // --------------------------------------------------------------
+
+    private static Object body(Exchange exchange) {
+        return exchange.getIn().getBody();
+    }
+
+    private static Object header(String name, Exchange exchange) {
+        Object header = exchange.getIn().getHeader(name);
+        if (header == null) {
+            // fall back on a property
+            header = exchange.getProperty(name);
+        }
+        return header;
+    }
+
+    private static Object exchangeProperty(String name, Exchange exchange) {
+        return exchange.getProperty(name);
+    }
+
+    private static Object convertTo(Class<?> type, Exchange exchange, Object value) {
+        return exchange.getContext().getTypeConverter().convertTo(type, exchange, value);
+    }
+
+    private static Object evaluate(Expression expression, Class<?> type, Exchange exchange) {
+        return expression.evaluate(exchange, type);
+    }
+
+    // the operators which must match the operators from PredicateBuilder
+    // --------------------------------------------------------------
+
+    private static boolean matches(Predicate predicate, Exchange exchange) {
+        return predicate.matches(exchange);
+    }
+
+    private static boolean valuePredicate(Object value) {
+        return org.apache.camel.util.ObjectHelper.evaluateValuePredicate(value);
+    }
+
+    private static boolean not(boolean value) {
+        return !value;
+    }
+
+    private static boolean isEqualTo(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null && rightValue == null) {
+            return true;
+        } else if (leftValue == null || rightValue == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceEquals(exchange.getContext().getTypeConverter(), leftValue, rightValue);
+    }
+
+    private static boolean isEqualToIgnoreCase(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null && rightValue == null) {
+            return true;
+        } else if (leftValue == null || rightValue == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceEquals(exchange.getContext().getTypeConverter(), leftValue, rightValue, true);
+    }
+
+    private static boolean isNotEqualTo(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null && rightValue == null) {
+            return false;
+        } else if (leftValue == null || rightValue == null) {
+            return true;
+        }
+        return ObjectHelper.typeCoerceNotEquals(exchange.getContext().getTypeConverter(), leftValue, rightValue);
+    }
+
+    private static boolean isLessThan(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null && rightValue == null) {
+            return true;
+        } else if (leftValue == null || rightValue == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), leftValue, rightValue) < 0;
+    }
+
+    private static boolean isLessThanOrEqualTo(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null && rightValue == null) {
+            return true;
+        } else if (leftValue == null || rightValue == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), leftValue, rightValue) <= 0;
+    }
+
+    private static boolean isGreaterThan(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null || rightValue == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), leftValue, rightValue) > 0;
+    }
+
+    private static boolean isGreaterThanOrEqualTo(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null && rightValue == null) {
+            return true;
+        } else if (leftValue == null || rightValue == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), leftValue, rightValue) >= 0;
+    }
+
+    private static boolean contains(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null && rightValue == null) {
+            return true;
+        } else if (leftValue == null || rightValue == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceContains(exchange.getContext().getTypeConverter(), leftValue, rightValue, false);
+    }
+
+    private static boolean containsIgnoreCase(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null && rightValue == null) {
+            return true;
+        } else if (leftValue == null || rightValue == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceContains(exchange.getContext().getTypeConverter(), leftValue, rightValue, true);
+    }
+
+    private static boolean startsWith(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null && rightValue == null) {
+            return true;
+        } else if (leftValue == null || rightValue == null) {
+            return false;
+        }
+        String leftStr = exchange.getContext().getTypeConverter().convertTo(String.class, leftValue);
+        String rightStr = exchange.getContext().getTypeConverter().convertTo(String.class, rightValue);
+        return leftStr != null && rightStr != null && leftStr.startsWith(rightStr);
+    }
+
+    private static boolean endsWith(Exchange exchange, Object leftValue, Object rightValue) {
+        if (leftValue == null && rightValue == null) {
+            return true;
+        } else if (leftValue == null || rightValue == null) {
+            return false;
+        }
+        String leftStr = exchange.getContext().getTypeConverter().convertTo(String.class, leftValue);
+        String rightStr = exchange.getContext().getTypeConverter().convertTo(String.class, rightValue);
+        return leftStr != null && rightStr != null && leftStr.endsWith(rightStr);
+    }
+
+    private static boolean regex(Pattern pattern, Exchange exchange, Object value) {
+        return value != null && pattern.matcher((String) value).matches();
+    }
+
+    private static boolean is(Class<?> type, Exchange exchange, Object value) {
+        return type.isInstance(value);
+    }
+
+    private static boolean in(List<Object> values, Exchange exchange, Object leftValue) {
+        if (leftValue == null) {
+            return false;
+        }
+        TypeConverter converter = exchange.getContext().getTypeConverter();
+        Class<?> type = leftValue.getClass();
+        for (Object value : values) {
+            // the values are converted to the type of the left hand side
+            Object rightValue = type == Object.class ? value : converter.convertTo(type, exchange, value);
+            if (rightValue != null && ObjectHelper.typeCoerceEquals(converter, leftValue, rightValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A predicate which compiles the AST on first use, and then evaluates the compiled handle.
+     */
+    private static final class CompiledPredicate implements Predicate {
+
+        private final CamelContext camelContext;
+        private final String expression;
+        private final Predicate interpreted;
+        private List<SimpleNode> nodes;
+        private volatile MethodHandle handle;
+
+        CompiledPredicate(CamelContext camelContext, String expression, List<SimpleNode> nodes, Predicate interpreted) {
+            this.camelContext = camelContext;
+            this.expression = expression;
+            this.nodes = nodes;
+            this.interpreted = interpreted;
+        }
+
+        @Override
+        public boolean matches(Exchange exchange) {
+            MethodHandle mh = handle;
+            if (mh == null) {
+                mh = compile();
+            }
+            try {
+                return (boolean) mh.invokeExact(exchange);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw RuntimeCamelException.wrapRuntimeException(e);
+            }
+        }
+
+        private synchronized MethodHandle compile() {
+            if (handle == null) {
+                handle = new SimplePredicateCompiler(camelContext, expression).compile(nodes);
+                // the AST is no longer needed
+                nodes = null;
+            }
+            return handle;
+        }
+
+        @Override
+        public void init(CamelContext context) {
+            interpreted.init(context);
+        }
+
+        @Override
+        public String toString() {
+            return interpreted.toString();
+        }
+    }
+
+}
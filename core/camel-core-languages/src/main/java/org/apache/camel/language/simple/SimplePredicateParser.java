@@ -83,6 +83,16 @@ public class SimplePredicateParser extends BaseSimpleParser {
         }
     }
 
+    /**
+     * Parses the predicate, and compiles the predicate the first time its evaluated.
+     *
+     * @see SimplePredicateCompiler
+     */
+    public Predicate parseCompiledPredicate() {
+        Predicate predicate = parsePredicate();
+        return SimplePredicateCompiler.compilePredicate(camelContext, expression, nodes, predicate);
+    }
+
     public String parseCode() {
         try {
             parseTokens();
@@ -96,7 +96,7 @@ public class SimpleBuilder implements Predicate, Expression, ExpressionResultTyp
                 init(exchange.getContext());
             }
             if (resultType != null) {
-                Object[] properties = new Object[2];
+                Object[] properties = new Object[3];
                 properties[0] = resultType;
                 expression = simple.createExpression(text, properties);
             } else {
@@ -73,6 +73,9 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition>
     @Metadata(label = "advanced", javaType = "java.time.Duration", defaultValue = "0")
     private String timeout;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer", defaultValue = "0")
+    private String maxInFlight;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.util.concurrent.ExecutorService")
     private String executorService;
     @XmlAttribute
@@ -335,6 +338,37 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition>
         return this;
     }
 
+    /**
+     * Sets the maximum number of messages that can be in flight at the same time, when using parallel processing. The
+     * messages being processed, and the messages which have completed but are waiting to be aggregated in order, are
+     * in flight. When the limit is reached, then the Multicast pauses sending to the next destination until a message
+     * has been aggregated.
+     * <p/>
+     * The default is 0, which means no limit.
+     *
+     * @param  maxInFlight the maximum number of messages in flight
+     * @return             the builder
+     */
+    public MulticastDefinition maxInFlight(int maxInFlight) {
+        return maxInFlight(Integer.toString(maxInFlight));
+    }
+
+    /**
+     * Sets the maximum number of messages that can be in flight at the same time, when using parallel processing. The
+     * messages being processed, and the messages which have completed but are waiting to be aggregated in order, are
+     * in flight. When the limit is reached, then the Multicast pauses sending to the next destination until a message
+     * has been aggregated.
+     * <p/>
+     * The default is 0, which means no limit.
+     *
+     * @param  maxInFlight the maximum number of messages in flight
+     * @return             the builder
+     */
+    public MulticastDefinition maxInFlight(String maxInFlight) {
+        setMaxInFlight(maxInFlight);
+        return this;
+    }
+
     /**
      * Shares the {@link org.apache.camel.spi.UnitOfWork} with the parent and each of the sub messages. Multicast will
      * by default not share unit of work between the parent exchange and each multicasted exchange. This means each sub
@@ -455,6 +489,14 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition>
         this.timeout = timeout;
     }
 
+    public String getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(String maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
     public String getShareUnitOfWork() {
         return shareUnitOfWork;
     }
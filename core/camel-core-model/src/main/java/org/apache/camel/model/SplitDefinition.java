@@ -73,6 +73,9 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     @Metadata(label = "advanced", javaType = "java.time.Duration", defaultValue = "0")
     private String timeout;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer", defaultValue = "0")
+    private String maxInFlight;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.util.concurrent.ExecutorService")
     private String executorService;
     @XmlAttribute
@@ -442,6 +445,39 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * Sets the maximum number of split messages that can be in flight at the same time, when using parallel
+     * processing. The split messages being processed, and the split messages which have completed but are waiting to
+     * be aggregated in order, are in flight. When the limit is reached, then the Splitter pauses iterating the message
+     * until a split message has been aggregated. This is used to bound the memory usage when splitting big messages in
+     * streaming mode, where the downstream processing is slower than splitting.
+     * <p/>
+     * The default is 0, which means no limit.
+     *
+     * @param  maxInFlight the maximum number of split messages in flight
+     * @return             the builder
+     */
+    public SplitDefinition maxInFlight(int maxInFlight) {
+        return maxInFlight(Integer.toString(maxInFlight));
+    }
+
+    /**
+     * Sets the maximum number of split messages that can be in flight at the same time, when using parallel
+     * processing. The split messages being processed, and the split messages which have completed but are waiting to
+     * be aggregated in order, are in flight. When the limit is reached, then the Splitter pauses iterating the message
+     * until a split message has been aggregated. This is used to bound the memory usage when splitting big messages in
+     * streaming mode, where the downstream processing is slower than splitting.
+     * <p/>
+     * The default is 0, which means no limit.
+     *
+     * @param  maxInFlight the maximum number of split messages in flight
+     * @return             the builder
+     */
+    public SplitDefinition maxInFlight(String maxInFlight) {
+        setMaxInFlight(maxInFlight);
+        return this;
+    }
+
     /**
      * Shares the {@link org.apache.camel.spi.UnitOfWork} with the parent and each of the sub messages. Splitter will by
      * default not share unit of work between the parent exchange and each split exchange. This means each split
@@ -600,6 +636,14 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.timeout = timeout;
     }
 
+    public String getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(String maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
     public String getOnPrepare() {
         return onPrepare;
     }
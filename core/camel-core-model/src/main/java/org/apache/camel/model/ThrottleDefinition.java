@@ -60,6 +60,9 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String rejectExecution;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Boolean")
+    private String tokenBucket;
 
     public ThrottleDefinition() {
     }
@@ -251,6 +254,40 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * Enables throttling using a token bucket, which is refilled evenly over the time period. The token bucket uses a
+     * constant amount of memory per correlation key regardless of the maximum requests per period, and when combined
+     * with asynchronous delay no threads are blocked while delaying.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket() {
+        return tokenBucket(true);
+    }
+
+    /**
+     * Enables throttling using a token bucket, which is refilled evenly over the time period. The token bucket uses a
+     * constant amount of memory per correlation key regardless of the maximum requests per period, and when combined
+     * with asynchronous delay no threads are blocked while delaying.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket(boolean tokenBucket) {
+        return tokenBucket(Boolean.toString(tokenBucket));
+    }
+
+    /**
+     * Enables throttling using a token bucket, which is refilled evenly over the time period. The token bucket uses a
+     * constant amount of memory per correlation key regardless of the maximum requests per period, and when combined
+     * with asynchronous delay no threads are blocked while delaying.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket(String tokenBucket) {
+        setTokenBucket(tokenBucket);
+        return this;
+    }
+
     /**
      * To use a custom thread pool (ScheduledExecutorService) by the throttler.
      *
@@ -329,6 +366,14 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         this.rejectExecution = rejectExecution;
     }
 
+    public String getTokenBucket() {
+        return tokenBucket;
+    }
+
+    public void setTokenBucket(String tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
     /**
      * The expression used to calculate the correlation key to use for throttle grouping. The Exchange which has the
      * same correlation key is throttled together.
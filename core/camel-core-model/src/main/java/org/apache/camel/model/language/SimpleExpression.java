@@ -37,6 +37,9 @@ public class SimpleExpression extends ExpressionDefinition {
     private String resultTypeName;
     @XmlTransient
     private Class<?> resultType;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "false", javaType = "java.lang.Boolean")
+    private String compiled;
 
     public SimpleExpression() {
     }
@@ -76,4 +79,16 @@ public class SimpleExpression extends ExpressionDefinition {
         this.resultTypeName = resultTypeName;
     }
 
+    public String getCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Whether to compile the predicate the first time it is evaluated, instead of interpreting the parsed predicate on
+     * every evaluation. Only predicates are compiled, and expressions are always interpreted.
+     */
+    public void setCompiled(String compiled) {
+        this.compiled = compiled;
+    }
+
 }
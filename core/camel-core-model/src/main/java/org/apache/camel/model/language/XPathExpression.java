@@ -68,6 +68,9 @@ public class XPathExpression extends NamespaceAwareExpression {
     @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean", defaultValue = "true")
     private String preCompile;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Boolean")
+    private String streaming;
 
     public XPathExpression() {
     }
@@ -232,4 +235,22 @@ public class XPathExpression extends NamespaceAwareExpression {
     public void setPreCompile(String preCompile) {
         this.preCompile = preCompile;
     }
+
+    public String getStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Whether to evaluate the xpath expression while streaming the message, instead of building a DOM document of the
+     * message. This applies to the BOOLEAN, STRING and NUMBER result types, such as when the xpath expression is used as
+     * a predicate, and the message is read until the result is known, such as when the first matching element has
+     * been read.
+     *
+     * Only a subset of XPath can be evaluated while streaming: location paths using the child, descendant and attribute
+     * axes with predicates on the position or attributes of the elements, which can be compared to a literal, counted
+     * or negated. Other xpath expressions are evaluated using DOM.
+     */
+    public void setStreaming(String streaming) {
+        this.streaming = streaming;
+    }
 }
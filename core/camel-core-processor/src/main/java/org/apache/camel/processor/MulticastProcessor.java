@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
@@ -170,6 +171,9 @@ public class MulticastProcessor extends AsyncProcessorSupport
     private final long timeout;
     private final ConcurrentMap<Processor, Processor> errorHandlers = new ConcurrentHashMap<>();
     private final boolean shareUnitOfWork;
+    private int maxInFlight;
+    // the running tasks in parallel processing mode with max in flight, used for statistics
+    private final Set<MulticastTask> parallelTasks = ConcurrentHashMap.newKeySet();
 
     public MulticastProcessor(CamelContext camelContext, Route route, Collection<Processor> processors) {
         this(camelContext, route, processors, null);
@@ -380,10 +384,14 @@ public class MulticastProcessor extends AsyncProcessorSupport
         final AsyncCompletionService<Exchange> completion;
         final AtomicReference<Exchange> result = new AtomicReference<>();
         final AtomicInteger nbExchangeSent = new AtomicInteger();
+        final AtomicInteger nbCompleted = new AtomicInteger();
         final AtomicInteger nbAggregated = new AtomicInteger();
         final AtomicBoolean allSent = new AtomicBoolean();
         final AtomicBoolean done = new AtomicBoolean();
+        final AtomicBoolean paused = new AtomicBoolean();
         final Map<String, String> mdc;
+        // whether the task is tracked in the parallel tasks for statistics
+        boolean tracked;
 
         private MulticastTask() {
             // used for eager classloading
@@ -416,6 +424,10 @@ public class MulticastProcessor extends AsyncProcessorSupport
             } else {
                 this.completion = new AsyncCompletionService<>(scheduler, !isStreaming(), lock);
             }
+            if (isParallelProcessing() && maxInFlight > 0) {
+                tracked = true;
+                parallelTasks.add(this);
+            }
         }
 
         @Override
@@ -441,6 +453,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
                             doDone(result.get(), true);
                         }
                     }
+                    resume();
                 } catch (Throwable e) {
                     original.setException(e);
                     // and do the done work
@@ -479,9 +492,45 @@ public class MulticastProcessor extends AsyncProcessorSupport
             }
         }
 
+        /**
+         * Number of sub exchanges that are in flight, which is both the sub exchanges that are being processed, and the
+         * completed sub exchanges that are waiting to be aggregated.
+         */
+        int getInFlight() {
+            return nbExchangeSent.get() - nbAggregated.get();
+        }
+
+        /**
+         * Whether to continue sending the next sub exchange, or to pause because the max in flight limit is reached, in
+         * which case the task is resumed when a sub exchange has been aggregated.
+         */
+        boolean continueSending() {
+            if (maxInFlight <= 0 || getInFlight() < maxInFlight) {
+                return true;
+            }
+            paused.set(true);
+            // a sub exchange may have been aggregated before we paused, and then we must continue ourselves
+            return getInFlight() < maxInFlight && paused.compareAndSet(true, false);
+        }
+
+        /**
+         * Resumes sending the next sub exchange if the task is paused and no longer at the max in flight limit.
+         */
+        void resume() {
+            if (paused.get() && !done.get() && getInFlight() < maxInFlight && paused.compareAndSet(true, false)) {
+                schedule(this);
+            }
+        }
+
         protected void doDone(Exchange exchange, boolean forceExhaust) {
             if (done.compareAndSet(false, true)) {
-                MulticastProcessor.this.doDone(original, exchange, pairs, callback, false, forceExhaust);
+                try {
+                    MulticastProcessor.this.doDone(original, exchange, pairs, callback, false, forceExhaust);
+                } finally {
+                    if (tracked) {
+                        parallelTasks.remove(this);
+                    }
+                }
             }
         }
     }
@@ -564,6 +613,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
                             return;
                         }
 
+                        nbCompleted.incrementAndGet();
                         exchangeResult.accept(exchange);
 
                         // aggregate exchanges if any
@@ -576,7 +626,8 @@ public class MulticastProcessor extends AsyncProcessorSupport
                     });
                 });
                 // after submitting this pair then move on to the next pair (if in parallel mode)
-                if (hasNext && isParallelProcessing()) {
+                // unless there are too many sub exchanges in flight, then it is resumed when an exchange is aggregated
+                if (hasNext && isParallelProcessing() && continueSending()) {
                     schedule(this);
                 }
             } catch (Exception e) {
@@ -1237,6 +1288,42 @@ public class MulticastProcessor extends AsyncProcessorSupport
         return timeout;
     }
 
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of sub exchanges in flight when using parallel processing, where the sub exchanges that
+     * have completed but are waiting to be aggregated are in flight as well. When the limit is reached then no more sub
+     * exchanges are created until a sub exchange has been aggregated. The default is 0, which means no limit.
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Number of sub exchanges currently being processed (in parallel processing mode with max in flight)
+     */
+    public int getSubExchangesInFlight() {
+        int answer = 0;
+        for (MulticastTask task : parallelTasks) {
+            answer += task.nbExchangeSent.get() - task.nbCompleted.get();
+        }
+        return answer;
+    }
+
+    /**
+     * Number of completed sub exchanges currently waiting to be aggregated (in parallel processing mode with max in
+     * flight)
+     */
+    public int getSubExchangesBuffered() {
+        int answer = 0;
+        for (MulticastTask task : parallelTasks) {
+            answer += task.nbCompleted.get() - task.nbAggregated.get();
+        }
+        return answer;
+    }
+
     /**
      * Use {@link #getAggregationStrategy(org.apache.camel.Exchange)} instead.
      */
@@ -19,6 +19,7 @@ package org.apache.camel.processor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -287,6 +288,7 @@ public class StreamResequencer extends AsyncProcessorSupport
 
         private final Lock deliveryRequestLock = new ReentrantLock();
         private final Condition deliveryRequestCondition = deliveryRequestLock.newCondition();
+        private final AtomicBoolean deliveryRequested = new AtomicBoolean();
 
         Delivery() {
             super(camelContext.getExecutorServiceManager().resolveThreadName("Resequencer Delivery"));
@@ -298,13 +300,17 @@ public class StreamResequencer extends AsyncProcessorSupport
                 try {
                     deliveryRequestLock.lock();
                     try {
-                        deliveryRequestCondition.await(deliveryAttemptInterval, TimeUnit.MILLISECONDS);
+                        if (!deliveryRequested.get()) {
+                            deliveryRequestCondition.await(deliveryAttemptInterval, TimeUnit.MILLISECONDS);
+                        }
                     } finally {
                         deliveryRequestLock.unlock();
                     }
                 } catch (InterruptedException e) {
                     break;
                 }
+                // clear the request before delivering, so exchanges inserted while delivering request a new delivery
+                deliveryRequested.set(false);
                 try {
                     engine.deliver();
                 } catch (Throwable t) {
@@ -319,6 +325,10 @@ public class StreamResequencer extends AsyncProcessorSupport
         }
 
         public void request() {
+            if (!deliveryRequested.compareAndSet(false, true)) {
+                // a delivery is already requested
+                return;
+            }
             deliveryRequestLock.lock();
             try {
                 deliveryRequestCondition.signal();
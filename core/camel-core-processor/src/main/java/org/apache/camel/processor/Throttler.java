@@ -24,6 +24,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.camel.AsyncCallback;
@@ -55,6 +56,12 @@ import org.slf4j.LoggerFactory;
  * those permits). Callers trying to acquire a permit from the DelayQueue will block if necessary. The end result is a
  * rolling window of time. Where from the callers point of view in the last timePeriodMillis no more than
  * maxRequestsPerPeriod have been allowed to be acquired.
+ *
+ * When token bucket is enabled, then the throttling mechanism is instead the generic cell rate algorithm (GCRA), which
+ * is a token bucket holding maxRequestsPerPeriod tokens that are refilled evenly over timePeriodMillis. The state per
+ * correlation key is only the theoretical arrival time of the next exchange, which is updated lock-free. An exchange
+ * that has to wait reserves its slot, and is then either continued by the scheduler when the slot is due (when async
+ * delayed), or the caller thread sleeps until then. Keys that have been idle for a while are evicted.
  */
 public class Throttler extends AsyncProcessorSupport implements Traceable, IdAware, RouteIdAware {
 
@@ -65,6 +72,11 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
     private static final String PROPERTY_EXCHANGE_QUEUED_TIMESTAMP = "CamelThrottlerExchangeQueuedTimestamp";
     private static final String PROPERTY_EXCHANGE_STATE = "CamelThrottlerExchangeState";
 
+    // the token bucket has no slot to take
+    private static final long NO_SLOT = -1;
+    // the token bucket has been evicted (used as the theoretical arrival time)
+    private static final long EVICTED = Long.MIN_VALUE;
+
     private enum State {
         SYNC,
         ASYNC,
@@ -83,8 +95,11 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
     private boolean rejectExecution;
     private boolean asyncDelayed;
     private boolean callerRunsWhenRejected = true;
+    private boolean tokenBucket;
     private Expression correlationExpression;
     private Map<String, ThrottlingState> states = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private volatile ScheduledFuture<?> evictFuture;
 
     public Throttler(final CamelContext camelContext, final Expression maxRequestsPerPeriodExpression,
                      final long timePeriodMillis,
@@ -108,6 +123,10 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
 
     @Override
     public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        if (tokenBucket) {
+            return processTokenBucket(exchange, callback, true);
+        }
+
         long queuedStart = 0;
         if (LOG.isTraceEnabled()) {
             queuedStart = exchange.getProperty(PROPERTY_EXCHANGE_QUEUED_TIMESTAMP, 0L, Long.class);
@@ -194,16 +213,7 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
             return doneSync;
 
         } catch (final InterruptedException e) {
-            // determine if we can still run, or the camel context is forcing a shutdown
-            boolean forceShutdown = exchange.getContext().getShutdownStrategy().isForceShutdown();
-            if (forceShutdown) {
-                String msg = "Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: "
-                             + exchange;
-                LOG.debug(msg);
-                exchange.setException(new RejectedExecutionException(msg, e));
-            } else {
-                exchange.setException(e);
-            }
+            handleInterrupted(exchange, e);
             callback.done(doneSync);
             return doneSync;
         } catch (final Throwable t) {
@@ -213,6 +223,125 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         }
     }
 
+    /**
+     * Throttles using the token bucket, where an exchange that has to wait has its slot reserved, so it is continued
+     * without taking a token again when the slot is due.
+     */
+    protected boolean processTokenBucket(final Exchange exchange, final AsyncCallback callback, final boolean sync) {
+        try {
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+
+            String key = DEFAULT_KEY;
+            if (correlationExpression != null) {
+                key = correlationExpression.evaluate(exchange, String.class);
+            }
+            Integer newThrottle = maxRequestsPerPeriodExpression.evaluate(exchange, Integer.class);
+            long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+
+            for (;;) {
+                TokenBucket bucket;
+                long delay;
+                do {
+                    bucket = buckets.computeIfAbsent(key, TokenBucket::new);
+                    bucket.calculateAndSetMaxRequestsPerPeriod(newThrottle, exchange);
+                    delay = bucket.take(period, !isRejectExecution());
+                } while (delay == EVICTED);
+
+                if (delay == 0) {
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+                    }
+                    callback.done(sync);
+                    return sync;
+                }
+
+                // the throttle rate is zero, then there is no slot, so try again after one time period
+                boolean retry = delay == NO_SLOT;
+                if (retry) {
+                    if (isRejectExecution()) {
+                        throw new ThrottlerRejectedExecutionException(
+                                "Exceeded the max throttle rate of " + bucket.getThrottleRate() + " within "
+                                                                      + timePeriodMillis + "ms");
+                    }
+                    delay = period;
+                }
+
+                if (isAsyncDelayed() && !exchange.isTransacted()) {
+                    try {
+                        if (LOG.isTraceEnabled()) {
+                            LOG.trace("Throttled for {}ns using the scheduler, exchangeId: {}", delay,
+                                    exchange.getExchangeId());
+                        }
+                        asyncExecutor.schedule(() -> continueTokenBucket(exchange, callback, retry), delay,
+                                TimeUnit.NANOSECONDS);
+                        return false;
+                    } catch (final RejectedExecutionException e) {
+                        if (!isCallerRunsWhenRejected()) {
+                            throw e;
+                        }
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug("AsyncExecutor is full, rejected exchange will run in the current thread, exchangeId: {}",
+                                    exchange.getExchangeId());
+                        }
+                    }
+                }
+
+                // block the caller thread until the slot is due
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Throttled for {}ns, exchangeId: {}", delay, exchange.getExchangeId());
+                }
+                TimeUnit.NANOSECONDS.sleep(delay);
+                if (!retry) {
+                    callback.done(sync);
+                    return sync;
+                }
+            }
+        } catch (final InterruptedException e) {
+            handleInterrupted(exchange, e);
+            callback.done(sync);
+            return sync;
+        } catch (final Throwable t) {
+            exchange.setException(t);
+            callback.done(sync);
+            return sync;
+        }
+    }
+
+    private void continueTokenBucket(final Exchange exchange, final AsyncCallback callback, final boolean retry) {
+        if (retry) {
+            processTokenBucket(exchange, callback, false);
+            return;
+        }
+        if (!isRunAllowed()) {
+            exchange.setException(new RejectedExecutionException("Run is not allowed"));
+        }
+        callback.done(false);
+    }
+
+    private static void handleInterrupted(final Exchange exchange, final InterruptedException e) {
+        // determine if we can still run, or the camel context is forcing a shutdown
+        boolean forceShutdown = exchange.getContext().getShutdownStrategy().isForceShutdown();
+        if (forceShutdown) {
+            String msg = "Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: "
+                         + exchange;
+            LOG.debug(msg);
+            exchange.setException(new RejectedExecutionException(msg, e));
+        } else {
+            exchange.setException(e);
+        }
+    }
+
+    /**
+     * Evicts the token buckets which has been idle for the clean period, as these are full and would be the same as a
+     * new token bucket.
+     */
+    private void evictIdleBuckets() {
+        long idle = TimeUnit.MILLISECONDS.toNanos(cleanPeriodMillis);
+        buckets.entrySet().removeIf(e -> e.getValue().evictIfIdle(idle));
+    }
+
     /**
      * Delegate blocking on the DelayQueue to an asyncExecutor. Except if the executor rejects the submission and
      * isCallerRunsWhenRejected() is enabled, then this method will delegate back to process(), but not before changing
@@ -243,13 +372,21 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
 
     @Override
     protected void doStart() throws Exception {
-        if (isAsyncDelayed()) {
+        if (isAsyncDelayed() || isTokenBucket()) {
             ObjectHelper.notNull(asyncExecutor, "executorService", this);
         }
+        if (isTokenBucket()) {
+            evictFuture = asyncExecutor.scheduleWithFixedDelay(this::evictIdleBuckets, cleanPeriodMillis, cleanPeriodMillis,
+                    TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
+        if (evictFuture != null) {
+            evictFuture.cancel(false);
+            evictFuture = null;
+        }
     }
 
     @Override
@@ -258,6 +395,7 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
             camelContext.getExecutorServiceManager().shutdownNow(asyncExecutor);
         }
         states.clear();
+        buckets.clear();
         super.doShutdown();
     }
 
@@ -372,6 +510,90 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         }
     }
 
+    /**
+     * Token bucket using the generic cell rate algorithm, where the state is the theoretical arrival time (TAT) of the
+     * next exchange. Each exchange moves the TAT one emission interval (the time period divided by the throttle rate)
+     * forward, and an exchange is allowed when its TAT is at most one time period ahead of now, which allows bursts of
+     * up to the throttle rate.
+     */
+    private final class TokenBucket {
+        private final String key;
+        private final AtomicLong tat;
+        private volatile int throttleRate;
+
+        TokenBucket(String key) {
+            this.key = key;
+            this.tat = new AtomicLong(System.nanoTime());
+        }
+
+        public int getThrottleRate() {
+            return throttleRate;
+        }
+
+        /**
+         * Takes a slot in the token bucket.
+         *
+         * @param  period  the time period in nanos
+         * @param  reserve whether to reserve a slot in the future if there are no tokens left
+         * @return         the nanos until the slot is due (0 if the exchange can continue now), {@link #NO_SLOT} if
+         *                 there is no slot, or {@link #EVICTED} if this token bucket has been evicted
+         */
+        public long take(long period, boolean reserve) {
+            int rate = throttleRate;
+            if (rate == 0) {
+                return NO_SLOT;
+            }
+            long interval = Math.max(1, period / rate);
+            for (;;) {
+                long now = System.nanoTime();
+                long current = tat.get();
+                if (current == EVICTED) {
+                    return EVICTED;
+                }
+                // when the TAT is in the past then the bucket is full
+                long next = (current - now > 0 ? current : now) + interval;
+                long delay = next - period - now;
+                if (delay > 0 && !reserve) {
+                    return NO_SLOT;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    return Math.max(0, delay);
+                }
+            }
+        }
+
+        /**
+         * Marks this token bucket as evicted if it has been idle for the given nanos.
+         */
+        public boolean evictIfIdle(long idle) {
+            long current = tat.get();
+            return current != EVICTED && System.nanoTime() - current >= idle && tat.compareAndSet(current, EVICTED);
+        }
+
+        /**
+         * Adjusts the throttle rate up or down, which takes effect for the next exchange.
+         */
+        public void calculateAndSetMaxRequestsPerPeriod(final Integer newThrottle, final Exchange exchange) {
+            if (newThrottle != null && newThrottle < 0) {
+                throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + newThrottle);
+            }
+
+            if (newThrottle == null && throttleRate == 0) {
+                throw new RuntimeExchangeException(
+                        "The maxRequestsPerPeriodExpression was evaluated as null: " + maxRequestsPerPeriodExpression,
+                        exchange);
+            }
+
+            if (newThrottle != null && newThrottle != throttleRate) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Throttle rate for key {} changed from {} to {}, triggered by ExchangeId: {}", key, throttleRate,
+                            newThrottle, exchange.getExchangeId());
+                }
+                throttleRate = newThrottle;
+            }
+        }
+    }
+
     /**
      * Permit that implements the Delayed interface needed by DelayQueue.
      */
@@ -405,6 +627,18 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         this.rejectExecution = rejectExecution;
     }
 
+    public boolean isTokenBucket() {
+        return tokenBucket;
+    }
+
+    /**
+     * Whether to throttle using a token bucket (generic cell rate algorithm), which uses a constant amount of memory per
+     * correlation key regardless of the throttle rate, and does not block any threads when async delayed.
+     */
+    public void setTokenBucket(boolean tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
     public boolean isAsyncDelayed() {
         return asyncDelayed;
     }
@@ -457,6 +691,9 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
      * than the max per period within the group will return
      */
     public int getCurrentMaximumRequestsPerPeriod() {
+        if (tokenBucket) {
+            return buckets.values().stream().mapToInt(TokenBucket::getThrottleRate).max().orElse(0);
+        }
         return states.values().stream().mapToInt(ThrottlingState::getThrottleRate).max().orElse(0);
     }
 
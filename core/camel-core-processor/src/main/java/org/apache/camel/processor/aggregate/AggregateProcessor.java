@@ -62,11 +62,11 @@ import org.apache.camel.spi.ShutdownAware;
 import org.apache.camel.spi.ShutdownPrepared;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.AsyncProcessorSupport;
-import org.apache.camel.support.DefaultTimeoutMap;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.NoLock;
+import org.apache.camel.support.TimerWheelTimeoutMap;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
@@ -100,7 +100,9 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
     private volatile Lock lock;
+    private volatile Lock[] stripedLocks;
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
+    private final AtomicBoolean forceCompletionOfAllGroupsPending = new AtomicBoolean();
     private final CamelContext camelContext;
     private final ReactiveExecutor reactiveExecutor;
     private final AsyncProcessor processor;
@@ -230,6 +232,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -403,13 +406,20 @@ public class AggregateProcessor extends AsyncProcessorSupport
         removeFlagCompleteAllGroupsInclusive(copy);
 
         List<Exchange> aggregated = null;
-        lock.lock();
+        Lock keyLock = lockFor(key);
+        keyLock.lock();
         try {
             aggregated = doAggregation(key, copy);
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
-            lock.unlock();
+            keyLock.unlock();
+        }
+
+        // when using striped locks then force completion of all groups is deferred until we no longer hold the lock
+        // (only read the flag first, to not write to the shared flag on every exchange)
+        if (forceCompletionOfAllGroupsPending.get() && forceCompletionOfAllGroupsPending.compareAndSet(true, false)) {
+            forceCompletionOfAllGroups();
         }
 
         // we are completed so do that work outside the lock
@@ -575,7 +585,12 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // check for the special exchange property to force completion of all groups
         if (isCompleteAllGroups(answer)) {
             removeFlagCompleteAllGroups(answer);
-            forceCompletionOfAllGroups();
+            if (stripedLocks != null) {
+                // cannot lock the other groups while holding the lock for this group as that can deadlock
+                forceCompletionOfAllGroupsPending.set(true);
+            } else {
+                forceCompletionOfAllGroups();
+            }
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
             forceCompletionOfAllGroups();
@@ -1097,6 +1112,19 @@ public class AggregateProcessor extends AsyncProcessorSupport
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Number of locks to stripe the correlation keys over, which allows different correlation groups to be aggregated
+     * in parallel. The number is rounded up to the nearest power of two. Is by default 0 which means all correlation
+     * groups share a single lock.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1252,18 +1280,22 @@ public class AggregateProcessor extends AsyncProcessorSupport
     /**
      * Background task that looks for aggregated exchanges which is triggered by completion timeouts.
      */
-    private final class AggregationTimeoutMap extends DefaultTimeoutMap<String, String> {
+    private final class AggregationTimeoutMap extends TimerWheelTimeoutMap<String, String> {
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
-            super(executor, requestMapPollTimeMillis, optimisticLocking);
+            // (unless the locks are striped per correlation key, then the timeout map must be thread safe by itself)
+            super(executor, requestMapPollTimeMillis, optimisticLocking || stripedLocks != null);
             addListener(this::onEviction);
         }
 
         @Override
         protected void purge() {
-            // wait for lock to be created
-            if (lock != null) {
+            if (stripedLocks != null) {
+                // the lock for the correlation key is acquired when evicting
+                super.purge();
+            } else if (lock != null) {
+                // wait for lock to be created
                 // must acquire the shared aggregation lock to be able to purge
                 lock.lock();
                 try {
@@ -1288,20 +1320,35 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
             // get the aggregated exchange
             boolean evictionStolen = false;
-            Exchange answer = aggregationRepository.get(camelContext, key);
-            if (answer == null) {
-                evictionStolen = true;
-            } else {
-                // indicate it was completed by timeout
-                answer.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
-                try {
-                    answer = onCompletion(key, answer, answer, true, false);
-                    if (answer != null) {
-                        onSubmitCompletion(key, answer);
+            // when using striped locks then only the lock for this correlation key is acquired
+            // (otherwise the shared lock is already acquired by purge)
+            Lock keyLock = groupLock(key);
+            keyLock.lock();
+            try {
+                Exchange answer = null;
+                // the timeout is removed from the timeout map before the lock is acquired, so when a new timeout
+                // has been tracked meanwhile, then the group has received more exchanges (or a new group has been started)
+                // after it timed out, and must not be completed by this timeout
+                if (containsKey(key)) {
+                    log.trace("Completion timeout for correlation key: {} has been renewed.", key);
+                } else {
+                    answer = aggregationRepository.get(camelContext, key);
+                    evictionStolen = answer == null;
+                }
+                if (answer != null) {
+                    // indicate it was completed by timeout
+                    answer.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
+                    try {
+                        answer = onCompletion(key, answer, answer, true, false);
+                        if (answer != null) {
+                            onSubmitCompletion(key, answer);
+                        }
+                    } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                        evictionStolen = true;
                     }
-                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                    evictionStolen = true;
                 }
+            } finally {
+                keyLock.unlock();
             }
 
             if (optimisticLocking && evictionStolen) {
@@ -1333,25 +1380,32 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
             if (keys != null && !keys.isEmpty()) {
                 // must acquire the shared aggregation lock to be able to trigger interval completion
-                lock.lock();
+                Lock sharedLock = sharedLock();
+                sharedLock.lock();
                 try {
                     for (String key : keys) {
                         boolean stolenInterval = false;
-                        Exchange exchange = aggregationRepository.get(camelContext, key);
-                        if (exchange == null) {
-                            stolenInterval = true;
-                        } else {
-                            LOG.trace("Completion interval triggered for correlation key: {}", key);
-                            // indicate it was completed by interval
-                            exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
-                            try {
-                                Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                                if (answer != null) {
-                                    onSubmitCompletion(key, answer);
-                                }
-                            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                        Lock keyLock = groupLock(key);
+                        keyLock.lock();
+                        try {
+                            Exchange exchange = aggregationRepository.get(camelContext, key);
+                            if (exchange == null) {
                                 stolenInterval = true;
+                            } else {
+                                LOG.trace("Completion interval triggered for correlation key: {}", key);
+                                // indicate it was completed by interval
+                                exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
+                                try {
+                                    Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                                    if (answer != null) {
+                                        onSubmitCompletion(key, answer);
+                                    }
+                                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                                    stolenInterval = true;
+                                }
                             }
+                        } finally {
+                            keyLock.unlock();
                         }
                         if (optimisticLocking && stolenInterval) {
                             LOG.debug(
@@ -1360,7 +1414,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                         }
                     }
                 } finally {
-                    lock.unlock();
+                    sharedLock.unlock();
                 }
             }
 
@@ -1401,7 +1455,9 @@ public class AggregateProcessor extends AsyncProcessorSupport
                         LOG.info("We are shutting down so stop recovering");
                         return;
                     }
-                    lock.lock();
+                    // when lock striping is enabled then the correlation group is locked when the exchange is recovered
+                    Lock recoverLock = sharedLock();
+                    recoverLock.lock();
                     try {
                         // consider in progress if it was in progress before we did the scan, or currently after we did the scan
                         // its safer to consider it in progress than risk duplicates due both in progress + recovered
@@ -1417,67 +1473,76 @@ public class AggregateProcessor extends AsyncProcessorSupport
                             if (exchange != null) {
                                 // get the correlation key
                                 String key = exchange.getProperty(ExchangePropertyKey.AGGREGATED_CORRELATION_KEY, String.class);
-                                // and mark it as redelivered
-                                exchange.getIn().setHeader(Exchange.REDELIVERED, Boolean.TRUE);
-
-                                // get the current redelivery data
-                                RedeliveryData data = redeliveryState.get(exchange.getExchangeId());
-
-                                // if we are exhausted, then move to dead letter channel
-                                if (data != null && recoverable.getMaximumRedeliveries() > 0
-                                        && data.redeliveryCounter >= recoverable.getMaximumRedeliveries()) {
-                                    LOG.warn("The recovered exchange is exhausted after {} attempts, will now be moved to "
-                                             + "dead letter channel: {}",
-                                            recoverable.getMaximumRedeliveries(), recoverable.getDeadLetterUri());
+                                // when lock striping is enabled then only the lock for the correlation key is acquired
+                                // (otherwise the shared lock is already acquired)
+                                Lock keyLock = key != null ? groupLock(key) : NoLock.INSTANCE;
+                                keyLock.lock();
+                                try {
+                                    // and mark it as redelivered
+                                    exchange.getIn().setHeader(Exchange.REDELIVERED, Boolean.TRUE);
+
+                                    // get the current redelivery data
+                                    RedeliveryData data = redeliveryState.get(exchange.getExchangeId());
+
+                                    // if we are exhausted, then move to dead letter channel
+                                    if (data != null && recoverable.getMaximumRedeliveries() > 0
+                                            && data.redeliveryCounter >= recoverable.getMaximumRedeliveries()) {
+                                        LOG.warn("The recovered exchange is exhausted after {} attempts, will now be moved to "
+                                                 + "dead letter channel: {}",
+                                                recoverable.getMaximumRedeliveries(), recoverable.getDeadLetterUri());
+
+                                        // send to DLC
+                                        try {
+                                            // set redelivery counter
+                                            exchange.getIn().setHeader(Exchange.REDELIVERY_COUNTER, data.redeliveryCounter);
+                                            // and prepare for sending to DLC
+                                            exchange.adapt(ExtendedExchange.class).setRedeliveryExhausted(false);
+                                            exchange.adapt(ExtendedExchange.class).setRollbackOnly(false);
+                                            deadLetterProducerTemplate.send(recoverable.getDeadLetterUri(), exchange);
+                                        } catch (Throwable e) {
+                                            exchange.setException(e);
+                                        }
+
+                                        // handle if failed
+                                        if (exchange.getException() != null) {
+                                            getExceptionHandler().handleException(
+                                                    "Failed to move recovered Exchange to dead letter channel: "
+                                                                                  + recoverable.getDeadLetterUri(),
+                                                    exchange.getException());
+                                        } else {
+                                            // it was ok, so confirm after it has been moved to dead letter channel,
+                                            // so we wont recover it again
+                                            recoverable.confirm(camelContext, exchangeId);
+                                        }
+                                    } else {
+                                        // update current redelivery state
+                                        if (data == null) {
+                                            // create new data
+                                            data = new RedeliveryData();
+                                            redeliveryState.put(exchange.getExchangeId(), data);
+                                        }
+                                        data.redeliveryCounter++;
 
-                                    // send to DLC
-                                    try {
                                         // set redelivery counter
                                         exchange.getIn().setHeader(Exchange.REDELIVERY_COUNTER, data.redeliveryCounter);
-                                        // and prepare for sending to DLC
-                                        exchange.adapt(ExtendedExchange.class).setRedeliveryExhausted(false);
-                                        exchange.adapt(ExtendedExchange.class).setRollbackOnly(false);
-                                        deadLetterProducerTemplate.send(recoverable.getDeadLetterUri(), exchange);
-                                    } catch (Throwable e) {
-                                        exchange.setException(e);
-                                    }
+                                        if (recoverable.getMaximumRedeliveries() > 0) {
+                                            exchange.getIn().setHeader(Exchange.REDELIVERY_MAX_COUNTER,
+                                                    recoverable.getMaximumRedeliveries());
+                                        }
 
-                                    // handle if failed
-                                    if (exchange.getException() != null) {
-                                        getExceptionHandler()
-                                                .handleException("Failed to move recovered Exchange to dead letter channel: "
-                                                                 + recoverable.getDeadLetterUri(),
-                                                        exchange.getException());
-                                    } else {
-                                        // it was ok, so confirm after it has been moved to dead letter channel, so we wont recover it again
-                                        recoverable.confirm(camelContext, exchangeId);
-                                    }
-                                } else {
-                                    // update current redelivery state
-                                    if (data == null) {
-                                        // create new data
-                                        data = new RedeliveryData();
-                                        redeliveryState.put(exchange.getExchangeId(), data);
-                                    }
-                                    data.redeliveryCounter++;
+                                        LOG.debug("Delivery attempt: {} to recover aggregated exchange with id: {}",
+                                                data.redeliveryCounter, exchangeId);
 
-                                    // set redelivery counter
-                                    exchange.getIn().setHeader(Exchange.REDELIVERY_COUNTER, data.redeliveryCounter);
-                                    if (recoverable.getMaximumRedeliveries() > 0) {
-                                        exchange.getIn().setHeader(Exchange.REDELIVERY_MAX_COUNTER,
-                                                recoverable.getMaximumRedeliveries());
+                                        // not exhaust so resubmit the recovered exchange
+                                        onSubmitCompletion(key, exchange);
                                     }
-
-                                    LOG.debug("Delivery attempt: {} to recover aggregated exchange with id: {}",
-                                            data.redeliveryCounter, exchangeId);
-
-                                    // not exhaust so resubmit the recovered exchange
-                                    onSubmitCompletion(key, exchange);
+                                } finally {
+                                    keyLock.unlock();
                                 }
                             }
                         }
                     } finally {
-                        lock.unlock();
+                        recoverLock.unlock();
                     }
                 }
             } finally {
@@ -1543,6 +1608,25 @@ public class AggregateProcessor extends AsyncProcessorSupport
             LOG.info("Optimistic locking is enabled");
         }
 
+        if (lockStripes > 0) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Lock striping cannot be enabled together with optimistic locking");
+            }
+            if (completionFromBatchConsumer || completionOnNewCorrelationGroup) {
+                throw new IllegalArgumentException(
+                        "Lock striping cannot be enabled together with completionFromBatchConsumer or completionOnNewCorrelationGroup"
+                                                   + " as they complete multiple correlation groups at the same time");
+            }
+            // must be a power of two so we can mask the hash code of the correlation key
+            int size = lockStripes == 1 ? 1 : Integer.highestOneBit(lockStripes - 1) << 1;
+            Lock[] locks = new Lock[size];
+            for (int i = 0; i < size; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            stripedLocks = locks;
+            LOG.info("Lock striping is enabled using {} locks", size);
+        }
+
         ServiceHelper.startService(aggregationStrategy, processor, aggregationRepository);
 
         // should we use recover checker
@@ -1734,11 +1818,45 @@ public class AggregateProcessor extends AsyncProcessorSupport
         super.doShutdown();
     }
 
+    /**
+     * Gets the lock that must be acquired to aggregate the given correlation key.
+     * <p/>
+     * When lock striping is enabled then the correlation key is guarded by one of the striped locks, otherwise all the
+     * correlation keys are guarded by the shared aggregation lock.
+     */
+    private Lock lockFor(String key) {
+        Lock[] locks = stripedLocks;
+        if (locks != null) {
+            int hash = key.hashCode();
+            // spread the higher bits as we mask with the number of locks
+            hash ^= hash >>> 16;
+            return locks[hash & (locks.length - 1)];
+        }
+        return lock;
+    }
+
+    /**
+     * Gets the lock to acquire before working on all the correlation groups, which is the shared aggregation lock, or no
+     * lock when lock striping is enabled as then each group is locked individually using {@link #groupLock(String)}.
+     */
+    private Lock sharedLock() {
+        return stripedLocks != null ? NoLock.INSTANCE : lock;
+    }
+
+    /**
+     * Gets the lock to acquire for a single correlation group while working on all the correlation groups, which is no
+     * lock when the shared aggregation lock is already acquired by {@link #sharedLock()}.
+     */
+    private Lock groupLock(String key) {
+        return stripedLocks != null ? lockFor(key) : NoLock.INSTANCE;
+    }
+
     public int forceCompletionOfGroup(String key) {
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = lockFor(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1752,7 +1870,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 }
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         LOG.trace("Completed force completion of group {}", key);
 
@@ -1780,23 +1898,30 @@ public class AggregateProcessor extends AsyncProcessorSupport
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
+            Lock sharedLock = sharedLock();
+            sharedLock.lock();
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force completion triggered for correlation key: {}", key);
-                        // indicate it was completed by a force completion request
-                        exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
-                        Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                        if (answer != null) {
-                            onSubmitCompletion(key, answer);
+                    Lock keyLock = groupLock(key);
+                    keyLock.lock();
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            LOG.trace("Force completion triggered for correlation key: {}", key);
+                            // indicate it was completed by a force completion request
+                            exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
+                            Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                            if (answer != null) {
+                                onSubmitCompletion(key, answer);
+                            }
                         }
+                    } finally {
+                        keyLock.unlock();
                     }
                 }
             } finally {
-                lock.unlock();
+                sharedLock.unlock();
             }
         }
         LOG.trace("Completed force completion of all groups task");
@@ -1811,7 +1936,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = lockFor(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1821,7 +1947,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 onCompletion(key, exchange, exchange, false, true);
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         LOG.trace("Completed force discarded of group {}", key);
 
@@ -1849,19 +1975,26 @@ public class AggregateProcessor extends AsyncProcessorSupport
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
+            Lock sharedLock = sharedLock();
+            sharedLock.lock();
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force discarded triggered for correlation key: {}", key);
-                        // force discarding by setting aggregate failed as true
-                        onCompletion(key, exchange, exchange, false, true);
+                    Lock keyLock = groupLock(key);
+                    keyLock.lock();
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            LOG.trace("Force discarded triggered for correlation key: {}", key);
+                            // force discarding by setting aggregate failed as true
+                            onCompletion(key, exchange, exchange, false, true);
+                        }
+                    } finally {
+                        keyLock.unlock();
                     }
                 }
             } finally {
-                lock.unlock();
+                sharedLock.unlock();
             }
         }
         LOG.trace("Completed force discarding of all groups task");
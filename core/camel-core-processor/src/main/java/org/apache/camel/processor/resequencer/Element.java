@@ -16,29 +16,55 @@
  */
 package org.apache.camel.processor.resequencer;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * A container for objects to be resequenced. This container can be scheduled for timing out. Non-scheduled objects or
  * already timed-out objects are ready for being released by the {@link ResequencerEngine}.
+ * <p/>
+ * An element is created as pending, which means it is not yet ready for being released until the resequencer engine
+ * has either scheduled it for timing out or marked it as ready. This allows the element to be added to the sequence
+ * before the resequencer engine has decided whether it has to wait for its predecessor.
  */
 class Element<E> implements TimeoutHandler {
 
+    private static final int PENDING = 0;
+    private static final int SCHEDULED = 1;
+    private static final int READY = 2;
+
     /**
      * The contained object.
      */
-    private E object;
+    private final E object;
 
     /**
-     * Not <code>null</code> if this element is currently beeing scheduled for timing out.
+     * Whether this element is pending, scheduled for timing out or ready for being released.
+     */
+    private final AtomicInteger state;
+
+    /**
+     * The timeout task once this element has been scheduled for timing out.
      */
     private Timeout timeout;
 
     /**
-     * Creates a new container instance.
-     * 
+     * Creates a new container instance which is ready for being released.
+     *
      * @param object contained object.
      */
     Element(E object) {
+        this(object, false);
+    }
+
+    /**
+     * Creates a new container instance.
+     *
+     * @param object  contained object.
+     * @param pending whether the element is pending, or ready for being released.
+     */
+    Element(E object, boolean pending) {
         this.object = object;
+        this.state = new AtomicInteger(pending ? PENDING : READY);
     }
 
     /**
@@ -51,35 +77,45 @@ class Element<E> implements TimeoutHandler {
     }
 
     /**
-     * Returns <code>true</code> if this element is currently scheduled for timing out.
+     * Returns <code>true</code> if this element is pending or currently scheduled for timing out.
      * 
-     * @return <code>true</code> if scheduled or <code>false</code> if not scheduled or already timed-out.
+     * @return <code>true</code> if pending or scheduled or <code>false</code> if not scheduled or already timed-out.
      */
-    public synchronized boolean scheduled() {
-        return timeout != null;
+    public boolean scheduled() {
+        return state.get() != READY;
     }
 
     /**
-     * Schedules the given timeout task. Before this methods calls the {@link Timeout#schedule()} method it sets this
-     * element as timeout listener.
+     * Schedules the given timeout task, unless this element is no longer pending (as it has been cancelled in the
+     * meantime). Before this methods calls the {@link Timeout#schedule()} method it sets this element as timeout
+     * listener.
      * 
      * @param t a timeout task.
      */
     public synchronized void schedule(Timeout t) {
-        this.timeout = t;
-        this.timeout.setTimeoutHandler(this);
-        this.timeout.schedule();
+        if (state.compareAndSet(PENDING, SCHEDULED)) {
+            this.timeout = t;
+            t.setTimeoutHandler(this);
+            t.schedule();
+        }
     }
 
     /**
-     * Cancels the scheduled timeout for this element. If this element is not scheduled or has already timed-out this
-     * method has no effect.
+     * Cancels the scheduled timeout for this element, which marks this element as ready for being released. If this
+     * element is already ready this method has no effect.
+     *
+     * @return <code>true</code> if a scheduled timeout task has been cancelled.
      */
-    public synchronized void cancel() {
-        if (timeout != null) {
-            timeout.cancel();
+    public boolean cancel() {
+        if (state.getAndSet(READY) != SCHEDULED) {
+            return false;
+        }
+        // the timeout task may still be being scheduled
+        synchronized (this) {
+            Timeout t = this.timeout;
+            this.timeout = null;
+            return t != null && t.cancel();
         }
-        timeout(null);
     }
 
     /**
@@ -88,8 +124,8 @@ class Element<E> implements TimeoutHandler {
      * @param t timeout task that caused the notification.
      */
     @Override
-    public synchronized void timeout(Timeout t) {
-        this.timeout = null;
+    public void timeout(Timeout t) {
+        state.set(READY);
     }
 
 }
@@ -17,6 +17,8 @@
 package org.apache.camel.processor.resequencer;
 
 import java.util.Timer;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.util.concurrent.ThreadHelper;
 
@@ -44,29 +46,51 @@ import org.apache.camel.util.concurrent.ThreadHelper;
  * adjusted accordingly. If the last-delivered element is <code>null</code> i.e. the resequencer was newly created the
  * first arriving element needs <code>timeout</code> milliseconds in any case for becoming <i>ready-for-delivery</i>.
  * <p>
+ * The elements are kept in a concurrent skip list, so elements can be inserted concurrently without locking while
+ * elements are being delivered. An inserted element is pending (not <i>ready-for-delivery</i>) until it has been
+ * decided whether it has to wait for its predecessor. The delivery of elements is serialized.
  */
 public class ResequencerEngine<E> {
 
+    // the number of cancelled timeout tasks after which the timer is purged
+    private static final int PURGE_CANCELLED_TIMEOUTS = 1000;
+
     /**
      * The element that most recently hash been delivered or <code>null</code> if no element has been delivered yet.
      */
-    private Element<E> lastDelivered;
+    private volatile Element<E> lastDelivered;
 
     /**
      * Minimum amount of time to wait for out-of-sequence elements.
      */
     private long timeout;
 
+    /**
+     * A comparator for the elements.
+     */
+    private final ElementComparator<E> comparator;
+
     /**
      * A sequence of elements for sorting purposes.
      */
-    private Sequence<Element<E>> sequence;
+    private final ConcurrentSkipListSet<Element<E>> sequence;
+
+    /**
+     * The number of elements in the sequence (as the size of a concurrent skip list is not a constant-time operation).
+     */
+    private final AtomicInteger size = new AtomicInteger();
 
     /**
      * A timer for scheduling timeout notifications.
      */
     private Timer timer;
 
+    /**
+     * The number of cancelled timeout tasks since the timer was last purged, as a cancelled task is only removed from
+     * the timer when it would have expired.
+     */
+    private final AtomicInteger cancelledTimeouts = new AtomicInteger();
+
     /**
      * A strategy for sending sequence elements.
      */
@@ -84,7 +108,8 @@ public class ResequencerEngine<E> {
      * @param comparator a sequence element comparator.
      */
     public ResequencerEngine(SequenceElementComparator<E> comparator) {
-        this.sequence = createSequence(comparator);
+        this.comparator = new ElementComparator<>(comparator);
+        this.sequence = new ConcurrentSkipListSet<>(this.comparator);
         this.timeout = 2000L;
         this.lastDelivered = null;
     }
@@ -106,8 +131,8 @@ public class ResequencerEngine<E> {
      *
      * @return the number of elements currently maintained by this resequencer.
      */
-    public synchronized int size() {
-        return sequence.size();
+    public int size() {
+        return size.get();
     }
 
     /**
@@ -182,13 +207,13 @@ public class ResequencerEngine<E> {
      * @param  o                        an element.
      * @throws IllegalArgumentException if the element cannot be used with this resequencer engine
      */
-    public synchronized void insert(E o) {
-        // wrap object into internal element
-        Element<E> element = new Element<>(o);
+    public void insert(E o) {
+        // wrap object into internal element which is pending until we know whether it should wait for its predecessor
+        Element<E> element = new Element<>(o, true);
 
         // validate the exchange has no problem
-        if (!sequence.comparator().isValid(element)) {
-            throw new IllegalArgumentException("Element cannot be used in comparator: " + sequence.comparator());
+        if (!comparator.isValid(element)) {
+            throw new IllegalArgumentException("Element cannot be used in comparator: " + comparator);
         }
 
         // validate the exchange shouldn't be 'rejected' (if applicable)
@@ -200,21 +225,26 @@ public class ResequencerEngine<E> {
         }
 
         // add element to sequence in proper order
-        sequence.add(element);
+        if (!sequence.add(element)) {
+            // an element with the same sequence value is already in the sequence
+            return;
+        }
+        size.incrementAndGet();
 
-        Element<E> successor = sequence.successor(element);
+        Element<E> successor = successor(element);
 
         // check if there is an immediate successor and cancel
         // timer task (no need to wait any more for timeout)
         if (successor != null) {
-            successor.cancel();
+            if (successor.cancel()) {
+                timeoutCancelled();
+            }
         }
 
-        // start delivery if current element is successor of last delivered element
-        if (successorOfLastDelivered(element)) {
-            // nothing to schedule
-        } else if (sequence.predecessor(element) != null) {
-            // nothing to schedule
+        // start delivery if current element is successor of last delivered element (the predecessor is checked
+        // first, as the last delivered element is updated before it's removed from the sequence)
+        if (predecessor(element) != null || successorOfLastDelivered(element)) {
+            element.cancel();
         } else {
             element.schedule(defineTimeout());
         }
@@ -243,23 +273,26 @@ public class ResequencerEngine<E> {
      * @throws Exception thrown by {@link SequenceSender#sendElement(Object)}.
      *
      */
-    public boolean deliverNext() throws Exception {
+    public synchronized boolean deliverNext() throws Exception {
+        // elements are only removed while delivering, so the sequence cannot become empty in the meantime
         if (sequence.isEmpty()) {
             return false;
         }
         // inspect element with the lowest sequence value
         Element<E> element = sequence.first();
 
-        // if element is scheduled do not deliver and return
+        // if element is pending or scheduled do not deliver and return
         if (element.scheduled()) {
             return false;
         }
 
+        // set the delivered element to last delivered element before it's removed from the sequence,
+        // so an inserted successor either finds its predecessor in the sequence or as the last delivered element
+        lastDelivered = element;
+
         // remove deliverable element from sequence
         sequence.remove(element);
-
-        // set the delivered element to last delivered element
-        lastDelivered = element;
+        size.decrementAndGet();
 
         // deliver the sequence element
         sequenceSender.sendElement(element.getObject());
@@ -268,6 +301,39 @@ public class ResequencerEngine<E> {
         return true;
     }
 
+    /**
+     * Purges the cancelled timeout tasks from the timer once in a while.
+     */
+    private void timeoutCancelled() {
+        if (cancelledTimeouts.incrementAndGet() >= PURGE_CANCELLED_TIMEOUTS) {
+            cancelledTimeouts.set(0);
+            timer.purge();
+        }
+    }
+
+    /**
+     * Returns the immediate predecessor of the given element in the sequence or <code>null</code> if no predecessor
+     * exists.
+     */
+    private Element<E> predecessor(Element<E> element) {
+        Element<E> elem = sequence.lower(element);
+        if (elem != null && comparator.predecessor(elem, element)) {
+            return elem;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the immediate successor of the given element in the sequence or <code>null</code> if no successor exists.
+     */
+    private Element<E> successor(Element<E> element) {
+        Element<E> elem = sequence.higher(element);
+        if (elem != null && comparator.successor(elem, element)) {
+            return elem;
+        }
+        return null;
+    }
+
     /**
      * Returns <code>true</code> if the given element is the immediate successor of the last delivered element.
      *
@@ -275,10 +341,11 @@ public class ResequencerEngine<E> {
      * @return         <code>true</code> if the given element is the immediate successor of the last delivered element.
      */
     private boolean successorOfLastDelivered(Element<E> element) {
-        if (lastDelivered == null) {
+        Element<E> last = lastDelivered;
+        if (last == null) {
             return false;
         }
-        if (sequence.comparator().successor(element, lastDelivered)) {
+        if (comparator.successor(element, last)) {
             return true;
         }
         return false;
@@ -291,10 +358,11 @@ public class ResequencerEngine<E> {
      * @return         <code>true</code> if the given element is before the last delivered element.
      */
     private boolean beforeLastDelivered(Element<E> element) {
-        if (lastDelivered == null) {
+        Element<E> last = lastDelivered;
+        if (last == null) {
             return false;
         }
-        if (sequence.comparator().compare(element, lastDelivered) < 0) {
+        if (comparator.compare(element, last) < 0) {
             return true;
         }
         return false;
@@ -309,8 +377,4 @@ public class ResequencerEngine<E> {
         return new Timeout(timer, timeout);
     }
 
-    private static <E> Sequence<Element<E>> createSequence(SequenceElementComparator<E> comparator) {
-        return new Sequence<>(new ElementComparator<>(comparator));
-    }
-
 }
@@ -22,7 +22,10 @@ import java.util.TreeSet;
  * A sorted set of elements with additional methods for obtaining immediate successors and immediate predecessors of a
  * given element in the sequence. Successors and predecessors are calculated by using a
  * {@link SequenceElementComparator}.
+ * <p/>
+ * This class is no longer used by the {@link ResequencerEngine}, and will be removed in a future release.
  */
+@Deprecated
 public class Sequence<E> extends TreeSet<E> {
 
     private static final long serialVersionUID = 5647393631147741711L;
@@ -70,6 +70,10 @@ public class MulticastReifier extends ProcessorReifier<MulticastDefinition> {
         if (timeout > 0 && !isParallelProcessing) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        int maxInFlight = parseInt(definition.getMaxInFlight(), 0);
+        if (maxInFlight > 0 && !isParallelProcessing) {
+            throw new IllegalArgumentException("MaxInFlight is used but ParallelProcessing has not been enabled.");
+        }
         Processor prepare = definition.getOnPrepareProcessor();
         if (prepare == null && definition.getOnPrepare() != null) {
             prepare = mandatoryLookup(definition.getOnPrepare(), Processor.class);
@@ -78,6 +82,7 @@ public class MulticastReifier extends ProcessorReifier<MulticastDefinition> {
         MulticastProcessor answer = new MulticastProcessor(
                 camelContext, route, list, strategy, isParallelProcessing, threadPool, shutdownThreadPool, isStreaming,
                 isStopOnException, timeout, prepare, isShareUnitOfWork, isParallelAggregate);
+        answer.setMaxInFlight(maxInFlight);
         return answer;
     }
 
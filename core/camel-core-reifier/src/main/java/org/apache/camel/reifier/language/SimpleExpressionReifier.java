@@ -47,9 +47,10 @@ public class SimpleExpressionReifier extends ExpressionReifier<SimpleExpression>
     }
 
     private Object[] createProperties() {
-        Object[] properties = new Object[2];
+        Object[] properties = new Object[3];
         properties[0] = definition.getResultType();
         properties[1] = parseBoolean(definition.getTrim());
+        properties[2] = parseBoolean(definition.getCompiled());
         return properties;
     }
 
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.builder.xml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPathConstants;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.language.xpath.XPathBuilder;
+import org.apache.camel.model.language.XPathExpression;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class XPathStreamingTest extends ContextTestSupport {
+
+    private static final String ORDERS = "<orders xmlns:c='http://camel.apache.org/cheese'>"
+                                         + "<order id='1' priority='low'><item>A1</item><amount>10</amount></order>"
+                                         + "<order id='2' priority='high'><item>B2</item><item>C3</item><amount>20.5</amount></order>"
+                                         + "<!-- comment --><order id='3'><c:item>D4</c:item><![CDATA[<x>]]>text</order>"
+                                         + "<group><order id='4' priority='high'><item>E5</item></order></group>"
+                                         + "</orders>";
+
+    private static final String[] EXPRESSIONS = {
+            "/orders/order", "/orders/order/item", "orders/order/@id", "/orders/nothing", "//order/@priority",
+            "//item", "/orders//item", "//order[@priority='high']/item", "//order[@priority = 'high'][2]/@id",
+            "/orders/order[2]/@id", "/orders/order[@priority][1]/item[2]", "/orders/order[3]/text()",
+            "/orders/*/order/@id", "//c:item", "//c:*", "/orders/order/item = 'C3'", "/orders/order/item != 'A1'",
+            "//amount > 15", "//amount = 10", "//order/@id >= 3", "count(//order)", "count(//item) = 4",
+            "not(/orders/order)", "not(//order[@priority='medium'])", "//descendant::item", "/orders/child::order/attribute::id",
+            "//order[attribute::id = 2]/amount", "//order/item/text()" };
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testStreamingResultsAreSameAsDom() throws Exception {
+        for (String expression : EXPRESSIONS) {
+            for (QName resultQName : new QName[] { XPathConstants.BOOLEAN, XPathConstants.STRING, XPathConstants.NUMBER }) {
+                Object expected = evaluate(expression, resultQName, false, ORDERS);
+                Object actual = evaluate(expression, resultQName, true, ORDERS);
+                assertEquals(expected, actual, expression + " as " + resultQName.getLocalPart());
+
+                actual = evaluate(expression, resultQName, true, ORDERS.getBytes(StandardCharsets.UTF_8));
+                assertEquals(expected, actual, expression + " as " + resultQName.getLocalPart() + " from bytes");
+            }
+        }
+    }
+
+    @Test
+    public void testStopReadingWhenResultIsKnown() throws Exception {
+        // the document is not well-formed after the first order, which is not read when streaming
+        String body = "<orders><order priority='high'><item>A1</item></order><order>&unknown;</order></orders>";
+
+        assertEquals(Boolean.TRUE, evaluate("/orders/order[@priority='high']", XPathConstants.BOOLEAN, true, body));
+        assertEquals("A1", evaluate("/orders/order/item", XPathConstants.STRING, true, stream(body)));
+        assertEquals(Boolean.TRUE, evaluate("//item = 'A1'", XPathConstants.BOOLEAN, true, stream(body)));
+    }
+
+    @Test
+    public void testUnsupportedExpressionIsEvaluatedUsingDom() throws Exception {
+        assertEquals("B2", evaluate("/orders/order[item = 'C3']/item", XPathConstants.STRING, true, stream(ORDERS)));
+        assertEquals(Boolean.TRUE, evaluate("/orders/order[last()]/@id = 3", XPathConstants.BOOLEAN, true, stream(ORDERS)));
+        assertEquals(Boolean.TRUE, evaluate("//order/@id = 1 and //order/@id = 2", XPathConstants.BOOLEAN, true, ORDERS));
+    }
+
+    @Test
+    public void testDocumentWithDtdIsEvaluatedUsingDom() throws Exception {
+        String body = "<?xml version='1.0'?><!DOCTYPE order [<!ENTITY item 'A1'>]><order><item>&item;</item></order>";
+
+        assertEquals("A1", evaluate("/order/item", XPathConstants.STRING, true, stream(body)));
+        assertEquals(Boolean.TRUE, evaluate("/order/item = 'A1'", XPathConstants.BOOLEAN, true, body));
+    }
+
+    @Test
+    public void testLargeStreamIsEvaluatedUsingDom() throws Exception {
+        // the dtd is only read after a large comment, so the stream must be read again from the start using DOM
+        StringBuilder comment = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            comment.append("a comment line to make the prolog of the document large\n");
+        }
+        String body = "<?xml version='1.0'?><!--" + comment + "--><!DOCTYPE order [<!ENTITY item 'A1'>]>"
+                      + "<order><item>&item;</item></order>";
+
+        assertEquals("A1", evaluate("/order/item", XPathConstants.STRING, true, stream(body)));
+        assertEquals(Boolean.TRUE, evaluate("/order/item = 'A1'", XPathConstants.BOOLEAN, true, stream(body)));
+    }
+
+    @Test
+    public void testStreamingDisabledByDefault() throws Exception {
+        String body = "<orders><order priority='high'/><order>&unknown;</order></orders>";
+
+        XPathBuilder builder = XPathBuilder.xpath("/orders/order[@priority='high']");
+        assertFalse(builder.isStreaming());
+        // the document is read fully using DOM
+        assertThrows(Exception.class, () -> builder.matches(context, body));
+    }
+
+    @Test
+    public void testStreamingFilterRoute() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                XPathExpression high = new XPathExpression("/order[@priority = 'high']");
+                high.setStreaming("true");
+
+                from("direct:start").streamCaching()
+                        .filter(high)
+                        .to("mock:high")
+                        .end()
+                        .to("mock:result");
+            }
+        });
+        context.start();
+
+        getMockEndpoint("mock:high").expectedMessageCount(1);
+        getMockEndpoint("mock:result").expectedMessageCount(2);
+
+        template.sendBody("direct:start", stream("<order priority='low'>B2</order>"));
+        template.sendBody("direct:start", stream("<order priority='high'>A1</order>"));
+
+        assertMockEndpointsSatisfied();
+
+        // the stream cache is reset after the streaming evaluation
+        Exchange high = getMockEndpoint("mock:high").getReceivedExchanges().get(0);
+        assertEquals("<order priority='high'>A1</order>", high.getIn().getBody(String.class));
+    }
+
+    private Object evaluate(String expression, QName resultQName, boolean streaming, Object body) {
+        XPathBuilder builder = XPathBuilder.xpath(expression)
+                .namespace("c", "http://camel.apache.org/cheese")
+                .streaming(streaming);
+        builder.setResultQName(resultQName);
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(body);
+        return builder.evaluate(exchange, Object.class);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
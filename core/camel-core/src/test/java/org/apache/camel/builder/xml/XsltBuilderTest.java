@@ -20,10 +20,17 @@ import java.io.File;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.transform.Source;
 import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
 import javax.xml.transform.sax.SAXSource;
 
 import org.w3c.dom.Document;
@@ -34,6 +41,7 @@ import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExpectedBodyTypeException;
 import org.apache.camel.ExtendedExchange;
+import org.apache.camel.StreamCache;
 import org.apache.camel.component.xslt.StreamResultHandlerFactory;
 import org.apache.camel.component.xslt.XsltBuilder;
 import org.apache.camel.converter.jaxp.XmlConverter;
@@ -45,6 +53,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -208,6 +217,22 @@ public class XsltBuilderTest extends ContextTestSupport {
                 exchange.getMessage().getBody(String.class));
     }
 
+    @Test
+    public void testXsltOutputStreamCache() throws Exception {
+        URL styleSheet = getClass().getResource("example.xsl");
+
+        XsltBuilder builder = XsltBuilder.xslt(styleSheet).outputStreamCache();
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("<hello>world!</hello>");
+
+        builder.process(exchange);
+        assertIsInstanceOf(StreamCache.class, exchange.getMessage().getBody());
+
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?><goodbye>world!</goodbye>",
+                exchange.getMessage().getBody(String.class));
+    }
+
     @Test
     public void testXsltOutputDOM() throws Exception {
         URL styleSheet = getClass().getResource("example.xsl");
@@ -286,6 +311,73 @@ public class XsltBuilderTest extends ContextTestSupport {
                 exchange.getMessage().getBody(String.class));
     }
 
+    @Test
+    public void testTransformerCache() throws Exception {
+        URL styleSheet = getClass().getResource("example.xsl");
+
+        AtomicInteger created = new AtomicInteger();
+        XsltBuilder builder = new XsltBuilder() {
+            @Override
+            protected Transformer createTransformer() throws Exception {
+                created.incrementAndGet();
+                return super.createTransformer();
+            }
+        };
+        builder.setTransformerURL(styleSheet);
+        builder.transformerCacheSize(2);
+
+        for (int i = 0; i < 5; i++) {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getIn().setBody("<hello>world " + i + "</hello>");
+            builder.process(exchange);
+            assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?><goodbye>world " + i + "</goodbye>",
+                    exchange.getMessage().getBody(String.class));
+        }
+        assertEquals(1, created.get());
+
+        // a transformer which failed is not reused
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("<hello>world!</hello");
+        assertThrows(Exception.class, () -> builder.process(exchange));
+
+        exchange.getIn().setBody("<hello>world!</hello>");
+        builder.process(exchange);
+        assertEquals(2, created.get());
+
+        // a new template does not reuse the transformers of the old template
+        builder.setTransformerURL(styleSheet);
+        builder.process(exchange);
+        assertEquals(3, created.get());
+    }
+
+    @Test
+    public void testTransformerCacheConcurrent() throws Exception {
+        URL styleSheet = getClass().getResource("example.xsl");
+
+        XsltBuilder builder = XsltBuilder.xslt(styleSheet).transformerCacheSize(4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final int index = i;
+                futures.add(executor.submit(() -> {
+                    Exchange exchange = new DefaultExchange(context);
+                    exchange.getIn().setHeader("index", index);
+                    exchange.getIn().setBody("<hello>world " + index + "</hello>");
+                    builder.process(exchange);
+                    return exchange.getMessage().getBody(String.class);
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?><goodbye>world " + i + "</goodbye>",
+                        futures.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testNullBodyDefault() throws Exception {
         URL styleSheet = getClass().getResource("example.xsl");
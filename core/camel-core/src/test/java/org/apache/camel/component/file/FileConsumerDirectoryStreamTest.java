@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for polling directories using a directory stream
+ */
+public class FileConsumerDirectoryStreamTest extends ContextTestSupport {
+
+    private static final String[] OPTIONS = {
+            "", "recursive=true", "recursive=true&minDepth=2", "recursive=true&maxDepth=2",
+            "recursive=true&minDepth=3&maxDepth=3", "recursive=true&include=.*c\\.txt",
+            "recursive=true&exclude=b.*", "recursive=true&filterDirectory=${header.CamelFileNameOnly} != 'sub'",
+            "doneFileName=${file:name}.done", "recursive=true&antInclude=**/*.txt&antExclude=**/deeper/**" };
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        for (String name : new String[] {
+                "a.txt", "b.txt", "b.txt.done", ".hidden", "c.dat", "sub/c.txt", "sub/a.txt", "sub/deeper/d.txt",
+                "sub/deeper/c.txt", "sub/deeper/deepest/e.txt", "other/f.txt", ".camel/g.txt" }) {
+            Path file = testFile(name);
+            Files.createDirectories(file.getParent());
+            Files.write(file, name.getBytes());
+        }
+        Files.createDirectories(testFile("empty"));
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testSameFilesAsListing() throws Exception {
+        Map<String, List<String>> results = new HashMap<>();
+        for (String options : OPTIONS) {
+            List<String> expected = poll(options, false);
+            List<String> actual = poll(options, true);
+            assertEquals(expected, actual, options);
+            results.put(options, actual);
+        }
+        // sanity check a few results
+        assertEquals(List.of("b.txt"), results.get("doneFileName=${file:name}.done"));
+        assertEquals(List.of("sub/deeper/c.txt", "sub/deeper/d.txt"), results.get("recursive=true&minDepth=3&maxDepth=3"));
+    }
+
+    @Test
+    public void testStopAtMaxMessagesPerPoll() throws Exception {
+        Files.createDirectories(testFile("many"));
+        for (int i = 0; i < 50; i++) {
+            Files.write(testFile("many/file-" + i + ".txt"), new byte[0]);
+        }
+
+        FileEndpoint endpoint = context.getEndpoint(
+                fileUri("many?useDirectoryStream=true&maxMessagesPerPoll=10&recursive=true"), FileEndpoint.class);
+        FileConsumer consumer = (FileConsumer) endpoint.createConsumer(exchange -> {
+        });
+
+        List<GenericFile<File>> files = new ArrayList<>();
+        assertFalse(consumer.pollDirectory(testFile("many").toString(), files, 0));
+        assertEquals(10, files.size());
+    }
+
+    @Test
+    public void testFileAttributes() throws Exception {
+        FileEndpoint endpoint = context.getEndpoint(fileUri("?useDirectoryStream=true"), FileEndpoint.class);
+        FileConsumer consumer = (FileConsumer) endpoint.createConsumer(exchange -> {
+        });
+
+        List<GenericFile<File>> files = new ArrayList<>();
+        assertTrue(consumer.pollDirectory(testDirectory().toString(), files, 0));
+        for (GenericFile<File> file : files) {
+            assertEquals(file.getFile().length(), file.getFileLength());
+            assertEquals(file.getFile().lastModified(), file.getLastModified());
+            assertFalse(file.isDirectory());
+        }
+    }
+
+    @Test
+    public void testConsumeFiles() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(fileUri("?useDirectoryStream=true&recursive=true&initialDelay=0&delay=10&maxMessagesPerPoll=2"))
+                        .to("mock:result");
+            }
+        });
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+        mock.message(0).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(2);
+
+        context.start();
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private List<String> poll(String options, boolean useDirectoryStream) throws Exception {
+        String query = "?useDirectoryStream=" + useDirectoryStream + (options.isEmpty() ? "" : "&" + options);
+        FileEndpoint endpoint = context.getEndpoint(fileUri(query), FileEndpoint.class);
+        FileConsumer consumer = (FileConsumer) endpoint.createConsumer(exchange -> {
+        });
+        consumer.start();
+        try {
+            List<GenericFile<File>> files = new ArrayList<>();
+            consumer.pollDirectory(testDirectory().toString(), files, 0);
+            return files.stream().map(f -> f.getRelativeFilePath().replace(File.separatorChar, '/')).sorted()
+                    .collect(Collectors.toList());
+        } finally {
+            consumer.stop();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.List;
+
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SedaBatchSizeTest extends ContextTestSupport {
+
+    @Test
+    public void testBatchSize() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(100);
+        // the batch is processed in the same order as the queue
+        for (int i = 0; i < 100; i++) {
+            mock.message(i).body().isEqualTo("Message " + i);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("seda:foo", "Message " + i);
+        }
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testGroupExchanges() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:grouped");
+        // all the exchanges is grouped in batches of 10
+        mock.expectedMessageCount(10);
+
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("seda:bar", "Message " + i);
+        }
+        context.getRouteController().startRoute("bar");
+
+        assertMockEndpointsSatisfied();
+
+        int total = 0;
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            List<?> batch = exchange.getIn().getBody(List.class);
+            assertEquals(10, batch.size());
+            total += batch.size();
+        }
+        assertEquals(100, total);
+    }
+
+    @Test
+    public void testGroupExchangesInOut() throws Exception {
+        getMockEndpoint("mock:grouped").expectedMessageCount(0);
+        context.getRouteController().startRoute("bar");
+
+        // there is no reply for each of the grouped exchanges
+        Exchange out = template.request("seda:bar", e -> e.getIn().setBody("Hello World"));
+        assertIsInstanceOf(CamelExchangeException.class, out.getException());
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?batchSize=10").routeId("foo").noAutoStartup().to("mock:result");
+
+                from("seda:bar?batchSize=10&groupExchanges=true").routeId("bar").noAutoStartup().to("mock:grouped");
+            }
+        };
+    }
+}
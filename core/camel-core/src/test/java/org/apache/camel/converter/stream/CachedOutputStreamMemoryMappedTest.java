@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.util.IOHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachedOutputStreamMemoryMappedTest extends ContextTestSupport {
+    private static final String TEST_STRING = "This is a test string and it has enough"
+                                              + " aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa ";
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory(testDirectory(true).toFile());
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().setSpoolMemoryMapped(true);
+        return context;
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        exchange = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(exchange);
+        exchange.adapt(ExtendedExchange.class).setUnitOfWork(uow);
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testMemoryMappedResetAndCopy() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue(cache instanceof FileInputStreamCache, "Should get the FileInputStreamCache");
+        assertFalse(cache.inMemory());
+        assertEquals(TEST_STRING.length(), cache.length());
+
+        // read a bit of the stream, and then reset and read it all
+        InputStream is = (InputStream) cache;
+        assertEquals('T', is.read());
+        assertEquals('h', is.read());
+        cache.reset();
+        assertEquals(TEST_STRING, new String(is.readAllBytes(), StandardCharsets.UTF_8));
+
+        // read it again after reset
+        cache.reset();
+        assertEquals(TEST_STRING, new String(is.readAllBytes(), StandardCharsets.UTF_8));
+
+        // a copy has its own position
+        StreamCache copy = cache.copy(exchange);
+        assertEquals(TEST_STRING, new String(((InputStream) copy).readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(-1, is.read());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.reset();
+        cache.writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString(StandardCharsets.UTF_8));
+
+        IOHelper.close(is);
+        exchange.getUnitOfWork().done(exchange);
+
+        // the temp file is gone
+        File file = testDirectory().toFile();
+        assertEquals(0, file.list().length, "we should not have a temp file");
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testSpoolUsedAndFreeSpace() throws Exception {
+        context.start();
+
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+        assertEquals(0, statistics.getCacheSpoolUsedSpace());
+        assertTrue(statistics.getCacheSpoolFreeSpace() > 0);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        StreamCache cache = cos.newStreamCache();
+        assertEquals(TEST_STRING.length(), statistics.getCacheSpoolUsedSpace());
+
+        IOHelper.close((InputStream) cache);
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, statistics.getCacheSpoolUsedSpace());
+        IOHelper.close(cos);
+    }
+
+}
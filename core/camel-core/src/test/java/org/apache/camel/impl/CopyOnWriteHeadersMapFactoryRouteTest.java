@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.engine.CopyOnWriteHeadersMapFactory;
+import org.junit.jupiter.api.Test;
+
+public class CopyOnWriteHeadersMapFactoryRouteTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.adapt(ExtendedCamelContext.class).setHeadersMapFactory(new CopyOnWriteHeadersMapFactory());
+        return context;
+    }
+
+    @Test
+    public void testSplitAndWireTap() throws Exception {
+        MockEndpoint split = getMockEndpoint("mock:split");
+        split.expectedBodiesReceived("A", "B", "C");
+        split.message(0).header("letter").isEqualTo("A");
+        split.message(1).header("letter").isEqualTo("B");
+        split.message(2).header("letter").isEqualTo("C");
+        split.allMessages().header("foo").isEqualTo(123);
+
+        MockEndpoint tap = getMockEndpoint("mock:tap");
+        tap.expectedMessageCount(1);
+        tap.message(0).header("tapped").isEqualTo(true);
+        tap.message(0).header("letter").isNull();
+
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceived("A,B,C");
+        result.message(0).header("foo").isEqualTo(123);
+        result.message(0).header("letter").isNull();
+        result.message(0).header("tapped").isNull();
+
+        template.sendBodyAndHeader("direct:start", "A,B,C", "Foo", 123);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                        .wireTap("direct:tap")
+                        .split(body().tokenize(","))
+                            .setHeader("letter", body())
+                            .to("mock:split")
+                        .end()
+                        .to("mock:result");
+
+                from("direct:tap").setHeader("tapped", constant(true)).to("mock:tap");
+            }
+        };
+    }
+
+}
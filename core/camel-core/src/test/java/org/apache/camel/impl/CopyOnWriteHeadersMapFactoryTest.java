@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.camel.impl.engine.CopyOnWriteHeadersMapFactory;
+import org.apache.camel.impl.engine.DefaultHeadersMapFactory;
+import org.apache.camel.impl.engine.HashMapHeadersMapFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CopyOnWriteHeadersMapFactoryTest {
+
+    private final CopyOnWriteHeadersMapFactory factory = new CopyOnWriteHeadersMapFactory();
+
+    @Test
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = factory.newMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertTrue(factory.isCaseInsensitive());
+        assertFalse(new CopyOnWriteHeadersMapFactory(new HashMapHeadersMapFactory()).isCaseInsensitive());
+    }
+
+    @Test
+    public void testCopyIsolatedFromOriginal() {
+        Map<String, Object> original = factory.newMap();
+        original.put("Foo", "cheese");
+        original.put("bar", 123);
+
+        Map<String, Object> copy = factory.newMap(original);
+        assertEquals("cheese", copy.get("FOO"));
+        assertEquals(123, copy.get("BAR"));
+
+        copy.put("foo", "beer");
+        copy.remove("bar");
+        assertEquals("beer", copy.get("foo"));
+        assertNull(copy.get("bar"));
+        assertEquals("cheese", original.get("foo"));
+        assertEquals(123, original.get("bar"));
+
+        original.put("baz", true);
+        assertNull(copy.get("baz"));
+        assertEquals(1, copy.size());
+        assertEquals(3, original.size());
+    }
+
+    @Test
+    public void testPutAllShares() {
+        Map<String, Object> original = factory.newMap();
+        original.put("foo", "cheese");
+
+        // as done by copying a message
+        Map<String, Object> copy = factory.newMap();
+        copy.putAll(original);
+        assertEquals(original, copy);
+
+        original.clear();
+        assertTrue(original.isEmpty());
+        assertEquals("cheese", copy.get("FOO"));
+
+        copy.clear();
+        assertTrue(copy.isEmpty());
+    }
+
+    @Test
+    public void testIteratorWritesThrough() {
+        Map<String, Object> original = factory.newMap();
+        original.put("foo", "cheese");
+        original.put("bar", 123);
+
+        Map<String, Object> copy = factory.newMap(original);
+        for (Map.Entry<String, Object> entry : copy.entrySet()) {
+            if ("foo".equals(entry.getKey())) {
+                entry.setValue("beer");
+            }
+        }
+        Iterator<String> it = copy.keySet().iterator();
+        while (it.hasNext()) {
+            if ("bar".equals(it.next())) {
+                it.remove();
+            }
+        }
+
+        assertEquals(1, copy.size());
+        assertEquals("beer", copy.get("foo"));
+        assertEquals(2, original.size());
+        assertEquals("cheese", original.get("foo"));
+        assertEquals(123, original.get("bar"));
+    }
+
+    @Test
+    public void testIsInstance() {
+        Map<String, Object> map = factory.newMap();
+
+        assertTrue(factory.isInstanceOf(map));
+        assertTrue(factory.isInstanceOf(factory.newMap(map)));
+        assertFalse(factory.isInstanceOf(new DefaultHeadersMapFactory().newMap()));
+    }
+
+}
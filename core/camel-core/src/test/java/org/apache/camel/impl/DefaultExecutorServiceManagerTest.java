@@ -23,7 +23,9 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.ThreadHelper;
 import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -382,6 +384,43 @@ public class DefaultExecutorServiceManagerTest extends ContextTestSupport {
         assertTrue(tp.isShutdown());
     }
 
+    @Test
+    public void testNewThreadPoolProfileVirtualThreads() throws Exception {
+        ThreadPoolProfile foo = new ThreadPoolProfile("foo");
+        foo.setMaxPoolSize(40);
+        foo.setPoolSize(5);
+        foo.setMaxQueueSize(2000);
+        foo.setVirtualThreads(true);
+
+        ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Cool", foo);
+        assertNotNull(pool);
+
+        // still a regular thread pool so rejection and JMX statistics work the same
+        ThreadPoolExecutor tp = assertIsInstanceOf(ThreadPoolExecutor.class, pool);
+        assertEquals(40, tp.getMaximumPoolSize());
+
+        CamelThreadFactory factory = assertIsInstanceOf(CamelThreadFactory.class, tp.getThreadFactory());
+        boolean virtual = ThreadHelper.isVirtualThreadsSupported();
+        assertEquals(virtual, factory.isVirtual());
+        // a new virtual thread for every task up to the max pool size, and then the tasks are queued
+        assertEquals(virtual ? 40 : 5, tp.getCorePoolSize());
+        assertEquals(2000, tp.getQueue().remainingCapacity());
+
+        final Thread[] thread = new Thread[1];
+        final CountDownLatch latch = new CountDownLatch(1);
+        pool.submit(() -> {
+            thread[0] = Thread.currentThread();
+            latch.countDown();
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // the thread name pattern is in use also for virtual threads
+        assertTrue(thread[0].getName().endsWith(" - Cool"), "Should use thread name pattern: " + thread[0].getName());
+
+        context.stop();
+
+        assertTrue(tp.isShutdown());
+    }
+
     @Test
     public void testNewThreadPoolMinMax() throws Exception {
         ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Cool", 5, 10);
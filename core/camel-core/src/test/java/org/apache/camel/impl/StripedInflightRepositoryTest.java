@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Collection;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.StripedInflightRepository;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedInflightRepositoryTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.adapt(ExtendedCamelContext.class).setInflightRepository(new StripedInflightRepository());
+        context.getInflightRepository().setInflightBrowseEnabled(true);
+        return context;
+    }
+
+    @Test
+    public void testStripedInflightRepository() throws Exception {
+        InflightRepository repo = new StripedInflightRepository(2);
+        repo.setInflightBrowseEnabled(true);
+        repo.addRoute("foo");
+
+        assertEquals(0, repo.size());
+        assertNull(repo.oldest(null));
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        repo.add(e1, "foo");
+        assertEquals(1, repo.size());
+        assertEquals(1, repo.size("foo"));
+
+        Exchange e2 = new DefaultExchange(context);
+        repo.add(e2);
+        assertEquals(2, repo.size());
+        assertEquals(2, repo.browse().size());
+
+        repo.remove(e1, "foo");
+        repo.remove(e1);
+        assertEquals(1, repo.size());
+        assertEquals(0, repo.size("foo"));
+        assertSame(e2, repo.browse().iterator().next().getExchange());
+
+        // the free slot is reused
+        Exchange e3 = new DefaultExchange(context);
+        repo.add(e3);
+        assertEquals(2, repo.browse().size());
+
+        repo.remove(e2);
+        repo.remove(e3);
+        assertEquals(0, repo.size());
+        assertTrue(repo.browse().isEmpty());
+    }
+
+    @Test
+    public void testInflight() throws Exception {
+        assertTrue(context.getInflightRepository() instanceof StripedInflightRepository);
+        assertEquals(0, context.getInflightRepository().browse().size());
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertEquals(0, context.getInflightRepository().browse().size());
+        assertEquals(0, context.getInflightRepository().size());
+        assertEquals(0, context.getInflightRepository().size("foo"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo").process(exchange -> {
+                    Collection<InflightRepository.InflightExchange> list = context.getInflightRepository().browse();
+                    assertEquals(1, list.size());
+                    assertEquals(exchange, list.iterator().next().getExchange());
+                    assertEquals(exchange, context.getInflightRepository().oldest("foo").getExchange());
+                    assertEquals(1, context.getInflightRepository().size("foo"));
+                }).to("mock:result");
+            }
+        };
+    }
+
+}
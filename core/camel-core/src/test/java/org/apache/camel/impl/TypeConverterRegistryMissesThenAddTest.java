@@ -40,6 +40,32 @@ public class TypeConverterRegistryMissesThenAddTest {
         assertEquals(123, order.getId());
     }
 
+    @Test
+    public void testTryMissThenAddTypeConverterForInterface() {
+        DefaultCamelContext context = new DefaultCamelContext();
+
+        // the lookup of the type converter is not found (which is remembered)
+        MyOrder order = context.getTypeConverter().tryConvertTo(MyOrder.class, new StringBuilder("123"));
+        assertNull(order);
+        order = context.getTypeConverter().tryConvertTo(MyOrder.class, new StringBuilder("123"));
+        assertNull(order);
+
+        // add missing type converter from an interface that StringBuilder implements
+        context.getTypeConverterRegistry().addTypeConverter(MyOrder.class, CharSequence.class, new MyOrderTypeConverter());
+
+        // this time it should work
+        order = context.getTypeConverter().tryConvertTo(MyOrder.class, new StringBuilder("123"));
+        assertNotNull(order);
+        assertEquals(123, order.getId());
+
+        // and remove the type converter again
+        context.getTypeConverterRegistry().removeTypeConverter(MyOrder.class, CharSequence.class);
+        context.getTypeConverterRegistry().removeTypeConverter(MyOrder.class, StringBuilder.class);
+
+        order = context.getTypeConverter().tryConvertTo(MyOrder.class, new StringBuilder("123"));
+        assertNull(order);
+    }
+
     private static class MyOrder {
         private int id;
 
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdviceProfilerTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setAdviceProfiling(true);
+        context.setMessageHistory(true);
+        return context;
+    }
+
+    @Test
+    public void testAdviceProfiling() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        AdviceProfiler profiler = context.getExtension(AdviceProfiler.class);
+        assertNotNull(profiler);
+        assertTrue(context.hasService(profiler));
+        assertSame(profiler, AdviceProfiler.getOrCreateProfiler(context));
+
+        List<AdviceProfiler.Recorder> recorders = profiler.getRecorders().stream()
+                .filter(r -> "foo".equals(r.getRouteId()))
+                .collect(Collectors.toList());
+        assertFalse(recorders.isEmpty());
+
+        // the advices of the route itself
+        AdviceProfiler.Recorder route = find(recorders, "foo", "RouteInflightRepositoryAdvice");
+        assertEquals(10, route.getTime().getCount());
+        // the advices of the nodes
+        AdviceProfiler.Recorder history = find(recorders, "myProcessor", "MessageHistoryAdvice");
+        assertEquals(10, history.getTime().getCount());
+        assertEquals(10, history.getAllocated().getCount());
+        assertTrue(history.getTime().getTotal() > 0);
+        if (profiler.isAllocationProfiling()) {
+            // message history creates a history entry per exchange
+            assertTrue(history.getAllocated().getMax() > 0);
+        }
+        find(recorders, "result", "MessageHistoryAdvice");
+
+        profiler.reset();
+        assertEquals(0, history.getTime().getCount());
+
+        // pause profiling
+        profiler.setEnabled(false);
+        template.sendBody("direct:start", "Bye World");
+        assertEquals(0, history.getTime().getCount());
+    }
+
+    @Test
+    public void testHistogram() {
+        AdviceProfiler.Histogram histogram = new AdviceProfiler.Histogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500, histogram.getTotal());
+        assertEquals(500, histogram.getMean());
+        assertEquals(1000, histogram.getMax());
+        assertWithinPrecision(500, histogram.getValueAtPercentile(50));
+        assertWithinPrecision(990, histogram.getValueAtPercentile(99));
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        for (long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789, 1L << 40 }) {
+            int index = AdviceProfiler.Histogram.bucketIndex(value);
+            long highest = AdviceProfiler.Histogram.highestValue(index);
+            assertTrue(highest >= value, "Bucket of " + value);
+            assertTrue(highest - value <= value / 8, "Precision of " + value);
+            if (index > 0) {
+                assertTrue(AdviceProfiler.Histogram.highestValue(index - 1) < value, "Previous bucket of " + value);
+            }
+        }
+        // very large values go into the last bucket
+        assertEquals(AdviceProfiler.Histogram.bucketIndex(Long.MAX_VALUE),
+                AdviceProfiler.Histogram.bucketIndex((1L << 41) + 1));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 8, "Expected " + expected + " but was " + actual);
+    }
+
+    private static AdviceProfiler.Recorder find(List<AdviceProfiler.Recorder> recorders, String nodeId, String advice) {
+        return recorders.stream()
+                .filter(r -> nodeId.equals(r.getNodeId()) && advice.equals(r.getAdvice()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No recorder for " + nodeId + "/" + advice + " in " + recorders));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                        .process(e -> e.getMessage().setHeader("foo", "bar")).id("myProcessor")
+                        .to("mock:result").id("result");
+            }
+        };
+    }
+}
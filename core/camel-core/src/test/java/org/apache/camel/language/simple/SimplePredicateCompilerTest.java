@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangeTestSupport;
+import org.apache.camel.Predicate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimplePredicateCompilerTest extends ExchangeTestSupport {
+
+    private static final String[] PREDICATES = {
+            "${header.foo} == 'bar'", "${headers.foo} != 'bar'", "${in.header.foo} =~ 'BAR'", "${header:foo} !=~ 'BAR'",
+            "${header[foo]} == ${header.bar}", "${header['foo']} == null", "${header.number} > 100",
+            "${header.number} >= '123'", "${header.number} < 123.5", "${header.number} <= ${header.other}",
+            "${header.number} == 123", "${header.number} == '123'", "${header.missing} == null",
+            "${header.missing} < null", "${header.missing} > null", "${header.flag} == true", "${header.flag}",
+            "${body} contains 'World'", "${in.body} !contains 'world'", "${body} ~~ 'world'", "${body} !~~ 'WORLD'",
+            "${body} startsWith 'Hello'", "${body} endsWith 'World'", "${body} regex '^Hello.*'",
+            "${body} not regex 'Hello'", "${header.number} regex '\\d+'", "${header.foo} in 'foo,bar'",
+            "${header.foo} not in 'foo,baz'", "${header.number} in '100,123'", "${header.missing} in 'foo,bar'",
+            "${header.number} range '100..200'", "${header.number} not range '1..99'", "${header.missing} range '1..2'",
+            "${body} is 'java.lang.String'", "${header.number} is 'String'", "${header.number} not is 'Integer'",
+            "${exchangeProperty.prop} == 'value'", "${exchangeProperty[prop]} contains 'val'",
+            "${header.prop} == 'value'", "${header.list} contains 'b'",
+            "${header.foo} == 'bar' && ${body} contains 'World'", "${header.foo} == 'baz' || ${header.number} > 100",
+            "${header.foo} == 'baz' && ${header.number} > 100 || ${body} != null", "${header.foo} == 'bar' ${body} == null",
+            "${header.foo} == '${header.foo}'", "${header.foo.length} == 3", "${body.toUpperCase()} == 'HELLO WORLD'",
+            "'${header.foo}-x' == 'bar-x'", "${body} == \"Hello World\"", "'bar' == ${header.foo}", "''", "true", "false",
+            "${header.number} == -123", "${header.double} > 1.5", "${header.foo} == ''", "${date:now} != null",
+            "${header.foo} == 'bar' && ${header.foo.substring(1)} == 'ar'"
+    };
+
+    @Test
+    public void testSameResultsAsInterpreted() throws Exception {
+        SimpleLanguage interpreted = new SimpleLanguage();
+        interpreted.setCamelContext(context);
+        interpreted.init();
+        SimpleLanguage compiled = new SimpleLanguage();
+        compiled.setCamelContext(context);
+        compiled.setCompiled(true);
+        compiled.init();
+
+        for (Exchange exchange : createExchanges()) {
+            for (String text : PREDICATES) {
+                Predicate expected = interpreted.createPredicate(text);
+                expected.init(context);
+                Predicate actual = compiled.createPredicate(text);
+                actual.init(context);
+                assertNotSame(expected.getClass(), actual.getClass());
+
+                // evaluate a few times as the compiled predicate is compiled on first use
+                for (int i = 0; i < 3; i++) {
+                    assertEquals(matches(expected, exchange), matches(actual, exchange),
+                            "Predicate " + text + " on " + exchange.getIn().getHeaders() + " with body "
+                                                                                       + exchange.getIn().getBody());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCompiledPredicate() throws Exception {
+        SimpleLanguage simple = new SimpleLanguage();
+        simple.setCamelContext(context);
+        simple.setCompiled(true);
+        simple.init();
+
+        Predicate predicate = simple.createPredicate("${header.foo} == 'bar' && ${body} contains 'World'");
+        predicate.init(context);
+        assertEquals("${header.foo} == 'bar' && ${body} contains 'World'", predicate.toString());
+
+        exchange.getIn().setHeader("foo", "bar");
+        exchange.getIn().setBody("Hello World");
+        assertTrue(predicate.matches(exchange));
+        exchange.getIn().setBody("Bye Moon");
+        assertFalse(predicate.matches(exchange));
+        exchange.getIn().removeHeader("foo");
+        // the header falls back to the exchange property
+        exchange.setProperty("foo", "bar");
+        exchange.getIn().setBody("Bye World");
+        assertTrue(predicate.matches(exchange));
+    }
+
+    @Test
+    public void testCompiledOption() throws Exception {
+        SimpleLanguage simple = new SimpleLanguage();
+        simple.setCamelContext(context);
+        simple.init();
+
+        String text = "${header.foo} == 'bar'";
+        Predicate interpreted = simple.createPredicate(text, new Object[] { null, true, null });
+        Predicate compiled = simple.createPredicate(text, new Object[] { null, true, true });
+        // the compiled and interpreted predicates are cached separately
+        assertNotSame(interpreted.getClass(), compiled.getClass());
+        assertSame(interpreted, simple.createPredicate(text));
+
+        simple.setCompiled(true);
+        assertSame(compiled, simple.createPredicate(text));
+        assertSame(interpreted, simple.createPredicate(text, new Object[] { null, true, false }));
+
+        compiled.init(context);
+        exchange.getIn().setHeader("foo", "bar");
+        assertTrue(compiled.matches(exchange));
+    }
+
+    private List<Exchange> createExchanges() {
+        Exchange first = createExchange();
+        first.getIn().setBody("Hello World");
+        first.getIn().setHeader("foo", "bar");
+        first.getIn().setHeader("bar", "bar");
+        first.getIn().setHeader("number", 123);
+        first.getIn().setHeader("other", "124");
+        first.getIn().setHeader("flag", "true");
+        first.getIn().setHeader("double", 2.5d);
+        first.getIn().setHeader("list", Arrays.asList("a", "b"));
+        first.setProperty("prop", "value");
+
+        Exchange second = createExchange();
+        second.getIn().setBody(null);
+        second.getIn().setHeader("foo", "FOO");
+        second.getIn().setHeader("number", "99");
+        second.getIn().setHeader("other", 12L);
+        second.getIn().setHeader("flag", false);
+        second.getIn().setHeader("double", "1.5");
+        second.getIn().setHeader("list", Arrays.asList("c"));
+
+        Exchange third = createExchange();
+        third.getIn().setBody(123);
+        third.getIn().setHeader("foo", "");
+        third.getIn().setHeader("number", 123L);
+        third.getIn().setHeader("flag", "");
+        third.setProperty("prop", "other value");
+        return Arrays.asList(first, second, third);
+    }
+
+    private static Object matches(Predicate predicate, Exchange exchange) {
+        try {
+            return predicate.matches(exchange);
+        } catch (Exception e) {
+            // the compiled predicate must fail the same way
+            return e.getClass();
+        }
+    }
+}
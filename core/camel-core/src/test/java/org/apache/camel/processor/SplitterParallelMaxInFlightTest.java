@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SplitterParallelMaxInFlightTest extends ContextTestSupport {
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    @Test
+    public void testSplitMaxInFlight() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:split");
+        mock.expectedMessageCount(50);
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            sb.append(i).append(',');
+        }
+        template.sendBody("direct:split", sb.toString());
+
+        assertMockEndpointsSatisfied();
+        assertTrue(maxActive.get() <= 3, "Should be at most 3 in flight, was: " + maxActive.get());
+    }
+
+    @Test
+    public void testMulticastMaxInFlight() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:multicast", "Hello World");
+
+        assertMockEndpointsSatisfied();
+        assertTrue(maxActive.get() <= 2, "Should be at most 2 in flight, was: " + maxActive.get());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        final Processor slow = new Processor() {
+            @Override
+            public void process(Exchange exchange) throws Exception {
+                int count = active.incrementAndGet();
+                maxActive.accumulateAndGet(count, Math::max);
+                Thread.sleep(10);
+                active.decrementAndGet();
+            }
+        };
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:split")
+                        .split(body().tokenize(",")).streaming().parallelProcessing().maxInFlight(3)
+                            .process(slow)
+                            .to("mock:split")
+                        .end()
+                        .to("mock:result");
+
+                from("direct:multicast")
+                        .multicast().parallelProcessing().maxInFlight(2)
+                            .to("direct:a", "direct:b", "direct:c", "direct:d", "direct:e")
+                        .end()
+                        .to("mock:result");
+
+                from("direct:a").process(slow);
+                from("direct:b").process(slow);
+                from("direct:c").process(slow);
+                from("direct:d").process(slow);
+                from("direct:e").process(slow);
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.WINDOWS)
+public class ThrottlerTokenBucketTest extends ContextTestSupport {
+    private static final int INTERVAL = 500;
+    private static final int TOLERANCE = 50;
+    private static final int MESSAGE_COUNT = 9;
+
+    @Test
+    public void testAsyncDelayed() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(MESSAGE_COUNT);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            template.sendBody("direct:async", "<message>" + i + "</message>");
+        }
+        resultEndpoint.assertIsSatisfied();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // the first 3 messages is a burst, and then a message every third of the interval
+        assertTrue(elapsed >= 2 * INTERVAL - TOLERANCE, "Should take at least " + 2 * INTERVAL + "ms, was: " + elapsed);
+    }
+
+    @Test
+    public void testBlocking() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(MESSAGE_COUNT);
+
+        ExecutorService executor = Executors.newFixedThreadPool(MESSAGE_COUNT);
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGE_COUNT; i++) {
+                executor.execute(() -> template.sendBody("direct:blocking", "<message>payload</message>"));
+            }
+            resultEndpoint.assertIsSatisfied();
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertTrue(elapsed >= 2 * INTERVAL - TOLERANCE, "Should take at least " + 2 * INTERVAL + "ms, was: " + elapsed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectExecution() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(2);
+        getMockEndpoint("mock:error").expectedMessageCount(4);
+
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("direct:reject", "<message>" + i + "</message>");
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testEvictIdleKeys() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(6);
+
+        for (int i = 0; i < 6; i++) {
+            template.sendBodyAndHeader("direct:group", "<message>" + i + "</message>", "key", "group" + (i % 3));
+        }
+
+        assertMockEndpointsSatisfied();
+
+        Throttler throttler = context.getProcessor("groupThrottler", Throttler.class);
+        assertTrue(throttler.isTokenBucket());
+        // the keys are evicted when they have been idle for 10 times the time period
+        await().atMost(2, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertEquals(0, throttler.getCurrentMaximumRequestsPerPeriod()));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:error");
+
+                from("direct:async").throttle(3).timePeriodMillis(INTERVAL).tokenBucket().asyncDelayed()
+                        .to("log:result", "mock:result");
+
+                from("direct:blocking").throttle(3).timePeriodMillis(INTERVAL).tokenBucket()
+                        .to("log:result", "mock:result");
+
+                from("direct:reject").throttle(2).timePeriodMillis(10000).tokenBucket().rejectExecution(true)
+                        .to("log:result", "mock:result");
+
+                from("direct:group").throttle(constant(5), header("key")).timePeriodMillis(20)
+                        .tokenBucket().id("groupThrottler")
+                        .to("log:result", "mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.aggregate.AggregateProcessor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AggregateLockStripesTest extends ContextTestSupport {
+
+    private final int size = 1000;
+
+    @Test
+    public void testAggregateLockStripes() throws Exception {
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final int id = i % 25;
+            final int count = i;
+            tasks.add(() -> {
+                template.sendBodyAndHeader("direct:start", "" + count, "id", id);
+                return null;
+            });
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(25);
+        mock.expectedPropertyValuesReceivedInAnyOrder(Exchange.AGGREGATED_SIZE,
+                40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40, 40);
+
+        service.invokeAll(tasks);
+
+        assertMockEndpointsSatisfied();
+        service.shutdownNow();
+    }
+
+    @Test
+    public void testAggregateLockStripesTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:timeout");
+        mock.expectedBodiesReceivedInAnyOrder("A+B", "C");
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_COMPLETED_BY, "timeout");
+
+        template.sendBodyAndHeader("direct:timeout", "A", "id", 1);
+        template.sendBodyAndHeader("direct:timeout", "B", "id", 1);
+        template.sendBodyAndHeader("direct:timeout", "C", "id", 2);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testAggregateLockStripesForceCompletion() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:force");
+        mock.expectedBodiesReceivedInAnyOrder("A+B", "C");
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_COMPLETED_BY, "force");
+
+        template.sendBodyAndHeader("direct:force", "A", "id", 1);
+        template.sendBodyAndHeader("direct:force", "B", "id", 1);
+        template.sendBodyAndHeader("direct:force", "C", "id", 2);
+
+        AggregateProcessor ap = context.getProcessor("forceAggregator", AggregateProcessor.class);
+        assertEquals(32, ap.getLockStripes());
+        assertEquals(2, ap.forceCompletionOfAllGroups());
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testAggregateLockStripesWithOptimisticLocking() throws Exception {
+        RouteBuilder builder = new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:optimistic").aggregate(header("id"), new BodyInAggregatingStrategy())
+                        .optimisticLocking().lockStripes(8).completionSize(2)
+                        .to("mock:result");
+            }
+        };
+
+        Exception e = assertThrows(Exception.class, () -> context.addRoutes(builder));
+        IllegalArgumentException cause = assertIsInstanceOf(IllegalArgumentException.class, e.getCause().getCause());
+        assertEquals("Lock striping cannot be enabled together with optimistic locking", cause.getMessage());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").aggregate(header("id"), new BodyInAggregatingStrategy()).lockStripes(8)
+                        .completionSize(40)
+                        .to("mock:result");
+
+                from("direct:timeout").aggregate(header("id"), new BodyInAggregatingStrategy())
+                        .lockStripes(32).completionTimeout(500).completionTimeoutCheckerInterval(100)
+                        .to("mock:timeout");
+
+                from("direct:force").aggregate(header("id"), new BodyInAggregatingStrategy()).id("forceAggregator")
+                        .lockStripes(32).completionSize(100)
+                        .to("mock:force");
+            }
+        };
+    }
+}
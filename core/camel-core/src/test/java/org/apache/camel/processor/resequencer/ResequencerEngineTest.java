@@ -19,6 +19,8 @@ package org.apache.camel.processor.resequencer;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.TestSupport;
@@ -93,6 +95,50 @@ public class ResequencerEngineTest extends TestSupport {
         assertEquals((Object) (Integer) 4, (Object) resequencer.getLastDelivered());
     }
 
+    @Test
+    public void testConcurrentInsert() throws Exception {
+        int input = 10000;
+        int producers = 4;
+        buffer = new SequenceBuffer<>();
+        ResequencerEngine<Integer> engine = new ResequencerEngine<>(new IntegerComparator());
+        engine.setSequenceSender(buffer);
+        // no elements should time out
+        engine.setTimeout(60000);
+        engine.setLastDelivered(-1);
+        engine.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                final int offset = p;
+                // every producer inserts every n'th element, with each pair swapped
+                executor.execute(() -> {
+                    for (int i = offset; i < input; i += 2 * producers) {
+                        if (i + producers < input) {
+                            engine.insert(i + producers);
+                        }
+                        engine.insert(i);
+                    }
+                });
+            }
+
+            // deliver while the producers are inserting
+            await().atMost(10, TimeUnit.SECONDS).until(() -> {
+                engine.deliver();
+                return buffer.size() == input;
+            });
+        } finally {
+            executor.shutdownNow();
+            engine.stop();
+        }
+
+        for (int i = 0; i < input; i++) {
+            assertEquals(i, (int) buffer.take());
+        }
+        assertEquals(0, engine.size());
+        assertEquals((Object) (Integer) (input - 1), (Object) engine.getLastDelivered());
+    }
+
     @Test
     public void testRandom() throws Exception {
         if (IGNORE_LOAD_TESTS) {
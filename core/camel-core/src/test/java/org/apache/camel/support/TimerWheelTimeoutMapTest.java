@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimerWheelTimeoutMapTest {
+
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @Test
+    public void testTimerWheelTimeoutMapPurge() throws Exception {
+        TimerWheelTimeoutMap<String, Integer> map = new TimerWheelTimeoutMap<>(executor, 100);
+        map.start();
+
+        map.put("A", 123, 50);
+        map.put("B", 456, 60000);
+        assertEquals(2, map.size());
+
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertEquals(1, map.size()));
+        assertEquals(456, (int) map.get("B"));
+
+        map.stop();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testExpiredInCorrectOrder() {
+        ManualTimeoutMap map = new ManualTimeoutMap(8);
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 140);
+        map.put("D", 4, 20);
+        map.put("E", 5, 40);
+        // is not expired
+        map.put("F", 6, 800);
+
+        map.purgeAt(200);
+        assertEquals(List.of("D", "B", "E", "A", "C"), map.evicted);
+        assertEquals(1, map.size());
+
+        map.purgeAt(800);
+        assertEquals(1, map.size());
+        map.purgeAt(801);
+        assertEquals(0, map.size());
+        assertEquals("F", map.evicted.get(5));
+    }
+
+    @Test
+    public void testExpireAfterFullRound() {
+        // a round of the wheel is 8 * 100 millis
+        ManualTimeoutMap map = new ManualTimeoutMap(8);
+        map.put("A", 1, 2050);
+        map.put("B", 2, 50);
+
+        for (long time = 100; time <= 2000; time += 100) {
+            map.purgeAt(time);
+        }
+        assertEquals(List.of("B"), map.evicted);
+
+        map.purgeAt(2100);
+        assertEquals(List.of("B", "A"), map.evicted);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testPurgeAfterLongPause() {
+        ManualTimeoutMap map = new ManualTimeoutMap(8);
+        map.put("A", 1, 150);
+        map.put("B", 2, 950);
+        map.put("C", 3, 5000);
+
+        // more than a full round since last purge
+        map.purgeAt(3000);
+        assertEquals(List.of("A", "B"), map.evicted);
+        map.purgeAt(5001);
+        assertEquals(List.of("A", "B", "C"), map.evicted);
+    }
+
+    @Test
+    public void testGetUpdatesExpireTime() {
+        ManualTimeoutMap map = new ManualTimeoutMap(8);
+        map.put("A", 1, 100);
+
+        map.time = 90;
+        assertEquals(1, (int) map.get("A"));
+
+        map.purgeAt(150);
+        assertEquals(1, map.size());
+        map.purgeAt(191);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testContainsKeyDoesNotUpdateExpireTime() {
+        ManualTimeoutMap map = new ManualTimeoutMap(8);
+        map.put("A", 1, 100);
+
+        map.time = 90;
+        assertTrue(map.containsKey("A"));
+        assertFalse(map.containsKey("B"));
+
+        map.purgeAt(150);
+        assertEquals(List.of("A"), map.evicted);
+        assertFalse(map.containsKey("A"));
+    }
+
+    @Test
+    public void testPutRemove() {
+        ManualTimeoutMap map = new ManualTimeoutMap(8);
+        map.put("A", 1, 100);
+        assertEquals(1, (int) map.put("A", 2, 300));
+        assertEquals(2, (int) map.putIfAbsent("A", 3, 50));
+        assertEquals(1, map.size());
+
+        map.purgeAt(200);
+        assertEquals(2, (int) map.get("A"));
+
+        map.put("B", 4, 10);
+        assertEquals(4, (int) map.remove("B"));
+        assertNull(map.remove("B"));
+
+        map.purgeAt(1000);
+        assertEquals(List.of("A"), map.evicted);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testNotValidForEviction() {
+        ManualTimeoutMap map = new ManualTimeoutMap(8);
+        map.put("A", 1, 10);
+        map.valid = false;
+
+        map.purgeAt(100);
+        map.purgeAt(1000);
+        assertEquals(1, map.size());
+
+        // must be evicted on the next purge when it becomes valid
+        map.valid = true;
+        map.purgeAt(1001);
+        assertEquals(List.of("A"), map.evicted);
+        assertEquals(0, map.size());
+    }
+
+    private class ManualTimeoutMap extends TimerWheelTimeoutMap<String, Integer> {
+
+        private final List<String> evicted = new ArrayList<>();
+        private long time;
+        private boolean valid = true;
+
+        ManualTimeoutMap(int wheelSize) {
+            super(executor, 100, new ReentrantLock(), wheelSize);
+            addListener((type, key, value) -> {
+                if (type == TimeoutMap.Listener.Type.Evict) {
+                    evicted.add(key);
+                }
+            });
+        }
+
+        @Override
+        protected long currentTime() {
+            return time;
+        }
+
+        @Override
+        protected boolean isValidForEviction(TimeoutMapEntry<String, Integer> entry) {
+            return valid;
+        }
+
+        void purgeAt(long time) {
+            this.time = time;
+            purge();
+        }
+    }
+
+}
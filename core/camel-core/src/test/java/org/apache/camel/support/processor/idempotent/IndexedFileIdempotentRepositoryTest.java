@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.TestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndexedFileIdempotentRepositoryTest extends TestSupport {
+
+    private File fileStore;
+    private IndexedFileIdempotentRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        fileStore = testDirectory(true).resolve("data.dat").toFile();
+        repository = new IndexedFileIdempotentRepository(fileStore);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.stop();
+    }
+
+    @Test
+    public void testAddContainsRemove() throws Exception {
+        repository.start();
+
+        assertTrue(repository.add("A"));
+        assertTrue(repository.add("B"));
+        assertFalse(repository.add("A"));
+        assertTrue(repository.contains("A"));
+        assertTrue(repository.contains("B"));
+        assertFalse(repository.contains("C"));
+        assertEquals(2, repository.getSize());
+
+        assertTrue(repository.remove("A"));
+        assertFalse(repository.remove("A"));
+        assertFalse(repository.contains("A"));
+        assertTrue(repository.add("A"));
+        assertEquals(2, repository.getSize());
+
+        // the file store is append only
+        List<String> lines = Files.readAllLines(fileStore.toPath());
+        assertEquals(List.of("+A", "+B", "-A", "+A"), lines);
+        // the removed key and its tombstone are garbage
+        assertEquals(6, repository.getGarbageSize());
+    }
+
+    @Test
+    public void testRestart() throws Exception {
+        repository.start();
+        for (int i = 0; i < 100; i++) {
+            repository.add("file" + i + ".txt");
+        }
+        repository.remove("file50.txt");
+        repository.stop();
+
+        repository.start();
+        assertEquals(99, repository.getSize());
+        assertTrue(repository.contains("file0.txt"));
+        assertTrue(repository.contains("file99.txt"));
+        assertFalse(repository.contains("file50.txt"));
+        assertFalse(repository.add("file1.txt"));
+    }
+
+    @Test
+    public void testRebuildIndex() throws Exception {
+        Files.write(fileStore.toPath(), "+A\n+B\n-A\n+C\n+D".getBytes(StandardCharsets.UTF_8));
+
+        repository.start();
+        assertEquals(2, repository.getSize());
+        assertFalse(repository.contains("A"));
+        assertTrue(repository.contains("B"));
+        assertTrue(repository.contains("C"));
+        // the incomplete entry is dropped
+        assertFalse(repository.contains("D"));
+        assertTrue(repository.add("D"));
+        assertEquals("+A\n+B\n-A\n+C\n+D\n", Files.readString(fileStore.toPath()));
+    }
+
+    @Test
+    public void testRebuildIndexNotStopped() throws Exception {
+        repository.start();
+        repository.add("A");
+        repository.add("B");
+        repository.remove("B");
+
+        // the index was not stopped properly so it is rebuilt
+        IndexedFileIdempotentRepository other = new IndexedFileIdempotentRepository(fileStore);
+        other.start();
+        try {
+            assertEquals(1, other.getSize());
+            assertTrue(other.contains("A"));
+            assertFalse(other.contains("B"));
+        } finally {
+            other.stop();
+        }
+    }
+
+    @Test
+    public void testGrowIndex() throws Exception {
+        repository.setConcurrencyLevel(2);
+        repository.setMaxFileStoreSize(0);
+        repository.start();
+
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(repository.add("key" + i));
+        }
+        assertEquals(10000, repository.getSize());
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(repository.contains("key" + i), "Should contain key" + i);
+        }
+        assertFalse(repository.contains("key10000"));
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        repository.start();
+        for (int i = 0; i < 1000; i++) {
+            repository.add("key" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            repository.remove("key" + i);
+        }
+        assertTrue(repository.getGarbageSize() > 0);
+
+        repository.compact();
+
+        assertEquals(0, repository.getGarbageSize());
+        assertEquals(500, repository.getSize());
+        List<String> lines = Files.readAllLines(fileStore.toPath());
+        assertEquals(500, lines.size());
+        assertEquals("+key1", lines.get(0));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, repository.contains("key" + i));
+        }
+        assertTrue(repository.add("key0"));
+        assertFalse(repository.add("key1"));
+
+        // and survives a restart
+        repository.stop();
+        repository.start();
+        assertEquals(501, repository.getSize());
+        assertTrue(repository.contains("key0"));
+        assertTrue(repository.contains("key999"));
+    }
+
+    @Test
+    public void testCompactInChunks() throws Exception {
+        repository.start();
+        // bigger than a chunk copied during compaction
+        String prefix = "0123456789".repeat(10);
+        String longKey = prefix.repeat(15000);
+        for (int i = 0; i < 15000; i++) {
+            repository.add(prefix + i);
+            if (i == 7000) {
+                // and a key longer than a chunk
+                repository.add(longKey);
+            }
+        }
+        for (int i = 0; i < 15000; i += 2) {
+            repository.remove(prefix + i);
+        }
+
+        repository.compact();
+
+        assertEquals(0, repository.getGarbageSize());
+        assertEquals(7501, repository.getSize());
+        assertTrue(repository.contains(longKey));
+        for (int i = 0; i < 15000; i++) {
+            assertEquals(i % 2 == 1, repository.contains(prefix + i));
+        }
+    }
+
+    @Test
+    public void testCompactDropOldest() throws Exception {
+        repository.setMaxFileStoreSize(0);
+        repository.setDropOldestFileStore(5);
+        repository.start();
+        for (int i = 0; i < 20; i++) {
+            repository.add("key" + i);
+        }
+        repository.setMaxFileStoreSize(64);
+
+        repository.compact();
+
+        for (int i = 0; i < 5; i++) {
+            assertFalse(repository.contains("key" + i));
+        }
+        for (int i = 5; i < 20; i++) {
+            assertTrue(repository.contains("key" + i));
+        }
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        repository.start();
+        repository.add("A");
+        repository.add("B");
+
+        repository.clear();
+
+        assertEquals(0, repository.getSize());
+        assertEquals(0, repository.getFileStoreSize());
+        assertFalse(repository.contains("A"));
+        assertTrue(repository.add("A"));
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        repository.setMaxFileStoreSize(0);
+        repository.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger added = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                // all threads add the same keys so each key must only be added once
+                for (int i = 0; i < 2000; i++) {
+                    if (repository.add("key" + i)) {
+                        added.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(2000, added.get());
+        assertEquals(2000, repository.getSize());
+        assertEquals(2000, Files.readAllLines(fileStore.toPath()).size());
+    }
+
+}
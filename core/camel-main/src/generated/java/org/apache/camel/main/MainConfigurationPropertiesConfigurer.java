@@ -21,6 +21,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
     public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
         org.apache.camel.main.MainConfigurationProperties target = (org.apache.camel.main.MainConfigurationProperties) obj;
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "adviceprofiling":
+        case "AdviceProfiling": target.setAdviceProfiling(property(camelContext, boolean.class, value)); return true;
         case "allowuseoriginalmessage":
         case "AllowUseOriginalMessage": target.setAllowUseOriginalMessage(property(camelContext, boolean.class, value)); return true;
         case "autoconfigurationenabled":
@@ -227,6 +229,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingSpoolDirectory": target.setStreamCachingSpoolDirectory(property(camelContext, java.lang.String.class, value)); return true;
         case "streamcachingspoolenabled":
         case "StreamCachingSpoolEnabled": target.setStreamCachingSpoolEnabled(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingspoolmemorymapped":
+        case "StreamCachingSpoolMemoryMapped": target.setStreamCachingSpoolMemoryMapped(property(camelContext, boolean.class, value)); return true;
         case "streamcachingspoolthreshold":
         case "StreamCachingSpoolThreshold": target.setStreamCachingSpoolThreshold(property(camelContext, long.class, value)); return true;
         case "streamcachingspoolusedheapmemorylimit":
@@ -262,6 +266,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
     @Override
     public Class<?> getOptionType(String name, boolean ignoreCase) {
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "adviceprofiling":
+        case "AdviceProfiling": return boolean.class;
         case "allowuseoriginalmessage":
         case "AllowUseOriginalMessage": return boolean.class;
         case "autoconfigurationenabled":
@@ -468,6 +474,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingSpoolDirectory": return java.lang.String.class;
         case "streamcachingspoolenabled":
         case "StreamCachingSpoolEnabled": return boolean.class;
+        case "streamcachingspoolmemorymapped":
+        case "StreamCachingSpoolMemoryMapped": return boolean.class;
         case "streamcachingspoolthreshold":
         case "StreamCachingSpoolThreshold": return long.class;
         case "streamcachingspoolusedheapmemorylimit":
@@ -504,6 +512,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
     public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
         org.apache.camel.main.MainConfigurationProperties target = (org.apache.camel.main.MainConfigurationProperties) obj;
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "adviceprofiling":
+        case "AdviceProfiling": return target.isAdviceProfiling();
         case "allowuseoriginalmessage":
         case "AllowUseOriginalMessage": return target.isAllowUseOriginalMessage();
         case "autoconfigurationenabled":
@@ -710,6 +720,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingSpoolDirectory": return target.getStreamCachingSpoolDirectory();
         case "streamcachingspoolenabled":
         case "StreamCachingSpoolEnabled": return target.isStreamCachingSpoolEnabled();
+        case "streamcachingspoolmemorymapped":
+        case "StreamCachingSpoolMemoryMapped": return target.isStreamCachingSpoolMemoryMapped();
         case "streamcachingspoolthreshold":
         case "StreamCachingSpoolThreshold": return target.getStreamCachingSpoolThreshold();
         case "streamcachingspoolusedheapmemorylimit":
@@ -62,6 +62,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private boolean streamCachingSpoolEnabled;
     private String streamCachingSpoolDirectory;
     private String streamCachingSpoolCipher;
+    private boolean streamCachingSpoolMemoryMapped;
     private long streamCachingSpoolThreshold;
     private int streamCachingSpoolUsedHeapMemoryThreshold;
     private String streamCachingSpoolUsedHeapMemoryLimit;
@@ -72,6 +73,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private boolean debugging;
     private boolean backlogTracing;
     private boolean typeConverterStatisticsEnabled;
+    private boolean adviceProfiling;
     private boolean tracing;
     private boolean tracingStandby;
     private String tracingPattern;
@@ -501,6 +503,20 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingSpoolCipher = streamCachingSpoolCipher;
     }
 
+    public boolean isStreamCachingSpoolMemoryMapped() {
+        return streamCachingSpoolMemoryMapped;
+    }
+
+    /**
+     * Sets whether stream caching should read spooled data using memory-mapped files. When enabled, re-reading the
+     * stream cache (such as after reset or when copied for multicast) reads from the mapped (off-heap) memory instead of
+     * opening and reading the spool file again. This is not in use when a spool cipher has been configured, or on
+     * Windows.
+     */
+    public void setStreamCachingSpoolMemoryMapped(boolean streamCachingSpoolMemoryMapped) {
+        this.streamCachingSpoolMemoryMapped = streamCachingSpoolMemoryMapped;
+    }
+
     public long getStreamCachingSpoolThreshold() {
         return streamCachingSpoolThreshold;
     }
@@ -599,6 +615,22 @@ public abstract class DefaultConfigurationProperties<T> {
         this.typeConverterStatisticsEnabled = typeConverterStatisticsEnabled;
     }
 
+    public boolean isAdviceProfiling() {
+        return adviceProfiling;
+    }
+
+    /**
+     * Sets whether advice profiling is enabled.
+     *
+     * When enabled then Camel profiles the time spent and the bytes allocated by each of the internal advices (such as
+     * route policies, message history, tracing and JMX statistics) executed around the routes and EIP nodes. The results
+     * are available from JMX and the developer console. Notice: If enabled then there is a performance impact, so this
+     * should only be enabled while investigating performance problems.
+     */
+    public void setAdviceProfiling(boolean adviceProfiling) {
+        this.adviceProfiling = adviceProfiling;
+    }
+
     public boolean isTracing() {
         return tracing;
     }
@@ -1827,6 +1859,17 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Sets whether stream caching should read spooled data using memory-mapped files. When enabled, re-reading the
+     * stream cache (such as after reset or when copied for multicast) reads from the mapped (off-heap) memory instead of
+     * opening and reading the spool file again. This is not in use when a spool cipher has been configured, or on
+     * Windows.
+     */
+    public T withStreamCachingSpoolMemoryMapped(boolean streamCachingSpoolMemoryMapped) {
+        this.streamCachingSpoolMemoryMapped = streamCachingSpoolMemoryMapped;
+        return (T) this;
+    }
+
     /**
      * Stream caching threshold in bytes when overflow to disk is activated. The default threshold is 128kb. Use -1 to
      * disable overflow to disk.
@@ -1901,6 +1944,19 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Sets whether advice profiling is enabled.
+     *
+     * When enabled then Camel profiles the time spent and the bytes allocated by each of the internal advices (such as
+     * route policies, message history, tracing and JMX statistics) executed around the routes and EIP nodes. The results
+     * are available from JMX and the developer console. Notice: If enabled then there is a performance impact, so this
+     * should only be enabled while investigating performance problems.
+     */
+    public T withAdviceProfiling(boolean adviceProfiling) {
+        this.adviceProfiling = adviceProfiling;
+        return (T) this;
+    }
+
     /**
      * Sets whether tracing is enabled or not.
      *
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class MainThreadPoolTest {
 
@@ -118,6 +119,29 @@ public class MainThreadPoolTest {
         main.stop();
     }
 
+    @Test
+    public void testVirtualThreadPool() throws Exception {
+        Main main = new Main();
+        main.configure().addRoutesBuilder(new MyRouteBuilder());
+        main.addProperty("camel.threadpool.config[myPool].id", "myPool");
+        main.addProperty("camel.threadpool.config[myPool].max-pool-size", "500");
+        main.addProperty("camel.threadpool.config[myPool].virtual-threads", "true");
+        main.start();
+
+        CamelContext camelContext = main.getCamelContext();
+        assertNotNull(camelContext);
+
+        ThreadPoolProfile tp = camelContext.getExecutorServiceManager().getDefaultThreadPoolProfile();
+        assertNull(tp.getVirtualThreads());
+
+        tp = camelContext.getExecutorServiceManager().getThreadPoolProfile("myPool");
+        assertEquals("myPool", tp.getId());
+        assertEquals("500", tp.getMaxPoolSize().toString());
+        assertEquals(Boolean.TRUE, tp.getVirtualThreads());
+
+        main.stop();
+    }
+
     public static class MyRouteBuilder extends RouteBuilder {
         @Override
         public void configure() throws Exception {
@@ -282,4 +282,28 @@ public final class CamelOpenMBeanTypes {
                         SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING });
     }
 
+    public static TabularType listAdviceProfilerTabularType() throws OpenDataException {
+        CompositeType ct = listAdviceProfilerCompositeType();
+        return new TabularType(
+                "listAdviceProfiler", "Lists the time spent and bytes allocated per advice", ct,
+                new String[] { "routeId", "nodeId", "advice" });
+    }
+
+    public static CompositeType listAdviceProfilerCompositeType() throws OpenDataException {
+        return new CompositeType(
+                "advices", "Advices",
+                new String[] {
+                        "routeId", "nodeId", "advice", "count", "totalTime", "meanTime", "p50Time", "p99Time", "p999Time",
+                        "maxTime", "totalBytes", "meanBytes", "p50Bytes", "p99Bytes", "maxBytes" },
+                new String[] {
+                        "Route Id", "Node Id", "Advice", "Count", "Total Time (nanos)", "Mean Time (nanos)",
+                        "50th Percentile Time (nanos)", "99th Percentile Time (nanos)", "99.9th Percentile Time (nanos)",
+                        "Max Time (nanos)", "Total Allocated (bytes)", "Mean Allocated (bytes)",
+                        "50th Percentile Allocated (bytes)", "99th Percentile Allocated (bytes)", "Max Allocated (bytes)" },
+                new OpenType[] {
+                        SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.LONG, SimpleType.LONG,
+                        SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG,
+                        SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG });
+    }
+
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import javax.management.openmbean.TabularData;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedAdviceProfilerMBean extends ManagedServiceMBean {
+
+    @ManagedAttribute(description = "Is advice profiling enabled")
+    boolean isEnabled();
+
+    @ManagedAttribute(description = "Is advice profiling enabled")
+    void setEnabled(boolean enabled);
+
+    @ManagedAttribute(description = "Whether the allocated bytes are profiled (requires the JVM to support thread allocated memory)")
+    boolean isAllocationProfiling();
+
+    @ManagedAttribute(description = "Number of profiled advices")
+    int getSize();
+
+    @ManagedOperation(description = "Lists the time spent and bytes allocated per advice, with the most expensive advices first")
+    TabularData listStatistics();
+
+    @ManagedOperation(description = "Lists the time spent and bytes allocated per advice of the given route, with the most expensive advices first")
+    TabularData listStatistics(String routeId);
+
+    @ManagedOperation(description = "Resets the profiled statistics")
+    void reset();
+
+}
@@ -38,4 +38,13 @@ public interface ManagedMulticastMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "The total timeout specified in millis, when using parallel processing.")
     Long getTimeout();
 
+    @ManagedAttribute(description = "The maximum number of sub messages in flight, when using parallel processing.")
+    Integer getMaxInFlight();
+
+    @ManagedAttribute(description = "Number of sub messages currently being processed, when using parallel processing with max in flight.")
+    Integer getSubExchangesInFlight();
+
+    @ManagedAttribute(description = "Number of completed sub messages currently waiting to be aggregated, when using parallel processing with max in flight.")
+    Integer getSubExchangesBuffered();
+
 }
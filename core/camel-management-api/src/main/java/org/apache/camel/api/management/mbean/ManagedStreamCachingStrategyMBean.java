@@ -41,6 +41,9 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Cipher used if writing with encryption")
     String getSpoolCipher();
 
+    @ManagedAttribute(description = "Whether spooled data is read using memory-mapped files")
+    boolean isSpoolMemoryMapped();
+
     @ManagedAttribute(description = "Threshold in bytes when overflow and spooling to disk instead of keeping in memory")
     void setSpoolThreshold(long threshold);
 
@@ -95,6 +98,12 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
     long getCacheSpoolAverageSize();
 
+    @ManagedAttribute(description = "Number of bytes currently used by the spool files in the spool directory")
+    long getCacheSpoolUsedSpace();
+
+    @ManagedAttribute(description = "Number of bytes available for spooling in the file system of the spool directory")
+    long getCacheSpoolFreeSpace();
+
     @ManagedAttribute(description = "Whether utilization statistics is enabled")
     boolean isStatisticsEnabled();
 
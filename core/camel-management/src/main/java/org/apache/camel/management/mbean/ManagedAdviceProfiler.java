@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
+import org.apache.camel.api.management.mbean.ManagedAdviceProfilerMBean;
+import org.apache.camel.impl.engine.AdviceProfiler;
+
+@ManagedResource(description = "Managed AdviceProfiler")
+public class ManagedAdviceProfiler extends ManagedService implements ManagedAdviceProfilerMBean {
+
+    private final AdviceProfiler profiler;
+
+    public ManagedAdviceProfiler(CamelContext context, AdviceProfiler profiler) {
+        super(context, profiler);
+        this.profiler = profiler;
+    }
+
+    public AdviceProfiler getProfiler() {
+        return profiler;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return profiler.isEnabled();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        profiler.setEnabled(enabled);
+    }
+
+    @Override
+    public boolean isAllocationProfiling() {
+        return profiler.isAllocationProfiling();
+    }
+
+    @Override
+    public int getSize() {
+        return profiler.getRecorders().size();
+    }
+
+    @Override
+    public TabularData listStatistics() {
+        return listStatistics(null);
+    }
+
+    @Override
+    public TabularData listStatistics(String routeId) {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.listAdviceProfilerTabularType());
+            for (AdviceProfiler.Recorder recorder : profiler.getRecorders()) {
+                if (routeId != null && !routeId.equals(recorder.getRouteId())) {
+                    continue;
+                }
+                CompositeType ct = CamelOpenMBeanTypes.listAdviceProfilerCompositeType();
+                AdviceProfiler.Histogram time = recorder.getTime();
+                AdviceProfiler.Histogram bytes = recorder.getAllocated();
+                CompositeData data = new CompositeDataSupport(
+                        ct,
+                        new String[] {
+                                "routeId", "nodeId", "advice", "count", "totalTime", "meanTime", "p50Time", "p99Time",
+                                "p999Time", "maxTime", "totalBytes", "meanBytes", "p50Bytes", "p99Bytes", "maxBytes" },
+                        new Object[] {
+                                recorder.getRouteId(), recorder.getNodeId(), recorder.getAdvice(), time.getCount(),
+                                time.getTotal(), time.getMean(), time.getValueAtPercentile(50),
+                                time.getValueAtPercentile(99), time.getValueAtPercentile(99.9), time.getMax(),
+                                bytes.getTotal(), bytes.getMean(), bytes.getValueAtPercentile(50),
+                                bytes.getValueAtPercentile(99), bytes.getMax() });
+                answer.put(data);
+            }
+            return answer;
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    @Override
+    public void reset() {
+        profiler.reset();
+    }
+}
@@ -60,4 +60,19 @@ public class ManagedMulticast extends ManagedProcessor implements ManagedMultica
     public Long getTimeout() {
         return processor.getTimeout();
     }
+
+    @Override
+    public Integer getMaxInFlight() {
+        return processor.getMaxInFlight();
+    }
+
+    @Override
+    public Integer getSubExchangesInFlight() {
+        return processor.getSubExchangesInFlight();
+    }
+
+    @Override
+    public Integer getSubExchangesBuffered() {
+        return processor.getSubExchangesBuffered();
+    }
 }
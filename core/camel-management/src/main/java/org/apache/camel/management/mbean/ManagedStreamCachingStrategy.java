@@ -65,6 +65,11 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getSpoolCipher();
     }
 
+    @Override
+    public boolean isSpoolMemoryMapped() {
+        return streamCachingStrategy.isSpoolMemoryMapped();
+    }
+
     @Override
     public void setSpoolThreshold(long threshold) {
         streamCachingStrategy.setSpoolThreshold(threshold);
@@ -182,6 +187,16 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
     }
 
+    @Override
+    public long getCacheSpoolUsedSpace() {
+        return streamCachingStrategy.getStatistics().getCacheSpoolUsedSpace();
+    }
+
+    @Override
+    public long getCacheSpoolFreeSpace() {
+        return streamCachingStrategy.getStatistics().getCacheSpoolFreeSpace();
+    }
+
     @Override
     public boolean isStatisticsEnabled() {
         return streamCachingStrategy.getStatistics().isStatisticsEnabled();
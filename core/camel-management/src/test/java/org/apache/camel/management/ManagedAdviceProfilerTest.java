@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_SERVICE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.AIX)
+public class ManagedAdviceProfilerTest extends ManagementTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setAdviceProfiling(true);
+        return context;
+    }
+
+    @Test
+    public void testAdviceProfiler() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(5);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName name = getCamelObjectName(TYPE_SERVICE, "AdviceProfiler");
+        assertTrue(mbeanServer.isRegistered(name), "Should be registered");
+
+        Boolean enabled = (Boolean) mbeanServer.getAttribute(name, "Enabled");
+        assertTrue(enabled);
+        Integer size = (Integer) mbeanServer.getAttribute(name, "Size");
+        assertTrue(size > 0);
+
+        TabularData data = (TabularData) mbeanServer.invoke(name, "listStatistics", new Object[] { "foo" },
+                new String[] { "java.lang.String" });
+        assertEquals(size.intValue(), data.size());
+
+        // the JMX performance statistics of the processor node
+        CompositeData row = (CompositeData) data.get(new Object[] { "foo", "myProcessor", "DefaultInstrumentationProcessor" });
+        assertEquals(5L, row.get("count"));
+        assertTrue((Long) row.get("totalTime") > 0);
+        assertTrue((Long) row.get("maxTime") >= (Long) row.get("p99Time"));
+
+        mbeanServer.invoke(name, "reset", null, null);
+        data = (TabularData) mbeanServer.invoke(name, "listStatistics", null, null);
+        row = (CompositeData) data.get(new Object[] { "foo", "myProcessor", "DefaultInstrumentationProcessor" });
+        assertEquals(0L, row.get("count"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                        .process(exchange -> exchange.getMessage().setHeader("foo", "bar")).id("myProcessor")
+                        .to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_PROCESSOR;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisabledOnOs(OS.AIX)
+public class ManagedSplitterMaxInFlightTest extends ManagementTestSupport {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @Test
+    public void testManageSplitterMaxInFlight() throws Exception {
+        MockEndpoint foo = getMockEndpoint("mock:foo");
+        foo.expectedMessageCount(10);
+
+        template.asyncSendBody("direct:start", "A,B,C,D,E,F,G,H,I,J");
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = getCamelObjectName(TYPE_PROCESSOR, "mysplit");
+
+        assertEquals(3, mbeanServer.getAttribute(on, "MaxInFlight"));
+        // the splitter should pause when 3 split messages are in flight
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertEquals(3, mbeanServer.getAttribute(on, "SubExchangesInFlight")));
+        Thread.sleep(100);
+        assertEquals(3, mbeanServer.getAttribute(on, "SubExchangesInFlight"));
+        assertEquals(0, mbeanServer.getAttribute(on, "SubExchangesBuffered"));
+        assertEquals(0, foo.getReceivedCounter());
+
+        latch.countDown();
+
+        assertMockEndpointsSatisfied();
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertEquals(0, mbeanServer.getAttribute(on, "SubExchangesInFlight")));
+        assertEquals(0, mbeanServer.getAttribute(on, "SubExchangesBuffered"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                        .split(body().tokenize(",")).streaming().parallelProcessing().maxInFlight(3).id("mysplit")
+                            .process(e -> latch.await(10, TimeUnit.SECONDS))
+                            .to("mock:foo");
+            }
+        };
+    }
+
+}
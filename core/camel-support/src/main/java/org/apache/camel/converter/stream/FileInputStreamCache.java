@@ -23,12 +23,18 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.crypto.CipherInputStream;
 import javax.crypto.CipherOutputStream;
@@ -52,12 +58,26 @@ import org.slf4j.LoggerFactory;
  * A {@link StreamCache} for {@link File}s
  */
 public final class FileInputStreamCache extends InputStream implements StreamCache {
+    // the number of bytes used by the temporary files per spool directory
+    private static final Map<File, AtomicLong> SPOOL_USED_SPACE = new ConcurrentHashMap<>();
+
     private InputStream stream;
     private final long length;
     private final FileInputStreamCache.TempFileManager tempFileManager;
     private final File file;
     private final CipherPair ciphers;
 
+    /**
+     * Gets the number of bytes currently used by the temporary files in the given spool directory.
+     *
+     * @param  spoolDirectory the spool directory
+     * @return                the number of bytes
+     */
+    public static long getSpoolUsedSpace(File spoolDirectory) {
+        AtomicLong answer = spoolDirectory != null ? SPOOL_USED_SPACE.get(spoolDirectory) : null;
+        return answer != null ? answer.get() : 0;
+    }
+
     /** Only for testing purposes. */
     public FileInputStreamCache(File file) throws FileNotFoundException {
         this(new TempFileManager(file, true));
@@ -170,6 +190,13 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
     }
 
     private InputStream createInputStream(File file) throws IOException {
+        if (tempFileManager.isMemoryMapped()) {
+            // read from a view of the memory-mapped file (no copying of the data)
+            ByteBuffer view = tempFileManager.getMappedView();
+            if (view != null) {
+                return new MappedInputStream(view);
+            }
+        }
         InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath(), StandardOpenOption.READ));
         if (ciphers != null) {
             in = new CipherInputStream(in, ciphers.createDecryptor()) {
@@ -187,6 +214,47 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         return in;
     }
 
+    /**
+     * Input stream that reads from a view of the memory-mapped temporary file.
+     */
+    private static final class MappedInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public long skip(long n) {
+            int len = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + len);
+            return len;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
     /**
      * Manages the temporary file for the file input stream caches.
      * 
@@ -206,6 +274,11 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private File tempFile;
         private OutputStream outputStream; // file output stream
         private CipherPair ciphers;
+        private boolean memoryMapped;
+        private volatile MappedByteBuffer mappedBuffer;
+        private AtomicLong spoolDirectoryUsedSpace;
+        // the size of the temporary file counted in the used space of the spool directory
+        private long spoolUsedSpace;
 
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
@@ -301,6 +374,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                 throw new IOException(error);
             }
             tempFile = FileUtil.createTempFile("cos", ".tmp", strategy.getSpoolDirectory());
+            spoolDirectoryUsedSpace = SPOOL_USED_SPACE.computeIfAbsent(strategy.getSpoolDirectory(), k -> new AtomicLong());
 
             LOG.trace("Creating temporary stream cache file: {}", tempFile);
             OutputStream out = new BufferedOutputStream(
@@ -325,11 +399,41 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                     }
                 };
             }
+            // memory-mapped cannot be used with cipher as the data must be decrypted when reading,
+            // and not on Windows as the file cannot be deleted until the mapped memory is garbage collected
+            memoryMapped = strategy.isSpoolMemoryMapped() && ciphers == null && !FileUtil.isWindows();
             outputStream = out;
             return out;
         }
 
+        boolean isMemoryMapped() {
+            return memoryMapped;
+        }
+
+        /**
+         * Gets a view of the memory-mapped temporary file which shares the mapped memory but has its own position. The
+         * file is mapped on first use (and mapped again if more data has been written to the file since).
+         *
+         * @return the view, or <tt>null</tt> if the file is too big to be mapped.
+         */
+        synchronized ByteBuffer getMappedView() throws IOException {
+            if (tempFile == null) {
+                throw new IOException("Cached file has been deleted");
+            }
+            long len = tempFile.length();
+            if (len > Integer.MAX_VALUE) {
+                return null;
+            }
+            if (mappedBuffer == null || mappedBuffer.capacity() != len) {
+                try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.READ)) {
+                    mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, len);
+                }
+            }
+            return mappedBuffer.duplicate();
+        }
+
         FileInputStreamCache newStreamCache() throws IOException {
+            updateSpoolUsedSpace();
             try {
                 return new FileInputStreamCache(this);
             } catch (FileNotFoundException e) {
@@ -346,13 +450,33 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
         }
 
+        /**
+         * Counts the size of the temporary file (written so far) in the used space of the spool directory
+         */
+        private synchronized void updateSpoolUsedSpace() {
+            if (tempFile != null && spoolDirectoryUsedSpace != null) {
+                long length = tempFile.length();
+                spoolDirectoryUsedSpace.addAndGet(length - spoolUsedSpace);
+                spoolUsedSpace = length;
+            }
+        }
+
         void cleanUpTempFile() {
             // cleanup temporary file
             try {
+                // the mapped memory is not unmapped explicitly, as it could still be read from a stream cache which
+                // has not been closed, but is released when the views are garbage collected
+                mappedBuffer = null;
                 if (tempFile != null) {
                     FileUtil.deleteFile(tempFile);
                     tempFile = null;
                 }
+                synchronized (this) {
+                    if (spoolDirectoryUsedSpace != null) {
+                        spoolDirectoryUsedSpace.addAndGet(-spoolUsedSpace);
+                        spoolUsedSpace = 0;
+                    }
+                }
             } catch (Exception e) {
                 LOG.warn("Error deleting temporary cache file: {}. This exception will be ignored.", tempFile, e);
             }
@@ -89,6 +89,7 @@ class AbstractExchange implements ExtendedExchange {
     boolean streamCacheDisabled;
     Boolean errorHandlerHandled;
     AsyncCallback defaultConsumerCallback; // optimize (do not reset)
+    int inflightSlot;
     Map<String, SafeCopyProperty> safeCopyProperties;
 
     public AbstractExchange(CamelContext context) {
@@ -926,6 +927,16 @@ class AbstractExchange implements ExtendedExchange {
         this.defaultConsumerCallback = defaultConsumerCallback;
     }
 
+    @Override
+    public int getInflightSlot() {
+        return inflightSlot;
+    }
+
+    @Override
+    public void setInflightSlot(int inflightSlot) {
+        this.inflightSlot = inflightSlot;
+    }
+
     protected String createExchangeId() {
         return context.getUuidGenerator().generateExchangeUuid();
     }
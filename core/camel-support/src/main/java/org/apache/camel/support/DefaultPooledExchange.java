@@ -122,6 +122,7 @@ public final class DefaultPooledExchange extends AbstractExchange implements Poo
             this.redeliveryExhausted = false;
             this.errorHandlerHandled = null;
             this.streamCacheDisabled = false;
+            this.inflightSlot = 0;
 
             if (onDone != null) {
                 onDone.onDone(this);
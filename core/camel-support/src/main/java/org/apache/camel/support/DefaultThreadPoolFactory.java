@@ -34,6 +34,7 @@ import org.apache.camel.StaticService;
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
@@ -64,6 +65,19 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
         // allow core thread timeout is default true if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : true;
+        ThreadFactory threadFactory = resolveThreadFactory(profile, factory);
+        if (threadFactory instanceof CamelThreadFactory && ((CamelThreadFactory) threadFactory).isVirtual()) {
+            // virtual threads are cheap to start, so use the max pool size as the pool size, to start a new thread for
+            // every task until max pool size threads are running before queuing tasks, and let idle threads time out
+            return newThreadPool(profile.getMaxPoolSize(),
+                    profile.getMaxPoolSize(),
+                    profile.getKeepAliveTime(),
+                    profile.getTimeUnit(),
+                    profile.getMaxQueueSize(),
+                    true,
+                    profile.getRejectedExecutionHandler(),
+                    threadFactory);
+        }
         return newThreadPool(profile.getPoolSize(),
                 profile.getMaxPoolSize(),
                 profile.getKeepAliveTime(),
@@ -71,7 +85,7 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
                 profile.getMaxQueueSize(),
                 allow,
                 profile.getRejectedExecutionHandler(),
-                factory);
+                threadFactory);
     }
 
     public ExecutorService newThreadPool(
@@ -125,7 +139,8 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
         }
 
         ScheduledThreadPoolExecutor answer
-                = new RejectableScheduledThreadPoolExecutor(profile.getPoolSize(), threadFactory, rejectedExecutionHandler);
+                = new RejectableScheduledThreadPoolExecutor(
+                        profile.getPoolSize(), resolveThreadFactory(profile, threadFactory), rejectedExecutionHandler);
         answer.setRemoveOnCancelPolicy(true);
 
         // need to wrap the thread pool in a sized to guard against the problem that the
@@ -138,4 +153,19 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
         }
     }
 
+    /**
+     * Resolves the thread factory to use for the given profile, which creates virtual threads if enabled on the
+     * profile. The thread pool itself is still a regular (rejectable) thread pool executor so the thread naming, the
+     * rejected policy and the JMX statistics are the same as with platform threads.
+     */
+    protected ThreadFactory resolveThreadFactory(ThreadPoolProfile profile, ThreadFactory factory) {
+        if (Boolean.TRUE.equals(profile.getVirtualThreads()) && factory instanceof CamelThreadFactory) {
+            CamelThreadFactory ctf = (CamelThreadFactory) factory;
+            if (!ctf.isVirtual()) {
+                return ctf.withVirtualThreads();
+            }
+        }
+        return factory;
+    }
+
 }
@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Comparator.comparing;
+import static org.apache.camel.TimeoutMap.Listener.Type.Evict;
+import static org.apache.camel.TimeoutMap.Listener.Type.Put;
+import static org.apache.camel.TimeoutMap.Listener.Type.Remove;
+
+/**
+ * A {@link org.apache.camel.TimeoutMap} which keeps the entries in a hashed timer wheel, so adding, removing and
+ * expiring an entry takes constant time. Each purge only visits the slots of the wheel for the time elapsed since the
+ * previous purge, instead of all the entries as {@link DefaultTimeoutMap} does.
+ * <p/>
+ * The wheel has a slot per purge poll time, and entries which expire after a full round of the wheel are kept in the
+ * slot of their expiry time, and skipped until they expire. The entries are evicted in the same manner as
+ * {@link DefaultTimeoutMap}, in the order of their expiry time, and the same listener events are emitted.
+ * <p/>
+ * By default locking is enabled, and this map is thread safe. When locking is disabled, then this map is not thread
+ * safe, as the slots of the wheel are linked lists, so the caller must guard the {@link #get(Object)},
+ * {@link #put(Object, Object, long)}, {@link #putIfAbsent(Object, Object, long)} and {@link #remove(Object)} operations
+ * with its own lock, and also the purge, which runs on the given {@link ScheduledExecutorService}, by overriding
+ * {@link #purge()} to acquire the same lock. Only {@link #size()} and {@link #containsKey(Object)} can be called
+ * without the lock.
+ * <p/>
+ * You must invoke {@link #start()} to startup the timeout map, before its ready to be used. And you must invoke
+ * {@link #stop()} to stop the map when no longer in use.
+ */
+public class TimerWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V> {
+
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, WheelEntry<K, V>> map = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> future;
+    private final long purgePollTime;
+    private final Lock lock;
+    private final List<Listener<K, V>> listeners = new ArrayList<>(2);
+    private final WheelEntry<K, V>[] wheel;
+    private final long tickDuration;
+    // the tick of the slot which was purged last, or -1 if not purged yet
+    private long currentTick = -1;
+
+    public TimerWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public TimerWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        this(executor, requestMapPollTimeMillis, true);
+    }
+
+    public TimerWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, boolean useLock) {
+        this(executor, requestMapPollTimeMillis, useLock ? new ReentrantLock() : NoLock.INSTANCE);
+    }
+
+    public TimerWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, Lock lock) {
+        this(executor, requestMapPollTimeMillis, lock, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates the map with the given number of slots in the wheel, which is rounded up to a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, Lock lock,
+                                int wheelSize) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("WheelSize must be positive, was: " + wheelSize);
+        }
+        this.executor = executor;
+        this.purgePollTime = requestMapPollTimeMillis;
+        this.lock = lock;
+        this.tickDuration = Math.max(1, requestMapPollTimeMillis);
+        this.wheel = new WheelEntry[1 << (32 - Integer.numberOfLeadingZeros(wheelSize - 1))];
+        for (int i = 0; i < wheel.length; i++) {
+            // each slot is a circular list with a sentinel head
+            WheelEntry<K, V> head = new WheelEntry<>(null, null, 0);
+            head.prev = head;
+            head.next = head;
+            wheel[i] = head;
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        WheelEntry<K, V> entry;
+        lock.lock();
+        try {
+            entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            updateExpireTime(entry);
+            unlink(entry);
+            link(entry);
+        } finally {
+            lock.unlock();
+        }
+        return entry.getValue();
+    }
+
+    @Override
+    public V put(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        lock.lock();
+        try {
+            updateExpireTime(entry);
+            WheelEntry<K, V> result = map.put(key, entry);
+            if (result != null) {
+                unlink(result);
+            }
+            link(entry);
+            return unwrap(result);
+        } finally {
+            lock.unlock();
+            emitEvent(Put, key, value);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        WheelEntry<K, V> result = null;
+        lock.lock();
+        try {
+            updateExpireTime(entry);
+            //Just make sure we don't override the old entry
+            result = map.putIfAbsent(key, entry);
+            if (result == null) {
+                link(entry);
+            }
+            return unwrap(result);
+        } finally {
+            lock.unlock();
+            if (result != entry) {
+                emitEvent(Put, key, value); // conditional on map being changed
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        V value = null;
+        lock.lock();
+        try {
+            WheelEntry<K, V> entry = map.remove(key);
+            if (entry != null) {
+                unlink(entry);
+            }
+            value = unwrap(entry);
+            return value;
+        } finally {
+            lock.unlock();
+            if (value != null) {
+                emitEvent(Remove, key, value); // conditional on map being changed
+            }
+        }
+    }
+
+    /**
+     * Whether the map contains the given key. Unlike {@link #get(Object)} the expire time of the entry is not updated.
+     */
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The timer task which purges old requests and schedules another poll
+     */
+    private void purgeTask() {
+        // only purge if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries have been timed out");
+        try {
+            purge();
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the executor will now schedule next purgeTask
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    protected void purge() {
+        log.trace("There are {} in the timeout map", map.size());
+        if (map.isEmpty()) {
+            return;
+        }
+
+        long now = currentTime();
+        long nowTick = now / tickDuration;
+
+        List<WheelEntry<K, V>> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            // visit the slots from the one purged last (which can have entries not expired at that time),
+            // but each slot only once, if more than a full round has passed
+            long fromTick = currentTick < 0 ? nowTick : currentTick;
+            long toTick = Math.min(nowTick, fromTick + wheel.length - 1);
+            List<WheelEntry<K, V>> notValid = null;
+            for (long tick = fromTick; tick <= toTick; tick++) {
+                WheelEntry<K, V> head = wheel[(int) (tick & (wheel.length - 1))];
+                WheelEntry<K, V> entry = head.next;
+                while (entry != head) {
+                    WheelEntry<K, V> next = entry.next;
+                    if (entry.getExpireTime() < now) {
+                        unlink(entry);
+                        if (isValidForEviction(entry)) {
+                            log.debug("Evicting inactive entry ID: {}", entry);
+                            map.remove(entry.getKey());
+                            expired.add(entry);
+                        } else {
+                            // must be checked again on the next purge
+                            if (notValid == null) {
+                                notValid = new ArrayList<>();
+                            }
+                            notValid.add(entry);
+                        }
+                    }
+                    entry = next;
+                }
+            }
+            currentTick = Math.max(currentTick, nowTick);
+            if (notValid != null) {
+                for (WheelEntry<K, V> entry : notValid) {
+                    link(entry);
+                }
+            }
+
+            // sort according to the expired time so we got the first expired first
+            expired.sort(comparing(TimeoutMapEntry::getExpireTime));
+        } finally {
+            lock.unlock();
+            for (WheelEntry<K, V> entry : expired) {
+                emitEvent(Evict, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void addListener(Listener<K, V> listener) {
+        this.listeners.add(listener);
+    }
+
+    private void emitEvent(Listener.Type type, K key, V value) {
+        for (Listener<K, V> listener : listeners) {
+            try {
+                listener.timeoutMapEvent(type, key, value);
+            } catch (Throwable t) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(entry.getTimeout() + now);
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    private void link(WheelEntry<K, V> entry) {
+        long tick = entry.getExpireTime() / tickDuration;
+        if (currentTick < 0) {
+            currentTick = currentTime() / tickDuration;
+        }
+        // an entry that expires before the slot purged last must be in that slot to be visited by the next purge
+        tick = Math.max(tick, currentTick);
+        WheelEntry<K, V> head = wheel[(int) (tick & (wheel.length - 1))];
+        entry.prev = head.prev;
+        entry.next = head;
+        head.prev.next = entry;
+        head.prev = entry;
+    }
+
+    private static <K, V> void unlink(WheelEntry<K, V> entry) {
+        if (entry.next != null) {
+            entry.prev.next = entry.next;
+            entry.next.prev = entry.prev;
+            entry.prev = null;
+            entry.next = null;
+        }
+    }
+
+    private static <K, V> V unwrap(WheelEntry<K, V> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        future = executor.scheduleWithFixedDelay(this::purgeTask, 0, purgePollTime, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        lock.lock();
+        try {
+            // clear map if we stop
+            map.clear();
+            for (WheelEntry<K, V> head : wheel) {
+                head.prev = head;
+                head.next = head;
+            }
+            currentTick = -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An entry which is linked in a slot of the wheel
+     */
+    private static final class WheelEntry<K, V> extends TimeoutMapEntry<K, V> {
+
+        private WheelEntry<K, V> prev;
+        private WheelEntry<K, V> next;
+
+        private WheelEntry(K key, V value, long timeout) {
+            super(key, value, timeout);
+        }
+    }
+
+}
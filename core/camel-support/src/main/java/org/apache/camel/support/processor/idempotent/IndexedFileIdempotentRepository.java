@@ -0,0 +1,1070 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} that is designed for stores with a
+ * large number of keys.
+ * <p/>
+ * Unlike {@link FileIdempotentRepository} this implementation never rewrites the file store when keys are added or
+ * removed. The file store is an append-only log where each line is a key prefixed with <tt>+</tt> when added, or with
+ * <tt>-</tt> when removed. The keys are located by an on-disk hash index (stored next to the file store with the
+ * <tt>.idx</tt> extension by default) which is memory mapped, so starting the repository does not read the file store
+ * into memory. The index is only rebuilt from the file store if it is missing or was not closed properly.
+ * <p/>
+ * The index is split into a number of segments (see {@link #setConcurrencyLevel(int)}) which each have their own lock,
+ * so keys in different segments can be added, checked and removed in parallel.
+ * <p/>
+ * Removed keys leave garbage in the file store which is reclaimed by compacting the file store in the background,
+ * when the amount of garbage is above the {@link #setCompactionThreshold(double) compaction threshold}. If the file
+ * store grows bigger than the {@link #setMaxFileStoreSize(long) maximum capacity}, then the
+ * {@link #getDropOldestFileStore()} number of oldest entries is dropped during compaction to make room for newer
+ * entries.
+ */
+@ManagedResource(description = "Indexed file based idempotent repository")
+public class IndexedFileIdempotentRepository extends ServiceSupport implements IdempotentRepository, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexedFileIdempotentRepository.class);
+
+    private static final byte ADD = '+';
+    private static final byte REMOVE = '-';
+    private static final byte DELIMITER = '\n';
+
+    // do not bother compacting small file stores due to removed keys
+    private static final long COMPACTION_MIN_FILE_SIZE = 1024 * 1024L;
+    // the number of bytes of the file store copied at a time during compaction
+    private static final long COMPACTION_CHUNK_SIZE = 1024 * 1024L;
+
+    private CamelContext camelContext;
+    private File fileStore;
+    private File indexFile;
+    private int concurrencyLevel = 16;
+    private long maxFileStoreSize = 32 * 1024 * 1000L; // 32mb store file
+    private long dropOldestFileStore = 1000;
+    private double compactionThreshold = 0.5d;
+
+    // the read lock is held by all operations, and the write lock when the files are replaced or resized
+    private final ReentrantReadWriteLock storeLock = new ReentrantReadWriteLock();
+    private final Object appendLock = new Object();
+    private final AtomicLong liveBytes = new AtomicLong();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private ReentrantLock[] stripes;
+    private FileChannel data;
+    private volatile long dataPosition;
+    private Index index;
+    private long generation;
+    private ExecutorService executorService;
+
+    public IndexedFileIdempotentRepository() {
+    }
+
+    public IndexedFileIdempotentRepository(File fileStore) {
+        this.fileStore = fileStore;
+    }
+
+    /**
+     * Creates a new indexed file based repository.
+     *
+     * @param fileStore the file store
+     */
+    public static IdempotentRepository indexedFileIdempotentRepository(File fileStore) {
+        return new IndexedFileIdempotentRepository(fileStore);
+    }
+
+    /**
+     * Creates a new indexed file based repository.
+     *
+     * @param fileStore        the file store
+     * @param maxFileStoreSize the max size in bytes for the filestore file
+     */
+    public static IdempotentRepository indexedFileIdempotentRepository(File fileStore, long maxFileStoreSize) {
+        IndexedFileIdempotentRepository repository = new IndexedFileIdempotentRepository(fileStore);
+        repository.setMaxFileStoreSize(maxFileStoreSize);
+        return repository;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        try {
+            while (true) {
+                int segment;
+                storeLock.readLock().lock();
+                try {
+                    segment = index.segmentFor(hash);
+                    ReentrantLock lock = stripes[segment];
+                    lock.lock();
+                    try {
+                        int slot = index.find(hash, bytes, data);
+                        if (slot >= 0) {
+                            return false;
+                        }
+                        slot = -slot - 1;
+                        if (!index.isEmpty(slot) || !index.needsGrow(segment)) {
+                            long offset = append(ADD, bytes);
+                            index.put(slot, hash, offset);
+                            liveBytes.addAndGet(bytes.length + 2);
+                            break;
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                } finally {
+                    storeLock.readLock().unlock();
+                }
+                // the segment is full so resize the index and try again
+                grow(segment);
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+
+        scheduleCompactionIfNeeded();
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        storeLock.readLock().lock();
+        try {
+            ReentrantLock lock = stripes[index.segmentFor(hash)];
+            lock.lock();
+            try {
+                return index.find(hash, bytes, data) >= 0;
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        storeLock.readLock().lock();
+        try {
+            ReentrantLock lock = stripes[index.segmentFor(hash)];
+            lock.lock();
+            try {
+                int slot = index.find(hash, bytes, data);
+                if (slot < 0) {
+                    return false;
+                }
+                append(REMOVE, bytes);
+                index.delete(slot);
+                liveBytes.addAndGet(-(bytes.length + 2));
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            storeLock.readLock().unlock();
+        }
+
+        scheduleCompactionIfNeeded();
+        return true;
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        storeLock.writeLock().lock();
+        try {
+            data.truncate(0);
+            dataPosition = 0;
+            generation++;
+            liveBytes.set(0);
+            index = Index.create(getIndexFile(), stripes.length, Index.MIN_CAPACITY);
+            index.checkpoint(0, 0, false);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts the file store by rewriting the keys that are still in use into a new file store, and dropping the
+     * {@link #getDropOldestFileStore()} oldest keys if the file store has grown bigger than the maximum capacity.
+     * <p/>
+     * The keys can be added, checked and removed while the file store is being compacted, except for the short time
+     * where the new file store replaces the old file store. This is automatically done in the background when needed.
+     */
+    @ManagedOperation(description = "Compacts the file store")
+    public void compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            // already in progress
+            return;
+        }
+        File compactFile = new File(fileStore.getPath() + ".compact");
+        File compactIndexFile = new File(getIndexFile().getPath() + ".compact");
+        try {
+            doCompact(compactFile, compactIndexFile);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            // the compacted files have replaced the file store when completed, so only leftovers are deleted
+            FileUtil.deleteFile(compactFile);
+            FileUtil.deleteFile(compactIndexFile);
+            compacting.set(false);
+        }
+    }
+
+    public File getFileStore() {
+        return fileStore;
+    }
+
+    public void setFileStore(File fileStore) {
+        this.fileStore = fileStore;
+    }
+
+    @ManagedAttribute(description = "The file path for the store")
+    public String getFilePath() {
+        return fileStore.getPath();
+    }
+
+    public File getIndexFile() {
+        if (indexFile == null && fileStore != null) {
+            return new File(fileStore.getPath() + ".idx");
+        }
+        return indexFile;
+    }
+
+    /**
+     * Sets the file to use for the index of the file store.
+     * <p/>
+     * The default is the file store with the <tt>.idx</tt> extension added.
+     */
+    public void setIndexFile(File indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    @ManagedAttribute(description = "The file path for the index of the store")
+    public String getIndexFilePath() {
+        return getIndexFile().getPath();
+    }
+
+    @ManagedAttribute(description = "The number of segments the index is split into")
+    public int getConcurrencyLevel() {
+        return concurrencyLevel;
+    }
+
+    /**
+     * Sets the number of segments the index is split into, which is the number of threads that can update the
+     * repository at the same time. The value is rounded up to the nearest power of two.
+     * <p/>
+     * Changing the concurrency level of an existing file store causes the index to be rebuilt on startup.
+     * <p/>
+     * The default is 16.
+     */
+    public void setConcurrencyLevel(int concurrencyLevel) {
+        this.concurrencyLevel = concurrencyLevel;
+    }
+
+    @ManagedAttribute(description = "The maximum file size for the file store in bytes")
+    public long getMaxFileStoreSize() {
+        return maxFileStoreSize;
+    }
+
+    /**
+     * Sets the maximum file size for the file store in bytes. You can set the value to 0 or negative to turn this off,
+     * and have unlimited file store size.
+     * <p/>
+     * The default is 32mb.
+     */
+    @ManagedAttribute(description = "The maximum file size for the file store in bytes")
+    public void setMaxFileStoreSize(long maxFileStoreSize) {
+        this.maxFileStoreSize = maxFileStoreSize;
+    }
+
+    public long getDropOldestFileStore() {
+        return dropOldestFileStore;
+    }
+
+    /**
+     * Sets the number of oldest entries to drop from the file store when the maximum capacity is hit to reduce disk
+     * space to allow room for new entries.
+     * <p/>
+     * The default is 1000.
+     */
+    @ManagedAttribute(description = "Number of oldest elements to drop from file store if maximum file size reached")
+    public void setDropOldestFileStore(long dropOldestFileStore) {
+        this.dropOldestFileStore = dropOldestFileStore;
+    }
+
+    @ManagedAttribute(description = "The ratio of removed entries in the file store that triggers a compaction")
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the ratio (between 0 and 1) of the file store that can be taken by removed keys before the file store is
+     * compacted. Small file stores (less than 1mb) are not compacted due to removed keys.
+     * <p/>
+     * The default is 0.5.
+     */
+    @ManagedAttribute(description = "The ratio of removed entries in the file store that triggers a compaction")
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @ManagedAttribute(description = "The current number of keys in the store")
+    public long getSize() {
+        storeLock.readLock().lock();
+        try {
+            return index != null ? index.size() : 0;
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The current size of the file store in bytes")
+    public long getFileStoreSize() {
+        return dataPosition;
+    }
+
+    @ManagedAttribute(description = "The number of bytes in the file store taken by removed keys")
+    public long getGarbageSize() {
+        return Math.max(0, dataPosition - liveBytes.get());
+    }
+
+    /**
+     * Appends the record for the given key to the file store
+     *
+     * @return the offset of the record in the file store
+     */
+    private long append(byte op, byte[] key) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(key.length + 2);
+        buffer.put(op).put(key).put(DELIMITER).flip();
+        synchronized (appendLock) {
+            long offset = dataPosition;
+            writeFully(data, buffer, offset);
+            dataPosition = offset + buffer.limit();
+            return offset;
+        }
+    }
+
+    private void grow(int segment) throws IOException {
+        storeLock.writeLock().lock();
+        try {
+            if (index.needsGrow(segment)) {
+                int capacity = capacityFor(index.maxLive());
+                LOG.debug("Resizing index: {} from {} to {} entries per segment", index.file, index.capacity, capacity);
+                index = index.rehash(capacity);
+                index.checkpoint(dataPosition, liveBytes.get(), false);
+            }
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (executorService == null || compacting.get()) {
+            return;
+        }
+        long length = dataPosition;
+        boolean full = maxFileStoreSize > 0 && length > maxFileStoreSize;
+        boolean garbage = length >= COMPACTION_MIN_FILE_SIZE && length - liveBytes.get() > length * compactionThreshold;
+        if ((full || garbage) && compactionScheduled.compareAndSet(false, true)) {
+            if (full) {
+                LOG.warn("Maximum capacity of file store: {} hit at {} bytes. Dropping {} oldest entries from the file store",
+                        fileStore, maxFileStoreSize, dropOldestFileStore);
+            }
+            executorService.submit(() -> {
+                try {
+                    compact();
+                } catch (Exception e) {
+                    LOG.warn("Error compacting idempotent filestore: {}. This exception is ignored.", fileStore, e);
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private void doCompact(File compactFile, File compactIndexFile) throws IOException {
+        Compaction compaction;
+        long end;
+        long startGeneration;
+
+        // copy the keys in use while the repository is still in use
+        storeLock.readLock().lock();
+        try {
+            if (data == null) {
+                return;
+            }
+            end = dataPosition;
+            startGeneration = generation;
+            long drop = maxFileStoreSize > 0 && end > maxFileStoreSize ? dropOldestFileStore : 0;
+            LOG.debug("Compacting idempotent filestore: {} with {} bytes", fileStore, end);
+
+            Index target = Index.create(compactIndexFile, stripes.length, capacityFor(index.maxLive()));
+            compaction = new Compaction(target, drop);
+        } finally {
+            storeLock.readLock().unlock();
+        }
+
+        // the keys are copied in chunks, and the read lock is released in between, so the index can be resized
+        // without waiting for the whole file store to be copied
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(compactFile.toPath()))) {
+            compaction.os = os;
+            long position = 0;
+            long chunkSize = COMPACTION_CHUNK_SIZE;
+            while (position < end) {
+                storeLock.readLock().lock();
+                try {
+                    if (data == null || generation != startGeneration) {
+                        // stopped or cleared in the meantime
+                        break;
+                    }
+                    long next = scan(data, position, Math.min(end, position + chunkSize), compaction);
+                    if (next > position) {
+                        position = next;
+                        chunkSize = COMPACTION_CHUNK_SIZE;
+                    } else if (position + chunkSize < end) {
+                        // the key is longer than a chunk
+                        chunkSize *= 2;
+                    } else {
+                        throw new IOException(
+                                "Incomplete entry at position: " + position + " in idempotent filestore: " + fileStore);
+                    }
+                } finally {
+                    storeLock.readLock().unlock();
+                }
+            }
+        }
+
+        // and then catch up with the changes since and replace the file store
+        storeLock.writeLock().lock();
+        try {
+            if (data == null || generation != startGeneration) {
+                // stopped or cleared in the meantime
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(compactFile.toPath(), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                compaction.channel = channel;
+                scan(data, end, dataPosition, compaction::replay);
+                channel.force(false);
+            }
+
+            data.close();
+            Files.move(compactFile.toPath(), fileStore.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            data = openFileStore();
+            dataPosition = compaction.position;
+            liveBytes.set(compaction.liveBytes);
+
+            compaction.index.checkpoint(dataPosition, compaction.liveBytes, false);
+            Files.move(compactIndexFile.toPath(), getIndexFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+            index = compaction.index.renameTo(getIndexFile());
+
+            LOG.debug("Compacted idempotent filestore: {} from {} to {} bytes with {} keys", fileStore, end,
+                    dataPosition, index.size());
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    private FileChannel openFileStore() throws IOException {
+        // auto create starting directory if needed
+        File parent = fileStore.getParentFile();
+        if (parent != null && !parent.exists()) {
+            LOG.debug("Creating filestore directory: {}", parent);
+            if (!parent.mkdirs()) {
+                LOG.warn("Cannot create the filestore directory at: {}", parent);
+            }
+        }
+        return FileChannel.open(fileStore.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Rebuilds the index by reading the entire file store
+     */
+    private Index rebuild(File file, int segments, long length) throws IOException {
+        LOG.info("Rebuilding index: {} from idempotent filestore: {}", file, fileStore);
+        Rebuild rebuild = new Rebuild(Index.create(file, segments, Index.MIN_CAPACITY));
+        long end = scan(data, 0, length, rebuild);
+        if (end < length) {
+            LOG.warn("Truncating incomplete entry at the end of idempotent filestore: {}", fileStore);
+            data.truncate(end);
+        }
+        dataPosition = end;
+        liveBytes.set(rebuild.liveBytes);
+        LOG.debug("Rebuilt index: {} with {} keys", file, rebuild.index.size());
+        return rebuild.index;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(fileStore, "fileStore", this);
+
+        int segments = Integer.highestOneBit(Math.max(1, concurrencyLevel));
+        if (segments < concurrencyLevel) {
+            segments <<= 1;
+        }
+        stripes = new ReentrantLock[segments];
+        for (int i = 0; i < segments; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        data = openFileStore();
+        long length = data.size();
+        File file = getIndexFile();
+        Index existing = file.exists() ? Index.open(file, segments, length) : null;
+        if (existing != null) {
+            index = existing;
+            dataPosition = length;
+            liveBytes.set(index.buffer.getLong(Index.LIVE_BYTES));
+            LOG.debug("Loaded index: {} with {} keys for idempotent filestore: {}", file, index.size(), fileStore);
+        } else {
+            index = rebuild(file, segments, length);
+        }
+        // mark the index as in use so it is rebuilt if we are not stopped properly
+        index.checkpoint(dataPosition, liveBytes.get(), false);
+
+        if (camelContext != null) {
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadExecutor(this,
+                    "IndexedFileIdempotentRepositoryCompaction");
+        } else {
+            executorService = Executors.newSingleThreadExecutor(
+                    new CamelThreadFactory("Camel Thread ##counter# - #name#",
+                            "IndexedFileIdempotentRepositoryCompaction", true));
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            if (camelContext != null) {
+                camelContext.getExecutorServiceManager().shutdown(executorService);
+            } else {
+                executorService.shutdown();
+            }
+            executorService = null;
+        }
+
+        storeLock.writeLock().lock();
+        try {
+            if (data != null) {
+                data.force(true);
+                data.close();
+                data = null;
+            }
+            if (index != null) {
+                index.checkpoint(dataPosition, liveBytes.get(), true);
+                index = null;
+            }
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    static long hash(byte[] key) {
+        // FNV-1a
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        // and spread the bits as both the high (segment) and low (slot) bits are used
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int capacityFor(int live) {
+        int capacity = Index.MIN_CAPACITY;
+        while (capacity < live * 2L + 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            pos += channel.write(buffer, pos);
+        }
+    }
+
+    /**
+     * Reads the records from the file store in the given range
+     *
+     * @return the position after the last complete record
+     */
+    private static long scan(FileChannel channel, long from, long to, RecordHandler handler) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+        byte[] line = new byte[256];
+        int length = 0;
+        long start = from;
+        long position = from;
+        while (position < to) {
+            chunk.clear();
+            if (to - position < chunk.capacity()) {
+                chunk.limit((int) (to - position));
+            }
+            int read = channel.read(chunk, position);
+            if (read < 0) {
+                break;
+            }
+            chunk.flip();
+            while (chunk.hasRemaining()) {
+                byte b = chunk.get();
+                if (b == DELIMITER) {
+                    if (length > 0) {
+                        handler.onRecord(line[0], Arrays.copyOfRange(line, 1, length), start);
+                    }
+                    length = 0;
+                    start = position + chunk.position();
+                } else {
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, length * 2);
+                    }
+                    line[length++] = b;
+                }
+            }
+            position += read;
+        }
+        return start;
+    }
+
+    @FunctionalInterface
+    private interface RecordHandler {
+        void onRecord(byte op, byte[] key, long offset) throws IOException;
+    }
+
+    /**
+     * Applies the records from the file store to a new index
+     */
+    private final class Rebuild implements RecordHandler {
+        private Index index;
+        private long liveBytes;
+
+        Rebuild(Index index) {
+            this.index = index;
+        }
+
+        @Override
+        public void onRecord(byte op, byte[] key, long offset) throws IOException {
+            long hash = hash(key);
+            int slot = index.find(hash, key, data);
+            if (op == ADD && slot < 0) {
+                if (index.needsGrow(index.segmentFor(hash))) {
+                    index = index.rehash(capacityFor(index.maxLive()));
+                    slot = index.find(hash, key, data);
+                }
+                index.put(-slot - 1, hash, offset);
+                liveBytes += key.length + 2;
+            } else if (op == REMOVE && slot >= 0) {
+                index.delete(slot);
+                liveBytes -= key.length + 2;
+            }
+        }
+    }
+
+    /**
+     * Copies the keys in use to a new file store and index
+     */
+    private final class Compaction implements RecordHandler {
+        private OutputStream os;
+        private long drop;
+        private Index index;
+        private FileChannel channel;
+        private long position;
+        private long liveBytes;
+
+        Compaction(Index index, long drop) {
+            this.index = index;
+            this.drop = drop;
+        }
+
+        @Override
+        public void onRecord(byte op, byte[] key, long offset) throws IOException {
+            if (op != ADD) {
+                return;
+            }
+            long hash = hash(key);
+            if (!isLive(hash, offset)) {
+                return;
+            }
+            if (drop > 0) {
+                drop--;
+                return;
+            }
+            os.write(ADD);
+            os.write(key);
+            os.write(DELIMITER);
+            // the key is only once in the file store so we can add it without looking it up
+            if (index.needsGrow(index.segmentFor(hash))) {
+                index = index.rehash(capacityFor(index.maxLive()));
+            }
+            index.insert(hash, position);
+            position += key.length + 2;
+            liveBytes += key.length + 2;
+        }
+
+        /**
+         * Applies the records added to the file store while it was compacted
+         */
+        void replay(byte op, byte[] key, long offset) throws IOException {
+            long hash = hash(key);
+            int slot = index.find(hash, key, channel);
+            if (op == ADD && slot < 0) {
+                if (index.needsGrow(index.segmentFor(hash))) {
+                    index = index.rehash(capacityFor(index.maxLive()));
+                    slot = index.find(hash, key, channel);
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(key.length + 2);
+                buffer.put(ADD).put(key).put(DELIMITER).flip();
+                writeFully(channel, buffer, position);
+                index.put(-slot - 1, hash, position);
+                position += key.length + 2;
+                liveBytes += key.length + 2;
+            } else if (op == REMOVE && slot >= 0) {
+                index.delete(slot);
+                liveBytes -= key.length + 2;
+            }
+        }
+
+        private boolean isLive(long hash, long offset) {
+            ReentrantLock lock = stripes[IndexedFileIdempotentRepository.this.index.segmentFor(hash)];
+            lock.lock();
+            try {
+                return IndexedFileIdempotentRepository.this.index.contains(hash, offset);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * The on-disk hash index of the file store.
+     * <p/>
+     * The index is split into segments which are open addressing hash tables with linear probing, where each slot holds
+     * the hash of the key and the offset of its record in the file store. The index only keeps the offset of a key,
+     * so the record in the file store is read to verify that a matching hash is the same key.
+     */
+    private static final class Index {
+        static final int MIN_CAPACITY = 64;
+        static final int MAGIC = 0x43494458;
+        static final int VERSION = 1;
+        static final int SEGMENTS = 8;
+        static final int CAPACITY = 12;
+        static final int DATA_LENGTH = 16;
+        static final int LIVE_BYTES = 24;
+        static final int CLEAN = 32;
+        static final int HEADER_SIZE = 64;
+        static final int SLOT_SIZE = 16;
+        // the offset in a slot is stored +1 so an empty slot is 0
+        static final long EMPTY = 0;
+        static final long DELETED = -1;
+
+        final File file;
+        final MappedByteBuffer buffer;
+        final int segments;
+        final int capacity;
+        final int slotsOffset;
+        final int[] used;
+        final int[] live;
+
+        private Index(File file, MappedByteBuffer buffer, int segments, int capacity, int[] used, int[] live) {
+            this.file = file;
+            this.buffer = buffer;
+            this.segments = segments;
+            this.capacity = capacity;
+            this.slotsOffset = HEADER_SIZE + segments * 8;
+            this.used = used;
+            this.live = live;
+        }
+
+        static Index create(File file, int segments, int capacity) throws IOException {
+            long size = HEADER_SIZE + segments * 8L + (long) segments * capacity * SLOT_SIZE;
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Index: " + file + " cannot hold more than " + capacity + " entries");
+            }
+            Files.deleteIfExists(file.toPath());
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // mapping the file extends it with zeros which are all empty slots
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(SEGMENTS, segments);
+            buffer.putInt(CAPACITY, capacity);
+            return new Index(file, buffer, segments, capacity, new int[segments], new int[segments]);
+        }
+
+        /**
+         * Opens an existing index
+         *
+         * @return the index, or <tt>null</tt> if the index must be rebuilt
+         */
+        static Index open(File file, int segments, long dataLength) throws IOException {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                if (size < HEADER_SIZE + segments * 8L || size > Integer.MAX_VALUE) {
+                    return null;
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            int capacity = buffer.getInt(CAPACITY);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(SEGMENTS) != segments
+                    || buffer.getInt(CLEAN) != 1 || buffer.getLong(DATA_LENGTH) != dataLength
+                    || Integer.bitCount(capacity) != 1
+                    || buffer.capacity() != HEADER_SIZE + segments * 8L + (long) segments * capacity * SLOT_SIZE) {
+                return null;
+            }
+            int[] used = new int[segments];
+            int[] live = new int[segments];
+            for (int i = 0; i < segments; i++) {
+                used[i] = buffer.getInt(HEADER_SIZE + i * 8);
+                live[i] = buffer.getInt(HEADER_SIZE + i * 8 + 4);
+            }
+            return new Index(file, buffer, segments, capacity, used, live);
+        }
+
+        Index renameTo(File target) {
+            return new Index(target, buffer, segments, capacity, used, live);
+        }
+
+        void checkpoint(long dataLength, long liveBytes, boolean clean) {
+            buffer.putLong(DATA_LENGTH, dataLength);
+            buffer.putLong(LIVE_BYTES, liveBytes);
+            for (int i = 0; i < segments; i++) {
+                buffer.putInt(HEADER_SIZE + i * 8, used[i]);
+                buffer.putInt(HEADER_SIZE + i * 8 + 4, live[i]);
+            }
+            buffer.putInt(CLEAN, clean ? 1 : 0);
+            buffer.force();
+        }
+
+        int segmentFor(long hash) {
+            return (int) (hash >>> 32) & (segments - 1);
+        }
+
+        /**
+         * Finds the slot of the key
+         *
+         * @return the slot if found, otherwise <tt>-(slot to insert at) - 1</tt>
+         */
+        int find(long hash, byte[] key, FileChannel data) throws IOException {
+            int segment = segmentFor(hash);
+            int mask = capacity - 1;
+            int start = (int) hash & mask;
+            int base = segment * capacity;
+            int free = -1;
+            for (int i = 0; i < capacity; i++) {
+                int slot = base + ((start + i) & mask);
+                long offset = offsetAt(slot);
+                if (offset == EMPTY) {
+                    return -(free >= 0 ? free : slot) - 1;
+                } else if (offset == DELETED) {
+                    if (free < 0) {
+                        free = slot;
+                    }
+                } else if (hashAt(slot) == hash && matches(data, offset - 1, key)) {
+                    return slot;
+                }
+            }
+            // the index is never full as it is resized before that
+            return -free - 1;
+        }
+
+        /**
+         * Whether the index points to the record at the given offset
+         */
+        boolean contains(long hash, long recordOffset) {
+            int mask = capacity - 1;
+            int start = (int) hash & mask;
+            int base = segmentFor(hash) * capacity;
+            for (int i = 0; i < capacity; i++) {
+                int slot = base + ((start + i) & mask);
+                long offset = offsetAt(slot);
+                if (offset == EMPTY) {
+                    return false;
+                } else if (offset == recordOffset + 1) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isEmpty(int slot) {
+            return offsetAt(slot) == EMPTY;
+        }
+
+        boolean needsGrow(int segment) {
+            return used[segment] >= capacity - (capacity >> 2);
+        }
+
+        void put(int slot, long hash, long recordOffset) {
+            int segment = slot / capacity;
+            if (isEmpty(slot)) {
+                used[segment]++;
+            }
+            live[segment]++;
+            int pos = slotsOffset + slot * SLOT_SIZE;
+            buffer.putLong(pos, hash);
+            buffer.putLong(pos + 8, recordOffset + 1);
+        }
+
+        /**
+         * Adds a key that is known to not be in the index
+         */
+        void insert(long hash, long recordOffset) {
+            int mask = capacity - 1;
+            int start = (int) hash & mask;
+            int base = segmentFor(hash) * capacity;
+            for (int i = 0; i < capacity; i++) {
+                int slot = base + ((start + i) & mask);
+                if (offsetAt(slot) <= EMPTY) {
+                    put(slot, hash, recordOffset);
+                    return;
+                }
+            }
+            throw new IllegalStateException("Index: " + file + " is full");
+        }
+
+        void delete(int slot) {
+            live[slot / capacity]--;
+            buffer.putLong(slotsOffset + slot * SLOT_SIZE + 8, DELETED);
+        }
+
+        int maxLive() {
+            int max = 0;
+            for (int count : live) {
+                max = Math.max(max, count);
+            }
+            return max;
+        }
+
+        long size() {
+            long size = 0;
+            for (int count : live) {
+                size += count;
+            }
+            return size;
+        }
+
+        /**
+         * Copies the index into a new index with the given capacity, which replaces this index
+         */
+        Index rehash(int newCapacity) throws IOException {
+            File tmp = new File(file.getPath() + ".rehash");
+            Index target = create(tmp, segments, newCapacity);
+            int slots = segments * capacity;
+            for (int slot = 0; slot < slots; slot++) {
+                long offset = offsetAt(slot);
+                if (offset > EMPTY) {
+                    target.insert(hashAt(slot), offset - 1);
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return target.renameTo(file);
+        }
+
+        private long hashAt(int slot) {
+            return buffer.getLong(slotsOffset + slot * SLOT_SIZE);
+        }
+
+        private long offsetAt(int slot) {
+            return buffer.getLong(slotsOffset + slot * SLOT_SIZE + 8);
+        }
+
+        private static boolean matches(FileChannel data, long offset, byte[] key) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(key.length + 2);
+            while (buffer.hasRemaining()) {
+                if (data.read(buffer, offset + buffer.position()) < 0) {
+                    return false;
+                }
+            }
+            byte[] record = buffer.array();
+            return record[0] == ADD && record[key.length + 1] == DELIMITER
+                    && Arrays.equals(record, 1, key.length + 1, key, 0, key.length);
+        }
+    }
+
+}
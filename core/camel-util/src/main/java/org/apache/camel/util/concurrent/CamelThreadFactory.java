@@ -17,40 +17,84 @@
 package org.apache.camel.util.concurrent;
 
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Thread factory which creates threads supporting a naming pattern.
+ * <p/>
+ * The factory can create virtual threads instead of platform threads, if virtual threads is supported by the JVM
+ * (otherwise platform threads are created).
  */
 public final class CamelThreadFactory implements ThreadFactory {
     private static final Logger LOG = LoggerFactory.getLogger(CamelThreadFactory.class);
+    // only warn once as many thread factories are created
+    private static final AtomicBoolean WARNED = new AtomicBoolean();
 
     private final String pattern;
     private final String name;
     private final boolean daemon;
+    private final boolean virtual;
 
     public CamelThreadFactory(String pattern, String name, boolean daemon) {
+        this(pattern, name, daemon, false);
+    }
+
+    public CamelThreadFactory(String pattern, String name, boolean daemon, boolean virtual) {
         this.pattern = pattern;
         this.name = name;
         this.daemon = daemon;
+        this.virtual = virtual && ThreadHelper.isVirtualThreadsSupported();
+        if (virtual && !this.virtual && WARNED.compareAndSet(false, true)) {
+            LOG.warn("Virtual threads is not supported by this JVM (requires Java 21 or newer)."
+                     + " Using platform threads instead.");
+        }
     }
 
     @Override
     public Thread newThread(Runnable runnable) {
         String threadName = ThreadHelper.resolveThreadName(pattern, name);
-        Thread answer = new Thread(runnable, threadName);
-        answer.setDaemon(daemon);
+        Thread answer;
+        if (virtual) {
+            // virtual threads are always daemon threads
+            answer = ThreadHelper.newVirtualThread(threadName, runnable);
+        } else {
+            answer = new Thread(runnable, threadName);
+            answer.setDaemon(daemon);
+        }
 
         LOG.trace("Created thread[{}] -> {}", threadName, answer);
         return answer;
     }
 
+    /**
+     * Creates a copy of this thread factory that creates virtual threads.
+     */
+    public CamelThreadFactory withVirtualThreads() {
+        return new CamelThreadFactory(pattern, name, daemon, true);
+    }
+
     public String getName() {
         return name;
     }
 
+    public String getPattern() {
+        return pattern;
+    }
+
+    public boolean isDaemon() {
+        return daemon;
+    }
+
+    /**
+     * Whether this factory creates virtual threads
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
     @Override
     public String toString() {
         return "CamelThreadFactory[" + name + "]";
@@ -16,13 +16,16 @@
  */
 package org.apache.camel.util.concurrent;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 import org.apache.camel.util.StringHelper;
 
 /**
- * Various helper method for thread naming.
+ * Various helper method for thread naming and creating threads.
  */
 public final class ThreadHelper {
 
@@ -30,6 +33,33 @@ public final class ThreadHelper {
 
     private static final Pattern INVALID_PATTERN = Pattern.compile(".*#\\w+#.*");
 
+    // virtual threads are only available from Java 21 onwards (or as preview feature in Java 19 and 20)
+    // and as Camel is compiled for Java 11 then we need to look up the API at runtime
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle BUILDER_NAME;
+    private static final MethodHandle BUILDER_UNSTARTED;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle unstarted = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualBuilder));
+            name = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class));
+            unstarted = lookup.findVirtual(builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+            // virtual threads is a preview feature in some Java versions, and then fails unless preview is enabled
+            ofVirtual.invoke();
+        } catch (Throwable e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_UNSTARTED = unstarted;
+    }
+
     private static AtomicLong threadCounter = new AtomicLong();
 
     private ThreadHelper() {
@@ -74,4 +104,34 @@ public final class ThreadHelper {
         return answer;
     }
 
+    /**
+     * Whether virtual threads are supported by the JVM.
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a new virtual thread (not started) with the given name.
+     *
+     * @param  name                          the thread name
+     * @param  runnable                      the task to run
+     * @return                               the virtual thread
+     * @throws UnsupportedOperationException is thrown if virtual threads is not supported by the JVM
+     */
+    public static Thread newVirtualThread(String name, Runnable runnable) {
+        if (OF_VIRTUAL == null) {
+            throw new UnsupportedOperationException("Virtual threads is not supported by this JVM");
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke();
+            builder = BUILDER_NAME.invoke(builder, name);
+            return (Thread) BUILDER_UNSTARTED.invoke(builder, runnable);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error creating virtual thread: " + name, e);
+        }
+    }
+
 }
@@ -99,6 +99,7 @@ public class ModelParser extends BaseParser {
                 case "executorService": def.setExecutorService(val); break;
                 case "forceCompletionOnStop": def.setForceCompletionOnStop(val); break;
                 case "ignoreInvalidCorrelationKeys": def.setIgnoreInvalidCorrelationKeys(val); break;
+                case "lockStripes": def.setLockStripes(val); break;
                 case "optimisticLocking": def.setOptimisticLocking(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
                 case "timeoutCheckerExecutorService": def.setTimeoutCheckerExecutorService(val); break;
@@ -599,6 +600,7 @@ public class ModelParser extends BaseParser {
                 case "aggregationStrategyMethodAllowNull": def.setAggregationStrategyMethodAllowNull(val); break;
                 case "aggregationStrategyMethodName": def.setAggregationStrategyMethodName(val); break;
                 case "executorService": def.setExecutorService(val); break;
+                case "maxInFlight": def.setMaxInFlight(val); break;
                 case "onPrepare": def.setOnPrepare(val); break;
                 case "parallelAggregate": def.setParallelAggregate(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
@@ -1333,6 +1335,7 @@ public class ModelParser extends BaseParser {
                 case "aggregationStrategyMethodName": def.setAggregationStrategyMethodName(val); break;
                 case "delimiter": def.setDelimiter(val); break;
                 case "executorService": def.setExecutorService(val); break;
+                case "maxInFlight": def.setMaxInFlight(val); break;
                 case "onPrepare": def.setOnPrepare(val); break;
                 case "parallelAggregate": def.setParallelAggregate(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
@@ -1459,6 +1462,7 @@ public class ModelParser extends BaseParser {
                 case "executorService": def.setExecutorService(val); break;
                 case "rejectExecution": def.setRejectExecution(val); break;
                 case "timePeriodMillis": def.setTimePeriodMillis(val); break;
+                case "tokenBucket": def.setTokenBucket(val); break;
                 default: return processorDefinitionAttributeHandler().accept(def, key, val);
             }
             return true;
@@ -2711,11 +2715,12 @@ public class ModelParser extends BaseParser {
     }
     protected SimpleExpression doParseSimpleExpression() throws IOException, XmlPullParserException {
         return doParse(new SimpleExpression(), (def, key, val) -> {
-            if ("resultType".equals(key)) {
-                def.setResultTypeName(val);
-                return true;
+            switch (key) {
+                case "compiled": def.setCompiled(val); break;
+                case "resultType": def.setResultTypeName(val); break;
+                default: return expressionDefinitionAttributeHandler().accept(def, key, val);
             }
-            return expressionDefinitionAttributeHandler().accept(def, key, val);
+            return true;
         }, noElementHandler(), expressionDefinitionValueHandler());
     }
     protected SpELExpression doParseSpELExpression() throws IOException, XmlPullParserException {
@@ -2771,6 +2776,7 @@ public class ModelParser extends BaseParser {
                 case "preCompile": def.setPreCompile(val); break;
                 case "resultType": def.setResultTypeName(val); break;
                 case "saxon": def.setSaxon(val); break;
+                case "streaming": def.setStreaming(val); break;
                 case "threadSafety": def.setThreadSafety(val); break;
                 default: return expressionDefinitionAttributeHandler().accept(def, key, val);
             }
@@ -246,6 +246,46 @@ public interface KafkaComponentBuilderFactory {
             doSetProperty("autoOffsetReset", autoOffsetReset);
             return this;
         }
+        /**
+         * Whether the polled records are delivered together as a single
+         * exchange, which body is the list of the record values, instead of an
+         * exchange per record. The records themselves are available in the
+         * kafka.BATCH_RECORDS header. The auto commit of the Kafka consumer is
+         * disabled when using batching, and the offsets of the records are
+         * committed by Camel once the exchange has completed. This cannot be
+         * used together with parallelWorkers.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer
+         * 
+         * @param batching the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder batching(boolean batching) {
+            doSetProperty("batching", batching);
+            return this;
+        }
+        /**
+         * When using batching, the records of several polls are accumulated
+         * into a batch until maxPollRecords records are polled, or this
+         * interval has elapsed since the first record of the batch was polled.
+         * The interval is checked after each poll, so it should be larger than
+         * pollTimeoutMs. If not set, each poll is delivered as one batch.
+         * 
+         * The option is a: &lt;code&gt;java.lang.Long&lt;/code&gt; type.
+         * 
+         * Group: consumer
+         * 
+         * @param batchingIntervalMs the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder batchingIntervalMs(
+                java.lang.Long batchingIntervalMs) {
+            doSetProperty("batchingIntervalMs", batchingIntervalMs);
+            return this;
+        }
         /**
          * This options controls what happens when a consumer is processing an
          * exchange and it fails. If the option is false then the consumer
@@ -593,6 +633,29 @@ public interface KafkaComponentBuilderFactory {
             doSetProperty("offsetRepository", offsetRepository);
             return this;
         }
+        /**
+         * The number of workers of each consumer, which process the polled
+         * records concurrently, while the consumer keeps polling. The records
+         * of a partition are processed in order, one at a time, and the offset
+         * of a partition is only committed up to the records which all have
+         * been processed. The auto commit of the Kafka consumer is disabled
+         * when using workers, and the offsets are committed by Camel (or stored
+         * in the offset repository). This cannot be used together with
+         * breakOnFirstError or allowManualCommit. A value of 0 (the default)
+         * processes the records on the consumer thread.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 0
+         * Group: consumer
+         * 
+         * @param parallelWorkers the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder parallelWorkers(int parallelWorkers) {
+            doSetProperty("parallelWorkers", parallelWorkers);
+            return this;
+        }
         /**
          * The class name of the partition assignment strategy that the client
          * will use to distribute partition ownership amongst consumer instances
@@ -834,6 +897,43 @@ public interface KafkaComponentBuilderFactory {
             doSetProperty("kafkaManualCommitFactory", kafkaManualCommitFactory);
             return this;
         }
+        /**
+         * When using parallel workers, the maximum number of records of a
+         * partition which are polled and not yet processed. When exceeded the
+         * partition is paused, until the workers have caught up.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1000
+         * Group: consumer (advanced)
+         * 
+         * @param parallelMaxPendingRecords the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder parallelMaxPendingRecords(
+                int parallelMaxPendingRecords) {
+            doSetProperty("parallelMaxPendingRecords", parallelMaxPendingRecords);
+            return this;
+        }
+        /**
+         * When using parallel workers, whether the records are processed in
+         * order per partition, or per key within a partition, which allows the
+         * records with different keys of the same partition to be processed
+         * concurrently.
+         * 
+         * The option is a: &lt;code&gt;java.lang.String&lt;/code&gt; type.
+         * 
+         * Default: partition
+         * Group: consumer (advanced)
+         * 
+         * @param parallelOrdering the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder parallelOrdering(
+                java.lang.String parallelOrdering) {
+            doSetProperty("parallelOrdering", parallelOrdering);
+            return this;
+        }
         /**
          * To use a custom strategy with the consumer to control how to handle
          * exceptions thrown from the Kafka broker while pooling messages.
@@ -2095,6 +2195,8 @@ public interface KafkaComponentBuilderFactory {
             case "autoCommitEnable": getOrCreateConfiguration((KafkaComponent) component).setAutoCommitEnable((boolean) value); return true;
             case "autoCommitIntervalMs": getOrCreateConfiguration((KafkaComponent) component).setAutoCommitIntervalMs((java.lang.Integer) value); return true;
             case "autoOffsetReset": getOrCreateConfiguration((KafkaComponent) component).setAutoOffsetReset((java.lang.String) value); return true;
+            case "batching": getOrCreateConfiguration((KafkaComponent) component).setBatching((boolean) value); return true;
+            case "batchingIntervalMs": getOrCreateConfiguration((KafkaComponent) component).setBatchingIntervalMs((java.lang.Long) value); return true;
             case "breakOnFirstError": getOrCreateConfiguration((KafkaComponent) component).setBreakOnFirstError((boolean) value); return true;
             case "bridgeErrorHandler": ((KafkaComponent) component).setBridgeErrorHandler((boolean) value); return true;
             case "checkCrcs": getOrCreateConfiguration((KafkaComponent) component).setCheckCrcs((java.lang.Boolean) value); return true;
@@ -2113,6 +2215,7 @@ public interface KafkaComponentBuilderFactory {
             case "maxPollIntervalMs": getOrCreateConfiguration((KafkaComponent) component).setMaxPollIntervalMs((java.lang.Long) value); return true;
             case "maxPollRecords": getOrCreateConfiguration((KafkaComponent) component).setMaxPollRecords((java.lang.Integer) value); return true;
             case "offsetRepository": getOrCreateConfiguration((KafkaComponent) component).setOffsetRepository((org.apache.camel.spi.StateRepository) value); return true;
+            case "parallelWorkers": getOrCreateConfiguration((KafkaComponent) component).setParallelWorkers((int) value); return true;
             case "partitionAssignor": getOrCreateConfiguration((KafkaComponent) component).setPartitionAssignor((java.lang.String) value); return true;
             case "pollOnError": getOrCreateConfiguration((KafkaComponent) component).setPollOnError((org.apache.camel.component.kafka.PollOnError) value); return true;
             case "pollTimeoutMs": getOrCreateConfiguration((KafkaComponent) component).setPollTimeoutMs((java.lang.Long) value); return true;
@@ -2125,6 +2228,8 @@ public interface KafkaComponentBuilderFactory {
             case "createConsumerBackoffMaxAttempts": ((KafkaComponent) component).setCreateConsumerBackoffMaxAttempts((int) value); return true;
             case "isolationLevel": getOrCreateConfiguration((KafkaComponent) component).setIsolationLevel((java.lang.String) value); return true;
             case "kafkaManualCommitFactory": ((KafkaComponent) component).setKafkaManualCommitFactory((org.apache.camel.component.kafka.consumer.KafkaManualCommitFactory) value); return true;
+            case "parallelMaxPendingRecords": getOrCreateConfiguration((KafkaComponent) component).setParallelMaxPendingRecords((int) value); return true;
+            case "parallelOrdering": getOrCreateConfiguration((KafkaComponent) component).setParallelOrdering((java.lang.String) value); return true;
             case "pollExceptionStrategy": ((KafkaComponent) component).setPollExceptionStrategy((org.apache.camel.component.kafka.PollExceptionStrategy) value); return true;
             case "subscribeConsumerBackoffInterval": ((KafkaComponent) component).setSubscribeConsumerBackoffInterval((long) value); return true;
             case "subscribeConsumerBackoffMaxAttempts": ((KafkaComponent) component).setSubscribeConsumerBackoffMaxAttempts((int) value); return true;
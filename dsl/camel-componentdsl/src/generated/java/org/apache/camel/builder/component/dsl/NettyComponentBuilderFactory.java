@@ -834,6 +834,27 @@ public interface NettyComponentBuilderFactory {
             doSetProperty("options", options);
             return this;
         }
+        /**
+         * If enabled, the ByteBuf received by the consumer (or received as
+         * reply by the producer) is kept as the message body without copying
+         * it, and a ByteBuf message body is written to the channel without
+         * copying it. The buffer is reference counted, and released when the
+         * exchange is done, so it must not be used after the exchange has
+         * completed. No default codec is used when enabled.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: advanced
+         * 
+         * @param passThroughByteBuf the value to set
+         * @return the dsl builder
+         */
+        default NettyComponentBuilder passThroughByteBuf(
+                boolean passThroughByteBuf) {
+            doSetProperty("passThroughByteBuf", passThroughByteBuf);
+            return this;
+        }
         /**
          * The TCP/UDP buffer sizes to be used during inbound communication.
          * Size is bytes.
@@ -1383,6 +1404,7 @@ public interface NettyComponentBuilderFactory {
             case "channelGroup": getOrCreateConfiguration((NettyComponent) component).setChannelGroup((io.netty.channel.group.ChannelGroup) value); return true;
             case "nativeTransport": getOrCreateConfiguration((NettyComponent) component).setNativeTransport((boolean) value); return true;
             case "options": getOrCreateConfiguration((NettyComponent) component).setOptions((java.util.Map) value); return true;
+            case "passThroughByteBuf": getOrCreateConfiguration((NettyComponent) component).setPassThroughByteBuf((boolean) value); return true;
             case "receiveBufferSize": getOrCreateConfiguration((NettyComponent) component).setReceiveBufferSize((int) value); return true;
             case "receiveBufferSizePredictor": getOrCreateConfiguration((NettyComponent) component).setReceiveBufferSizePredictor((int) value); return true;
             case "sendBufferSize": getOrCreateConfiguration((NettyComponent) component).setSendBufferSize((int) value); return true;
@@ -891,6 +891,27 @@ public interface NettyHttpComponentBuilderFactory {
             doSetProperty("options", options);
             return this;
         }
+        /**
+         * If enabled, the ByteBuf received by the consumer (or received as
+         * reply by the producer) is kept as the message body without copying
+         * it, and a ByteBuf message body is written to the channel without
+         * copying it. The buffer is reference counted, and released when the
+         * exchange is done, so it must not be used after the exchange has
+         * completed. No default codec is used when enabled.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: advanced
+         * 
+         * @param passThroughByteBuf the value to set
+         * @return the dsl builder
+         */
+        default NettyHttpComponentBuilder passThroughByteBuf(
+                boolean passThroughByteBuf) {
+            doSetProperty("passThroughByteBuf", passThroughByteBuf);
+            return this;
+        }
         /**
          * The TCP/UDP buffer sizes to be used during inbound communication.
          * Size is bytes.
@@ -1464,6 +1485,7 @@ public interface NettyHttpComponentBuilderFactory {
             case "nativeTransport": getOrCreateConfiguration((NettyHttpComponent) component).setNativeTransport((boolean) value); return true;
             case "nettyHttpBinding": ((NettyHttpComponent) component).setNettyHttpBinding((org.apache.camel.component.netty.http.NettyHttpBinding) value); return true;
             case "options": getOrCreateConfiguration((NettyHttpComponent) component).setOptions((java.util.Map) value); return true;
+            case "passThroughByteBuf": getOrCreateConfiguration((NettyHttpComponent) component).setPassThroughByteBuf((boolean) value); return true;
             case "receiveBufferSize": getOrCreateConfiguration((NettyHttpComponent) component).setReceiveBufferSize((int) value); return true;
             case "receiveBufferSizePredictor": getOrCreateConfiguration((NettyHttpComponent) component).setReceiveBufferSizePredictor((int) value); return true;
             case "sendBufferSize": getOrCreateConfiguration((NettyHttpComponent) component).setSendBufferSize((int) value); return true;
@@ -2472,6 +2472,53 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("startingDirectoryMustHaveAccess", startingDirectoryMustHaveAccess);
             return this;
         }
+        /**
+         * Whether the consumer should iterate the files of the directories
+         * using a directory stream, instead of listing all the files of a
+         * directory at once. The attributes of the files are read while
+         * iterating, and the iteration stops as soon as maxMessagesPerPoll
+         * files have been found, which is faster and uses less memory when
+         * polling directories with a very large number of files. This option is
+         * not in use when preSort is enabled, as sorting requires all the files
+         * of a directory.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param useDirectoryStream the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder useDirectoryStream(
+                boolean useDirectoryStream) {
+            doSetProperty("useDirectoryStream", useDirectoryStream);
+            return this;
+        }
+        /**
+         * Whether the consumer should iterate the files of the directories
+         * using a directory stream, instead of listing all the files of a
+         * directory at once. The attributes of the files are read while
+         * iterating, and the iteration stops as soon as maxMessagesPerPoll
+         * files have been found, which is faster and uses less memory when
+         * polling directories with a very large number of files. This option is
+         * not in use when preSort is enabled, as sorting requires all the files
+         * of a directory.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param useDirectoryStream the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder useDirectoryStream(
+                String useDirectoryStream) {
+            doSetProperty("useDirectoryStream", useDirectoryStream);
+            return this;
+        }
         /**
          * Automatically create missing directories in the file's pathname. For
          * the file consumer, that means creating the starting directory. For
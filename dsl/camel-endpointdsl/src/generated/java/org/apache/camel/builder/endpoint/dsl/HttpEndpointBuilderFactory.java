@@ -825,6 +825,51 @@ public interface HttpEndpointBuilderFactory {
         default HttpEndpointBuilder basic() {
             return (HttpEndpointBuilder) this;
         }
+        /**
+         * Whether the producer should send the requests with a non-blocking
+         * HttpAsyncClient, which completes the exchange from the I/O reactor
+         * threads instead of blocking the calling thread while waiting for the
+         * response. The async client has its own pool of connections, which is
+         * bounded by the maxTotalConnections and connectionsPerRoute options.
+         * Notice that a custom httpClient, clientConnectionManager or
+         * clientBuilder is not used by the async client.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: producer (advanced)
+         * 
+         * @param asyncProducer the value to set
+         * @return the dsl builder
+         */
+        default AdvancedHttpEndpointBuilder asyncProducer(
+                boolean asyncProducer) {
+            doSetProperty("asyncProducer", asyncProducer);
+            return this;
+        }
+        /**
+         * Whether the producer should send the requests with a non-blocking
+         * HttpAsyncClient, which completes the exchange from the I/O reactor
+         * threads instead of blocking the calling thread while waiting for the
+         * response. The async client has its own pool of connections, which is
+         * bounded by the maxTotalConnections and connectionsPerRoute options.
+         * Notice that a custom httpClient, clientConnectionManager or
+         * clientBuilder is not used by the async client.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: producer (advanced)
+         * 
+         * @param asyncProducer the value to set
+         * @return the dsl builder
+         */
+        default AdvancedHttpEndpointBuilder asyncProducer(
+                String asyncProducer) {
+            doSetProperty("asyncProducer", asyncProducer);
+            return this;
+        }
         /**
          * Configure a cookie handler to maintain a HTTP session.
          * 
@@ -368,6 +368,88 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("autoOffsetReset", autoOffsetReset);
             return this;
         }
+        /**
+         * Whether the polled records are delivered together as a single
+         * exchange, which body is the list of the record values, instead of an
+         * exchange per record. The records themselves are available in the
+         * kafka.BATCH_RECORDS header. The auto commit of the Kafka consumer is
+         * disabled when using batching, and the offsets of the records are
+         * committed by Camel once the exchange has completed. This cannot be
+         * used together with parallelWorkers.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer
+         * 
+         * @param batching the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder batching(boolean batching) {
+            doSetProperty("batching", batching);
+            return this;
+        }
+        /**
+         * Whether the polled records are delivered together as a single
+         * exchange, which body is the list of the record values, instead of an
+         * exchange per record. The records themselves are available in the
+         * kafka.BATCH_RECORDS header. The auto commit of the Kafka consumer is
+         * disabled when using batching, and the offsets of the records are
+         * committed by Camel once the exchange has completed. This cannot be
+         * used together with parallelWorkers.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: consumer
+         * 
+         * @param batching the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder batching(String batching) {
+            doSetProperty("batching", batching);
+            return this;
+        }
+        /**
+         * When using batching, the records of several polls are accumulated
+         * into a batch until maxPollRecords records are polled, or this
+         * interval has elapsed since the first record of the batch was polled.
+         * The interval is checked after each poll, so it should be larger than
+         * pollTimeoutMs. If not set, each poll is delivered as one batch.
+         * 
+         * The option is a: &lt;code&gt;java.lang.Long&lt;/code&gt; type.
+         * 
+         * Group: consumer
+         * 
+         * @param batchingIntervalMs the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder batchingIntervalMs(
+                Long batchingIntervalMs) {
+            doSetProperty("batchingIntervalMs", batchingIntervalMs);
+            return this;
+        }
+        /**
+         * When using batching, the records of several polls are accumulated
+         * into a batch until maxPollRecords records are polled, or this
+         * interval has elapsed since the first record of the batch was polled.
+         * The interval is checked after each poll, so it should be larger than
+         * pollTimeoutMs. If not set, each poll is delivered as one batch.
+         * 
+         * The option will be converted to a
+         * &lt;code&gt;java.lang.Long&lt;/code&gt; type.
+         * 
+         * Group: consumer
+         * 
+         * @param batchingIntervalMs the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder batchingIntervalMs(
+                String batchingIntervalMs) {
+            doSetProperty("batchingIntervalMs", batchingIntervalMs);
+            return this;
+        }
         /**
          * This options controls what happens when a consumer is processing an
          * exchange and it fails. If the option is false then the consumer
@@ -970,6 +1052,54 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("offsetRepository", offsetRepository);
             return this;
         }
+        /**
+         * The number of workers of each consumer, which process the polled
+         * records concurrently, while the consumer keeps polling. The records
+         * of a partition are processed in order, one at a time, and the offset
+         * of a partition is only committed up to the records which all have
+         * been processed. The auto commit of the Kafka consumer is disabled
+         * when using workers, and the offsets are committed by Camel (or stored
+         * in the offset repository). This cannot be used together with
+         * breakOnFirstError or allowManualCommit. A value of 0 (the default)
+         * processes the records on the consumer thread.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 0
+         * Group: consumer
+         * 
+         * @param parallelWorkers the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder parallelWorkers(
+                int parallelWorkers) {
+            doSetProperty("parallelWorkers", parallelWorkers);
+            return this;
+        }
+        /**
+         * The number of workers of each consumer, which process the polled
+         * records concurrently, while the consumer keeps polling. The records
+         * of a partition are processed in order, one at a time, and the offset
+         * of a partition is only committed up to the records which all have
+         * been processed. The auto commit of the Kafka consumer is disabled
+         * when using workers, and the offsets are committed by Camel (or stored
+         * in the offset repository). This cannot be used together with
+         * breakOnFirstError or allowManualCommit. A value of 0 (the default)
+         * processes the records on the consumer thread.
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 0
+         * Group: consumer
+         * 
+         * @param parallelWorkers the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder parallelWorkers(
+                String parallelWorkers) {
+            doSetProperty("parallelWorkers", parallelWorkers);
+            return this;
+        }
         /**
          * The class name of the partition assignment strategy that the client
          * will use to distribute partition ownership amongst consumer instances
@@ -1953,6 +2083,61 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("kafkaManualCommitFactory", kafkaManualCommitFactory);
             return this;
         }
+        /**
+         * When using parallel workers, the maximum number of records of a
+         * partition which are polled and not yet processed. When exceeded the
+         * partition is paused, until the workers have caught up.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1000
+         * Group: consumer (advanced)
+         * 
+         * @param parallelMaxPendingRecords the value to set
+         * @return the dsl builder
+         */
+        default AdvancedKafkaEndpointConsumerBuilder parallelMaxPendingRecords(
+                int parallelMaxPendingRecords) {
+            doSetProperty("parallelMaxPendingRecords", parallelMaxPendingRecords);
+            return this;
+        }
+        /**
+         * When using parallel workers, the maximum number of records of a
+         * partition which are polled and not yet processed. When exceeded the
+         * partition is paused, until the workers have caught up.
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1000
+         * Group: consumer (advanced)
+         * 
+         * @param parallelMaxPendingRecords the value to set
+         * @return the dsl builder
+         */
+        default AdvancedKafkaEndpointConsumerBuilder parallelMaxPendingRecords(
+                String parallelMaxPendingRecords) {
+            doSetProperty("parallelMaxPendingRecords", parallelMaxPendingRecords);
+            return this;
+        }
+        /**
+         * When using parallel workers, whether the records are processed in
+         * order per partition, or per key within a partition, which allows the
+         * records with different keys of the same partition to be processed
+         * concurrently.
+         * 
+         * The option is a: &lt;code&gt;java.lang.String&lt;/code&gt; type.
+         * 
+         * Default: partition
+         * Group: consumer (advanced)
+         * 
+         * @param parallelOrdering the value to set
+         * @return the dsl builder
+         */
+        default AdvancedKafkaEndpointConsumerBuilder parallelOrdering(
+                String parallelOrdering) {
+            doSetProperty("parallelOrdering", parallelOrdering);
+            return this;
+        }
         /**
          * Factory to use for creating
          * org.apache.kafka.clients.consumer.KafkaConsumer and
@@ -5072,6 +5257,21 @@ public interface KafkaEndpointBuilderFactory {
         public String kafkaManualCommit() {
             return "KafkaManualCommit";
         }
+
+        /**
+         * The records of the batch (only available if batching endpoint
+         * parameter is true).
+         * 
+         * The option is a: {@code
+         * List<org.apache.kafka.clients.consumer.ConsumerRecord>} type.
+         * 
+         * Group: consumer
+         * 
+         * @return the name of the header {@code kafka.BATCH_RECORDS}.
+         */
+        public String kafkaBatchRecords() {
+            return "kafka.BATCH_RECORDS";
+        }
     }
     static KafkaEndpointBuilder endpointBuilder(
             String componentName,
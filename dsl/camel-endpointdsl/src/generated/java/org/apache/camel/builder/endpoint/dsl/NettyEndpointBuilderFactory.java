@@ -1617,6 +1617,49 @@ public interface NettyEndpointBuilderFactory {
             doSetMultiValueProperties("options", "option.", values);
             return this;
         }
+        /**
+         * If enabled, the ByteBuf received by the consumer (or received as
+         * reply by the producer) is kept as the message body without copying
+         * it, and a ByteBuf message body is written to the channel without
+         * copying it. The buffer is reference counted, and released when the
+         * exchange is done, so it must not be used after the exchange has
+         * completed. No default codec is used when enabled.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: advanced
+         * 
+         * @param passThroughByteBuf the value to set
+         * @return the dsl builder
+         */
+        default AdvancedNettyEndpointConsumerBuilder passThroughByteBuf(
+                boolean passThroughByteBuf) {
+            doSetProperty("passThroughByteBuf", passThroughByteBuf);
+            return this;
+        }
+        /**
+         * If enabled, the ByteBuf received by the consumer (or received as
+         * reply by the producer) is kept as the message body without copying
+         * it, and a ByteBuf message body is written to the channel without
+         * copying it. The buffer is reference counted, and released when the
+         * exchange is done, so it must not be used after the exchange has
+         * completed. No default codec is used when enabled.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: advanced
+         * 
+         * @param passThroughByteBuf the value to set
+         * @return the dsl builder
+         */
+        default AdvancedNettyEndpointConsumerBuilder passThroughByteBuf(
+                String passThroughByteBuf) {
+            doSetProperty("passThroughByteBuf", passThroughByteBuf);
+            return this;
+        }
         /**
          * The TCP/UDP buffer sizes to be used during inbound communication.
          * Size is bytes.
@@ -3336,6 +3379,49 @@ public interface NettyEndpointBuilderFactory {
             doSetMultiValueProperties("options", "option.", values);
             return this;
         }
+        /**
+         * If enabled, the ByteBuf received by the consumer (or received as
+         * reply by the producer) is kept as the message body without copying
+         * it, and a ByteBuf message body is written to the channel without
+         * copying it. The buffer is reference counted, and released when the
+         * exchange is done, so it must not be used after the exchange has
+         * completed. No default codec is used when enabled.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: advanced
+         * 
+         * @param passThroughByteBuf the value to set
+         * @return the dsl builder
+         */
+        default AdvancedNettyEndpointProducerBuilder passThroughByteBuf(
+                boolean passThroughByteBuf) {
+            doSetProperty("passThroughByteBuf", passThroughByteBuf);
+            return this;
+        }
+        /**
+         * If enabled, the ByteBuf received by the consumer (or received as
+         * reply by the producer) is kept as the message body without copying
+         * it, and a ByteBuf message body is written to the channel without
+         * copying it. The buffer is reference counted, and released when the
+         * exchange is done, so it must not be used after the exchange has
+         * completed. No default codec is used when enabled.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: advanced
+         * 
+         * @param passThroughByteBuf the value to set
+         * @return the dsl builder
+         */
+        default AdvancedNettyEndpointProducerBuilder passThroughByteBuf(
+                String passThroughByteBuf) {
+            doSetProperty("passThroughByteBuf", passThroughByteBuf);
+            return this;
+        }
         /**
          * The TCP/UDP buffer sizes to be used during inbound communication.
          * Size is bytes.
@@ -4544,6 +4630,49 @@ public interface NettyEndpointBuilderFactory {
             doSetMultiValueProperties("options", "option.", values);
             return this;
         }
+        /**
+         * If enabled, the ByteBuf received by the consumer (or received as
+         * reply by the producer) is kept as the message body without copying
+         * it, and a ByteBuf message body is written to the channel without
+         * copying it. The buffer is reference counted, and released when the
+         * exchange is done, so it must not be used after the exchange has
+         * completed. No default codec is used when enabled.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: advanced
+         * 
+         * @param passThroughByteBuf the value to set
+         * @return the dsl builder
+         */
+        default AdvancedNettyEndpointBuilder passThroughByteBuf(
+                boolean passThroughByteBuf) {
+            doSetProperty("passThroughByteBuf", passThroughByteBuf);
+            return this;
+        }
+        /**
+         * If enabled, the ByteBuf received by the consumer (or received as
+         * reply by the producer) is kept as the message body without copying
+         * it, and a ByteBuf message body is written to the channel without
+         * copying it. The buffer is reference counted, and released when the
+         * exchange is done, so it must not be used after the exchange has
+         * completed. No default codec is used when enabled.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: advanced
+         * 
+         * @param passThroughByteBuf the value to set
+         * @return the dsl builder
+         */
+        default AdvancedNettyEndpointBuilder passThroughByteBuf(
+                String passThroughByteBuf) {
+            doSetProperty("passThroughByteBuf", passThroughByteBuf);
+            return this;
+        }
         /**
          * The TCP/UDP buffer sizes to be used during inbound communication.
          * Size is bytes.
@@ -120,6 +120,48 @@ public interface StubEndpointBuilderFactory {
         default StubEndpointConsumerBuilder basic() {
             return (StubEndpointConsumerBuilder) this;
         }
+        /**
+         * The maximum number of exchanges the consumer takes from the queue at
+         * once. The exchanges are taken from the queue in one go, and then
+         * processed one after the other by the consumer thread, which reduces
+         * the overhead of taking the exchanges from the queue when the queue is
+         * busy. The default is 1 which takes one exchange at a time. Notice that
+         * when using concurrent consumers, then a batch is processed by a single
+         * consumer thread.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param batchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedStubEndpointConsumerBuilder batchSize(int batchSize) {
+            doSetProperty("batchSize", batchSize);
+            return this;
+        }
+        /**
+         * The maximum number of exchanges the consumer takes from the queue at
+         * once. The exchanges are taken from the queue in one go, and then
+         * processed one after the other by the consumer thread, which reduces
+         * the overhead of taking the exchanges from the queue when the queue is
+         * busy. The default is 1 which takes one exchange at a time. Notice that
+         * when using concurrent consumers, then a batch is processed by a single
+         * consumer thread.
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param batchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedStubEndpointConsumerBuilder batchSize(String batchSize) {
+            doSetProperty("batchSize", batchSize);
+            return this;
+        }
         /**
          * Allows for bridging the consumer to the Camel routing Error Handler,
          * which mean any exceptions occurred while the consumer is trying to
@@ -235,6 +277,53 @@ public interface StubEndpointBuilderFactory {
             doSetProperty("exchangePattern", exchangePattern);
             return this;
         }
+        /**
+         * Whether the exchanges taken from the queue in a batch (see batchSize)
+         * is grouped into a single exchange which is routed instead. The grouped
+         * exchange has the batch of exchanges as a java.util.List in the message
+         * body. The batch of exchanges is completed when the grouped exchange is
+         * completed, and if the grouped exchange failed then each exchange in
+         * the batch is failed with the same exception. The exchanges which
+         * expect a reply (InOut) cannot be grouped, and are failed without being
+         * routed.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param groupExchanges the value to set
+         * @return the dsl builder
+         */
+        default AdvancedStubEndpointConsumerBuilder groupExchanges(
+                boolean groupExchanges) {
+            doSetProperty("groupExchanges", groupExchanges);
+            return this;
+        }
+        /**
+         * Whether the exchanges taken from the queue in a batch (see batchSize)
+         * is grouped into a single exchange which is routed instead. The grouped
+         * exchange has the batch of exchanges as a java.util.List in the message
+         * body. The batch of exchanges is completed when the grouped exchange is
+         * completed, and if the grouped exchange failed then each exchange in
+         * the batch is failed with the same exception. The exchanges which
+         * expect a reply (InOut) cannot be grouped, and are failed without being
+         * routed.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param groupExchanges the value to set
+         * @return the dsl builder
+         */
+        default AdvancedStubEndpointConsumerBuilder groupExchanges(
+                String groupExchanges) {
+            doSetProperty("groupExchanges", groupExchanges);
+            return this;
+        }
         /**
          * Whether to limit the number of concurrentConsumers to the maximum of
          * 500. By default, an exception will be thrown if an endpoint is
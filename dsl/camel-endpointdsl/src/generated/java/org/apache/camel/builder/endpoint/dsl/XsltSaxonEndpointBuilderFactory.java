@@ -189,12 +189,15 @@ public interface XsltSaxonEndpointBuilderFactory {
         }
         /**
          * Option to specify which output type to use. Possible values are:
-         * string, bytes, DOM, file. The first three options are all in memory
-         * based, where as file is streamed directly to a java.io.File. For file
-         * you must specify the filename in the IN header with the key
-         * XsltConstants.XSLT_FILE_NAME which is also CamelXsltFileName. Also
-         * any paths leading to the filename must be created beforehand,
-         * otherwise an exception is thrown at runtime.
+         * string, bytes, DOM, file, streamCache. The first three options are
+         * all in memory based, where as file is streamed directly to a
+         * java.io.File. For file you must specify the filename in the IN header
+         * with the key XsltConstants.XSLT_FILE_NAME which is also
+         * CamelXsltFileName. Also any paths leading to the filename must be
+         * created beforehand, otherwise an exception is thrown at runtime. The
+         * streamCache option streams the output to a StreamCache, which is kept
+         * in memory for small outputs and spooled to disk for large outputs,
+         * according to the stream caching settings of the CamelContext.
          * 
          * The option is a:
          * &lt;code&gt;org.apache.camel.component.xslt.XsltOutput&lt;/code&gt;
@@ -213,12 +216,15 @@ public interface XsltSaxonEndpointBuilderFactory {
         }
         /**
          * Option to specify which output type to use. Possible values are:
-         * string, bytes, DOM, file. The first three options are all in memory
-         * based, where as file is streamed directly to a java.io.File. For file
-         * you must specify the filename in the IN header with the key
-         * XsltConstants.XSLT_FILE_NAME which is also CamelXsltFileName. Also
-         * any paths leading to the filename must be created beforehand,
-         * otherwise an exception is thrown at runtime.
+         * string, bytes, DOM, file, streamCache. The first three options are
+         * all in memory based, where as file is streamed directly to a
+         * java.io.File. For file you must specify the filename in the IN header
+         * with the key XsltConstants.XSLT_FILE_NAME which is also
+         * CamelXsltFileName. Also any paths leading to the filename must be
+         * created beforehand, otherwise an exception is thrown at runtime. The
+         * streamCache option streams the output to a StreamCache, which is kept
+         * in memory for small outputs and spooled to disk for large outputs,
+         * according to the stream caching settings of the CamelContext.
          * 
          * The option will be converted to a
          * &lt;code&gt;org.apache.camel.component.xslt.XsltOutput&lt;/code&gt;
@@ -236,7 +242,9 @@ public interface XsltSaxonEndpointBuilderFactory {
         }
         /**
          * The number of javax.xml.transform.Transformer object that are cached
-         * for reuse to avoid calls to Template.newTransformer().
+         * for reuse to avoid calls to Template.newTransformer(). The cached
+         * transformers are shared by concurrent exchanges and are reset before
+         * being reused.
          * 
          * The option is a: &lt;code&gt;int&lt;/code&gt; type.
          * 
@@ -253,7 +261,9 @@ public interface XsltSaxonEndpointBuilderFactory {
         }
         /**
          * The number of javax.xml.transform.Transformer object that are cached
-         * for reuse to avoid calls to Template.newTransformer().
+         * for reuse to avoid calls to Template.newTransformer(). The cached
+         * transformers are shared by concurrent exchanges and are reset before
+         * being reused.
          * 
          * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
          * 
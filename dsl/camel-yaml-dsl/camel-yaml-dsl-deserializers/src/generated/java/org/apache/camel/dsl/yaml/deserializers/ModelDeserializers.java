@@ -322,6 +322,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "ignore-invalid-correlation-keys", type = "boolean"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
+                    @YamlProperty(name = "lock-stripes", type = "number"),
                     @YamlProperty(name = "optimistic-lock-retry-policy", type = "object:org.apache.camel.model.OptimisticLockRetryPolicyDefinition"),
                     @YamlProperty(name = "optimistic-locking", type = "boolean"),
                     @YamlProperty(name = "parallel-processing", type = "boolean"),
@@ -463,6 +464,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setInheritErrorHandler(java.lang.Boolean.valueOf(val));
                     break;
                 }
+                case "lock-stripes": {
+                    String val = asText(node);
+                    target.setLockStripes(val);
+                    break;
+                }
                 case "optimistic-lock-retry-policy": {
                     org.apache.camel.model.OptimisticLockRetryPolicyDefinition val = asType(node, org.apache.camel.model.OptimisticLockRetryPolicyDefinition.class);
                     target.setOptimisticLockRetryPolicyDefinition(val);
@@ -8505,6 +8511,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "executor-service", type = "string"),
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
+                    @YamlProperty(name = "max-in-flight", type = "number"),
                     @YamlProperty(name = "on-prepare", type = "string"),
                     @YamlProperty(name = "parallel-aggregate", type = "boolean"),
                     @YamlProperty(name = "parallel-processing", type = "boolean"),
@@ -8554,6 +8561,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setInheritErrorHandler(java.lang.Boolean.valueOf(val));
                     break;
                 }
+                case "max-in-flight": {
+                    String val = asText(node);
+                    target.setMaxInFlight(val);
+                    break;
+                }
                 case "on-prepare": {
                     String val = asText(node);
                     target.setOnPrepare(val);
@@ -14239,6 +14251,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
             types = org.apache.camel.model.language.SimpleExpression.class,
             order = org.apache.camel.dsl.yaml.common.YamlDeserializerResolver.ORDER_LOWEST - 1,
             properties = {
+                    @YamlProperty(name = "compiled", type = "boolean"),
                     @YamlProperty(name = "expression", type = "string", required = true),
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "result-type", type = "string"),
@@ -14264,6 +14277,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
         protected boolean setProperty(SimpleExpression target, String propertyKey,
                 String propertyName, Node node) {
             switch(propertyKey) {
+                case "compiled": {
+                    String val = asText(node);
+                    target.setCompiled(val);
+                    break;
+                }
                 case "expression": {
                     String val = asText(node);
                     target.setExpression(val);
@@ -14524,6 +14542,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "expression", type = "object:org.apache.camel.model.language.ExpressionDefinition"),
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
+                    @YamlProperty(name = "max-in-flight", type = "number"),
                     @YamlProperty(name = "on-prepare", type = "string"),
                     @YamlProperty(name = "parallel-aggregate", type = "boolean"),
                     @YamlProperty(name = "parallel-processing", type = "boolean"),
@@ -14583,6 +14602,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setInheritErrorHandler(java.lang.Boolean.valueOf(val));
                     break;
                 }
+                case "max-in-flight": {
+                    String val = asText(node);
+                    target.setMaxInFlight(val);
+                    break;
+                }
                 case "on-prepare": {
                     String val = asText(node);
                     target.setOnPrepare(val);
@@ -15438,7 +15462,8 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
                     @YamlProperty(name = "reject-execution", type = "boolean"),
-                    @YamlProperty(name = "time-period-millis", type = "string")
+                    @YamlProperty(name = "time-period-millis", type = "string"),
+                    @YamlProperty(name = "token-bucket", type = "boolean")
             }
     )
     public static class ThrottleDefinitionDeserializer extends YamlDeserializerBase<ThrottleDefinition> {
@@ -15495,6 +15520,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setTimePeriodMillis(val);
                     break;
                 }
+                case "token-bucket": {
+                    String val = asText(node);
+                    target.setTokenBucket(val);
+                    break;
+                }
                 case "id": {
                     String val = asText(node);
                     target.setId(val);
@@ -17617,6 +17647,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "pre-compile", type = "boolean"),
                     @YamlProperty(name = "result-type", type = "enum:NUMBER,STRING,BOOLEAN,NODESET,NODE"),
                     @YamlProperty(name = "saxon", type = "boolean"),
+                    @YamlProperty(name = "streaming", type = "boolean"),
                     @YamlProperty(name = "thread-safety", type = "boolean"),
                     @YamlProperty(name = "trim", type = "boolean")
             }
@@ -17695,6 +17726,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setSaxon(val);
                     break;
                 }
+                case "streaming": {
+                    String val = asText(node);
+                    target.setStreaming(val);
+                    break;
+                }
                 case "thread-safety": {
                     String val = asText(node);
                     target.setThreadSafety(val);
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.processor.aggregate.UseLatestAggregationStrategy;
+import org.apache.camel.util.concurrent.SynchronousExecutorService;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the aggregator with a single shared lock vs striped locks, when aggregating a number of correlation keys from a
+ * number of concurrent threads.
+ */
+public class AggregateLockStripesTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        for (int threads : new int[] { 1, 4, 16 }) {
+            Options opt = new OptionsBuilder()
+                    // Specify which benchmarks to run.
+                    // You can be more specific if you'd like to run only one benchmark per test.
+                    .include(this.getClass().getName() + ".*")
+                    // Set the following options as needed
+                    .mode(Mode.Throughput)
+                    .timeUnit(TimeUnit.MILLISECONDS)
+                    .warmupTime(TimeValue.seconds(1))
+                    .warmupIterations(2)
+                    .measurementTime(TimeValue.seconds(2))
+                    .measurementIterations(2)
+                    .threads(threads)
+                    .forks(1)
+                    .shouldFailOnError(true)
+                    .shouldDoGC(true)
+                    // measure the allocation rate as well
+                    .addProfiler(GCProfiler.class)
+                    // and store the results so they can be compared between releases
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh-" + getClass().getSimpleName() + "-" + threads + "-threads.json")
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({ "1", "16", "1024" })
+        int keys;
+
+        @Param({ "0", "64" })
+        int lockStripes;
+
+        CamelContext camel;
+        ProducerTemplate producer;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:start")
+                            .aggregate(header("id"), new UseLatestAggregationStrategy()).lockStripes(lockStripes)
+                            .completionSize(100).executorService(new SynchronousExecutorService())
+                            .to("log:aggregated?level=OFF");
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            producer.stop();
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void aggregate(BenchmarkState state) {
+        int id = ThreadLocalRandom.current().nextInt(state.keys);
+        state.producer.sendBodyAndHeader("direct:start", "Hello World", "id", id);
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Headers;
+import org.apache.camel.component.bean.BeanInfo;
+import org.apache.camel.component.bean.MethodInfo;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests binding the parameters and invoking a bean method, for the common method signatures (body only, body and
+ * headers, and exchange).
+ */
+public class BeanInvocationTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(2))
+                .measurementIterations(2)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                // measure the allocation rate as well
+                .addProfiler(GCProfiler.class)
+                // and store the results so they can be compared between releases
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + getClass().getSimpleName() + ".json")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    public static class MyBean {
+
+        public String body(String body) {
+            return body;
+        }
+
+        public String bodyAndHeaders(String body, @Headers Map<String, Object> headers) {
+            return headers.get("foo") != null ? body : null;
+        }
+
+        public void exchange(Exchange exchange) {
+            exchange.getMessage().setHeader("bar", 123);
+        }
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        final AsyncCallback callback = doneSync -> {
+        };
+
+        CamelContext camel;
+        Exchange exchange;
+        MyBean bean;
+        MethodInfo body;
+        MethodInfo bodyAndHeaders;
+        MethodInfo exchangeMethod;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            bean = new MyBean();
+            BeanInfo info = new BeanInfo(camel, MyBean.class);
+            for (MethodInfo method : info.getMethods()) {
+                switch (method.getMethod().getName()) {
+                    case "body":
+                        body = method;
+                        break;
+                    case "bodyAndHeaders":
+                        bodyAndHeaders = method;
+                        break;
+                    case "exchange":
+                        exchangeMethod = method;
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            exchange = new DefaultExchange(camel);
+            exchange.getMessage().setBody("Hello World");
+            exchange.getMessage().setHeader("foo", "bar");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void body(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.body.createMethodInvocation(state.bean, true, state.exchange).proceed(state.callback));
+    }
+
+    @Benchmark
+    public void bodyAndHeaders(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.bodyAndHeaders.createMethodInvocation(state.bean, true, state.exchange).proceed(state.callback));
+    }
+
+    @Benchmark
+    public void exchange(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.exchangeMethod.createMethodInvocation(state.bean, true, state.exchange).proceed(state.callback));
+    }
+
+}
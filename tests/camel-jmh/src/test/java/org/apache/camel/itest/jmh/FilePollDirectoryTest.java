@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.component.file.FileConsumer;
+import org.apache.camel.component.file.FileEndpoint;
+import org.apache.camel.component.file.GenericFile;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.util.FileUtil;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests polling a directory with 1 million files by the file consumer, listing all the files of the directory at once
+ * vs using a directory stream, where either the first 100 files or all the files are polled.
+ */
+public class FilePollDirectoryTest {
+
+    private static final int FILES = 1000000;
+    private static final Path DIRECTORY = Paths.get("target", "jmh-files");
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(2))
+                .measurementIterations(2)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                // measure the allocation rate as well
+                .addProfiler(GCProfiler.class)
+                // and store the results so they can be compared between releases
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + getClass().getSimpleName() + ".json")
+                .build();
+
+        try {
+            new Runner(opt).run();
+        } finally {
+            FileUtil.removeDir(DIRECTORY.toFile());
+        }
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        @Param({ "false", "true" })
+        boolean useDirectoryStream;
+
+        @Param({ "100", "0" })
+        int maxMessagesPerPoll;
+
+        CamelContext camel;
+        FileEndpoint endpoint;
+        FileConsumer consumer;
+        Method pollDirectory;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            // the files are created once, and reused by the following trials
+            if (!Files.isDirectory(DIRECTORY)) {
+                Files.createDirectories(DIRECTORY);
+                for (int i = 0; i < FILES; i++) {
+                    Files.createFile(DIRECTORY.resolve("order-" + i + ".xml"));
+                }
+            }
+
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            endpoint = camel.getEndpoint("file:" + DIRECTORY + "?useDirectoryStream=" + useDirectoryStream
+                                         + "&maxMessagesPerPoll=" + maxMessagesPerPoll + "&include=.*\\.xml",
+                    FileEndpoint.class);
+            consumer = (FileConsumer) endpoint.createConsumer(exchange -> {
+            });
+            consumer.start();
+
+            // only the listing of the files is benchmarked, and not the processing of the files
+            pollDirectory = FileConsumer.class.getDeclaredMethod("pollDirectory", String.class, List.class, int.class);
+            pollDirectory.setAccessible(true);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            consumer.stop();
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public List<GenericFile<File>> poll(BenchmarkState state) throws Exception {
+        List<GenericFile<File>> files = new ArrayList<>();
+        state.pollDirectory.invoke(state.consumer, DIRECTORY.toString(), files, 0);
+        // the polled files are in progress until processed, which is not done here
+        state.endpoint.getInProgressRepository().clear();
+        return files;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.language.simple.SimpleLanguage;
+import org.apache.camel.spi.Language;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests evaluating simple expressions and predicates that have already been parsed, and the same predicates when they
+ * are compiled.
+ */
+public class SimpleExpressionTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(2))
+                .measurementIterations(2)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                // measure the allocation rate as well
+                .addProfiler(GCProfiler.class)
+                // and store the results so they can be compared between releases
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + getClass().getSimpleName() + ".json")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        CamelContext camel;
+        Exchange exchange;
+        Expression body;
+        Expression header;
+        Expression template;
+        Predicate predicate;
+        Predicate numericPredicate;
+        Predicate compiledPredicate;
+        Predicate compiledNumericPredicate;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            Language simple = camel.resolveLanguage("simple");
+            body = simple.createExpression("${body}");
+            header = simple.createExpression("${header.foo}");
+            template = simple.createExpression("Hello ${header.foo} how are you ${body}?");
+            predicate = simple.createPredicate("${header.foo} == 'bar' && ${body} contains 'World'");
+            numericPredicate = simple.createPredicate("${header.number} > 100");
+            body.init(camel);
+            header.init(camel);
+            template.init(camel);
+            predicate.init(camel);
+            numericPredicate.init(camel);
+
+            SimpleLanguage compiled = new SimpleLanguage();
+            compiled.setCamelContext(camel);
+            compiled.setCompiled(true);
+            compiled.init();
+            compiledPredicate = compiled.createPredicate("${header.foo} == 'bar' && ${body} contains 'World'");
+            compiledNumericPredicate = compiled.createPredicate("${header.number} > 100");
+            compiledPredicate.init(camel);
+            compiledNumericPredicate.init(camel);
+
+            exchange = new DefaultExchange(camel);
+            exchange.getMessage().setBody("Hello World");
+            exchange.getMessage().setHeader("foo", "bar");
+            exchange.getMessage().setHeader("number", 123);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void body(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.body.evaluate(state.exchange, String.class));
+    }
+
+    @Benchmark
+    public void header(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.header.evaluate(state.exchange, String.class));
+    }
+
+    @Benchmark
+    public void template(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.template.evaluate(state.exchange, String.class));
+    }
+
+    @Benchmark
+    public void predicate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.predicate.matches(state.exchange));
+    }
+
+    @Benchmark
+    public void numericPredicate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.numericPredicate.matches(state.exchange));
+    }
+
+    @Benchmark
+    public void compiledPredicate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.compiledPredicate.matches(state.exchange));
+    }
+
+    @Benchmark
+    public void compiledNumericPredicate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.compiledNumericPredicate.matches(state.exchange));
+    }
+
+}
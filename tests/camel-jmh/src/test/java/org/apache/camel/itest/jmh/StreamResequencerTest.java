@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the stream resequencer with out of order input from one or more concurrent producers. Each producer sends its
+ * share of the sequence numbers with every pair swapped, and as the producers interleave their sequence numbers then
+ * the input is out of order across the producers as well.
+ */
+public class StreamResequencerTest {
+
+    private static final int MESSAGES = 1000;
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(2))
+                .measurementIterations(2)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                // measure the allocation rate as well
+                .addProfiler(GCProfiler.class)
+                // and store the results so they can be compared between releases
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + getClass().getSimpleName() + ".json")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({ "1", "4" })
+        int producers;
+
+        final AtomicLong delivered = new AtomicLong();
+        CamelContext camel;
+        ProducerTemplate producer;
+        ExecutorService executor;
+        long sent;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:start")
+                            .resequence(header("seq")).stream().capacity(MESSAGES * 10).timeout(1000)
+                            .process(e -> delivered.incrementAndGet());
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+            executor = Executors.newFixedThreadPool(producers);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            executor.shutdownNow();
+            producer.stop();
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void outOfOrder(BenchmarkState state) throws Exception {
+        final long base = state.sent;
+        final int producers = state.producers;
+        final CountDownLatch latch = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            final int offset = p;
+            state.executor.execute(() -> {
+                // every producer sends every n'th sequence number, with each pair swapped
+                for (int i = 0; i < MESSAGES / producers; i += 2) {
+                    long first = base + offset + (long) i * producers;
+                    long second = first + producers;
+                    state.producer.sendBodyAndHeader("direct:start", "Hello World", "seq", second);
+                    state.producer.sendBodyAndHeader("direct:start", "Hello World", "seq", first);
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+
+        // wait for the resequencer to deliver the messages
+        state.sent += MESSAGES;
+        while (state.delivered.get() < state.sent) {
+            Thread.onSpinWait();
+        }
+    }
+
+}
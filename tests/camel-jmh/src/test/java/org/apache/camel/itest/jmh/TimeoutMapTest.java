@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.TimerWheelTimeoutMap;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests putting and purging entries of the default and the timer wheel timeout maps, holding 10k, 100k or 1M entries
+ * with timeouts between 1 and 10 minutes, as pending request/reply correlations do.
+ */
+public class TimeoutMapTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(2))
+                .measurementIterations(2)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                // measure the allocation rate as well
+                .addProfiler(GCProfiler.class)
+                // and store the results so they can be compared between releases
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + getClass().getSimpleName() + ".json")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        @Param({ "default", "wheel" })
+        String map;
+
+        @Param({ "10000", "100000", "1000000" })
+        int size;
+
+        ScheduledExecutorService executor;
+        Purgeable timeoutMap;
+        Random random = new Random(42);
+        int counter;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            executor = Executors.newSingleThreadScheduledExecutor();
+            // the purge is invoked by the benchmark and not by the executor, as the map is not started
+            timeoutMap = "wheel".equals(map) ? new WheelMap(executor) : new DefaultMap(executor);
+            for (int i = 0; i < size; i++) {
+                timeoutMap.put("key-" + i, "value-" + i, timeout());
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            executor.shutdownNow();
+        }
+
+        long timeout() {
+            return TimeUnit.MINUTES.toMillis(1) + random.nextInt((int) TimeUnit.MINUTES.toMillis(9));
+        }
+    }
+
+    @Benchmark
+    public Object putRemove(BenchmarkState state) {
+        // replace an existing entry, and add and remove a new entry, so the map keeps its size
+        String key = "key-" + (state.counter++ % state.size);
+        state.timeoutMap.put(key, "value", state.timeout());
+        state.timeoutMap.put("new", "value", state.timeout());
+        return state.timeoutMap.remove("new");
+    }
+
+    @Benchmark
+    public void purge(BenchmarkState state) {
+        state.timeoutMap.purgeNow();
+    }
+
+    interface Purgeable {
+
+        Object put(String key, String value, long timeoutMillis);
+
+        Object remove(String key);
+
+        void purgeNow();
+    }
+
+    static class DefaultMap extends DefaultTimeoutMap<String, String> implements Purgeable {
+
+        DefaultMap(ScheduledExecutorService executor) {
+            super(executor);
+        }
+
+        @Override
+        public void purgeNow() {
+            purge();
+        }
+    }
+
+    static class WheelMap extends TimerWheelTimeoutMap<String, String> implements Purgeable {
+
+        WheelMap(ScheduledExecutorService executor) {
+            super(executor);
+        }
+
+        @Override
+        public void purgeNow() {
+            purge();
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.TypeConverterSupport;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the cost of looking up the type converter for the most common conversions, and for conversions that are
+ * resolved by custom type converters, fallback type converters, or that cannot be converted at all.
+ */
+public class TypeConverterLookupTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(2))
+                .measurementIterations(2)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                // measure the allocation rate as well
+                .addProfiler(GCProfiler.class)
+                // and store the results so they can be compared between releases
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + getClass().getSimpleName() + ".json")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        CamelContext camel;
+        TypeConverter converter;
+        Exchange exchange;
+        byte[] bytes = "Hello World".getBytes(StandardCharsets.UTF_8);
+        MyOrder order = new MyOrder("123");
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.getTypeConverterRegistry().addTypeConverter(MyOrder.class, String.class, new TypeConverterSupport() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+                    return (T) new MyOrder(value.toString());
+                }
+            });
+            camel.start();
+            converter = camel.getTypeConverter();
+            exchange = new DefaultExchange(camel);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    public static final class MyOrder {
+        private final String id;
+
+        public MyOrder(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return "MyOrder[" + id + "]";
+        }
+    }
+
+    @Benchmark
+    public void stringToInteger(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(Integer.class, "123"));
+    }
+
+    @Benchmark
+    public void stringToLong(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(Long.class, "123"));
+    }
+
+    @Benchmark
+    public void stringToBytes(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(byte[].class, state.exchange, "Hello World"));
+    }
+
+    @Benchmark
+    public void bytesToString(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(String.class, state.exchange, state.bytes));
+    }
+
+    @Benchmark
+    public void inputStreamToString(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(String.class, state.exchange, new ByteArrayInputStream(state.bytes)));
+    }
+
+    @Benchmark
+    public void bytesToInputStream(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(InputStream.class, state.exchange, state.bytes));
+    }
+
+    @Benchmark
+    public void customConverter(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(MyOrder.class, "123"));
+    }
+
+    @Benchmark
+    public void fallbackConverter(BenchmarkState state, Blackhole bh) {
+        // there is no converter from MyOrder to String so the toString fallback converter is used
+        bh.consume(state.converter.convertTo(String.class, state.order));
+    }
+
+    @Benchmark
+    public void tryConvertMiss(BenchmarkState state, Blackhole bh) {
+        // stream caching tries to convert the message body to a StreamCache which misses for String
+        bh.consume(state.converter.tryConvertTo(StreamCache.class, state.exchange, "Hello World"));
+    }
+
+    @Benchmark
+    public void convertMiss(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(MyOrder.class, state.bytes));
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.xslt.XsltBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.util.IOHelper;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests an xslt transformation of a document with 10000 orders, where the output of about 1 MB is stored as a String or
+ * streamed to a StreamCache which is spooled to disk, and the transformers are either created per message or taken
+ * from the transformer cache.
+ */
+public class XsltOutputTest {
+
+    private static final int ORDERS = 10000;
+
+    private static final String STYLESHEET = "<xsl:stylesheet version='1.0'"
+                                             + " xmlns:xsl='http://www.w3.org/1999/XSL/Transform'>"
+                                             + "<xsl:template match='/orders'><invoices>"
+                                             + "<xsl:for-each select='order'><invoice ref='{@id}'>"
+                                             + "<customer><xsl:value-of select='customer'/></customer>"
+                                             + "<line><xsl:value-of select='item'/></line>"
+                                             + "<total><xsl:value-of select='amount * 1.25'/></total>"
+                                             + "</invoice></xsl:for-each>"
+                                             + "</invoices></xsl:template></xsl:stylesheet>";
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(2))
+                .measurementIterations(2)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                // measure the allocation rate as well
+                .addProfiler(GCProfiler.class)
+                // and store the results so they can be compared between releases
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + getClass().getSimpleName() + ".json")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        @Param({ "string", "streamCache" })
+        String output;
+
+        @Param({ "0", "4" })
+        int transformerCacheSize;
+
+        CamelContext camel;
+        ProducerTemplate producer;
+        byte[] document;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.getStreamCachingStrategy().setSpoolEnabled(true);
+
+            XsltBuilder xslt = XsltBuilder.xslt(new StreamSource(new StringReader(STYLESHEET)))
+                    .transformerCacheSize(transformerCacheSize);
+            if ("streamCache".equals(output)) {
+                xslt.outputStreamCache();
+            }
+
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    // the output is read as a stream, such as when it is sent to a file or over the network
+                    from("direct:start").process(xslt)
+                            .process(e -> IOHelper.copy(e.getMessage().getBody(InputStream.class),
+                                    OutputStream.nullOutputStream()));
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+
+            StringBuilder sb = new StringBuilder("<orders>");
+            for (int i = 0; i < ORDERS; i++) {
+                sb.append("<order id='").append(i).append("'>")
+                        .append("<customer>Customer ").append(i).append("</customer>")
+                        .append("<item>Item ").append(i).append("</item><amount>").append(i).append("</amount>")
+                        .append("</order>");
+            }
+            sb.append("</orders>");
+            document = sb.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void transform(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.send("direct:start", e -> e.getIn().setBody(state.document)));
+    }
+
+}